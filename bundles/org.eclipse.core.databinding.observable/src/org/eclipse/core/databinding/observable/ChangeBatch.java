@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+
+/**
+ * The change events fired within {@link Realm#runBatched(Runnable)}. Change
+ * events are collected per observable and listener type and merged into one
+ * event when the batch is flushed. Other events, like stale, dispose and
+ * vetoable value changing events, are not batched. Merged events whose diff
+ * is empty are dropped, together with the change event of their observable.
+ */
+/* package */class ChangeBatch {
+
+	private static final class Key {
+		final ChangeManager changeManager;
+		final Object listenerType;
+
+		Key(ChangeManager changeManager, Object listenerType) {
+			this.changeManager = changeManager;
+			this.listenerType = listenerType;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(changeManager) * 31 + System.identityHashCode(listenerType);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return changeManager == other.changeManager && listenerType == other.listenerType;
+		}
+	}
+
+	/** The pending events in the order they were first fired */
+	private Map<Key, List<ObservableEvent>> events = new LinkedHashMap<>();
+
+	/**
+	 * Adds the event to the batch if it can be merged with other events of the
+	 * same type.
+	 *
+	 * @param changeManager the change manager firing the event
+	 * @param event         the event
+	 * @return <code>true</code> if the event has been added to the batch,
+	 *         <code>false</code> if it has to be fired immediately
+	 */
+	boolean add(ChangeManager changeManager, ObservableEvent event) {
+		Class<?> type = event.getClass();
+		if (type != ChangeEvent.class && type != ValueChangeEvent.class && type != ListChangeEvent.class
+				&& type != SetChangeEvent.class && type != MapChangeEvent.class) {
+			return false;
+		}
+		events.computeIfAbsent(new Key(changeManager, event.getListenerType()), k -> new ArrayList<>(1)).add(event);
+		return true;
+	}
+
+	/**
+	 * Fires the merged events to the listeners. Events fired by the listeners
+	 * are added to the batch and fired as well, until no more events are
+	 * fired.
+	 */
+	void flush() {
+		while (!events.isEmpty()) {
+			Map<Key, List<ObservableEvent>> pending = events;
+			events = new LinkedHashMap<>();
+			Map<Key, ObservableEvent> merged = new LinkedHashMap<>();
+			// the change managers whose changes cancelled out
+			Set<ChangeManager> unchanged = new HashSet<>();
+			for (Map.Entry<Key, List<ObservableEvent>> entry : pending.entrySet()) {
+				ObservableEvent event = merge(entry.getValue());
+				if (event != null) {
+					merged.put(entry.getKey(), event);
+				} else {
+					unchanged.add(entry.getKey().changeManager);
+				}
+			}
+			for (Map.Entry<Key, ObservableEvent> entry : merged.entrySet()) {
+				ChangeManager changeManager = entry.getKey().changeManager;
+				if (!(entry.getValue() instanceof ChangeEvent) || !unchanged.contains(changeManager)) {
+					changeManager.dispatchEvent(entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the events of one observable and listener type.
+	 *
+	 * @return the merged event, or <code>null</code> if the changes cancel out
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ObservableEvent merge(List<ObservableEvent> events) {
+		ObservableEvent first = events.get(0);
+		if (events.size() == 1 || first instanceof ChangeEvent) {
+			return first;
+		}
+		if (first instanceof ValueChangeEvent) {
+			Object oldValue = ((ValueChangeEvent<?>) first).diff.getOldValue();
+			Object newValue = ((ValueChangeEvent<?>) events.get(events.size() - 1)).diff.getNewValue();
+			if (Objects.equals(oldValue, newValue)) {
+				return null;
+			}
+			return new ValueChangeEvent(((ValueChangeEvent<?>) first).getObservableValue(),
+					Diffs.createValueDiff(oldValue, newValue));
+		}
+		if (first instanceof ListChangeEvent) {
+			List<ListDiffEntry<?>> differences = mergeListDiffs(events);
+			if (differences.isEmpty()) {
+				return null;
+			}
+			return new ListChangeEvent(((ListChangeEvent<?>) first).getObservableList(),
+					Diffs.createListDiff((List) differences));
+		}
+		if (first instanceof SetChangeEvent) {
+			Set<Object> additions = new HashSet<>();
+			Set<Object> removals = new HashSet<>();
+			for (ObservableEvent event : events) {
+				SetDiff<?> diff = ((SetChangeEvent<?>) event).diff;
+				for (Object element : diff.getRemovals()) {
+					if (!additions.remove(element)) {
+						removals.add(element);
+					}
+				}
+				for (Object element : diff.getAdditions()) {
+					if (!removals.remove(element)) {
+						additions.add(element);
+					}
+				}
+			}
+			if (additions.isEmpty() && removals.isEmpty()) {
+				return null;
+			}
+			return new SetChangeEvent(((SetChangeEvent<?>) first).getObservableSet(),
+					Diffs.createSetDiff(additions, removals));
+		}
+		MapDiff<Object, Object> diff = mergeMapDiffs(events);
+		if (diff.isEmpty()) {
+			return null;
+		}
+		return new MapChangeEvent(((MapChangeEvent<?, ?>) first).getObservableMap(), diff);
+	}
+
+	private static List<ListDiffEntry<?>> mergeListDiffs(List<ObservableEvent> events) {
+		List<ListDiffEntry<?>> differences = new ArrayList<>();
+		for (ObservableEvent event : events) {
+			for (ListDiffEntry<?> entry : ((ListChangeEvent<?>) event).diff.getDifferences()) {
+				// an addition undone by a removal at the same position, or the
+				// other way round, leaves the list as it was before the pair
+				int last = differences.size() - 1;
+				if (last >= 0 && cancels(differences.get(last), entry)) {
+					differences.remove(last);
+				} else {
+					differences.add(entry);
+				}
+			}
+		}
+		return differences;
+	}
+
+	private static boolean cancels(ListDiffEntry<?> entry, ListDiffEntry<?> next) {
+		return entry.isAddition() != next.isAddition() && entry.getPosition() == next.getPosition()
+				&& Objects.equals(entry.getElement(), next.getElement());
+	}
+
+	private static MapDiff<Object, Object> mergeMapDiffs(List<ObservableEvent> events) {
+		// the keys present before the first event and their values
+		Map<Object, Object> oldValues = new HashMap<>();
+		Set<Object> touchedKeys = new HashSet<>();
+		// the values of the touched keys present after the last event
+		Map<Object, Object> newValues = new HashMap<>();
+		for (ObservableEvent event : events) {
+			MapDiff<?, ?> diff = ((MapChangeEvent<?, ?>) event).diff;
+			for (Object key : diff.getRemovedKeys()) {
+				if (touchedKeys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.remove(key);
+			}
+			for (Object key : diff.getChangedKeys()) {
+				if (touchedKeys.add(key)) {
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				newValues.put(key, diff.getNewValue(key));
+			}
+			for (Object key : diff.getAddedKeys()) {
+				touchedKeys.add(key);
+				newValues.put(key, diff.getNewValue(key));
+			}
+		}
+		Set<Object> addedKeys = new HashSet<>();
+		Set<Object> removedKeys = new HashSet<>();
+		Set<Object> changedKeys = new HashSet<>();
+		for (Object key : touchedKeys) {
+			boolean existed = oldValues.containsKey(key);
+			boolean exists = newValues.containsKey(key);
+			if (existed && exists) {
+				if (!Objects.equals(oldValues.get(key), newValues.get(key))) {
+					changedKeys.add(key);
+				}
+			} else if (existed) {
+				removedKeys.add(key);
+			} else if (exists) {
+				addedKeys.add(key);
+			}
+		}
+		return Diffs.createMapDiff(addedKeys, removedKeys, changedKeys, oldValues, newValues);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -111,6 +111,19 @@ import org.eclipse.core.runtime.ListenerList;
 	}
 
 	protected void fireEvent(ObservableEvent event) {
+		ChangeBatch batch = realm.batch;
+		if (batch != null && batch.add(this, event)) {
+			return;
+		}
+		dispatchEvent(event);
+	}
+
+	/**
+	 * Dispatches the event to the listeners of its type.
+	 *
+	 * @param event the event to dispatch
+	 */
+	/* package */void dispatchEvent(ObservableEvent event) {
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
 		if (listenerTypeIndex != -1) {
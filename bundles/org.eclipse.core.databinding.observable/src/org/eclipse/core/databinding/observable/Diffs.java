@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,11 +32,18 @@ import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.internal.databinding.observable.ListDiffAnalyzer;
 
 /**
  * @since 1.0
  */
 public class Diffs {
+	/**
+	 * The combined size of two lists from which their differences are computed
+	 * with the {@link ListDiffAnalyzer} instead of searching the lists.
+	 */
+	private static final int LIST_DIFF_ANALYZER_THRESHOLD = 128;
+
 	private static final class UnmodifiableListDiff<E> extends ListDiff<E> {
 		private ListDiff<? extends E> toWrap;
 
@@ -228,7 +235,11 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeListDiff(List<? extends E> oldList, List<? extends E> newList) {
 		List<ListDiffEntry<E>> diffEntries = new ArrayList<>();
-		createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		if (oldList.size() + newList.size() > LIST_DIFF_ANALYZER_THRESHOLD) {
+			ListDiffAnalyzer.createListDiffs(oldList, newList, diffEntries);
+		} else {
+			createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		}
 		return createListDiff(diffEntries);
 	}
 
@@ -264,6 +275,10 @@ public class Diffs {
 
 	/**
 	 * adapted from EMF's ListDifferenceAnalyzer
+	 * <p>
+	 * Searches the lists for every element that does not match, see
+	 * {@link ListDiffAnalyzer} for an equivalent algorithm for large lists.
+	 * </p>
 	 */
 	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
 			List<ListDiffEntry<E>> listDiffs) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import java.util.TimerTask;
 
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -128,6 +129,12 @@ public abstract class Realm {
 
 	Queue workQueue = new Queue();
 
+	/**
+	 * The change events fired within {@link #runBatched(Runnable)}, or
+	 * <code>null</code>
+	 */
+	ChangeBatch batch;
+
 	/**
 	 * Runs the given runnable. If an exception occurs within the runnable, it is
 	 * logged and not re-thrown. If the runnable implements {@link ISafeRunnable},
@@ -324,6 +331,48 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the given runnable and delays the change events fired by the
+	 * observables of this realm until it completes. The change events fired by
+	 * each observable are then merged, so that every listener is notified once
+	 * per observable with a diff describing all changes, instead of once per
+	 * change. This avoids redundant updates of bindings and computed
+	 * observables when many observables or elements are changed at once.
+	 * <p>
+	 * Only change events are delayed, that is the events received by
+	 * {@link IChangeListener}s and the value, list, set and map change
+	 * listeners. Stale, dispose and value changing events are fired
+	 * immediately. Change events fired by the listeners of the merged events
+	 * are merged as well, until no more events are fired. If this method is
+	 * called within another call of this method, the runnable is run within
+	 * the outer batch.
+	 * </p>
+	 * <p>
+	 * This method must be called from within this realm.
+	 * </p>
+	 *
+	 * @param runnable {@link Runnable} to execute
+	 * @since 1.14
+	 */
+	public void runBatched(Runnable runnable) {
+		Assert.isTrue(isCurrent(), "This method must be called from within the realm"); //$NON-NLS-1$
+		if (batch != null) {
+			runnable.run();
+			return;
+		}
+		ChangeBatch newBatch = new ChangeBatch();
+		batch = newBatch;
+		try {
+			runnable.run();
+		} finally {
+			try {
+				newBatch.flush();
+			} finally {
+				batch = null;
+			}
+		}
+	}
+
 	/**
 	 * Sets the provided <code>realm</code> as the default for the duration of
 	 * {@link Runnable#run()} and resets the previous realm after completion.
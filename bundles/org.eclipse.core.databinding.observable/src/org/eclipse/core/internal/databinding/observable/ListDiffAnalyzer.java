@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+
+/**
+ * Computes the differences between two lists for large lists.
+ * <p>
+ * The differences are exactly the ones computed by the algorithm adapted from
+ * EMF's ListDifferenceAnalyzer in {@link Diffs}, which walks the new list and
+ * edits a copy of the old list until it starts with the same elements. That
+ * algorithm searches both lists for every element that does not match, which
+ * is quadratic. This class keeps the part of the old list that still has to
+ * be edited in a tree indexed by position, the positions of its elements
+ * grouped by value and, for every value of the new list, the position of its
+ * next occurrence. Every step of the algorithm then takes logarithmic time.
+ * </p>
+ * <p>
+ * The elements are grouped using {@link Object#hashCode()}. Elements whose
+ * <code>hashCode()</code> is not consistent with <code>equals()</code> may
+ * lead to different, but still correct, differences.
+ * </p>
+ *
+ * @param <E>
+ *            the list element type
+ */
+public class ListDiffAnalyzer<E> {
+
+	/**
+	 * A node of the implicit treap holding the remaining elements of the old
+	 * list, ordered by position.
+	 */
+	private static final class Node<E> {
+		final E value;
+		final int priority;
+		Node<E> left;
+		Node<E> right;
+		Node<E> parent;
+		int size = 1;
+
+		Node(E value, int priority) {
+			this.value = value;
+			this.priority = priority;
+		}
+	}
+
+	private final List<ListDiffEntry<E>> listDiffs;
+
+	/** The elements of the old list at positions &gt;= the current index */
+	private Node<E> root;
+
+	/**
+	 * The nodes of the remaining old elements by value: either a single node
+	 * or a set of nodes ordered by position
+	 */
+	private final Map<Object, Object> nodesByValue = new HashMap<>();
+
+	/** The new list, and the position of the next equal element in it */
+	private final Object[] newValues;
+	private final int[] nextEqual;
+
+	/**
+	 * The position of the next occurrence of every value of the new list at or
+	 * after the current index, or -1
+	 */
+	private final Map<Object, int[]> newPositions = new HashMap<>();
+
+	/** State of xorshift generator of the node priorities */
+	private int seed = 0x2545F491;
+
+	/** The results of {@link #split(Node, int)} */
+	private Node<E> splitLeft;
+	private Node<E> splitRight;
+
+	private ListDiffAnalyzer(List<? extends E> oldList, List<? extends E> newList, List<ListDiffEntry<E>> listDiffs) {
+		this.listDiffs = listDiffs;
+		for (E element : oldList) {
+			Node<E> node = new Node<>(element, nextPriority());
+			root = merge(root, node);
+			addNode(node);
+		}
+		newValues = newList.toArray();
+		nextEqual = new int[newValues.length];
+		for (int i = newValues.length; --i >= 0;) {
+			int[] position = newPositions.get(newValues[i]);
+			if (position == null) {
+				newPositions.put(newValues[i], new int[] { i });
+				nextEqual[i] = -1;
+			} else {
+				nextEqual[i] = position[0];
+				position[0] = i;
+			}
+		}
+	}
+
+	/**
+	 * Computes the differences between the two lists.
+	 *
+	 * @param <E>
+	 *            the list element type
+	 * @param oldList
+	 *            the old list state
+	 * @param newList
+	 *            the new list state
+	 * @param listDiffs
+	 *            the list to add the differences to
+	 */
+	public static <E> void createListDiffs(List<? extends E> oldList, List<? extends E> newList,
+			List<ListDiffEntry<E>> listDiffs) {
+		new ListDiffAnalyzer<E>(oldList, newList, listDiffs).run();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void run() {
+		int index = 0;
+		for (; index < newValues.length; index++) {
+			E newValue = (E) newValues[index];
+			if (root == null) {
+				// append newValue to newList
+				listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+				continue;
+			}
+			boolean done;
+			do {
+				done = true;
+				Node<E> first = first();
+				E oldValue = first.value;
+				if (Objects.equals(oldValue, newValue)) {
+					remove(first);
+				} else {
+					Node<E> oldNodeOfNewValue = firstNode(newValue);
+					if (oldNodeOfNewValue != null) {
+						int oldIndexOfNewValue = index + rank(oldNodeOfNewValue);
+						int newIndexOfOldValue = newIndexOf(oldValue, index);
+						if (newIndexOfOldValue == -1) {
+							// removing oldValue from list[index]
+							listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+							remove(first);
+							done = false;
+						} else if (newIndexOfOldValue > oldIndexOfNewValue) {
+							// moving oldValue from list[index] to [newIndexOfOldValue]
+							int size = index + root.size;
+							if (size <= newIndexOfOldValue) {
+								// later iterations will insert elements in front of it
+								newIndexOfOldValue = size - 1;
+							}
+							listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+							remove(first);
+							listDiffs.add(Diffs.createListDiffEntry(newIndexOfOldValue, true, oldValue));
+							insert(first, newIndexOfOldValue - index);
+							done = false;
+						} else {
+							// move newValue from list[oldIndexOfNewValue] to [index]
+							listDiffs.add(Diffs.createListDiffEntry(oldIndexOfNewValue, false, newValue));
+							remove(oldNodeOfNewValue);
+							listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+						}
+					} else {
+						// add newValue at list[index]
+						listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+					}
+				}
+			} while (!done);
+		}
+		// remove excess trailing elements not present in newList
+		List<E> remaining = new ArrayList<>();
+		collect(root, remaining);
+		for (int i = remaining.size(); i > 0;) {
+			E value = remaining.get(--i);
+			listDiffs.add(Diffs.createListDiffEntry(index + i, false, value));
+		}
+	}
+
+	/**
+	 * @return the index of the value in the new list at or after the given
+	 *         index, or -1 if not found
+	 */
+	private int newIndexOf(Object value, int index) {
+		int[] position = newPositions.get(value);
+		if (position == null) {
+			return -1;
+		}
+		while (position[0] != -1 && position[0] < index) {
+			position[0] = nextEqual[position[0]];
+		}
+		return position[0];
+	}
+
+	/**
+	 * @return the remaining old node with the given value at the lowest
+	 *         position, or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private Node<E> firstNode(Object value) {
+		Object nodes = nodesByValue.get(value);
+		if (nodes instanceof TreeSet) {
+			return ((TreeSet<Node<E>>) nodes).first();
+		}
+		return (Node<E>) nodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addNode(Node<E> node) {
+		Object nodes = nodesByValue.get(node.value);
+		if (nodes == null) {
+			nodesByValue.put(node.value, node);
+		} else {
+			TreeSet<Node<E>> set;
+			if (nodes instanceof TreeSet) {
+				set = (TreeSet<Node<E>>) nodes;
+			} else {
+				set = new TreeSet<>((a, b) -> Integer.compare(rank(a), rank(b)));
+				set.add((Node<E>) nodes);
+				nodesByValue.put(node.value, set);
+			}
+			set.add(node);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void removeNode(Node<E> node) {
+		Object nodes = nodesByValue.get(node.value);
+		if (nodes == node) {
+			nodesByValue.remove(node.value);
+		} else if (nodes instanceof TreeSet) {
+			TreeSet<Node<E>> set = (TreeSet<Node<E>>) nodes;
+			set.remove(node);
+			if (set.size() == 1) {
+				nodesByValue.put(node.value, set.first());
+			}
+		}
+	}
+
+	/**
+	 * Removes the node from the tree and from the nodes by value.
+	 */
+	private void remove(Node<E> node) {
+		// the order of the sets of nodes must not change while they contain the node
+		removeNode(node);
+		split(root, rank(node));
+		Node<E> left = splitLeft;
+		split(splitRight, 1);
+		root = merge(left, splitRight);
+		node.left = node.right = node.parent = null;
+		node.size = 1;
+	}
+
+	/**
+	 * Inserts the node at the given position of the tree and adds it to the
+	 * nodes by value.
+	 */
+	private void insert(Node<E> node, int position) {
+		split(root, position);
+		root = merge(merge(splitLeft, node), splitRight);
+		addNode(node);
+	}
+
+	private Node<E> first() {
+		Node<E> node = root;
+		while (node.left != null) {
+			node = node.left;
+		}
+		return node;
+	}
+
+	/**
+	 * @return the position of the node in the tree
+	 */
+	private static int rank(Node<?> node) {
+		int rank = size(node.left);
+		for (; node.parent != null; node = node.parent) {
+			if (node == node.parent.right) {
+				rank += size(node.parent.left) + 1;
+			}
+		}
+		return rank;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static void update(Node<?> node) {
+		node.size = size(node.left) + size(node.right) + 1;
+	}
+
+	/**
+	 * Splits the tree into its first <code>count</code> nodes and the others,
+	 * stored in {@link #splitLeft} and {@link #splitRight}.
+	 */
+	private void split(Node<E> node, int count) {
+		splitTree(node, count);
+		if (splitLeft != null) {
+			splitLeft.parent = null;
+		}
+		if (splitRight != null) {
+			splitRight.parent = null;
+		}
+	}
+
+	private void splitTree(Node<E> node, int count) {
+		if (node == null) {
+			splitLeft = splitRight = null;
+		} else if (size(node.left) >= count) {
+			splitTree(node.left, count);
+			node.left = splitRight;
+			if (node.left != null) {
+				node.left.parent = node;
+			}
+			update(node);
+			splitRight = node;
+		} else {
+			splitTree(node.right, count - size(node.left) - 1);
+			node.right = splitLeft;
+			if (node.right != null) {
+				node.right.parent = node;
+			}
+			update(node);
+			splitLeft = node;
+		}
+	}
+
+	private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.right.parent = left;
+			update(left);
+			return left;
+		}
+		right.left = merge(left, right.left);
+		right.left.parent = right;
+		update(right);
+		return right;
+	}
+
+	private static <E> void collect(Node<E> node, List<E> result) {
+		while (node != null) {
+			collect(node.left, result);
+			result.add(node.value);
+			node = node.right;
+		}
+	}
+
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+}
@@ -0,0 +1,481 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.emf.xpath.internal.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A compiled xpath that is evaluated by walking the containment tree of
+ * {@link EObject}s directly, instead of a DOM copy of it.
+ * <p>
+ * Only the subset of xpath used to query application models is supported:
+ * absolute and relative location paths of child ({@code name} or {@code *}),
+ * self ({@code .}) and descendant ({@code //}) steps, with predicates that are
+ * a position or compare {@code @attribute} or {@code ecore:eClassName(.)} to a
+ * literal using {@code =} and {@code !=}, combined with {@code and},
+ * {@code or} and parentheses. The result is the same as the one of the
+ * evaluation on the DOM created by the {@code XMLSaveImpl}, in document order.
+ * </p>
+ * <p>
+ * {@link #compile(String)} returns <code>null</code> for any other xpath and
+ * {@link #evaluate(EObject, EObject)} throws an
+ * {@link UnsupportedOperationException} if the model contains something the
+ * DOM represents differently, like an attribute that refers to a reference. The
+ * xpath has to be evaluated on the DOM then.
+ * </p>
+ */
+final class EObjectPathExpression {
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final EObjectPathExpression UNSUPPORTED = new EObjectPathExpression(false, List.of());
+
+	private static final Map<String, EObjectPathExpression> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, EObjectPathExpression> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/** The document node, the parent of the root element of the DOM. */
+	private static final Object DOCUMENT = new Object();
+
+	private enum Axis {
+		CHILD, SELF, DESCENDANT_OR_SELF
+	}
+
+	private record Step(Axis axis, String name, List<Predicate> predicates) {
+	}
+
+	private interface Predicate {
+		/**
+		 * @return whether the predicate holds for the node at the given one based
+		 *         position of the nodes selected from the same context node
+		 */
+		boolean test(Object node, int position);
+	}
+
+	private final boolean absolute;
+
+	private final List<Step> steps;
+
+	private EObjectPathExpression(boolean absolute, List<Step> steps) {
+		this.absolute = absolute;
+		this.steps = steps;
+	}
+
+	/**
+	 * Returns the compiled xpath, from a cache of the recently used ones.
+	 *
+	 * @param xpath the xpath
+	 * @return the compiled xpath or <code>null</code> if the xpath is not
+	 *         supported
+	 */
+	static EObjectPathExpression compile(String xpath) {
+		EObjectPathExpression expression;
+		synchronized (CACHE) {
+			expression = CACHE.get(xpath);
+		}
+		if (expression == null) {
+			try {
+				expression = new Parser(xpath).parsePath();
+			} catch (IllegalArgumentException e) {
+				expression = UNSUPPORTED;
+			}
+			synchronized (CACHE) {
+				CACHE.put(xpath, expression);
+			}
+		}
+		return expression == UNSUPPORTED ? null : expression;
+	}
+
+	/**
+	 * @return whether the result of this xpath depends on the root of the tree,
+	 *         and not only on the context object
+	 */
+	boolean isAbsolute() {
+		return absolute;
+	}
+
+	/**
+	 * Evaluates this xpath.
+	 *
+	 * @param root    the root of the tree, the document element of the DOM
+	 * @param context the context object
+	 * @return the selected objects in document order
+	 * @throws UnsupportedOperationException if the tree has to be evaluated on
+	 *                                       the DOM
+	 */
+	List<EObject> evaluate(EObject root, EObject context) {
+		List<Object> nodes = List.of(absolute ? DOCUMENT : context);
+		for (Step step : steps) {
+			List<Object> selected = new ArrayList<>();
+			for (Object node : nodes) {
+				select(step, node, root, selected);
+			}
+			if (nodes.size() > 1) {
+				selected = inDocumentOrder(selected, absolute ? root : context);
+			}
+			nodes = selected;
+		}
+		List<EObject> result = new ArrayList<>(nodes.size());
+		for (Object node : nodes) {
+			if (node != DOCUMENT) {
+				result.add((EObject) node);
+			}
+		}
+		return result;
+	}
+
+	private static void select(Step step, Object node, EObject root, List<Object> selected) {
+		List<Object> candidates = new ArrayList<>();
+		switch (step.axis()) {
+		case SELF -> candidates.add(node);
+		case DESCENDANT_OR_SELF -> {
+			candidates.add(node);
+			addDescendants(node == DOCUMENT ? root : (EObject) node, node == DOCUMENT, candidates);
+		}
+		case CHILD -> {
+			if (node == DOCUMENT) {
+				if (step.name() == null) {
+					candidates.add(root);
+				} else {
+					checkRootName(root);
+				}
+			} else {
+				addChildren((EObject) node, step.name(), candidates);
+			}
+		}
+		}
+		for (Predicate predicate : step.predicates()) {
+			List<Object> filtered = new ArrayList<>(candidates.size());
+			for (int i = 0; i < candidates.size(); i++) {
+				if (predicate.test(candidates.get(i), i + 1)) {
+					filtered.add(candidates.get(i));
+				}
+			}
+			candidates = filtered;
+		}
+		selected.addAll(candidates);
+	}
+
+	/**
+	 * Checks that the document element is named with the qualified name of the
+	 * class of the root object, which never matches the name of a step.
+	 */
+	private static void checkRootName(EObject root) {
+		String prefix = root.eClass().getEPackage().getNsPrefix();
+		if (prefix == null || prefix.isEmpty()) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Adds the objects of the non-transient containment features, which are
+	 * saved as child elements, in the order of the features.
+	 */
+	private static void addChildren(EObject eObject, String featureName, List<Object> children) {
+		EClass eClass = eObject.eClass();
+		for (EReference containment : eClass.getEAllContainments()) {
+			if (containment.isTransient() || featureName != null && !featureName.equals(containment.getName())) {
+				continue;
+			}
+			Object value = eObject.eGet(containment, false);
+			if (containment.isMany()) {
+				children.addAll((List<?>) value);
+			} else if (value != null) {
+				children.add(value);
+			}
+		}
+		if (featureName != null && children.isEmpty() && isSavedAsElement(eClass.getEStructuralFeature(featureName))) {
+			// elements of many-valued attributes and cross document references
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static boolean isSavedAsElement(EStructuralFeature feature) {
+		if (feature == null || feature.isTransient()) {
+			return false;
+		}
+		return feature instanceof EAttribute ? feature.isMany() : !((EReference) feature).isContainment();
+	}
+
+	private static void addDescendants(EObject eObject, boolean includeSelf, List<Object> descendants) {
+		if (includeSelf) {
+			descendants.add(eObject);
+		}
+		List<Object> children = new ArrayList<>();
+		addChildren(eObject, null, children);
+		for (Object child : children) {
+			addDescendants((EObject) child, true, descendants);
+		}
+	}
+
+	private static List<Object> inDocumentOrder(List<Object> nodes, EObject root) {
+		Map<Object, Integer> order = new IdentityHashMap<>();
+		order.put(DOCUMENT, Integer.valueOf(-1));
+		List<Object> all = new ArrayList<>();
+		addDescendants(root, true, all);
+		for (int i = 0; i < all.size(); i++) {
+			order.put(all.get(i), Integer.valueOf(i));
+		}
+		Set<Object> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Object> sorted = new ArrayList<>(nodes.size());
+		for (Object node : nodes) {
+			if (unique.add(node)) {
+				sorted.add(node);
+			}
+		}
+		sorted.sort((a, b) -> order.get(a).compareTo(order.get(b)));
+		return sorted;
+	}
+
+	/**
+	 * Returns the value of the attribute of the DOM element of the given node.
+	 *
+	 * @return the value or <code>null</code> if the element has no such attribute
+	 */
+	private static String getAttribute(Object node, String name) {
+		if (node == DOCUMENT) {
+			return null;
+		}
+		EObject eObject = (EObject) node;
+		EStructuralFeature feature = eObject.eClass().getEStructuralFeature(name);
+		if (feature == null || feature.isTransient() || !eObject.eIsSet(feature)) {
+			return null;
+		}
+		if (!(feature instanceof EAttribute attribute) || feature.isMany()) {
+			throw new UnsupportedOperationException();
+		}
+		Object value = eObject.eGet(feature);
+		return value == null ? null : EcoreUtil.convertToString(attribute.getEAttributeType(), value);
+	}
+
+	private static String getEClassName(Object node) {
+		return node == DOCUMENT ? null : ((EObject) node).eClass().getName();
+	}
+
+	/**
+	 * Parser of the supported subset of xpath. Throws an
+	 * {@link IllegalArgumentException} for anything else.
+	 */
+	private static class Parser {
+
+		private final String xpath;
+		private int index;
+
+		Parser(String xpath) {
+			this.xpath = xpath;
+		}
+
+		EObjectPathExpression parsePath() {
+			boolean absolute = xpath.startsWith("/"); //$NON-NLS-1$
+			List<Step> steps = new ArrayList<>();
+			if (xpath.equals("/")) { //$NON-NLS-1$
+				// the root object instead of the document
+				steps.add(new Step(Axis.CHILD, null, List.of()));
+				return new EObjectPathExpression(true, steps);
+			}
+			if (absolute && !xpath.startsWith("//")) { //$NON-NLS-1$
+				// '/' is expected to match the root object
+				steps.add(new Step(Axis.CHILD, null, List.of()));
+			}
+			boolean separator = absolute;
+			while (true) {
+				if (separator) {
+					expect('/');
+					if (peek() == '/') {
+						index++;
+						steps.add(new Step(Axis.DESCENDANT_OR_SELF, null, List.of()));
+					}
+				}
+				steps.add(parseStep());
+				if (index == xpath.length()) {
+					return new EObjectPathExpression(absolute, steps);
+				}
+				separator = true;
+			}
+		}
+
+		private Step parseStep() {
+			Axis axis = Axis.CHILD;
+			String name = null;
+			if (peek() == '.') {
+				index++;
+				axis = Axis.SELF;
+			} else if (peek() == '*') {
+				index++;
+			} else {
+				name = parseName();
+			}
+			List<Predicate> predicates = new ArrayList<>();
+			while (peek() == '[') {
+				index++;
+				predicates.add(parsePredicate(name != null));
+				skipWhitespace();
+				expect(']');
+			}
+			return new Step(axis, name, predicates);
+		}
+
+		private Predicate parsePredicate(boolean positional) {
+			skipWhitespace();
+			if (positional && Character.isDigit(peek())) {
+				int start = index;
+				while (Character.isDigit(peek())) {
+					index++;
+				}
+				int position = Integer.parseInt(xpath.substring(start, index));
+				return (node, p) -> p == position;
+			}
+			return parseOr();
+		}
+
+		private Predicate parseOr() {
+			Predicate left = parseAnd();
+			while (skipKeyword("or")) { //$NON-NLS-1$
+				Predicate first = left;
+				Predicate second = parseAnd();
+				left = (node, p) -> first.test(node, p) || second.test(node, p);
+			}
+			return left;
+		}
+
+		private Predicate parseAnd() {
+			Predicate left = parseComparison();
+			while (skipKeyword("and")) { //$NON-NLS-1$
+				Predicate first = left;
+				Predicate second = parseComparison();
+				left = (node, p) -> first.test(node, p) && second.test(node, p);
+			}
+			return left;
+		}
+
+		private Predicate parseComparison() {
+			skipWhitespace();
+			if (peek() == '(') {
+				index++;
+				Predicate predicate = parseOr();
+				skipWhitespace();
+				expect(')');
+				return predicate;
+			}
+			Function<Object, String> operand;
+			if (peek() == '@') {
+				index++;
+				String name = parseName();
+				operand = node -> getAttribute(node, name);
+			} else if (xpath.startsWith("ecore:eClassName(.)", index)) { //$NON-NLS-1$
+				index += "ecore:eClassName(.)".length(); //$NON-NLS-1$
+				operand = EObjectPathExpression::getEClassName;
+			} else {
+				throw new IllegalArgumentException();
+			}
+			skipWhitespace();
+			boolean equals = true;
+			if (peek() == '!') {
+				index++;
+				equals = false;
+			}
+			expect('=');
+			skipWhitespace();
+			String literal = parseLiteral();
+			boolean expected = equals;
+			// a missing attribute is an empty node set, which is neither equal nor unequal
+			return (node, p) -> {
+				String value = operand.apply(node);
+				return value != null && literal.equals(value) == expected;
+			};
+		}
+
+		private String parseName() {
+			int start = index;
+			while (index < xpath.length() && isNameChar(xpath.charAt(index), index == start)) {
+				index++;
+			}
+			if (start == index) {
+				throw new IllegalArgumentException();
+			}
+			String name = xpath.substring(start, index);
+			if (peek() == ':' || peek() == '(' || name.equals("and") || name.equals("or")) { //$NON-NLS-1$ //$NON-NLS-2$
+				// axes, qualified names and functions
+				throw new IllegalArgumentException();
+			}
+			return name;
+		}
+
+		private static boolean isNameChar(char c, boolean first) {
+			return Character.isLetter(c) || c == '_' || !first && (Character.isDigit(c) || c == '-' || c == '.');
+		}
+
+		private String parseLiteral() {
+			char quote = peek();
+			if (quote != '\'' && quote != '"') {
+				throw new IllegalArgumentException();
+			}
+			int end = xpath.indexOf(quote, index + 1);
+			if (end == -1) {
+				throw new IllegalArgumentException();
+			}
+			String literal = xpath.substring(index + 1, end);
+			index = end + 1;
+			return literal;
+		}
+
+		private boolean skipKeyword(String keyword) {
+			skipWhitespace();
+			int end = index + keyword.length();
+			if (xpath.startsWith(keyword, index) && end < xpath.length()
+					&& !isNameChar(xpath.charAt(end), false)) {
+				index = end;
+				return true;
+			}
+			return false;
+		}
+
+		private void skipWhitespace() {
+			while (index < xpath.length() && Character.isWhitespace(xpath.charAt(index))) {
+				index++;
+			}
+		}
+
+		private char peek() {
+			return index < xpath.length() ? xpath.charAt(index) : 0;
+		}
+
+		private void expect(char c) {
+			if (peek() != c) {
+				throw new IllegalArgumentException();
+			}
+			index++;
+		}
+	}
+}
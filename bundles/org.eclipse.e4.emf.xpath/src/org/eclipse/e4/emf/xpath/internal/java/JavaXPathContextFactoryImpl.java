@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023, 2025 Hannes Wellmann and others.
+ * Copyright (c) 2023, 2026 Hannes Wellmann and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.e4.emf.xpath.internal.java;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ import org.eclipse.e4.emf.xpath.XPathNotFoundException;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.emf.ecore.xmi.impl.DefaultDOMHandlerImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIHelperImpl;
@@ -69,24 +71,41 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 
 	@Override
 	public XPathContext newContext(XPathContext parentContext, T contextBean) {
-		if (!(contextBean instanceof EObject rootObject)) {
+		if (!(contextBean instanceof EObject contextObject)) {
 			throw new IllegalArgumentException();
 		}
-		XPath xpath;
-		DOMMapping domMapping;
-		Element rootElement = null;
-
+		ModelTree tree = null;
 		if (parentContext != null) {
-			EObjectContext parent = (EObjectContext) parentContext;
-			xpath = parent.xpath;
-			rootElement = parent.domMapping.getElement(contextBean);
-		} else {
-			xpath = XPATH_FACTORY.newXPath();
+			tree = ((EObjectContext) parentContext).tree;
+			if (!EcoreUtil.isAncestor(tree.root, contextObject)) {
+				tree = null;
+			}
+		}
+		if (tree == null) {
+			tree = new ModelTree(contextObject);
+		}
+		return new EObjectContext(contextObject, tree);
+	}
+
+	/**
+	 * The tree of objects an xpath is evaluated on. The DOM copy of the tree is
+	 * only created for xpaths that the {@link EObjectPathExpression} does not
+	 * support.
+	 */
+	private static class ModelTree {
+
+		private final EObject root;
+		private XPath xpath;
+		private DOMMapping domMapping;
+
+		private ModelTree(EObject root) {
+			this.root = root;
 		}
 
-		if (rootElement != null) {
-			domMapping = ((EObjectContext) parentContext).domMapping;
-		} else {
+		private synchronized void createDOM() {
+			if (domMapping != null) {
+				return;
+			}
 			DocumentBuilder documentBuilder;
 			try {
 				documentBuilder = DocumentBuilderFactory.newDefaultInstance().newDocumentBuilder();
@@ -95,28 +114,75 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			}
 			Document document = documentBuilder.newDocument();
 
-			domMapping = new DOMMapping();
-			rootElement = createElement(rootObject, document, domMapping);
+			DOMMapping mapping = new DOMMapping();
+			Element rootElement = createElement(root, document, mapping);
+			xpath = XPATH_FACTORY.newXPath();
 			xpath.setNamespaceContext(createNamespaceContext(rootElement));
+			xpath.setXPathFunctionResolver(this::resolveEMFFunctions);
+			domMapping = mapping;
+		}
+
+		private XPathFunction resolveEMFFunctions(QName functionName, int arity) {
+			if (arity == 1 && EcorePackage.eNS_URI.equals(functionName.getNamespaceURI())
+					&& "eClassName".equals(functionName.getLocalPart())) {
+				return args -> {
+					Node item = getSingleNodeArgument(args);
+					EObject eObject = (EObject) domMapping.getValue(item);
+					return eObject == null ? null : eObject.eClass().getName();
+				};
+			}
+			return null;
+		}
+
+		private static Node getSingleNodeArgument(List<?> args) throws XPathFunctionException {
+			if (args != null && args.size() == 1) {
+				Object argument = args.get(0);
+				if (argument instanceof NodeList nodeList && nodeList.getLength() == 1) {
+					return nodeList.item(0);
+				} else if (argument instanceof Node node) {
+					return node;
+				}
+			}
+			throw new XPathFunctionException("Not a single node list: " + args);
 		}
-		return new EObjectContext(rootElement, domMapping, xpath);
 	}
 
 	private static class EObjectContext implements XPathContext {
 
-		private final XPath xpath;
-		private final Element rootElement;
-		private final DOMMapping domMapping;
+		private final EObject contextObject;
+		private ModelTree tree;
 
-		private EObjectContext(Element rootElement, DOMMapping domMapping, XPath xpath) {
-			this.rootElement = rootElement;
-			this.domMapping = domMapping;
-			this.xpath = xpath;
-			this.xpath.setXPathFunctionResolver(this::resolveEMFFunctions);
+		private EObjectContext(EObject contextObject, ModelTree tree) {
+			this.contextObject = contextObject;
+			this.tree = tree;
 		}
 
 		@Override
 		public <R> Stream<R> stream(String path, Class<R> resultType) {
+			EObjectPathExpression expression = resultType == Boolean.class || resultType == String.class
+					|| Number.class.isAssignableFrom(resultType) ? null : EObjectPathExpression.compile(path);
+			if (expression != null && (!expression.isAbsolute() || contextObject == tree.root || path.startsWith("//"))) {
+				try {
+					return expression.evaluate(tree.root, contextObject).stream().filter(resultType::isInstance)
+							.map(resultType::cast);
+				} catch (UnsupportedOperationException e) {
+					// evaluate on the DOM
+				}
+			}
+			return streamFromDOM(path, resultType);
+		}
+
+		private <R> Stream<R> streamFromDOM(String path, Class<R> resultType) {
+			tree.createDOM();
+			Element rootElement = tree.domMapping.getElement(contextObject);
+			if (rootElement == null) {
+				// not part of the DOM of the tree, like the contents of transient features
+				tree = new ModelTree(contextObject);
+				tree.createDOM();
+				rootElement = tree.domMapping.getElement(contextObject);
+			}
+			DOMMapping domMapping = tree.domMapping;
+
 			// See XPathResultType for generally supported result types
 			Class<?> type = XPathNodes.class;
 			if (resultType == Boolean.class || resultType == String.class
@@ -137,7 +203,9 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			pathEnhanced = pathEnhanced.replace("..[", "parent::node()[").replace(".[", "self::node()[");
 			Object result;
 			try {
-				result = xpath.evaluateExpression(pathEnhanced, rootElement, type);
+				synchronized (tree) {
+					result = tree.xpath.evaluateExpression(pathEnhanced, rootElement, type);
+				}
 			} catch (XPathExpressionException e) {
 				throw new IllegalArgumentException("Illegal xpath: " + path, e);
 			}
@@ -177,30 +245,6 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			}
 			return first;
 		}
-
-		private XPathFunction resolveEMFFunctions(QName functionName, int arity) {
-			if (arity == 1 && EcorePackage.eNS_URI.equals(functionName.getNamespaceURI())
-					&& "eClassName".equals(functionName.getLocalPart())) {
-				return args -> {
-					Node item = getSingleNodeArgument(args);
-					EObject eObject = (EObject) EObjectContext.this.domMapping.getValue(item);
-					return eObject == null ? null : eObject.eClass().getName();
-				};
-			}
-			return null;
-		}
-
-		private static Node getSingleNodeArgument(List<?> args) throws XPathFunctionException {
-			if (args != null && args.size() == 1) {
-				Object argument = args.get(0);
-				if (argument instanceof NodeList nodeList && nodeList.getLength() == 1) {
-					return nodeList.item(0);
-				} else if (argument instanceof Node node) {
-					return node;
-				}
-			}
-			throw new XPathFunctionException("Not a single node list: " + args);
-		}
 	}
 
 	private static Element createElement(EObject eObject, Document document, DOMMapping domMapper) {
@@ -239,13 +283,18 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 
 	private static class DOMMapping extends DefaultDOMHandlerImpl {
 
-		public Element getElement(Object object) {
-			for (Map.Entry<Node, Object> entry : nodeToObject.entrySet()) {
-				if (Objects.equals(entry.getValue(), object)) {
-					return (Element) entry.getKey();
+		private Map<Object, Element> objectToElement;
+
+		public synchronized Element getElement(Object object) {
+			if (objectToElement == null) {
+				objectToElement = new IdentityHashMap<>();
+				for (Map.Entry<Node, Object> entry : nodeToObject.entrySet()) {
+					if (entry.getKey() instanceof Element element) {
+						objectToElement.putIfAbsent(entry.getValue(), element);
+					}
 				}
 			}
-			return null;
+			return objectToElement.get(object);
 		}
 	}
 
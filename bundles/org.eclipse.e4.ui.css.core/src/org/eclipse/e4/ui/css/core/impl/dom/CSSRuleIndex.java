@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * An index of the selectors of a list of style rules, bucketed by the key of
+ * their rightmost simple selector: the id, a class, the element name or none
+ * (universal). An element only needs to be matched against the selectors in
+ * the buckets of its own id, classes and name plus the universal bucket,
+ * instead of against every selector of every style sheet.
+ * <p>
+ * The index is immutable. Candidates are returned in the order of the rules
+ * and selectors in the style sheets, so the cascade is computed exactly as with
+ * a sequential scan of all the rules.
+ * </p>
+ */
+final class CSSRuleIndex {
+
+	/**
+	 * A selector of a style rule together with its position among all the
+	 * selectors of the indexed rules.
+	 */
+	static final class Entry {
+
+		final CSSStyleRule rule;
+		final ExtendedSelector selector;
+		final int order;
+
+		Entry(CSSStyleRule rule, ExtendedSelector selector, int order) {
+			this.rule = rule;
+			this.selector = selector;
+			this.order = order;
+		}
+	}
+
+	private final Map<String, List<Entry>> idRules = new HashMap<>();
+	private final Map<String, List<Entry>> classRules = new HashMap<>();
+	private final Map<String, List<Entry>> elementRules = new HashMap<>();
+	private final List<Entry> universalRules = new ArrayList<>();
+
+	CSSRuleIndex(List<CSSRule> ruleList) {
+		int order = 0;
+		for (CSSRule rule : ruleList) {
+			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule))) {
+				continue; // same rules as handled by ViewCSSImpl
+			}
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					add(new Entry((CSSStyleRule) rule, (ExtendedSelector) selector, order++));
+				}
+			}
+		}
+	}
+
+	private void add(Entry entry) {
+		Selector subject = getSubject(entry.selector);
+		if (subject instanceof ConditionalSelector) {
+			ConditionalSelector conditional = (ConditionalSelector) subject;
+			Condition condition = conditional.getCondition();
+			String id = findIdKey(condition);
+			if (id != null) {
+				bucket(idRules, id).add(entry);
+				return;
+			}
+			String cssClass = findClassKey(condition);
+			if (cssClass != null) {
+				bucket(classRules, cssClass).add(entry);
+				return;
+			}
+			subject = conditional.getSimpleSelector();
+		}
+		if (subject instanceof CSSElementSelectorImpl) {
+			String name = ((CSSElementSelectorImpl) subject).getLocalName();
+			if (name != null) {
+				bucket(elementRules, name).add(entry);
+				return;
+			}
+		}
+		universalRules.add(entry);
+	}
+
+	/**
+	 * Returns the simple selector that has to match the element itself, that
+	 * is the rightmost compound selector of a combinator chain.
+	 */
+	private static Selector getSubject(Selector selector) {
+		while (true) {
+			if (selector instanceof DescendantSelector) {
+				selector = ((DescendantSelector) selector).getSimpleSelector();
+			} else if (selector instanceof SiblingSelector) {
+				selector = ((SiblingSelector) selector).getSiblingSelector();
+			} else {
+				return selector;
+			}
+		}
+	}
+
+	private static String findIdKey(Condition condition) {
+		if (condition instanceof CSSIdConditionImpl) {
+			return ((CSSIdConditionImpl) condition).getValue();
+		}
+		if (condition.getConditionType() == Condition.SAC_AND_CONDITION) {
+			CombinatorCondition and = (CombinatorCondition) condition;
+			String key = findIdKey(and.getFirstCondition());
+			return key != null ? key : findIdKey(and.getSecondCondition());
+		}
+		return null;
+	}
+
+	private static String findClassKey(Condition condition) {
+		if (condition instanceof CSSClassConditionImpl) {
+			String value = ((CSSClassConditionImpl) condition).getValue();
+			// values containing white space can only be matched by a scan
+			return value != null && !value.isEmpty() && splitClasses(value).size() == 1 ? value : null;
+		}
+		if (condition.getConditionType() == Condition.SAC_AND_CONDITION) {
+			CombinatorCondition and = (CombinatorCondition) condition;
+			String key = findClassKey(and.getFirstCondition());
+			return key != null ? key : findClassKey(and.getSecondCondition());
+		}
+		return null;
+	}
+
+	private static List<Entry> bucket(Map<String, List<Entry>> buckets, String key) {
+		return buckets.computeIfAbsent(key, k -> new ArrayList<>());
+	}
+
+	/**
+	 * Returns the selectors that may match the given element, in the order
+	 * they are declared in the style sheets. The caller still has to match
+	 * each of them against the element.
+	 */
+	List<Entry> getCandidates(Element elt) {
+		List<List<Entry>> buckets = new ArrayList<>(4);
+		addBucket(buckets, universalRules);
+
+		String id;
+		String cssClass;
+		if (elt instanceof CSSStylableElement) {
+			id = ((CSSStylableElement) elt).getCSSId();
+			cssClass = ((CSSStylableElement) elt).getCSSClass();
+		} else {
+			id = elt.getAttribute("id"); //$NON-NLS-1$
+			cssClass = elt.getAttribute("class"); //$NON-NLS-1$
+		}
+		if (id != null && !idRules.isEmpty()) {
+			addBucket(buckets, idRules.get(id));
+		}
+		if (cssClass != null && !cssClass.isEmpty() && !classRules.isEmpty()) {
+			for (String c : splitClasses(cssClass)) {
+				addBucket(buckets, classRules.get(c));
+			}
+		}
+		// element names are matched like in CSSElementSelectorImpl
+		String name = elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+		if (name != null) {
+			addBucket(buckets, elementRules.get(name));
+		}
+		return merge(buckets);
+	}
+
+	private static void addBucket(List<List<Entry>> buckets, List<Entry> bucket) {
+		if (bucket == null || bucket.isEmpty()) {
+			return;
+		}
+		for (List<Entry> b : buckets) {
+			if (b == bucket) {
+				return; // class listed twice
+			}
+		}
+		buckets.add(bucket);
+	}
+
+	/**
+	 * Merges the buckets, which are each sorted by declaration order, into a
+	 * single list sorted by declaration order.
+	 */
+	private static List<Entry> merge(List<List<Entry>> buckets) {
+		switch (buckets.size()) {
+		case 0:
+			return Collections.emptyList();
+		case 1:
+			return buckets.get(0);
+		default:
+			int size = 0;
+			for (List<Entry> bucket : buckets) {
+				size += bucket.size();
+			}
+			List<Entry> result = new ArrayList<>(size);
+			int[] indexes = new int[buckets.size()];
+			for (int n = 0; n < size; n++) {
+				int next = -1;
+				for (int b = 0; b < indexes.length; b++) {
+					List<Entry> bucket = buckets.get(b);
+					if (indexes[b] < bucket.size() && (next == -1
+							|| bucket.get(indexes[b]).order < buckets.get(next).get(indexes[next]).order)) {
+						next = b;
+					}
+				}
+				result.add(buckets.get(next).get(indexes[next]++));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Splits a class attribute into its class names, using the same white
+	 * space definition as {@link CSSClassConditionImpl}.
+	 */
+	private static List<String> splitClasses(String classes) {
+		List<String> result = new ArrayList<>(2);
+		int length = classes.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			boolean space = i == length || Character.isSpaceChar(classes.charAt(i));
+			if (space) {
+				if (start != -1) {
+					result.add(classes.substring(start, i));
+					start = -1;
+				}
+			} else if (start == -1) {
+				start = i;
+			}
+		}
+		return result;
+	}
+}
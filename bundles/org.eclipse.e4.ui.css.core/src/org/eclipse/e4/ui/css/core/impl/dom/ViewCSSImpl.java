@@ -47,6 +47,8 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Cached selector index of {@link #currentCombinedRules} */
+	private CSSRuleIndex currentRuleIndex;
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,9 +75,28 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
+		if (this.ruleCachingEnabled) {
+			return getComputedStyle(getRuleIndex(), elt, pseudoElt);
+		}
 		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
 	}
 
+	/**
+	 * Retrieves the selector index of the combined CSS rules for all current
+	 * stylesheets. The index is built on first use and cached like the rules
+	 * themselves.
+	 *
+	 * @return the selector index for all style sheets
+	 */
+	private CSSRuleIndex getRuleIndex() {
+		CSSRuleIndex index = this.currentRuleIndex;
+		if (index == null) {
+			index = new CSSRuleIndex(getCombinedRules());
+			this.currentRuleIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Retrieves the combined list of CSS rules for all current stylesheets. This
 	 * method returns a cached state when the stylesheets are the same as on its
@@ -111,7 +132,48 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
-	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+	/**
+	 * Matches the element only against the selectors the index finds for its
+	 * id, classes and name. The candidates are in declaration order, so the
+	 * result is the same as {@link #getComputedStyle(List, Element, String)}.
+	 */
+	private CSSStyleDeclaration getComputedStyle(CSSRuleIndex index, Element elt, String pseudoElt) {
+		List<CSSRuleIndex.Entry> candidates = index.getCandidates(elt);
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		Node[] hierarchy = getHierarchy(elt);
+
+		List<StyleWrapper> styleDeclarations = null;
+		StyleWrapper firstStyleDeclaration = null;
+		int position = 0;
+		for (CSSRuleIndex.Entry candidate : candidates) {
+			ExtendedSelector extendedSelector = candidate.selector;
+			if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
+				CSSStyleDeclaration style = candidate.rule.getStyle();
+				int specificity = extendedSelector.getSpecificity();
+				StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
+				if (firstStyleDeclaration == null) {
+					firstStyleDeclaration = wrapper;
+				} else {
+					if (styleDeclarations == null) {
+						styleDeclarations = new ArrayList<>();
+						styleDeclarations.add(firstStyleDeclaration);
+					}
+					styleDeclarations.add(wrapper);
+				}
+			}
+		}
+		if (styleDeclarations != null) {
+			return new CSSComputedStyleImpl(styleDeclarations);
+		}
+		if (firstStyleDeclaration != null) {
+			return firstStyleDeclaration.style;
+		}
+		return null;
+	}
+
+	private static Node[] getHierarchy(Element elt) {
 		Node parent = elt.getParentNode();
 
 		Node[] hierarchy = null;
@@ -122,6 +184,11 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 			}
 			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
 		}
+		return hierarchy;
+	}
+
+	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+		Node[] hierarchy = getHierarchy(elt);
 
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
@@ -172,10 +239,12 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
 	}
 }
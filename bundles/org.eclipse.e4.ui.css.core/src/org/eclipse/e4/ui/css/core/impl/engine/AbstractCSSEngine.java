@@ -120,6 +120,12 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	 */
 	private ViewCSS viewCSS;
 
+	/**
+	 * Cache of the computed styles of {@link #viewCSS} used when styling
+	 * elements.
+	 */
+	private ComputedStyleCache computedStyleCache;
+
 	/**
 	 * {@link IElementProvider} used to retrieve w3c Element linked to the
 	 * widget.
@@ -163,6 +169,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	public AbstractCSSEngine(ExtendedDocumentCSS documentCSS) {
 		this.documentCSS = documentCSS;
 		this.viewCSS = new ViewCSSImpl(documentCSS);
+		this.computedStyleCache = new ComputedStyleCache(documentCSS, viewCSS);
 		keyFactory = new ResourceRegistryKeyFactory();
 	}
 
@@ -379,7 +386,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		/*
 		 * Compute new Style to apply.
 		 */
-		CSSStyleDeclaration style = viewCSS.getComputedStyle(elt, null);
+		CSSStyleDeclaration style = computedStyleCache.getComputedStyle(elt, null);
 		if (computeDefaultStyle) {
 			if (applyStylesToChildNodes) {
 				this.computeDefaultStyle = computeDefaultStyle;
@@ -398,7 +405,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			// there are static pseudo instances defined, loop for it and
 			// apply styles for each pseudo instance.
 			for (String pseudoInstance : pseudoInstances) {
-				CSSStyleDeclaration styleWithPseudoInstance = viewCSS.getComputedStyle(elt, pseudoInstance);
+				CSSStyleDeclaration styleWithPseudoInstance = computedStyleCache.getComputedStyle(elt, pseudoInstance);
 				if (computeDefaultStyle) {
 					/*
 					 * Apply default style for the current pseudo instance.
@@ -989,6 +996,16 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return viewCSS;
 	}
 
+	/**
+	 * Returns the cache of computed styles used when applying styles, e.g. to
+	 * read its hit and miss counters.
+	 *
+	 * @return the computed style cache of this engine
+	 */
+	public ComputedStyleCache getComputedStyleCache() {
+		return computedStyleCache;
+	}
+
 	@Override
 	public void dispose() {
 		reset();
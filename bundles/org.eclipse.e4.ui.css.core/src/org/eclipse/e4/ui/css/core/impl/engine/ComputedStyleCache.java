@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.ViewCSS;
+import org.w3c.dom.stylesheets.StyleSheet;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * A cache of computed styles, keyed by a structural signature of an element
+ * and its ancestors.
+ * <p>
+ * The signature contains everything the selectors of the current style sheets
+ * can test: the names, ids and classes of the element and its ancestors, the
+ * values of the attributes used in attribute conditions and the state of the
+ * pseudo classes used in the style sheets. Elements with the same signature
+ * are matched by the same rules, so the many widgets of the same type and
+ * class in a workbench only need the cascade to be computed once.
+ * </p>
+ * <p>
+ * Style sheets using selectors whose result depends on something else, such
+ * as the siblings of an element, disable the cache. The cache is cleared when
+ * style sheets are added to or removed from the document.
+ * </p>
+ */
+public class ComputedStyleCache implements ExtendedDocumentCSS.StyleSheetChangeListener {
+
+	private static final int MAX_ENTRIES = 4096;
+
+	/** Marks a cached <code>null</code> style */
+	private static final Object NO_STYLE = new Object();
+
+	private final ExtendedDocumentCSS documentCSS;
+	private final ViewCSS viewCSS;
+
+	private final Map<String, Object> styles = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/** What the selectors of the current style sheets look at, or null */
+	private Vocabulary vocabulary;
+
+	private long hitCount;
+	private long missCount;
+
+	/**
+	 * The attribute names and pseudo classes used by the selectors of the
+	 * style sheets.
+	 */
+	private static final class Vocabulary {
+		final Set<String> attributes = new TreeSet<>();
+		final Set<String> pseudoClasses = new TreeSet<>();
+		boolean cacheable = true;
+	}
+
+	public ComputedStyleCache(ExtendedDocumentCSS documentCSS, ViewCSS viewCSS) {
+		this.documentCSS = documentCSS;
+		this.viewCSS = viewCSS;
+		documentCSS.addStyleSheetChangeListener(this);
+	}
+
+	/**
+	 * Returns the computed style of the given element, from the cache if an
+	 * element with the same signature has already been styled.
+	 *
+	 * @see ViewCSS#getComputedStyle(Element, String)
+	 */
+	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
+		Vocabulary v = getVocabulary();
+		if (!v.cacheable) {
+			return viewCSS.getComputedStyle(elt, pseudoElt);
+		}
+		String key = computeSignature(v, elt, pseudoElt);
+		Object style = styles.get(key);
+		if (style != null) {
+			hitCount++;
+			return style == NO_STYLE ? null : (CSSStyleDeclaration) style;
+		}
+		missCount++;
+		CSSStyleDeclaration computed = viewCSS.getComputedStyle(elt, pseudoElt);
+		styles.put(key, computed == null ? NO_STYLE : computed);
+		return computed;
+	}
+
+	/**
+	 * @return the number of computed styles served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return the number of computed styles that had to be computed
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Removes all cached styles. The hit and miss counters are kept.
+	 */
+	public void clear() {
+		styles.clear();
+		vocabulary = null;
+	}
+
+	@Override
+	public void styleSheetAdded(StyleSheet styleSheet) {
+		clear();
+	}
+
+	@Override
+	public void styleSheetRemoved(StyleSheet styleSheet) {
+		clear();
+	}
+
+	private Vocabulary getVocabulary() {
+		if (vocabulary == null) {
+			Vocabulary v = new Vocabulary();
+			StyleSheetList styleSheetList = documentCSS.getStyleSheets();
+			int l = styleSheetList.getLength();
+			for (int i = 0; i < l && v.cacheable; i++) {
+				CSSRuleList rules = ((CSSStyleSheet) styleSheetList.item(i)).getCssRules();
+				int rulesSize = rules.getLength();
+				for (int j = 0; j < rulesSize && v.cacheable; j++) {
+					CSSRule rule = rules.item(j);
+					if (rule.getType() == CSSRule.STYLE_RULE && rule instanceof ExtendedCSSRule) {
+						SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+						for (int k = 0; k < selectorList.getLength(); k++) {
+							collect(v, selectorList.item(k));
+						}
+					}
+				}
+			}
+			vocabulary = v;
+		}
+		return vocabulary;
+	}
+
+	private static void collect(Vocabulary v, Selector selector) {
+		switch (selector.getSelectorType()) {
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			break;
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			collect(v, ((ConditionalSelector) selector).getSimpleSelector());
+			collect(v, ((ConditionalSelector) selector).getCondition());
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			collect(v, ((DescendantSelector) selector).getAncestorSelector());
+			collect(v, ((DescendantSelector) selector).getSimpleSelector());
+			break;
+		default:
+			// e.g. sibling selectors, they depend on more than the ancestors
+			v.cacheable = false;
+		}
+	}
+
+	private static void collect(Vocabulary v, Condition condition) {
+		switch (condition.getConditionType()) {
+		case Condition.SAC_AND_CONDITION:
+			collect(v, ((CombinatorCondition) condition).getFirstCondition());
+			collect(v, ((CombinatorCondition) condition).getSecondCondition());
+			break;
+		case Condition.SAC_ID_CONDITION:
+		case Condition.SAC_CLASS_CONDITION:
+			break; // always part of the signature
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			add(v, v.attributes, ((AttributeCondition) condition).getLocalName());
+			break;
+		case Condition.SAC_LANG_CONDITION:
+			v.attributes.add("lang"); //$NON-NLS-1$
+			break;
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			add(v, v.pseudoClasses, ((AttributeCondition) condition).getValue());
+			break;
+		default:
+			v.cacheable = false;
+		}
+	}
+
+	private static void add(Vocabulary v, Set<String> names, String name) {
+		if (name == null) {
+			v.cacheable = false;
+		} else {
+			names.add(name);
+		}
+	}
+
+	private static String computeSignature(Vocabulary v, Element elt, String pseudoElt) {
+		StringBuilder key = new StringBuilder(256);
+		append(key, pseudoElt);
+		for (Node n = elt; n != null; n = n.getParentNode()) {
+			if (n.getNodeType() != Node.ELEMENT_NODE) {
+				key.append('^');
+				continue;
+			}
+			Element e = (Element) n;
+			key.append('/');
+			append(key, e.getNodeName());
+			append(key, e.getLocalName());
+			append(key, e.getPrefix());
+			append(key, e.getNamespaceURI());
+			if (e instanceof CSSStylableElement) {
+				CSSStylableElement stylable = (CSSStylableElement) e;
+				append(key, stylable.getCSSId());
+				append(key, stylable.getCSSClass());
+				for (String pseudoClass : v.pseudoClasses) {
+					key.append(stylable.isPseudoInstanceOf(pseudoClass) ? '1' : '0');
+					key.append(stylable.isStaticPseudoInstance(pseudoClass) ? '1' : '0');
+				}
+			} else {
+				append(key, e.getAttribute("id")); //$NON-NLS-1$
+				append(key, e.getAttribute("class")); //$NON-NLS-1$
+			}
+			for (String attribute : v.attributes) {
+				append(key, e.hasAttribute(attribute) ? e.getAttribute(attribute) : null);
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Appends a length prefixed value, so that no two different sequences of
+	 * values give the same signature.
+	 */
+	private static void append(StringBuilder key, String value) {
+		if (value == null) {
+			key.append('-');
+		} else {
+			key.append(value.length()).append(':').append(value);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2019 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -64,6 +64,7 @@ import org.eclipse.e4.ui.css.swt.theme.IThemeManager;
 import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.PersistState;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
+import org.eclipse.e4.ui.internal.workbench.StartupTracer;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MContribution;
@@ -724,7 +725,10 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 			@Override
 			public void run() throws Exception {
-				gui[0] = safeCreateGui(element);
+				try (StartupTracer.Span span = StartupTracer.span("PartRenderingEngine.createGui", //$NON-NLS-1$
+						element.getElementId())) {
+					gui[0] = safeCreateGui(element);
+				}
 			}
 		});
 		return gui[0];
@@ -1043,7 +1047,9 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 			@Override
 			public void run() {
-				initializeStyling(display, runContext);
+				try (StartupTracer.Span span = StartupTracer.span("PartRenderingEngine.initializeStyling")) { //$NON-NLS-1$
+					initializeStyling(display, runContext);
+				}
 
 				// Register an SWT resource handler
 				runContext.set(IResourceUtilities.class, new ResourceUtility());
@@ -1113,6 +1119,9 @@ public class PartRenderingEngine implements IPresentationEngine {
 					((E4Testable) testableObject).init(display, runContext.get(IWorkbench.class));
 				}
 
+				// the UI is up, stop tracing the startup
+				StartupTracer.finish();
+
 				IEventLoopAdvisor advisor = runContext.getActiveLeaf().get(IEventLoopAdvisor.class);
 				if (advisor == null) {
 					advisor = new IEventLoopAdvisor() {
@@ -1407,10 +1416,12 @@ public class PartRenderingEngine implements IPresentationEngine {
 	}
 
 	private static void setCSSTheme(Display display, IThemeEngine themeEngine, String cssTheme) {
-		if (display.getHighContrast()) {
-			themeEngine.setTheme(cssTheme, false);
-		} else {
-			themeEngine.restore(cssTheme);
+		try (StartupTracer.Span span = StartupTracer.span("IThemeEngine.setTheme", cssTheme)) { //$NON-NLS-1$
+			if (display.getHighContrast()) {
+				themeEngine.setTheme(cssTheme, false);
+			} else {
+				themeEngine.restore(cssTheme);
+			}
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 BestSolution.at and others.
+ * Copyright (c) 2008, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -114,26 +114,28 @@ public class E4Workbench implements IWorkbench {
 	 *            the root context
 	 */
 	public E4Workbench(MApplicationElement uiRoot, IEclipseContext applicationContext) {
-		id = createId();
-		appContext = applicationContext;
-		appContext.set(IWorkbench.class.getName(), this);
-		if (uiRoot instanceof MApplication) {
-			appModel = (MApplication) uiRoot;
-		}
+		try (StartupTracer.Span span = StartupTracer.span("E4Workbench")) { //$NON-NLS-1$
+			id = createId();
+			appContext = applicationContext;
+			appContext.set(IWorkbench.class.getName(), this);
+			if (uiRoot instanceof MApplication) {
+				appModel = (MApplication) uiRoot;
+			}
 
-		if (uiRoot instanceof MApplication) {
-			init((MApplication) uiRoot);
-		}
+			if (uiRoot instanceof MApplication) {
+				init((MApplication) uiRoot);
+			}
 
-		uiEventPublisher = new UIEventPublisher(appContext);
-		appContext.set(UIEventPublisher.class, uiEventPublisher);
-		((Notifier) uiRoot).eAdapters().add(uiEventPublisher);
-		Hashtable<String, Object> properties = new Hashtable<>();
-		properties.put("id", getId()); //$NON-NLS-1$
+			uiEventPublisher = new UIEventPublisher(appContext);
+			appContext.set(UIEventPublisher.class, uiEventPublisher);
+			((Notifier) uiRoot).eAdapters().add(uiEventPublisher);
+			Hashtable<String, Object> properties = new Hashtable<>();
+			properties.put("id", getId()); //$NON-NLS-1$
 
-		osgiRegistration = Activator.getDefault().getContext().registerService(IWorkbench.class, this, properties);
+			osgiRegistration = Activator.getDefault().getContext().registerService(IWorkbench.class, this, properties);
 
-		ContextInjectionFactory.make(PartOnTopManager.class, appContext);
+			ContextInjectionFactory.make(PartOnTopManager.class, appContext);
+		}
 	}
 
 	@Override
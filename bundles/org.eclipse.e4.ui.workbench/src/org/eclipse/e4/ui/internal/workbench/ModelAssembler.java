@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2021 BestSolution.at and others.
+ * Copyright (c) 2010, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -306,15 +306,17 @@ public class ModelAssembler {
 
 		IExtensionRegistry extReg = this.registry.get();
 		if (extReg != null) {
-			IExtensionPoint extPoint = extReg.getExtensionPoint(EXTENSION_POINT_ID);
-			IExtension[] extensions = new ExtensionsSort().sort(extPoint.getExtensions());
-
-			// run processors which are marked to run before fragments
-			runProcessors(extensions, initial, false);
-			// process fragments (and resolve imports)
-			processFragments(extensions, initial);
-			// run processors which are marked to run after fragments
-			runProcessors(extensions, initial, true);
+			try (StartupTracer.Span span = StartupTracer.span("ModelAssembler.processModel")) { //$NON-NLS-1$
+				IExtensionPoint extPoint = extReg.getExtensionPoint(EXTENSION_POINT_ID);
+				IExtension[] extensions = new ExtensionsSort().sort(extPoint.getExtensions());
+
+				// run processors which are marked to run before fragments
+				runProcessors(extensions, initial, false);
+				// process fragments (and resolve imports)
+				processFragments(extensions, initial);
+				// run processors which are marked to run after fragments
+				runProcessors(extensions, initial, true);
+			}
 		}
 
 		// once we are done, any further handling in the tracker can't be initial
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * An index of the elements of a model by element id, tag and type. The index is kept up to date by
+ * the {@link UIEventPublisher} observing the model.
+ * <p>
+ * The index does not answer searches by itself, as the elements found by
+ * {@link ModelServiceImpl#findElements(MApplicationElement, Class, int, org.eclipse.e4.ui.workbench.Selector)}
+ * depend on the search flags and on the order in which the model is walked. Instead it restricts the
+ * walk to the elements which lead to a possible match: the matching elements, their ancestors and
+ * the placeholders which reference them or their ancestors.
+ * </p>
+ */
+final class ModelElementIndex {
+
+	/**
+	 * A search is only restricted if at most one in this many elements of the model may match it,
+	 * otherwise walking the whole model is cheaper.
+	 */
+	private static final int MIN_SELECTIVITY = 8;
+
+	private final Map<String, Set<MApplicationElement>> elementsById = new HashMap<>();
+
+	private final Map<String, Set<MApplicationElement>> elementsByTag = new HashMap<>();
+
+	private final Map<Class<?>, Set<MApplicationElement>> elementsByClass = new HashMap<>();
+
+	private final Set<MPlaceholder> placeholders = new HashSet<>();
+
+	private int size;
+
+	/**
+	 * The placeholders by the element they reference, <code>null</code> if a placeholder references
+	 * an element which is not indexed, or if the references have to be computed again.
+	 */
+	private Map<MUIElement, List<MPlaceholder>> references;
+
+	private boolean referencesValid;
+
+	/**
+	 * Adds the given object to the index, if it is an application element.
+	 *
+	 * @param object the object which is now part of the model
+	 */
+	void add(EObject object) {
+		if (!(object instanceof MApplicationElement element)) {
+			return;
+		}
+		if (!addTo(elementsByClass, element.getClass(), element)) {
+			return;
+		}
+		size++;
+		addTo(elementsById, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			addTo(elementsByTag, tag, element);
+		}
+		if (element instanceof MPlaceholder placeholder) {
+			placeholders.add(placeholder);
+		}
+		referencesValid = false;
+	}
+
+	/**
+	 * Removes the given object from the index.
+	 *
+	 * @param object the object which is no longer part of the model
+	 */
+	void remove(EObject object) {
+		if (!(object instanceof MApplicationElement element)) {
+			return;
+		}
+		if (!removeFrom(elementsByClass, element.getClass(), element)) {
+			return;
+		}
+		size--;
+		removeFrom(elementsById, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			removeFrom(elementsByTag, tag, element);
+		}
+		if (element instanceof MPlaceholder placeholder) {
+			placeholders.remove(placeholder);
+		}
+		referencesValid = false;
+	}
+
+	/**
+	 * Updates the index for a change of the element id, the tags or the reference of a placeholder.
+	 * Elements added to or removed from the model are reported by {@link #add(EObject)} and
+	 * {@link #remove(EObject)}.
+	 *
+	 * @param notification the notification of the change
+	 */
+	void notifyChanged(Notification notification) {
+		Object feature = notification.getFeature();
+		if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__ELEMENT_ID) {
+			MApplicationElement element = (MApplicationElement) notification.getNotifier();
+			if (contains(element)) {
+				removeFrom(elementsById, notification.getOldStringValue(), element);
+				addTo(elementsById, element.getElementId(), element);
+			}
+		} else if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__TAGS) {
+			MApplicationElement element = (MApplicationElement) notification.getNotifier();
+			if (contains(element) && notification.getEventType() != Notification.MOVE) {
+				for (String tag : getTags(notification.getOldValue())) {
+					if (!element.getTags().contains(tag)) {
+						removeFrom(elementsByTag, tag, element);
+					}
+				}
+				for (String tag : getTags(notification.getNewValue())) {
+					addTo(elementsByTag, tag, element);
+				}
+			}
+		} else if (feature == AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+			referencesValid = false;
+		}
+	}
+
+	/**
+	 * Returns whether the given element is part of the indexed model.
+	 *
+	 * @param element the element
+	 * @return <code>true</code> if the element is indexed
+	 */
+	boolean contains(Object element) {
+		Set<MApplicationElement> elements = elementsByClass.get(element.getClass());
+		return elements != null && elements.contains(element);
+	}
+
+	/**
+	 * Returns the elements a search for elements with the given id, type and tags has to visit to
+	 * find all matches reachable from an indexed search root.
+	 *
+	 * @param id the element id to match, or <code>null</code>
+	 * @param clazz the type to match, or <code>null</code>
+	 * @param tagsToMatch the tags to match, or <code>null</code>
+	 * @return the elements to visit, or <code>null</code> if the whole model has to be walked
+	 */
+	Set<Object> getSearchScope(String id, Class<?> clazz, List<String> tagsToMatch) {
+		Collection<MApplicationElement> candidates = getCandidates(id, clazz, tagsToMatch);
+		if (candidates == null || candidates.size() > size / MIN_SELECTIVITY) {
+			return null;
+		}
+		Map<MUIElement, List<MPlaceholder>> referencesByElement = getReferences();
+		if (referencesByElement == null) {
+			return null;
+		}
+
+		Set<Object> scope = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<EObject> pending = new ArrayDeque<>();
+		for (MApplicationElement candidate : candidates) {
+			pending.add((EObject) candidate);
+		}
+		while (!pending.isEmpty()) {
+			EObject element = pending.remove();
+			while (element != null && scope.add(element)) {
+				List<MPlaceholder> referencing = referencesByElement.get(element);
+				if (referencing != null) {
+					for (MPlaceholder placeholder : referencing) {
+						pending.add((EObject) placeholder);
+					}
+				}
+				element = element.eContainer();
+			}
+		}
+		return scope;
+	}
+
+	private Collection<MApplicationElement> getCandidates(String id, Class<?> clazz, List<String> tagsToMatch) {
+		if (id != null) {
+			return elementsById.getOrDefault(id, Collections.emptySet());
+		}
+		if (tagsToMatch != null && !tagsToMatch.isEmpty()) {
+			Collection<MApplicationElement> candidates = null;
+			for (String tag : tagsToMatch) {
+				Set<MApplicationElement> tagged = elementsByTag.getOrDefault(tag, Collections.emptySet());
+				if (candidates == null || tagged.size() < candidates.size()) {
+					candidates = tagged;
+				}
+			}
+			return candidates;
+		}
+		if (clazz != null) {
+			List<Set<MApplicationElement>> instances = new ArrayList<>();
+			int count = 0;
+			for (Map.Entry<Class<?>, Set<MApplicationElement>> entry : elementsByClass.entrySet()) {
+				if (clazz.isAssignableFrom(entry.getKey())) {
+					instances.add(entry.getValue());
+					count += entry.getValue().size();
+				}
+			}
+			if (count > size / MIN_SELECTIVITY) {
+				return null;
+			}
+			List<MApplicationElement> candidates = new ArrayList<>(count);
+			for (Set<MApplicationElement> elements : instances) {
+				candidates.addAll(elements);
+			}
+			return candidates;
+		}
+		return null;
+	}
+
+	private Map<MUIElement, List<MPlaceholder>> getReferences() {
+		if (!referencesValid) {
+			references = computeReferences();
+			referencesValid = true;
+		}
+		return references;
+	}
+
+	private Map<MUIElement, List<MPlaceholder>> computeReferences() {
+		Map<MUIElement, List<MPlaceholder>> referencesByElement = new HashMap<>();
+		for (MPlaceholder placeholder : placeholders) {
+			MUIElement ref = placeholder.getRef();
+			if (ref == null) {
+				continue;
+			}
+			if (!contains(ref)) {
+				// the walk would search elements the index does not know of
+				return null;
+			}
+			referencesByElement.computeIfAbsent(ref, r -> new ArrayList<>(1)).add(placeholder);
+		}
+		return referencesByElement;
+	}
+
+	private static List<String> getTags(Object value) {
+		if (value instanceof String tag) {
+			return List.of(tag);
+		}
+		if (value instanceof Collection<?> values) {
+			List<String> tags = new ArrayList<>(values.size());
+			for (Object tag : values) {
+				if (tag instanceof String) {
+					tags.add((String) tag);
+				}
+			}
+			return tags;
+		}
+		return Collections.emptyList();
+	}
+
+	private static <K> boolean addTo(Map<K, Set<MApplicationElement>> index, K key, MApplicationElement element) {
+		if (key == null) {
+			return false;
+		}
+		return index.computeIfAbsent(key, k -> new HashSet<>(2)).add(element);
+	}
+
+	private static <K> boolean removeFrom(Map<K, Set<MApplicationElement>> index, K key,
+			MApplicationElement element) {
+		if (key == null) {
+			return false;
+		}
+		Set<MApplicationElement> elements = index.get(key);
+		if (elements == null || !elements.remove(element)) {
+			return false;
+		}
+		if (elements.isEmpty()) {
+			index.remove(key);
+		}
+		return true;
+	}
+}
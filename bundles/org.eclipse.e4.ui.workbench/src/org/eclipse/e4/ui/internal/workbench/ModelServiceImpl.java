@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2020 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.util.Hashtable;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -75,6 +76,8 @@ import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.e4.ui.workbench.modeling.EPartService;
 import org.eclipse.e4.ui.workbench.modeling.EPlaceholderResolver;
 import org.eclipse.e4.ui.workbench.modeling.ElementMatcher;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -170,10 +173,16 @@ public class ModelServiceImpl implements EModelService {
 
 	}
 
+	/**
+	 * @param scope
+	 *            the elements which lead to a possible match, see
+	 *            {@link ModelElementIndex#getSearchScope(String, Class, List)},
+	 *            or {@code null} to search all elements
+	 */
 	private <T> void findElementsRecursive(MApplicationElement searchRoot, Class<T> clazz,
-			Selector matcher, LinkedHashSet<T> elements, int searchFlags) {
+			Selector matcher, LinkedHashSet<T> elements, int searchFlags, Set<Object> scope) {
 		Assert.isLegal(searchRoot != null);
-		if (searchFlags == 0) {
+		if (searchFlags == 0 || (scope != null && !scope.contains(searchRoot))) {
 			return;
 		}
 
@@ -208,21 +217,21 @@ public class ModelServiceImpl implements EModelService {
 			}
 
 			for (MApplicationElement child : children) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
 		if (searchRoot instanceof MBindingContext && (searchFlags == ANYWHERE)) {
 			MBindingContext bindingContext = (MBindingContext) searchRoot;
 			for (MBindingContext child : bindingContext.getChildren()) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
 		if (searchRoot instanceof MBindingTable) {
 			MBindingTable bindingTable = (MBindingTable) searchRoot;
 			for (MKeyBinding child : bindingTable.getBindings()) {
-				findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
@@ -242,7 +251,7 @@ public class ModelServiceImpl implements EModelService {
 				if((searchFlags & IN_SHARED_ELEMENTS) != 0) {
 					List<MUIElement> sharedElements = ((MWindow) searchRoot).getSharedElements();
 					for (MUIElement muiElement : sharedElements) {
-						findElementsRecursive(muiElement, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(muiElement, clazz, matcher, elements, searchFlags, scope);
 					}
 				}
 
@@ -257,19 +266,19 @@ public class ModelServiceImpl implements EModelService {
 					MElementContainer<? extends MUIElement> container = searchContainer;
 					List<? extends MUIElement> children = container.getChildren();
 					for (MUIElement child : children) {
-						findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 					}
 				} else if ((searchFlags & IN_ACTIVE_PERSPECTIVE) != 0) {
 					// Only search the currently active perspective, if any
 					MPerspective active = ((MPerspectiveStack) searchContainer).getSelectedElement();
 					if (active != null) {
-						findElementsRecursive(active, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(active, clazz, matcher, elements, searchFlags, scope);
 					}
 				} else if ((searchFlags & IN_SHARED_AREA) != 0) {
 					// Only recurse through the shared areas
 					List<MArea> areas = findElements(searchContainer, null, MArea.class);
 					for (MArea area : areas) {
-						findElementsRecursive(area, clazz, matcher, elements, searchFlags);
+						findElementsRecursive(area, clazz, matcher, elements, searchFlags, scope);
 					}
 				}
 			} else {
@@ -277,7 +286,7 @@ public class ModelServiceImpl implements EModelService {
 				MElementContainer<MUIElement> container = (MElementContainer<MUIElement>) searchRoot;
 				List<MUIElement> children = container.getChildren();
 				for (MUIElement child : children) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -287,7 +296,7 @@ public class ModelServiceImpl implements EModelService {
 			MTrimmedWindow tw = (MTrimmedWindow) searchRoot;
 			List<MTrimBar> bars = tw.getTrimBars();
 			for (MTrimBar bar : bars) {
-				findElementsRecursive(bar, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(bar, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
@@ -295,17 +304,17 @@ public class ModelServiceImpl implements EModelService {
 		if (searchRoot instanceof MWindow) {
 			MWindow window = (MWindow) searchRoot;
 			for (MWindow dw : window.getWindows()) {
-				findElementsRecursive(dw, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(dw, clazz, matcher, elements, searchFlags, scope);
 			}
 
 			MMenu menu = window.getMainMenu();
 			if (menu != null && (searchFlags & IN_MAIN_MENU) != 0) {
-				findElementsRecursive(menu, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(menu, clazz, matcher, elements, searchFlags, scope);
 			}
 			// Check for Handlers
 			if (searchFlags == ANYWHERE && MHandler.class.equals(clazz)) {
 				for (MHandler child : window.getHandlers()) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -313,7 +322,7 @@ public class ModelServiceImpl implements EModelService {
 		if (searchRoot instanceof MPerspective) {
 			MPerspective persp = (MPerspective) searchRoot;
 			for (MWindow dw : persp.getWindows()) {
-				findElementsRecursive(dw, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(dw, clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 		// Search shared elements
@@ -323,7 +332,7 @@ public class ModelServiceImpl implements EModelService {
 			// Don't search in shared areas unless the flag is set
 			if (ph.getRef() != null
 					&& (!(ph.getRef() instanceof MArea) || (searchFlags & IN_SHARED_AREA) != 0)) {
-				findElementsRecursive(ph.getRef(), clazz, matcher, elements, searchFlags);
+				findElementsRecursive(ph.getRef(), clazz, matcher, elements, searchFlags, scope);
 			}
 		}
 
@@ -331,16 +340,16 @@ public class ModelServiceImpl implements EModelService {
 			MPart part = (MPart) searchRoot;
 
 			for (MMenu menu : part.getMenus()) {
-				findElementsRecursive(menu, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(menu, clazz, matcher, elements, searchFlags, scope);
 			}
 
 			MToolBar toolBar = part.getToolbar();
 			if (toolBar != null) {
-				findElementsRecursive(toolBar, clazz, matcher, elements, searchFlags);
+				findElementsRecursive(toolBar, clazz, matcher, elements, searchFlags, scope);
 			}
 			if (MHandler.class.equals(clazz)) {
 				for (MHandler child : part.getHandlers()) {
-					findElementsRecursive(child, clazz, matcher, elements, searchFlags);
+					findElementsRecursive(child, clazz, matcher, elements, searchFlags, scope);
 				}
 			}
 		}
@@ -412,8 +421,7 @@ public class ModelServiceImpl implements EModelService {
 
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz, List<String> tagsToMatch) {
-		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		return findElements(searchRoot, clazz, ANYWHERE, matcher);
+		return new ArrayList<>(findIndexedElements(searchRoot, id, clazz, tagsToMatch, ANYWHERE));
 	}
 
 	@Override
@@ -424,18 +432,44 @@ public class ModelServiceImpl implements EModelService {
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz,
 			List<String> tagsToMatch, int searchFlags) {
-		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		return findElements(searchRoot, clazz, searchFlags, matcher);
+		return new ArrayList<>(findIndexedElements(searchRoot, id, clazz, tagsToMatch, searchFlags));
 	}
 
 	@Override
 	public <T> List<T> findElements(MApplicationElement searchRoot, Class<T> clazz,
 			int searchFlags, Selector matcher) {
 		LinkedHashSet<T> elements = new LinkedHashSet<>();
-		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags);
+		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags, null);
 		return new ArrayList<>(elements);
 	}
 
+	/**
+	 * Finds the elements matching the given id, type and tags. If the search root
+	 * is part of a model observed by a {@link UIEventPublisher}, only the
+	 * elements which lead to a possible match according to its
+	 * {@link ModelElementIndex} are visited.
+	 */
+	private <T> LinkedHashSet<T> findIndexedElements(MApplicationElement searchRoot, String id, Class<T> clazz,
+			List<String> tagsToMatch, int searchFlags) {
+		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
+		ModelElementIndex index = getElementIndex(searchRoot);
+		Set<Object> scope = index != null ? index.getSearchScope(id, clazz, tagsToMatch) : null;
+		LinkedHashSet<T> elements = new LinkedHashSet<>();
+		findElementsRecursive(searchRoot, clazz, matcher, elements, searchFlags, scope);
+		return elements;
+	}
+
+	private static ModelElementIndex getElementIndex(MApplicationElement element) {
+		if (element instanceof Notifier notifier) {
+			for (Adapter adapter : notifier.eAdapters()) {
+				if (adapter instanceof UIEventPublisher publisher) {
+					return publisher.getElementIndex();
+				}
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public <T> Stream<T> findMatchingElements(MApplicationElement searchRoot, String xPath, Class<T> clazz) {
 		return ModelXPathEvaluator.findMatchingElements(searchRoot, xPath, clazz);
@@ -444,10 +478,7 @@ public class ModelServiceImpl implements EModelService {
 	private <T> Iterable<T> findPerspectiveElements(MUIElement searchRoot, String id,
 			Class<T> clazz,
 			List<String> tagsToMatch) {
-		LinkedHashSet<T> elements = new LinkedHashSet<>();
-		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		findElementsRecursive(searchRoot, clazz, matcher, elements, PRESENTATION);
-		return elements;
+		return findIndexedElements(searchRoot, id, clazz, tagsToMatch, PRESENTATION);
 	}
 
 	@Override
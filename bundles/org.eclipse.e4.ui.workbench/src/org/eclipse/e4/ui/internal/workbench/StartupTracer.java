@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.eclipse.core.runtime.ILog;
+
+/**
+ * Records the time spent in the phases of the workbench startup as nested spans.
+ * <p>
+ * Tracing is on from {@link #start()} until {@link #finish()}, or from the
+ * start of the application until the workbench runs its event loop if the
+ * {@value #TRACE_FILE_PROPERTY} system property names a file. In the latter case
+ * the spans are written to that file in the Chrome trace event format, which
+ * can be opened in <code>chrome://tracing</code> or Perfetto.
+ * </p>
+ * <p>
+ * When tracing is off, {@link #span(String)} returns a shared span which does
+ * nothing, so spans may be opened on hot paths:
+ * </p>
+ *
+ * <pre>
+ * try (StartupTracer.Span span = StartupTracer.span("ModelAssembler.processModel")) {
+ * 	...
+ * }
+ * </pre>
+ */
+public final class StartupTracer {
+
+	/**
+	 * The system property naming the file the startup trace is written to.
+	 */
+	public static final String TRACE_FILE_PROPERTY = "org.eclipse.e4.ui.workbench.startupTrace"; //$NON-NLS-1$
+
+	/**
+	 * A span of time spent in a phase of the startup. A span ends when it is
+	 * closed, it has to be closed by the thread which opened it.
+	 */
+	public static class Span implements AutoCloseable {
+
+		private final String name;
+
+		private final String detail;
+
+		private final Span parent;
+
+		private final Thread thread;
+
+		private final long startTime;
+
+		private long endTime;
+
+		private Span(String name, String detail, Span parent) {
+			this.name = name;
+			this.detail = detail;
+			this.parent = parent;
+			this.thread = Thread.currentThread();
+			this.startTime = System.nanoTime();
+		}
+
+		/**
+		 * @return the name of the phase
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the detail given when the span was opened, or <code>null</code>
+		 */
+		public String getDetail() {
+			return detail;
+		}
+
+		/**
+		 * @return the span which was open on the same thread when this span was
+		 *         opened, or <code>null</code>
+		 */
+		public Span getParent() {
+			return parent;
+		}
+
+		/**
+		 * @return the {@link System#nanoTime()} the span was opened at
+		 */
+		public long getStartTime() {
+			return startTime;
+		}
+
+		/**
+		 * @return the {@link System#nanoTime()} the span was closed at, or
+		 *         <code>0</code> if it is still open
+		 */
+		public long getEndTime() {
+			return endTime;
+		}
+
+		@Override
+		public void close() {
+			endTime = System.nanoTime();
+			CURRENT.set(parent);
+			synchronized (SPANS) {
+				SPANS.add(this);
+			}
+		}
+	}
+
+	private static final Span NO_SPAN = new Span(null, null, null) {
+		@Override
+		public void close() {
+			// tracing is off
+		}
+	};
+
+	private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+	private static final List<Span> SPANS = new ArrayList<>();
+
+	private static volatile boolean enabled = System.getProperty(TRACE_FILE_PROPERTY) != null;
+
+	private StartupTracer() {
+	}
+
+	/**
+	 * Opens a span for a phase of the startup.
+	 *
+	 * @param name the name of the phase
+	 * @return the span, to be closed when the phase ends
+	 */
+	public static Span span(String name) {
+		return enabled ? open(name, null) : NO_SPAN;
+	}
+
+	/**
+	 * Opens a span for a phase of the startup.
+	 *
+	 * @param name   the name of the phase
+	 * @param detail details about the phase, like the id of the element it is
+	 *               about, or <code>null</code>
+	 * @return the span, to be closed when the phase ends
+	 */
+	public static Span span(String name, String detail) {
+		return enabled ? open(name, detail) : NO_SPAN;
+	}
+
+	private static Span open(String name, String detail) {
+		Span span = new Span(name, detail, CURRENT.get());
+		CURRENT.set(span);
+		return span;
+	}
+
+	/**
+	 * @return whether spans are recorded
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts recording spans, discarding the spans recorded before.
+	 */
+	public static void start() {
+		synchronized (SPANS) {
+			SPANS.clear();
+		}
+		enabled = true;
+	}
+
+	/**
+	 * Stops recording spans. If tracing was started by the
+	 * {@value #TRACE_FILE_PROPERTY} system property, the spans are written to the
+	 * file it names.
+	 */
+	public static void finish() {
+		if (!enabled) {
+			return;
+		}
+		enabled = false;
+		String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+		if (traceFile != null) {
+			try (Writer writer = Files.newBufferedWriter(Path.of(traceFile), StandardCharsets.UTF_8)) {
+				writeChromeTrace(writer);
+			} catch (IOException | RuntimeException e) {
+				ILog.of(StartupTracer.class).error("Cannot write the startup trace to " + traceFile, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * @return the spans closed since tracing was started, in the order they were
+	 *         closed
+	 */
+	public static List<Span> getSpans() {
+		synchronized (SPANS) {
+			return Collections.unmodifiableList(new ArrayList<>(SPANS));
+		}
+	}
+
+	/**
+	 * Writes the recorded spans as complete events in the Chrome trace event
+	 * format. The timestamps are in microseconds relative to the first span.
+	 *
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public static void writeChromeTrace(Writer writer) throws IOException {
+		List<Span> spans = getSpans();
+		long origin = Long.MAX_VALUE;
+		for (Span span : spans) {
+			origin = Math.min(origin, span.startTime);
+		}
+		List<Thread> threads = new ArrayList<>();
+		writer.write("{\"traceEvents\":["); //$NON-NLS-1$
+		String separator = "\n"; //$NON-NLS-1$
+		for (Span span : spans) {
+			if (!threads.contains(span.thread)) {
+				threads.add(span.thread);
+				writer.write(separator);
+				writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":"); //$NON-NLS-1$
+				writer.write(Long.toString(span.thread.getId()));
+				writer.write(",\"args\":{\"name\":"); //$NON-NLS-1$
+				writeString(writer, span.thread.getName());
+				writer.write("}}"); //$NON-NLS-1$
+				separator = ",\n"; //$NON-NLS-1$
+			}
+			writer.write(separator);
+			writer.write("{\"name\":"); //$NON-NLS-1$
+			writeString(writer, span.name);
+			writer.write(",\"cat\":\"startup\",\"ph\":\"X\",\"ts\":"); //$NON-NLS-1$
+			writer.write(toMicros(span.startTime - origin));
+			writer.write(",\"dur\":"); //$NON-NLS-1$
+			writer.write(toMicros(span.endTime - span.startTime));
+			writer.write(",\"pid\":1,\"tid\":"); //$NON-NLS-1$
+			writer.write(Long.toString(span.thread.getId()));
+			if (span.detail != null) {
+				writer.write(",\"args\":{\"detail\":"); //$NON-NLS-1$
+				writeString(writer, span.detail);
+				writer.write('}');
+			}
+			writer.write('}');
+			separator = ",\n"; //$NON-NLS-1$
+		}
+		writer.write("\n],\"displayTimeUnit\":\"ms\"}\n"); //$NON-NLS-1$
+		writer.flush();
+	}
+
+	private static String toMicros(long nanos) {
+		return String.format(Locale.ROOT, "%d.%03d", nanos / 1000, nanos % 1000); //$NON-NLS-1$
+	}
+
+	private static void writeString(Writer writer, String value) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				writer.write('\\');
+				writer.write(c);
+			} else if (c < 0x20) {
+				writer.write(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+			} else {
+				writer.write(c);
+			}
+		}
+		writer.write('"');
+	}
+}
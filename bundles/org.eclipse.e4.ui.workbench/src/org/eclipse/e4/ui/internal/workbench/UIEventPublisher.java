@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 
@@ -38,13 +39,35 @@ public class UIEventPublisher extends EContentAdapter {
 
 	private IEclipseContext context;
 
+	private final ModelElementIndex elementIndex = new ModelElementIndex();
+
 	public UIEventPublisher(IEclipseContext e4Context) {
 		this.context = e4Context;
 	}
 
+	/**
+	 * @return the index of the elements of the model this publisher is attached to
+	 */
+	ModelElementIndex getElementIndex() {
+		return elementIndex;
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		elementIndex.add(target);
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		elementIndex.remove(target);
+	}
+
 	@Override
 	public void notifyChanged(Notification notification) {
 		super.notifyChanged(notification);
+		elementIndex.notifyChanged(notification);
 
 		// Ignore events that did not change the model value
 		if (notification.isTouch())
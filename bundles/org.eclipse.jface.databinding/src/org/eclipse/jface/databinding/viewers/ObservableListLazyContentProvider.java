@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.databinding.viewers;
+
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.viewers.AbstractTableViewer;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+
+/**
+ * An {@link ILazyContentProvider lazy content provider} for an
+ * {@link AbstractTableViewer} created with the {@link SWT#VIRTUAL} style that
+ * provides the elements of an {@link IObservableList} when set as the viewer's
+ * input.
+ * <p>
+ * Unlike {@link ObservableListContentProvider}, this content provider never
+ * passes the whole list to the viewer. It only sets the item count of the
+ * table and provides the elements of the rows the table asks for, which are
+ * usually the visible ones. Objects of this class listen for changes to the
+ * observable list and update the item count and clear the rows whose elements
+ * changed, so that the table asks for the elements again when the rows are
+ * shown.
+ * </p>
+ * <p>
+ * Since the elements of rows which were never shown are not known to the
+ * viewer, this content provider does not track the known elements. Label
+ * providers that observe the known elements of a content provider, like the
+ * ones created by {@link ViewerSupport}, can not be used with it.
+ * </p>
+ *
+ * @param <E> type of the elements of the list
+ *
+ * @noextend This class is not intended to be subclassed by clients.
+ * @since 1.16
+ */
+public class ObservableListLazyContentProvider<E> implements ILazyContentProvider {
+	/**
+	 * The maximum number of rows which are cleared one by one after a change,
+	 * the whole table is cleared if more rows changed.
+	 */
+	static final int MAX_CLEARED_ITEMS = 256;
+
+	private final IListChangeListener<E> listener = this::handleListChange;
+
+	private AbstractTableViewer viewer;
+
+	private IObservableList<E> observableList;
+
+	private int itemCount;
+
+	/**
+	 * Constructs an ObservableListLazyContentProvider. Must be called from the
+	 * display thread.
+	 */
+	public ObservableListLazyContentProvider() {
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		if (observableList != null) {
+			observableList.removeListChangeListener(listener);
+			observableList = null;
+		}
+		if (viewer != null) {
+			Assert.isTrue(viewer instanceof AbstractTableViewer,
+					"This content provider only works with AbstractTableViewer"); //$NON-NLS-1$
+			Assert.isTrue((viewer.getControl().getStyle() & SWT.VIRTUAL) != 0,
+					"This content provider only works with SWT.VIRTUAL tables"); //$NON-NLS-1$
+		}
+		this.viewer = (AbstractTableViewer) viewer;
+		itemCount = 0;
+		if (newInput != null) {
+			Assert.isTrue(newInput instanceof IObservableList,
+					"This content provider only works with input of type IObservableList"); //$NON-NLS-1$
+			observableList = (IObservableList<E>) newInput;
+			observableList.addListChangeListener(listener);
+			itemCount = observableList.size();
+		}
+		if (!isViewerDisposed()) {
+			this.viewer.setItemCount(itemCount);
+		}
+	}
+
+	@Override
+	public void updateElement(int index) {
+		if (observableList != null && index < observableList.size()) {
+			viewer.replace(observableList.get(index), index);
+		}
+	}
+
+	private void handleListChange(ListChangeEvent<? extends E> event) {
+		if (isViewerDisposed())
+			return;
+
+		int size = observableList.size();
+		int[] range = getChangedRange(event.diff, size);
+		if (size != itemCount) {
+			itemCount = size;
+			viewer.setItemCount(size);
+		}
+		if (range[1] - range[0] >= MAX_CLEARED_ITEMS) {
+			viewer.refresh();
+		} else {
+			for (int i = range[0]; i <= range[1]; i++) {
+				viewer.clear(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the range of positions of a list which may hold other elements
+	 * after the given change. An addition or removal shifts all following
+	 * elements, so if the size of the list changed the range extends to the end
+	 * of the list.
+	 *
+	 * @param diff the change of the list
+	 * @param size the size of the list after the change
+	 * @return the first and last changed position, the range is empty if the
+	 *         last position is smaller than the first one
+	 */
+	static int[] getChangedRange(ListDiff<?> diff, int size) {
+		int from = Integer.MAX_VALUE;
+		int to = -1;
+		int sizeChange = 0;
+		for (ListDiffEntry<?> entry : diff.getDifferences()) {
+			from = Math.min(from, entry.getPosition());
+			to = Math.max(to, entry.getPosition());
+			sizeChange += entry.isAddition() ? 1 : -1;
+		}
+		if (sizeChange != 0) {
+			to = size - 1;
+		}
+		return new int[] { from, Math.min(to, size - 1) };
+	}
+
+	private boolean isViewerDisposed() {
+		return viewer == null || viewer.getControl() == null || viewer.getControl().isDisposed();
+	}
+
+	/**
+	 * Disposes of this content provider. This is called by the viewer when a
+	 * content provider is replaced, or when the viewer itself is disposed.
+	 * <p>
+	 * The viewer should not be updated during this call, as it is in the
+	 * process of being disposed.
+	 * </p>
+	 */
+	@Override
+	public void dispose() {
+		if (observableList != null) {
+			observableList.removeListChangeListener(listener);
+			observableList = null;
+		}
+		viewer = null;
+	}
+}
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.databinding.viewers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.masterdetail.IObservableFactory;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.internal.databinding.viewers.ViewerElementMap;
+import org.eclipse.jface.internal.databinding.viewers.ViewerElementSet;
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+
+/**
+ * An {@link ILazyTreeContentProvider lazy tree content provider} for a
+ * {@link TreeViewer} created with the {@link SWT#VIRTUAL} style, which uses the
+ * provided {@link IObservableFactory list factory} to obtain the elements of a
+ * tree.
+ * <p>
+ * Unlike {@link ObservableListTreeContentProvider}, this content provider never
+ * passes whole lists of children to the viewer. It only sets the child counts
+ * of the elements shown in the tree and provides the children the tree asks
+ * for, which are usually the visible ones. The lists of children are created
+ * when the tree asks for them. Objects of this class listen for changes to
+ * these lists and update the child count and the children of the parent whose
+ * list changed.
+ * </p>
+ * <p>
+ * Since the elements which were never shown are not known to the viewer, this
+ * content provider does not track the known elements. Label providers that
+ * observe the known elements of a content provider, like the ones created by
+ * {@link ViewerSupport}, can not be used with it.
+ * </p>
+ *
+ * @param <E> type of the elements of the tree
+ *
+ * @noextend This class is not intended to be subclassed by clients.
+ * @since 1.16
+ */
+public class ObservableListLazyTreeContentProvider<E> implements ILazyTreeContentProvider {
+	private final IObservableFactory<? super E, ? extends IObservableList<E>> listFactory;
+
+	private final TreeStructureAdvisor<? super E> structureAdvisor;
+
+	private TreeViewer viewer;
+
+	private Object input;
+
+	private IElementComparer comparer;
+
+	/** The lists of children created so far, by parent element */
+	private Map<Object, Children> childrenByParent;
+
+	/**
+	 * The parents of the elements provided to the viewer, for elements whose
+	 * parent is not known to the structure advisor
+	 */
+	private Map<Object, Object> parents;
+
+	private class Children implements IListChangeListener<E> {
+		final Object parent;
+		final IObservableList<E> list;
+		int itemCount;
+
+		Children(Object parent, IObservableList<E> list) {
+			this.parent = parent;
+			this.list = list;
+			if (list != null) {
+				list.addListChangeListener(this);
+				itemCount = list.size();
+			}
+		}
+
+		@Override
+		public void handleListChange(ListChangeEvent<? extends E> event) {
+			if (isViewerDisposed())
+				return;
+
+			// Forget the lists of children of the removed elements
+			Set<Object> removals = ViewerElementSet.withComparer(comparer);
+			for (ListDiffEntry<? extends E> entry : event.diff.getDifferences()) {
+				if (entry.isAddition()) {
+					removals.remove(entry.getElement());
+				} else {
+					removals.add(entry.getElement());
+				}
+			}
+			for (Object element : removals) {
+				parents.remove(element);
+				disposeChildren(element);
+			}
+
+			int size = list.size();
+			int[] range = ObservableListLazyContentProvider.getChangedRange(event.diff, size);
+			if (size != itemCount) {
+				itemCount = size;
+				viewer.setChildCount(parent, size);
+			}
+			if (range[1] - range[0] >= ObservableListLazyContentProvider.MAX_CLEARED_ITEMS) {
+				if (parent == input) {
+					viewer.refresh();
+				} else {
+					viewer.refresh(parent);
+				}
+			} else {
+				for (int i = range[0]; i <= range[1]; i++) {
+					updateElement(parent, i);
+				}
+			}
+		}
+
+		void dispose() {
+			if (list != null) {
+				list.removeListChangeListener(this);
+				list.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Constructs an ObservableListLazyTreeContentProvider using the given list
+	 * factory. Must be called from the display thread.
+	 *
+	 * @param listFactory
+	 *            observable factory that produces an IObservableList of
+	 *            children for a given parent element, or for the viewer's
+	 *            input. Observable lists created by this factory must be on the
+	 *            realm of the current display.
+	 * @param structureAdvisor
+	 *            an advisor that will be consulted from the implementation of
+	 *            the {@link #getParent(Object)} method and before creating the
+	 *            list of children of an element, or <code>null</code> if no
+	 *            advisor is available. It is recommended that clients pass a
+	 *            non-null advisor if they can tell whether an element has
+	 *            children without creating the list of its children.
+	 */
+	public ObservableListLazyTreeContentProvider(
+			IObservableFactory<? super E, ? extends IObservableList<E>> listFactory,
+			TreeStructureAdvisor<? super E> structureAdvisor) {
+		this.listFactory = listFactory;
+		this.structureAdvisor = structureAdvisor;
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		disposeAllChildren();
+		if (viewer != null) {
+			Assert.isTrue(viewer instanceof TreeViewer, "This content provider only works with TreeViewer"); //$NON-NLS-1$
+			Assert.isTrue((viewer.getControl().getStyle() & SWT.VIRTUAL) != 0,
+					"This content provider only works with SWT.VIRTUAL trees"); //$NON-NLS-1$
+		}
+		this.viewer = (TreeViewer) viewer;
+		this.input = newInput;
+		comparer = this.viewer == null ? null : this.viewer.getComparer();
+		childrenByParent = ViewerElementMap.withComparer(comparer);
+		parents = ViewerElementMap.withComparer(comparer);
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		Children children = getChildren(parent);
+		if (children.list == null || index >= children.list.size()) {
+			return;
+		}
+		E element = children.list.get(index);
+		parents.put(element, parent);
+		viewer.replace(parent, index, element);
+
+		Boolean hasChildren = structureAdvisor == null ? null : structureAdvisor.hasChildren(element);
+		if (hasChildren != null) {
+			viewer.setHasChildren(element, hasChildren.booleanValue());
+		} else {
+			viewer.setChildCount(element, getChildren(element).itemCount);
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count = getChildren(element).itemCount;
+		if (count != currentChildCount) {
+			viewer.setChildCount(element, count);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object getParent(Object element) {
+		if (structureAdvisor != null) {
+			Object parent = structureAdvisor.getParent((E) element);
+			if (parent != null) {
+				return parent;
+			}
+		}
+		return parents == null ? null : parents.get(element);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Children getChildren(Object parent) {
+		Children children = childrenByParent.get(parent);
+		if (children == null) {
+			IObservableList<E> list = listFactory.createObservable((E) parent);
+			children = new Children(parent, list);
+			childrenByParent.put(parent, children);
+		}
+		return children;
+	}
+
+	/**
+	 * Disposes the list of children of the given element and the lists of
+	 * children of its descendants.
+	 */
+	private void disposeChildren(Object element) {
+		Children children = childrenByParent.remove(element);
+		if (children == null) {
+			return;
+		}
+		children.dispose();
+		List<Object> descendants = new ArrayList<>();
+		for (Children child : childrenByParent.values()) {
+			Object parent = parents.get(child.parent);
+			if (parent != null && (comparer == null ? parent.equals(element) : comparer.equals(parent, element))) {
+				descendants.add(child.parent);
+			}
+		}
+		for (Object descendant : descendants) {
+			parents.remove(descendant);
+			disposeChildren(descendant);
+		}
+	}
+
+	private void disposeAllChildren() {
+		if (childrenByParent != null) {
+			for (Children children : childrenByParent.values()) {
+				children.dispose();
+			}
+			childrenByParent.clear();
+		}
+		if (parents != null) {
+			parents.clear();
+		}
+	}
+
+	private boolean isViewerDisposed() {
+		return viewer == null || viewer.getControl() == null || viewer.getControl().isDisposed();
+	}
+
+	/**
+	 * Disposes of this content provider. This is called by the viewer when a
+	 * content provider is replaced, or when the viewer itself is disposed.
+	 * <p>
+	 * The viewer should not be updated during this call, as it is in the
+	 * process of being disposed.
+	 * </p>
+	 * <p>
+	 * <em>Note:</em> Data binding content providers become unusable on
+	 * disposal.
+	 * </p>
+	 */
+	@Override
+	public void dispose() {
+		disposeAllChildren();
+		childrenByParent = null;
+		parents = null;
+		viewer = null;
+		input = null;
+	}
+}
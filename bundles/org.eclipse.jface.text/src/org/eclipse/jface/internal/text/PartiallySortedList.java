@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal.text;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list that is sorted on demand. Only the elements up to the highest index read
+ * so far are sorted, so showing the first page of a long list of proposals does not require to
+ * sort all of them.
+ * <p>
+ * The list has the same order as a stable sort of the given elements.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+public final class PartiallySortedList<E> extends AbstractList<E> implements RandomAccess {
+
+	private final Object[] fElements;
+
+	private final Comparator<? super E> fComparator;
+
+	/**
+	 * The number of elements at the start of {@link #fElements} which are sorted and not larger
+	 * than any of the others. The others are in their original order.
+	 */
+	private int fSorted;
+
+	/**
+	 * Creates a list of the given elements and sorts its first elements.
+	 *
+	 * @param elements the elements
+	 * @param comparator the comparator
+	 * @param sorted the number of elements to sort right away
+	 */
+	public PartiallySortedList(List<? extends E> elements, Comparator<? super E> comparator, int sorted) {
+		fElements= elements.toArray();
+		fComparator= comparator;
+		sort(Math.min(sorted, fElements.length));
+	}
+
+	@Override
+	public E get(int index) {
+		if (index >= fSorted && index < fElements.length)
+			sort(Math.max(index + 1, Math.min(2 * fSorted, fElements.length)));
+		return element(index);
+	}
+
+	@Override
+	public int size() {
+		return fElements.length;
+	}
+
+	/**
+	 * Returns the elements in no particular order, without sorting them.
+	 *
+	 * @return an unmodifiable view of the elements
+	 */
+	public List<E> unsortedElements() {
+		@SuppressWarnings("unchecked")
+		List<E> elements= (List<E>) Arrays.asList(fElements);
+		return Collections.unmodifiableList(elements);
+	}
+
+	@SuppressWarnings("unchecked")
+	private E element(int index) {
+		return (E) fElements[index];
+	}
+
+	/**
+	 * Sorts the first <code>count</code> elements. Moves the smallest of the unsorted elements,
+	 * the earlier one of equal elements first, to the end of the sorted ones.
+	 *
+	 * @param count the number of elements that have to be sorted
+	 */
+	@SuppressWarnings("unchecked")
+	private void sort(int count) {
+		int start= fSorted;
+		int selected= count - start;
+		if (selected <= 0)
+			return;
+		if (selected > (fElements.length - start) / 2) {
+			Arrays.sort(fElements, start, fElements.length, (a, b) -> fComparator.compare((E) a, (E) b));
+			fSorted= fElements.length;
+			return;
+		}
+
+		// keep the indices of the smallest elements, the largest one at the head
+		Comparator<Integer> order= (a, b) -> {
+			int result= fComparator.compare(element(a), element(b));
+			return result != 0 ? result : Integer.compare(a, b);
+		};
+		PriorityQueue<Integer> smallest= new PriorityQueue<>(selected, order.reversed());
+		for (int i= start; i < fElements.length; i++) {
+			if (smallest.size() < selected) {
+				smallest.add(Integer.valueOf(i));
+			} else if (order.compare(Integer.valueOf(i), smallest.peek()) < 0) {
+				smallest.poll();
+				smallest.add(Integer.valueOf(i));
+			}
+		}
+
+		Integer[] indices= smallest.toArray(new Integer[selected]);
+		Arrays.sort(indices, order);
+		boolean[] isSelected= new boolean[fElements.length - start];
+		Object[] sorted= new Object[fElements.length - start];
+		int next= 0;
+		for (Integer index : indices) {
+			isSelected[index.intValue() - start]= true;
+			sorted[next++]= fElements[index.intValue()];
+		}
+		for (int i= start; i < fElements.length; i++) {
+			if (!isSelected[i - start])
+				sorted[next++]= fElements[i];
+		}
+		System.arraycopy(sorted, 0, fElements, start, sorted.length);
+		fSorted= count;
+	}
+}
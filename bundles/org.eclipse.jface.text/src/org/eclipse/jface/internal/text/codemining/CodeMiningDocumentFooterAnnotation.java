@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2025 SAP SE
+* Copyright (c) 2025, 2026 SAP SE and others.
 *
 * This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License 2.0
@@ -97,7 +97,7 @@ public class CodeMiningDocumentFooterAnnotation extends LineFooterAnnotation imp
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings(fMinings);
+		disposeMinings(fMinings, minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jface.internal.text.codemining;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -118,7 +119,7 @@ public class CodeMiningLineContentAnnotation extends LineContentAnnotation imple
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings();
+		disposeMinings(minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
@@ -127,13 +128,13 @@ public class CodeMiningLineContentAnnotation extends LineContentAnnotation imple
 	public void markDeleted(boolean deleted) {
 		super.markDeleted(deleted);
 		if (deleted) {
-			disposeMinings();
+			disposeMinings(Collections.emptyList());
 			fResolvedMinings= null;
 		}
 	}
 
-	private void disposeMinings() {
-		fMinings.stream().forEach(ICodeMining::dispose);
+	private void disposeMinings(List<ICodeMining> keptMinings) {
+		fMinings.stream().filter(mining -> !keptMinings.contains(mining)).forEach(ICodeMining::dispose);
 		fMinings.clear();
 	}
 
@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2022 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -182,7 +182,7 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings(fMinings);
+		disposeMinings(fMinings, minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
@@ -201,6 +201,17 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 		minings.clear();
 	}
 
+	/**
+	 * Disposes the given minings except the ones which are kept and clears the list.
+	 *
+	 * @param minings the minings to dispose
+	 * @param keptMinings the minings which are still used
+	 */
+	static void disposeMinings(List<ICodeMining> minings, List<ICodeMining> keptMinings) {
+		minings.stream().filter(mining -> !keptMinings.contains(mining)).forEach(ICodeMining::dispose);
+		minings.clear();
+	}
+
 	@Override
 	public void draw(GC gc, StyledText textWidget, int offset, int length, Color color, int x, int y) {
 		int singleLineHeight= super.getHeight();
@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,10 @@
 package org.eclipse.jface.internal.text.codemining;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -26,9 +29,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.ControlListener;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.graphics.Rectangle;
 
@@ -39,12 +45,21 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.DocumentFooterCodeMining;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.source.ISourceViewer;
@@ -53,11 +68,22 @@ import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The code minings of {@link ICodeMiningProviderExtension}s are only requested for the visible
+ * lines and some lines around them. The manager keeps them per line while the document is edited
+ * and requests them again only for the changed lines and for the lines which become visible.
+ * </p>
  *
  * @since 3.13
  */
 public class CodeMiningManager implements Runnable {
 
+	/**
+	 * The minimal number of lines above and below the visible lines for which the code minings of
+	 * {@link ICodeMiningProviderExtension}s are requested.
+	 */
+	private static final int PREFETCH_LINES= 50;
+
 	/**
 	 * The source viewer
 	 */
@@ -78,6 +104,287 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The progress monitor of the current request for the lines which became visible.
+	 */
+	private IProgressMonitor fVisibleLinesMonitor;
+
+	/**
+	 * The current request for the lines which became visible and <code>null</code> if there is
+	 * none.
+	 */
+	private Request fVisibleLinesRequest;
+
+	/**
+	 * The tracker of the visible lines and of the lines whose code minings are up to date.
+	 */
+	private final LineTracker fLineTracker;
+
+	/**
+	 * The code minings of the code mining annotations.
+	 */
+	private final Map<AbstractInlinedAnnotation, List<ICodeMining>> fAnnotationMinings= new HashMap<>();
+
+	/**
+	 * A request for the code minings of the providers which compute them for the whole document
+	 * and of the {@link ICodeMiningProviderExtension}s which compute them for a region.
+	 */
+	private static class Request {
+
+		final List<ICodeMiningProvider> fDocumentProviders;
+
+		final List<ICodeMiningProvider> fRegionProviders;
+
+		/**
+		 * The region covering the lines from the first to the last line and <code>null</code> if
+		 * there are no region providers.
+		 */
+		final IRegion fRegion;
+
+		final int fFirstLine;
+
+		final int fLastLine;
+
+		/**
+		 * The number of changes of the document when the request was created.
+		 */
+		final int fChangeCount;
+
+		Request(List<ICodeMiningProvider> documentProviders, List<ICodeMiningProvider> regionProviders, IRegion region,
+				int firstLine, int lastLine, int changeCount) {
+			fDocumentProviders= documentProviders;
+			fRegionProviders= regionProviders;
+			fRegion= region;
+			fFirstLine= firstLine;
+			fLastLine= lastLine;
+			fChangeCount= changeCount;
+		}
+
+		/**
+		 * Returns whether this request replaces the code minings of the given provider on the given
+		 * line.
+		 *
+		 * @param provider the provider of the code minings
+		 * @param line the line of the code minings
+		 * @return <code>true</code> if the provider is asked for the code minings of the line
+		 */
+		boolean replaces(ICodeMiningProvider provider, int line) {
+			if (fDocumentProviders.contains(provider)) {
+				return true;
+			}
+			return fRegion != null && line >= fFirstLine && line <= fLastLine && fRegionProviders.contains(provider);
+		}
+
+		/**
+		 * Returns whether this request asks for all the code minings of the given request.
+		 *
+		 * @param request the other request
+		 * @return <code>true</code> if the other request is not needed
+		 */
+		boolean covers(Request request) {
+			return request.fDocumentProviders.isEmpty() && fChangeCount == request.fChangeCount
+					&& fRegionProviders.equals(request.fRegionProviders)
+					&& request.fFirstLine >= fFirstLine && request.fLastLine <= fLastLine;
+		}
+	}
+
+	/**
+	 * Tracks the visible lines and the lines whose code minings of
+	 * {@link ICodeMiningProviderExtension}s are up to date. The lines are moved and invalidated
+	 * when the document changes.
+	 */
+	private class LineTracker implements IViewportListener, IDocumentListener, ITextInputListener, ControlListener {
+
+		/**
+		 * The lines whose code minings are up to date.
+		 */
+		private final BitSet fValidLines= new BitSet();
+
+		private int fTopLine;
+
+		private int fBottomLine;
+
+		/**
+		 * The first and the last line of the current document change, the first line is
+		 * <code>-1</code> if the lines are unknown.
+		 */
+		private int fFirstChangedLine;
+
+		private int fLastChangedLine;
+
+		/**
+		 * The number of changes of the document.
+		 */
+		private int fChangeCount;
+
+		void install() {
+			fViewer.addViewportListener(this);
+			fViewer.addTextInputListener(this);
+			if (fViewer.getDocument() != null) {
+				fViewer.getDocument().addDocumentListener(this);
+			}
+			if (fViewer.getTextWidget() != null) {
+				fViewer.getTextWidget().addControlListener(this);
+			}
+			computeVisibleLines();
+		}
+
+		void uninstall() {
+			fViewer.removeViewportListener(this);
+			fViewer.removeTextInputListener(this);
+			if (fViewer.getDocument() != null) {
+				fViewer.getDocument().removeDocumentListener(this);
+			}
+			if (fViewer.getTextWidget() != null && !fViewer.getTextWidget().isDisposed()) {
+				fViewer.getTextWidget().removeControlListener(this);
+			}
+		}
+
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			computeVisibleLines();
+			updateVisibleCodeMinings();
+		}
+
+		@Override
+		public void controlMoved(ControlEvent e) {
+			// Do nothing
+		}
+
+		@Override
+		public void controlResized(ControlEvent e) {
+			computeVisibleLines();
+			updateVisibleCodeMinings();
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null) {
+				oldInput.removeDocumentListener(this);
+			}
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null) {
+				newInput.addDocumentListener(this);
+			}
+			synchronized (this) {
+				fChangeCount++;
+				fValidLines.clear();
+			}
+			synchronized (fAnnotationMinings) {
+				fAnnotationMinings.clear();
+			}
+		}
+
+		@Override
+		public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			IDocument document= event.getDocument();
+			try {
+				fFirstChangedLine= document.getLineOfOffset(event.getOffset());
+				fLastChangedLine= document.getLineOfOffset(event.getOffset() + event.getLength());
+			} catch (BadLocationException e) {
+				fFirstChangedLine= -1;
+			}
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			fChangeCount++;
+			int lastLine= -1;
+			if (fFirstChangedLine != -1) {
+				try {
+					String text= event.getText();
+					lastLine= event.getDocument().getLineOfOffset(event.getOffset() + (text != null ? text.length() : 0));
+				} catch (BadLocationException e) {
+					// invalidate all lines
+				}
+			}
+			if (lastLine == -1) {
+				fValidLines.clear();
+				return;
+			}
+			// the changed lines are requested again, the following lines are moved
+			int length= fValidLines.length();
+			BitSet followingLines= fValidLines.get(Math.min(fLastChangedLine + 1, length), length);
+			if (fFirstChangedLine < length) {
+				fValidLines.clear(fFirstChangedLine, length);
+			}
+			int firstFollowingLine= lastLine + 1;
+			followingLines.stream().forEach(i -> fValidLines.set(firstFollowingLine + i));
+		}
+
+		private void computeVisibleLines() {
+			if (fViewer.getTextWidget() == null || fViewer.getTextWidget().isDisposed()) {
+				return;
+			}
+			int top= JFaceTextUtil.getPartialTopIndex(fViewer);
+			int bottom= JFaceTextUtil.getPartialBottomIndex(fViewer);
+			synchronized (this) {
+				fTopLine= top;
+				fBottomLine= bottom;
+			}
+		}
+
+		/**
+		 * Marks the lines of the given request as up to date if the document did not change in
+		 * the meantime.
+		 *
+		 * @param request the request whose code minings are rendered
+		 */
+		synchronized void validate(Request request) {
+			if (request.fRegion != null && request.fChangeCount == fChangeCount) {
+				fValidLines.set(request.fFirstLine, request.fLastLine + 1);
+			}
+		}
+
+		/**
+		 * Marks all lines as outdated.
+		 */
+		synchronized void invalidate() {
+			fValidLines.clear();
+		}
+
+		/**
+		 * Creates a request for the outdated lines which are visible or near the visible lines.
+		 *
+		 * @param providers the code mining providers
+		 * @param documentProviders <code>true</code> if the providers which compute the code
+		 *            minings of the whole document have to be asked too
+		 * @return the request and <code>null</code> if no provider has to be asked
+		 */
+		synchronized Request createRequest(List<ICodeMiningProvider> providers, boolean documentProviders) {
+			List<ICodeMiningProvider> documentProviderList= documentProviders
+					? providers.stream().filter(provider -> !(provider instanceof ICodeMiningProviderExtension)).collect(Collectors.toList())
+					: Collections.emptyList();
+			List<ICodeMiningProvider> regionProviderList= providers.stream()
+					.filter(ICodeMiningProviderExtension.class::isInstance).collect(Collectors.toList());
+			IDocument document= fViewer.getDocument();
+			if (!regionProviderList.isEmpty() && document != null) {
+				int margin= Math.max(PREFETCH_LINES, fBottomLine - fTopLine);
+				int top= Math.max(0, fTopLine - margin);
+				int bottom= Math.min(document.getNumberOfLines() - 1, fBottomLine + margin);
+				int firstLine= fValidLines.nextClearBit(top);
+				if (firstLine <= bottom) {
+					int lastLine= fValidLines.previousClearBit(bottom);
+					try {
+						int offset= document.getLineOffset(firstLine);
+						int end= document.getLineOffset(lastLine) + document.getLineLength(lastLine);
+						return new Request(documentProviderList, regionProviderList, new Region(offset, end - offset),
+								firstLine, lastLine, fChangeCount);
+					} catch (BadLocationException e) {
+						// the document is changing, the lines are requested after the change
+					}
+				}
+			}
+			if (documentProviderList.isEmpty()) {
+				return null;
+			}
+			return new Request(documentProviderList, Collections.emptyList(), null, -1, -1, fChangeCount);
+		}
+	}
+
 	/**
 	 * Constructor of codemining manager with the given arguments.
 	 *
@@ -92,7 +399,9 @@ public class CodeMiningManager implements Runnable {
 		Assert.isNotNull(codeMiningProviders);
 		fViewer= viewer;
 		fInlinedAnnotationSupport= inlinedAnnotationSupport;
+		fLineTracker= new LineTracker();
 		setCodeMiningProviders(codeMiningProviders);
+		fLineTracker.install();
 	}
 
 	/**
@@ -106,6 +415,7 @@ public class CodeMiningManager implements Runnable {
 			fCodeMiningProviders.stream().forEach(ICodeMiningProvider::dispose);
 		}
 		fCodeMiningProviders= Arrays.asList(codeMiningProviders);
+		fLineTracker.invalidate();
 	}
 
 	/**
@@ -113,9 +423,13 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void uninstall() {
 		cancel();
+		fLineTracker.uninstall();
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
+		synchronized (fAnnotationMinings) {
+			fAnnotationMinings.clear();
+		}
 	}
 
 	/**
@@ -123,32 +437,66 @@ public class CodeMiningManager implements Runnable {
 	 */
 	@Override
 	public void run() {
-		if (fViewer == null || fInlinedAnnotationSupport == null || fCodeMiningProviders == null
-				|| fCodeMiningProviders.isEmpty() || fViewer.getAnnotationModel() == null) {
+		if (!isReady()) {
 			return;
 		}
 		// Cancel the last progress monitor to cancel last resolve and render of code
 		// minings
 		cancel();
 		// Update the code minings
-		updateCodeMinings();
+		Request request= fLineTracker.createRequest(fCodeMiningProviders, true);
+		if (request != null) {
+			fMonitor= new CancellationExceptionMonitor();
+			updateCodeMinings(request, fMonitor);
+		}
+	}
+
+	private boolean isReady() {
+		return fViewer != null && fInlinedAnnotationSupport != null && fCodeMiningProviders != null
+				&& !fCodeMiningProviders.isEmpty() && fViewer.getAnnotationModel() != null;
+	}
+
+	/**
+	 * Update the code minings of the {@link ICodeMiningProviderExtension}s for the outdated lines
+	 * which became visible.
+	 */
+	private void updateVisibleCodeMinings() {
+		if (!isReady()) {
+			return;
+		}
+		Request request= fLineTracker.createRequest(fCodeMiningProviders, false);
+		Request currentRequest= fVisibleLinesRequest;
+		if (request == null || (currentRequest != null && currentRequest.covers(request))) {
+			return;
+		}
+		if (fVisibleLinesMonitor != null) {
+			fVisibleLinesMonitor.setCanceled(true);
+		}
+		fVisibleLinesRequest= request;
+		fVisibleLinesMonitor= new CancellationExceptionMonitor();
+		updateCodeMinings(request, fVisibleLinesMonitor).whenComplete((result, e) -> {
+			if (fVisibleLinesRequest == request) {
+				fVisibleLinesRequest= null;
+			}
+		});
 	}
 
 	/**
 	 * Update the code minings.
+	 *
+	 * @param request the request for the code minings
+	 * @param monitor the progress monitor
+	 * @return the future which renders the code minings
 	 */
-	private void updateCodeMinings() {
-		// Refresh the code minings by using the new progress monitor.
-		fMonitor= new CancellationExceptionMonitor();
-		IProgressMonitor monitor= fMonitor;
+	private CompletableFuture<Void> updateCodeMinings(Request request, IProgressMonitor monitor) {
 		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
+		return getCodeMinings(fViewer, request, monitor).thenAccept(symbols -> {
 			// check if request was canceled.
 			monitor.isCanceled();
 			// then group code minings by lines position
 			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, fCodeMiningProviders);
 			// resolve and render code minings
-			renderCodeMinings(groups, fViewer, monitor);
+			renderCodeMinings(groups, fViewer, request, monitor);
 		});
 	}
 
@@ -160,6 +508,10 @@ public class CodeMiningManager implements Runnable {
 		if (fMonitor != null) {
 			fMonitor.setCanceled(true);
 		}
+		if (fVisibleLinesMonitor != null) {
+			fVisibleLinesMonitor.setCanceled(true);
+		}
+		fVisibleLinesRequest= null;
 	}
 
 	private static void logCodeMiningProviderException(Throwable e) {
@@ -180,18 +532,19 @@ public class CodeMiningManager implements Runnable {
 
 	/**
 	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 * for the given <code>viewer</code> by using the given providers.
+	 * for the given <code>viewer</code> by using the providers of the given request.
 	 *
 	 * @param viewer    the text viewer.
-	 * @param providers the CodeMining list providers.
+	 * @param request   the request for the code minings.
 	 * @param monitor   the progress monitor.
 	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 *         for the given <code>viewer</code> by using the given providers.
+	 *         for the given <code>viewer</code> by using the providers of the given request.
 	 */
 	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
-			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
-		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
+			Request request, IProgressMonitor monitor) {
+		List<CompletableFuture<List<? extends ICodeMining>>> com= Stream.concat(
+				request.fDocumentProviders.stream().map(provider -> provider.provideCodeMinings(viewer, monitor)),
+				request.fRegionProviders.stream().map(provider -> ((ICodeMiningProviderExtension) provider).provideCodeMinings(viewer, request.fRegion, monitor)))
 				.filter(c -> c != null)
 				.map(future -> future.exceptionally(e -> {
 					logCodeMiningProviderException(e);
@@ -234,9 +587,10 @@ public class CodeMiningManager implements Runnable {
 	 *
 	 * @param groups  code minings grouped by lines position
 	 * @param viewer  the viewer
+	 * @param request the request for the code minings
 	 * @param monitor the progress monitor
 	 */
-	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer,
+	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer, Request request,
 			IProgressMonitor monitor) {
 		// check if request was canceled.
 		monitor.isCanceled();
@@ -247,56 +601,107 @@ public class CodeMiningManager implements Runnable {
 			return;
 		}
 		Set<ICodeMiningAnnotation> annotationsToRedraw= new HashSet<>();
-		Set<AbstractInlinedAnnotation> currentAnnotations= new HashSet<>();
-		// Loop for grouped code minings
-		groups.entrySet().stream().forEach(g -> {
-			// check if request was canceled.
-			monitor.isCanceled();
+		Set<AbstractInlinedAnnotation> currentAnnotations;
+		synchronized (fAnnotationMinings) {
+			// keep the code minings which are not requested again
+			currentAnnotations= addKeptCodeMinings(groups, document, request);
+			// Loop for grouped code minings
+			groups.entrySet().stream().forEach(g -> {
+				// check if request was canceled.
+				monitor.isCanceled();
 
-			Position pos= new Position(g.getKey().offset, g.getKey().length);
-			List<ICodeMining> minings= g.getValue();
-			ICodeMining first= minings.get(0);
-			boolean inLineHeader= !minings.isEmpty() ? (first instanceof LineHeaderCodeMining) : true;
-			// Try to find existing annotation
-			AbstractInlinedAnnotation ann= fInlinedAnnotationSupport.findExistingAnnotation(pos);
-			if (ann == null) {
-				// The annotation doesn't exists, create it.
-				boolean afterPosition= false;
-				if (first instanceof LineContentCodeMining m) {
-					afterPosition= m.isAfterPosition();
-				}
-				Consumer<MouseEvent> mouseHover= null;
-				Consumer<MouseEvent> mouseOut= null;
-				Consumer<MouseEvent> mouseMove= null;
-				if (first != null) {
-					mouseHover= first.getMouseHover();
-					mouseOut= first.getMouseOut();
-					mouseMove= first.getMouseMove();
-				}
-				if (inLineHeader) {
-					ann= new CodeMiningLineHeaderAnnotation(pos, viewer, mouseHover, mouseOut, mouseMove);
-				} else {
-					boolean inFooter= !minings.isEmpty() ? (first instanceof DocumentFooterCodeMining) : false;
-					if (inFooter) {
-						ann= new CodeMiningDocumentFooterAnnotation(pos, viewer, mouseHover, mouseOut, mouseMove);
+				Position pos= new Position(g.getKey().offset, g.getKey().length);
+				List<ICodeMining> minings= g.getValue();
+				ICodeMining first= minings.get(0);
+				boolean inLineHeader= !minings.isEmpty() ? (first instanceof LineHeaderCodeMining) : true;
+				// Try to find existing annotation
+				AbstractInlinedAnnotation ann= fInlinedAnnotationSupport.findExistingAnnotation(pos);
+				if (ann == null) {
+					// The annotation doesn't exists, create it.
+					boolean afterPosition= false;
+					if (first instanceof LineContentCodeMining m) {
+						afterPosition= m.isAfterPosition();
+					}
+					Consumer<MouseEvent> mouseHover= null;
+					Consumer<MouseEvent> mouseOut= null;
+					Consumer<MouseEvent> mouseMove= null;
+					if (first != null) {
+						mouseHover= first.getMouseHover();
+						mouseOut= first.getMouseOut();
+						mouseMove= first.getMouseMove();
+					}
+					if (inLineHeader) {
+						ann= new CodeMiningLineHeaderAnnotation(pos, viewer, mouseHover, mouseOut, mouseMove);
 					} else {
-						ann= new CodeMiningLineContentAnnotation(pos, viewer, afterPosition, mouseHover, mouseOut, mouseMove);
+						boolean inFooter= !minings.isEmpty() ? (first instanceof DocumentFooterCodeMining) : false;
+						if (inFooter) {
+							ann= new CodeMiningDocumentFooterAnnotation(pos, viewer, mouseHover, mouseOut, mouseMove);
+						} else {
+							ann= new CodeMiningLineContentAnnotation(pos, viewer, afterPosition, mouseHover, mouseOut, mouseMove);
+						}
 					}
+				} else if (ann instanceof ICodeMiningAnnotation && ((ICodeMiningAnnotation) ann).isInVisibleLines()) {
+					// annotation is in visible lines
+					annotationsToRedraw.add((ICodeMiningAnnotation) ann);
 				}
-			} else if (ann instanceof ICodeMiningAnnotation && ((ICodeMiningAnnotation) ann).isInVisibleLines()) {
-				// annotation is in visible lines
-				annotationsToRedraw.add((ICodeMiningAnnotation) ann);
-			}
-			((ICodeMiningAnnotation) ann).update(minings, monitor);
-			currentAnnotations.add(ann);
-		});
-		// check if request was canceled.
-		monitor.isCanceled();
-		fInlinedAnnotationSupport.updateAnnotations(currentAnnotations);
+				((ICodeMiningAnnotation) ann).update(minings, monitor);
+				fAnnotationMinings.put(ann, minings);
+				currentAnnotations.add(ann);
+			});
+			// check if request was canceled.
+			monitor.isCanceled();
+			fInlinedAnnotationSupport.updateAnnotations(currentAnnotations);
+			fAnnotationMinings.keySet().retainAll(currentAnnotations);
+		}
+		fLineTracker.validate(request);
 		// redraw the existing codemining annotations since their content can change
 		annotationsToRedraw.stream().forEach(ICodeMiningAnnotation::redraw);
 	}
 
+	/**
+	 * Adds the code minings of the existing annotations which are not replaced by the given
+	 * request to the given groups.
+	 *
+	 * @param groups   the requested code minings grouped by lines position
+	 * @param document the document
+	 * @param request  the request for the code minings
+	 * @return the annotations whose code minings are all kept, they don't need to be updated
+	 */
+	private Set<AbstractInlinedAnnotation> addKeptCodeMinings(Map<Position, List<ICodeMining>> groups, IDocument document,
+			Request request) {
+		Set<AbstractInlinedAnnotation> unchangedAnnotations= new HashSet<>();
+		for (Map.Entry<AbstractInlinedAnnotation, List<ICodeMining>> entry : fAnnotationMinings.entrySet()) {
+			Position position= entry.getKey().getPosition();
+			if (position.isDeleted()) {
+				continue;
+			}
+			int line;
+			try {
+				line= document.getLineOfOffset(position.getOffset());
+			} catch (BadLocationException e) {
+				continue;
+			}
+			List<ICodeMining> minings= entry.getValue();
+			List<ICodeMining> keptMinings= minings.stream()
+					.filter(mining -> fCodeMiningProviders.contains(mining.getProvider()) && !request.replaces(mining.getProvider(), line))
+					.collect(Collectors.toList());
+			if (keptMinings.isEmpty()) {
+				continue;
+			}
+			Position key= new Position(position.getOffset(), position.getLength());
+			List<ICodeMining> group= groups.get(key);
+			if (group != null) {
+				group.addAll(keptMinings);
+				group.sort(Comparator.comparingInt(mining -> fCodeMiningProviders.indexOf(mining.getProvider())));
+			} else if (keptMinings.size() == minings.size()) {
+				unchangedAnnotations.add(entry.getKey());
+			} else {
+				groups.put(key, keptMinings);
+			}
+		}
+		return unchangedAnnotations;
+	}
+
 	/**
 	 * Returns <code>true</code> if the given mining has a non empty label and <code>false</code>
 	 * otherwise.
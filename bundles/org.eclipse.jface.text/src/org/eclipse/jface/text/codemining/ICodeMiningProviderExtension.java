@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.codemining;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+
+/**
+ * Extension interface for {@link ICodeMiningProvider}.
+ * <p>
+ * Adds the ability to compute the code minings of a region of the document. The code minings of a
+ * provider implementing this interface are only requested for the visible lines of the viewer and
+ * some lines around them. They are kept while the document is edited, and requested again only
+ * for the changed lines and for lines which become visible for the first time. All of them are
+ * requested again when the code mining providers of the viewer are set.
+ * </p>
+ * <p>
+ * Providers whose code minings depend on other lines than the lines they are shown on, like the
+ * number of references of a declaration, should not implement this interface unless such stale
+ * code minings are acceptable.
+ * </p>
+ *
+ * @since 3.29
+ */
+public interface ICodeMiningProviderExtension {
+
+	/**
+	 * Compute the list of code minings {@link ICodeMining} whose position starts in the given
+	 * region. The same rules as for
+	 * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)} apply.
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the region of the document, covering complete lines.
+	 * @param monitor A progress monitor.
+	 * @return A future of code minings that resolves to such. The lack of a result can be signaled
+	 *         by returning null, or an empty list.
+	 */
+	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,7 @@ import org.eclipse.jface.bindings.keys.KeySequence;
 import org.eclipse.jface.bindings.keys.SWTKeySupport;
 import org.eclipse.jface.contentassist.IContentAssistSubjectControl;
 import org.eclipse.jface.internal.text.InformationControlReplacer;
+import org.eclipse.jface.internal.text.PartiallySortedList;
 import org.eclipse.jface.internal.text.TableOwnerDrawSupport;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.JFaceColors;
@@ -450,6 +451,12 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 */
 	boolean fIsInitialSort;
 
+	/**
+	 * The minimal number of proposals sorted when the proposals are set, more if the proposal
+	 * table shows more rows.
+	 */
+	private static final int MIN_SORTED_PROPOSALS= 50;
+
 	/**
 	 * Creates a new completion proposal popup for the given elements.
 	 *
@@ -1178,7 +1185,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 
 			if (fSorter != null && !fIsInitialSort) {
-				sortProposals(proposals);
+				proposals= sortVisibleProposals(proposals);
 			}
 			fIsInitialSort= false;
 
@@ -1558,6 +1565,10 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
+		// the filtered proposals are sorted again, there is no need to sort the remaining ones
+		if (proposals instanceof PartiallySortedList)
+			proposals= ((PartiallySortedList<ICompletionProposal>) proposals).unsortedElements();
+
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
@@ -2026,4 +2037,23 @@ class CompletionProposalPopup implements IContentAssistListener {
 	void sortProposals(final List<ICompletionProposal> proposals) {
 		proposals.sort(fSorter::compare);
 	}
+
+	/**
+	 * Sorts the proposals shown in the proposal table. Long lists of proposals are only sorted as
+	 * far as the table shows them, the others are sorted when the table asks for them.
+	 *
+	 * @param proposals the new proposals to display in the popup window
+	 * @return the sorted proposals
+	 * @throws NullPointerException if no sorter has been set
+	 */
+	private List<ICompletionProposal> sortVisibleProposals(List<ICompletionProposal> proposals) {
+		int visibleRows= MIN_SORTED_PROPOSALS;
+		if (isValid(fProposalTable) && fProposalTable.getItemHeight() > 0)
+			visibleRows= Math.max(visibleRows, fProposalTable.getSize().y / fProposalTable.getItemHeight() + 1);
+		if (proposals.size() <= 2 * visibleRows) {
+			sortProposals(proposals);
+			return proposals;
+		}
+		return new PartiallySortedList<>(proposals, fSorter::compare, visibleRows);
+	}
 }
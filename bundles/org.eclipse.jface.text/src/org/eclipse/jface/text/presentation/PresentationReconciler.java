@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +41,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -56,14 +59,41 @@ import org.eclipse.jface.text.TypedPosition;
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * If lazy repair is enabled, large damages like the one of a new input
+ * document are repaired in slices: the part around the viewer's viewport is
+ * repaired immediately, the rest when it is scrolled into view or when the UI
+ * thread is idle.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
+ * @see #setLazyRepair(boolean)
  */
 public class PresentationReconciler implements IPresentationReconciler, IPresentationReconcilerExtension {
 
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * Prefix of the name of the position category for tracking the regions which still have to be
+	 * repaired.
+	 * @since 3.29
+	 */
+	private final static String UNREPAIRED_REGION= "__reconciler_unrepaired_region"; //$NON-NLS-1$
+
+	/**
+	 * The length of the damages which are repaired at once if lazy repair is enabled.
+	 * @since 3.29
+	 */
+	private final static int MAX_DAMAGE_LENGTH= 100000;
+
+	/**
+	 * The length of the slices of the unrepaired regions which are repaired in one go when the UI
+	 * thread is idle.
+	 * @since 3.29
+	 */
+	private final static int REPAIR_SLICE_LENGTH= 50000;
+
 
 	/**
 	 * Internal listener class.
@@ -92,6 +122,11 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
 
+					if (oldDocument.containsPositionCategory(fUnrepairedCategory)) {
+						oldDocument.removePositionUpdater(fUnrepairedPositionUpdater);
+						oldDocument.removePositionCategory(fUnrepairedCategory);
+					}
+
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
 				}
@@ -180,10 +215,15 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		@Override
 		public void textChanged(TextEvent e) {
 
+			boolean wasRedrawing= fCachedRedrawState;
 			fCachedRedrawState= e.getViewerRedrawState();
 	 		if (!fCachedRedrawState)
 	 			return;
 
+			// the repair of the unrepaired regions stops while redraw is off
+			if (!wasRedrawing && hasUnrepairedRegions(fViewer.getDocument()))
+				scheduleRepair();
+
 	 		IRegion damage= null;
 	 		IDocument document= null;
 
@@ -265,6 +305,31 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * Tells whether large damages are repaired lazily.
+	 * @since 3.29
+	 */
+	private boolean fLazyRepair= false;
+	/**
+	 * The name of the position category to track the regions which still have to be repaired.
+	 * @since 3.29
+	 */
+	private String fUnrepairedCategory;
+	/**
+	 * The position updater for the unrepaired regions' position category.
+	 * @since 3.29
+	 */
+	private IPositionUpdater fUnrepairedPositionUpdater;
+	/**
+	 * The listener repairing the unrepaired regions scrolled into view.
+	 * @since 3.29
+	 */
+	private IViewportListener fViewportListener= verticalOffset -> repairVisibleRegion();
+	/**
+	 * Tells whether the repair of a slice of the unrepaired regions is scheduled.
+	 * @since 3.29
+	 */
+	private boolean fIsRepairScheduled= false;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -276,6 +341,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= IDocumentExtension3.DEFAULT_PARTITIONING;
 		fPositionCategory= TRACKED_PARTITION + hashCode();
 		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+		fUnrepairedCategory= UNREPAIRED_REGION + hashCode();
+		fUnrepairedPositionUpdater= new DefaultPositionUpdater(fUnrepairedCategory);
 	}
 
 	/**
@@ -298,6 +365,24 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		return fPartitioning;
 	}
 
+	/**
+	 * Sets whether large damages are repaired lazily. If enabled, only the part of a large damage
+	 * around the viewer's viewport is repaired immediately. The rest is repaired when it is
+	 * scrolled into view or in slices when the UI thread is idle, so that opening a large document
+	 * does not block the UI thread. Until then it is shown without or with its former
+	 * presentation.
+	 * <p>
+	 * Lazy repair is disabled by default. It requires the presentation repairers to be able to
+	 * repair a region starting at any line of a partition.
+	 * </p>
+	 *
+	 * @param lazy <code>true</code> to repair large damages lazily
+	 * @since 3.29
+	 */
+	public void setLazyRepair(boolean lazy) {
+		fLazyRepair= lazy;
+	}
+
 	/**
 	 * Registers the given presentation damager for a particular content type.
 	 * If there is already a damager registered for this type, the old damager
@@ -346,6 +431,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fViewportListener);
 
 		IDocument document= viewer.getDocument();
 		if (document != null)
@@ -355,6 +441,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fViewportListener);
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -546,12 +633,198 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
+			if (fLazyRepair && damage.getLength() > MAX_DAMAGE_LENGTH) {
+				addUnrepairedRegion(damage, document);
+				repairVisibleRegion();
+				return;
+			}
+			TextPresentation p= createPresentation(damage, document);
+			if (p != null)
+				applyTextRegionCollection(p);
+		}
+	}
+
+	/**
+	 * Remembers the given damage as a region which still has to be repaired and schedules its
+	 * repair.
+	 *
+	 * @param damage the damage
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.29
+	 */
+	private void addUnrepairedRegion(IRegion damage, IDocument document) {
+		try {
+			if (!document.containsPositionCategory(fUnrepairedCategory)) {
+				document.addPositionCategory(fUnrepairedCategory);
+				document.addPositionUpdater(fUnrepairedPositionUpdater);
+			}
+			int end= damage.getOffset() + damage.getLength();
+			for (Position position : document.getPositions(fUnrepairedCategory)) {
+				if (position.getOffset() >= damage.getOffset() && position.getOffset() + position.getLength() <= end)
+					document.removePosition(fUnrepairedCategory, position);
+			}
+			document.addPosition(fUnrepairedCategory, new Position(damage.getOffset(), damage.getLength()));
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// repair the damage at once
 			TextPresentation p= createPresentation(damage, document);
 			if (p != null)
 				applyTextRegionCollection(p);
+			return;
+		}
+		scheduleRepair();
+	}
+
+	/**
+	 * Repairs the unrepaired regions overlapping with the viewer's viewport and with one page of
+	 * lines above and below it.
+	 *
+	 * @since 3.29
+	 */
+	private void repairVisibleRegion() {
+		IDocument document= fViewer.getDocument();
+		if (document == null || !document.containsPositionCategory(fUnrepairedCategory))
+			return;
+		try {
+			IRegion visible= getVisibleRegion(document);
+			int visibleEnd= visible.getOffset() + visible.getLength();
+			for (Position position : document.getPositions(fUnrepairedCategory)) {
+				int offset= Math.max(position.getOffset(), visible.getOffset());
+				int end= Math.min(position.getOffset() + position.getLength(), visibleEnd);
+				if (offset < end)
+					repair(document, offset, end);
+			}
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// repaired when the UI thread is idle
+		}
+	}
+
+	/**
+	 * Schedules the repair of the next slice of the unrepaired regions for when the UI thread is
+	 * idle.
+	 *
+	 * @since 3.29
+	 */
+	private void scheduleRepair() {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (fIsRepairScheduled || textWidget == null || textWidget.isDisposed())
+			return;
+		fIsRepairScheduled= true;
+		textWidget.getDisplay().asyncExec(() -> {
+			fIsRepairScheduled= false;
+			IDocument document= fViewer != null ? fViewer.getDocument() : null;
+			if (document == null || !fInternalListener.fCachedRedrawState || !document.containsPositionCategory(fUnrepairedCategory))
+				return;
+			try {
+				Position[] positions= document.getPositions(fUnrepairedCategory);
+				if (positions.length == 0)
+					return;
+				Position position= positions[0];
+				repair(document, position.getOffset(), Math.min(position.getOffset() + position.getLength(), position.getOffset() + REPAIR_SLICE_LENGTH));
+				if (document.getPositions(fUnrepairedCategory).length > 0)
+					scheduleRepair();
+			} catch (BadLocationException x) {
+				// the region is out of date, go on with what is left of it
+				clipUnrepairedRegions(document);
+				scheduleRepair();
+			} catch (BadPositionCategoryException x) {
+				// the unrepaired regions are no longer tracked
+			}
+		});
+	}
+
+	/**
+	 * Tells whether the given document has regions which still have to be repaired.
+	 *
+	 * @param document the document, may be <code>null</code>
+	 * @return <code>true</code> if there are unrepaired regions
+	 * @since 3.29
+	 */
+	private boolean hasUnrepairedRegions(IDocument document) {
+		if (document == null || !document.containsPositionCategory(fUnrepairedCategory))
+			return false;
+		try {
+			return document.getPositions(fUnrepairedCategory).length > 0;
+		} catch (BadPositionCategoryException x) {
+			return false;
+		}
+	}
+
+	/**
+	 * Clips the unrepaired regions to the document and removes the empty ones.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.29
+	 */
+	private void clipUnrepairedRegions(IDocument document) {
+		try {
+			int length= document.getLength();
+			for (Position position : document.getPositions(fUnrepairedCategory)) {
+				int end= Math.min(position.getOffset() + position.getLength(), length);
+				if (position.getOffset() >= end || end < position.getOffset() + position.getLength()) {
+					document.removePosition(fUnrepairedCategory, position);
+					if (position.getOffset() < end)
+						document.addPosition(fUnrepairedCategory, new Position(position.getOffset(), end - position.getOffset()));
+				}
+			}
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// not for positions within the document
+		}
+	}
+
+	/**
+	 * Repairs the given range, extended to complete lines, and removes it from the unrepaired
+	 * regions.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range (exclusive)
+	 * @throws BadLocationException if the range is invalid in the given document
+	 * @throws BadPositionCategoryException if the unrepaired regions are not tracked
+	 * @since 3.29
+	 */
+	private void repair(IDocument document, int offset, int end) throws BadLocationException, BadPositionCategoryException {
+		offset= document.getLineInformationOfOffset(offset).getOffset();
+		int lastLine= document.getLineOfOffset(end);
+		if (document.getLineOffset(lastLine) < end)
+			end= document.getLineOffset(lastLine) + document.getLineLength(lastLine);
+
+		for (Position position : document.getPositions(fUnrepairedCategory)) {
+			int positionEnd= position.getOffset() + position.getLength();
+			if (position.getOffset() < end && offset < positionEnd) {
+				document.removePosition(fUnrepairedCategory, position);
+				if (position.getOffset() < offset)
+					document.addPosition(fUnrepairedCategory, new Position(position.getOffset(), offset - position.getOffset()));
+				if (end < positionEnd)
+					document.addPosition(fUnrepairedCategory, new Position(end, positionEnd - end));
+			}
+		}
+
+		if (offset < end) {
+			TextPresentation p= createPresentation(new Region(offset, end - offset), document);
+			if (p != null)
+				applyTextRegionCollection(p);
 		}
 	}
 
+	/**
+	 * Returns the region of the lines shown in the viewer's viewport extended by one page of lines
+	 * above and below them.
+	 *
+	 * @param document the viewer's document
+	 * @return the region of the visible lines
+	 * @throws BadLocationException if the visible lines are invalid in the given document
+	 * @since 3.29
+	 */
+	private IRegion getVisibleRegion(IDocument document) throws BadLocationException {
+		int top= Math.max(0, fViewer.getTopIndex());
+		int bottom= Math.max(top, fViewer.getBottomIndex());
+		int pageLines= bottom - top + 1;
+		int firstLine= Math.max(0, top - pageLines);
+		int lastLine= Math.min(document.getNumberOfLines() - 1, bottom + pageLines);
+		int offset= document.getLineOffset(firstLine);
+		return new Region(offset, document.getLineOffset(lastLine) + document.getLineLength(lastLine) - offset);
+	}
+
 	/**
 	 * Applies the given text presentation to the text viewer the presentation
 	 * reconciler is installed on.
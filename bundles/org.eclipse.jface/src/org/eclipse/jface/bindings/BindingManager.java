@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2018 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -125,6 +126,39 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		}
 	}
 
+	/**
+	 * <p>
+	 * Adds an entry to a map like
+	 * {@link #addReverseLookup(Map, Object, Object)}, but copies the collection
+	 * at the key before modifying it, unless it is one of the given copies. This
+	 * allows to modify a copy of a map whose collections are shared with a
+	 * previous solution.
+	 * </p>
+	 *
+	 * @param map
+	 *            The map to modify; must not be <code>null</code>.
+	 * @param key
+	 *            The key to look up in the map; may be <code>null</code>.
+	 * @param value
+	 *            The value to add to the collection; may be <code>null</code>.
+	 * @param copies
+	 *            The collections which were already copied, compared by
+	 *            identity; must not be <code>null</code>.
+	 */
+	private static void addReverseLookup(final Map map, final Object key,
+			final Object value, final Set copies) {
+		Collection values = (Collection) map.get(key);
+		if (values == null) {
+			values = new ArrayList(1);
+			copies.add(values);
+		} else if (!copies.contains(values)) {
+			values = new ArrayList(values);
+			copies.add(values);
+		}
+		values.add(value);
+		map.put(key, values);
+	}
+
 	/**
 	 * <p>
 	 * Takes a fully-specified string, and converts it into an array of
@@ -172,6 +206,42 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		return strings.toArray(new String[strings.size()]);
 	}
 
+	/**
+	 * <p>
+	 * Removes an entry added by
+	 * {@link #addReverseLookup(Map, Object, Object, Set)}. The key is removed
+	 * from the map when its collection becomes empty.
+	 * </p>
+	 *
+	 * @param map
+	 *            The map to modify; must not be <code>null</code>.
+	 * @param key
+	 *            The key to look up in the map; may be <code>null</code>.
+	 * @param value
+	 *            The value to remove from the collection; may be
+	 *            <code>null</code>.
+	 * @param copies
+	 *            The collections which were already copied, compared by
+	 *            identity; must not be <code>null</code>.
+	 */
+	private static void removeReverseLookup(final Map map, final Object key,
+			final Object value, final Set copies) {
+		Collection values = (Collection) map.get(key);
+		if (values == null) {
+			return;
+		}
+		if (!copies.contains(values)) {
+			values = new ArrayList(values);
+			copies.add(values);
+		}
+		values.remove(value);
+		if (values.isEmpty()) {
+			map.remove(key);
+		} else {
+			map.put(key, values);
+		}
+	}
+
 	/**
 	 * The active bindings. This is a map of triggers (
 	 * <code>TriggerSequence</code>) to bindings (<code>Binding</code>).
@@ -281,6 +351,41 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 	 */
 	private Map prefixTable;
 
+	/**
+	 * The tree of active contexts for which the active bindings were computed.
+	 * This is a map of context identifiers (<code>String</code>) to their
+	 * parents (<code>String</code>), as returned by
+	 * <code>createFilteredContextTreeFor</code>. This value is
+	 * <code>null</code> if there is no existing solution.
+	 */
+	private Map solvedContextTree = null;
+
+	/**
+	 * The bindings which match the current locale, platform and scheme, with
+	 * the deletion markers removed, indexed by context identifier. This is a
+	 * map of context identifiers (<code>String</code>) to bindings (
+	 * <code>Collection</code> of <code>Binding</code>). This value is
+	 * <code>null</code> if the index has not been built since the bindings,
+	 * the locale, the platform or the scheme last changed.
+	 */
+	private Map indexedBindingsByContextId = null;
+
+	/**
+	 * The bindings of <code>indexedBindingsByContextId</code> indexed by
+	 * trigger. This is a map of triggers (<code>TriggerSequence</code>) to
+	 * bindings (<code>Collection</code> of <code>Binding</code>), each
+	 * collection in the order of the bindings array. This value is
+	 * <code>null</code> if the index has not been built.
+	 */
+	private Map indexedBindingsByTrigger = null;
+
+	/**
+	 * The triggers (<code>TriggerSequence</code>) which have more than one
+	 * binding in <code>indexedBindingsByTrigger</code>. This value is
+	 * <code>null</code> if the index has not been built.
+	 */
+	private Set ambiguousTriggers = null;
+
 	/**
 	 * <p>
 	 * Constructs a new instance of <code>BindingManager</code>.
@@ -360,6 +465,82 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		addListenerObject(listener);
 	}
 
+	/**
+	 * <p>
+	 * Adds an active binding to a prefix table built by
+	 * <code>buildPrefixTable</code>. The maps of completions are copied before
+	 * they are modified, unless they are one of the given copies.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(m)</code>, where <code>m</code> is the
+	 * length of the trigger sequence.
+	 * </p>
+	 *
+	 * @param prefixTable
+	 *            The prefix table to modify; must not be <code>null</code>.
+	 * @param trigger
+	 *            The trigger of the binding; must not be <code>null</code>.
+	 * @param binding
+	 *            The binding which became active; must not be
+	 *            <code>null</code>.
+	 * @param copies
+	 *            The maps of completions which were already copied, compared
+	 *            by identity; must not be <code>null</code>.
+	 */
+	private static final void addToPrefixTable(final Map prefixTable,
+			final TriggerSequence trigger, final Binding binding,
+			final Set copies) {
+		if (!prefixTable.containsKey(trigger)) {
+			prefixTable.put(trigger, null);
+		}
+
+		final TriggerSequence[] prefixes = trigger.getPrefixes();
+		for (final TriggerSequence prefix : prefixes) {
+			Map completions = (Map) prefixTable.get(prefix);
+			if (completions == null) {
+				completions = new HashMap();
+				copies.add(completions);
+			} else if (!copies.contains(completions)) {
+				completions = new HashMap(completions);
+				copies.add(completions);
+			}
+			completions.put(trigger, binding);
+			prefixTable.put(prefix, completions);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Builds the index of the bindings which match the current locale,
+	 * platform and scheme by context and by trigger. The deletion markers are
+	 * applied first.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(n)</code>, where <code>n</code> is
+	 * the number of bindings.
+	 * </p>
+	 */
+	private final void buildBindingIndex() {
+		final Binding[] trimmedBindings = removeDeletions(bindings);
+		indexedBindingsByContextId = new HashMap();
+		indexedBindingsByTrigger = new HashMap();
+		ambiguousTriggers = new HashSet();
+		for (final Binding binding : trimmedBindings) {
+			if (!localeMatches(binding) || !platformMatches(binding)
+					|| !schemeMatches(binding)) {
+				continue;
+			}
+
+			final TriggerSequence trigger = binding.getTriggerSequence();
+			addReverseLookup(indexedBindingsByContextId,
+					binding.getContextId(), binding);
+			addReverseLookup(indexedBindingsByTrigger, trigger, binding);
+			if (((Collection) indexedBindingsByTrigger.get(trigger)).size() > 1) {
+				ambiguousTriggers.add(trigger);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Builds a prefix table look-up for a map of active bindings.
@@ -445,7 +626,11 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 	 * This method completes in <code>O(1)</code>.
 	 */
 	private final void clearSolution() {
-		setActiveBindings(null, null, null, null);
+		solvedContextTree = null;
+		indexedBindingsByContextId = null;
+		indexedBindingsByTrigger = null;
+		ambiguousTriggers = null;
+		setActiveBindings(null, null, null, null, null);
 	}
 
 	/**
@@ -532,7 +717,6 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		final int length = trimmedBindings.length;
 		for (int i = 0; i < length; i++) {
 			final Binding binding = trimmedBindings[i];
-			boolean found;
 
 			// Check the context.
 			final String contextId = binding.getContextId();
@@ -552,17 +736,7 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 			}
 
 			// Check the scheme ids.
-			final String schemeId = binding.getSchemeId();
-			found = false;
-			if (activeSchemeIds != null) {
-				for (String activeSchemeId : activeSchemeIds) {
-					if (Objects.equals(schemeId, activeSchemeId)) {
-						found = true;
-						break;
-					}
-				}
-			}
-			if (!found) {
+			if (!schemeMatches(binding)) {
 				continue;
 			}
 
@@ -637,31 +811,8 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 				final Binding winner = resolveConflicts((Collection) match,
 						activeContextTree);
 				if (winner == null) {
-					// warn once ... so as not to flood the logs
-					conflictsByTrigger.put(trigger, match);
-					if (triggerConflicts.add(trigger)) {
-						final StringWriter sw = new StringWriter();
-						final BufferedWriter buffer = new BufferedWriter(sw);
-						try {
-							buffer.write("A conflict occurred for "); //$NON-NLS-1$
-							buffer.write(trigger.toString());
-							buffer.write(':');
-							Iterator i = ((Collection) match).iterator();
-							while (i.hasNext()) {
-								buffer.newLine();
-								buffer.write(i.next().toString());
-							}
-							buffer.flush();
-						} catch (IOException e) {
-							// we should not get this
-						}
-						conflicts.add(Status.warning(sw.toString()));
-					}
-					if (DEBUG) {
-						Tracing.printTrace("BINDINGS", //$NON-NLS-1$
-								"A conflict occurred for " + trigger); //$NON-NLS-1$
-						Tracing.printTrace("BINDINGS", "    " + match); //$NON-NLS-1$ //$NON-NLS-2$
-					}
+					recordConflict(trigger, (Collection) match,
+							conflictsByTrigger, conflicts);
 				} else {
 					bindingsByTrigger.put(trigger, winner);
 					addReverseLookup(triggersByCommandId, winner
@@ -674,6 +825,143 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		}
 	}
 
+	/**
+	 * <p>
+	 * Computes the bindings for the given context tree by updating the
+	 * solution for <code>solvedContextTree</code>. Only the triggers bound in
+	 * the contexts which became active or inactive are resolved again, along
+	 * with the triggers which have more than one binding, as resolving those
+	 * also depends on the context tree and on the state of the handlers. The
+	 * result is the same as the one of <code>computeBindings</code>.
+	 * </p>
+	 * <p>
+	 * The given maps are modified in place, but the collections and maps they
+	 * contain are shared with the previous solution, and are copied before
+	 * they are modified.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(c+a)</code>, where <code>c</code> is
+	 * the number of bindings in the contexts which changed, and
+	 * <code>a</code> is the number of bindings for triggers which have more
+	 * than one binding. Building the index after the bindings, the locale, the
+	 * platform or the scheme changed completes in <code>O(n)</code>, where
+	 * <code>n</code> is the number of bindings.
+	 * </p>
+	 *
+	 * @param activeContextTree
+	 *            The map representing the tree of active contexts; must not be
+	 *            <code>null</code>.
+	 * @param bindingsByTrigger
+	 *            A copy of the active bindings for
+	 *            <code>solvedContextTree</code>, which is updated to map the
+	 *            triggers to the bindings for the given context tree; must not
+	 *            be <code>null</code>.
+	 * @param triggersByCommandId
+	 *            A copy of the active bindings by parameterized command, which
+	 *            is updated likewise; must not be <code>null</code>.
+	 * @param prefixTable
+	 *            A copy of the prefix table, which is updated likewise; must
+	 *            not be <code>null</code>.
+	 * @param conflictsByTrigger
+	 *            A copy of the conflicts, which is updated likewise; must not
+	 *            be <code>null</code>.
+	 * @return The triggers (<code>TriggerSequence</code>) whose active
+	 *         binding changed; never <code>null</code>, but may be empty.
+	 */
+	private final Set computeBindingsIncrementally(final Map activeContextTree,
+			final Map bindingsByTrigger, final Map triggersByCommandId,
+			final Map prefixTable, final Map conflictsByTrigger) {
+		if (indexedBindingsByTrigger == null) {
+			buildBindingIndex();
+		}
+
+		// Collect the triggers whose binding might have changed.
+		final Set triggers = new HashSet(ambiguousTriggers);
+		final Set changedContextIds = new HashSet(activeContextTree.keySet());
+		changedContextIds.removeAll(solvedContextTree.keySet());
+		final Iterator contextIdItr = solvedContextTree.keySet().iterator();
+		while (contextIdItr.hasNext()) {
+			final Object contextId = contextIdItr.next();
+			if (!activeContextTree.containsKey(contextId)) {
+				changedContextIds.add(contextId);
+			}
+		}
+		final Iterator changedContextIdItr = changedContextIds.iterator();
+		while (changedContextIdItr.hasNext()) {
+			final Collection contextBindings = (Collection) indexedBindingsByContextId
+					.get(changedContextIdItr.next());
+			if (contextBindings != null) {
+				final Iterator bindingItr = contextBindings.iterator();
+				while (bindingItr.hasNext()) {
+					triggers.add(((Binding) bindingItr.next())
+							.getTriggerSequence());
+				}
+			}
+		}
+
+		if (DEBUG) {
+			Tracing.printTrace("BINDINGS", "Resolving " + triggers.size() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " triggers for " + changedContextIds.size() //$NON-NLS-1$
+					+ " changed contexts"); //$NON-NLS-1$
+		}
+
+		// Resolve them again, and apply the changes.
+		final MultiStatus conflicts = new MultiStatus("org.eclipse.jface", 0, //$NON-NLS-1$
+				"Keybinding conflicts occurred.  They may interfere with normal accelerator operation.", //$NON-NLS-1$
+				null);
+		final Set copies = Collections.newSetFromMap(new IdentityHashMap());
+		final Set changedTriggers = new HashSet();
+		final Iterator triggerItr = triggers.iterator();
+		while (triggerItr.hasNext()) {
+			final TriggerSequence trigger = (TriggerSequence) triggerItr.next();
+			final Collection matches = new ArrayList();
+			final Iterator bindingItr = ((Collection) indexedBindingsByTrigger
+					.get(trigger)).iterator();
+			while (bindingItr.hasNext()) {
+				final Binding binding = (Binding) bindingItr.next();
+				if (activeContextTree.containsKey(binding.getContextId())) {
+					matches.add(binding);
+				}
+			}
+
+			Binding winner = null;
+			conflictsByTrigger.remove(trigger);
+			if (matches.size() == 1) {
+				winner = (Binding) matches.iterator().next();
+			} else if (matches.size() > 1) {
+				winner = resolveConflicts(matches, activeContextTree);
+				if (winner == null) {
+					recordConflict(trigger, matches, conflictsByTrigger,
+							conflicts);
+				}
+			}
+
+			final Binding previous = (Binding) bindingsByTrigger.get(trigger);
+			if (previous == winner) {
+				continue;
+			}
+			if (previous != null) {
+				bindingsByTrigger.remove(trigger);
+				removeReverseLookup(triggersByCommandId,
+						previous.getParameterizedCommand(), trigger, copies);
+				removeFromPrefixTable(prefixTable, bindingsByTrigger, trigger,
+						copies);
+			}
+			if (winner != null) {
+				bindingsByTrigger.put(trigger, winner);
+				addReverseLookup(triggersByCommandId,
+						winner.getParameterizedCommand(), trigger, copies);
+				addToPrefixTable(prefixTable, trigger, winner, copies);
+			}
+			changedTriggers.add(trigger);
+		}
+		if (conflicts.getSeverity() != IStatus.OK) {
+			Policy.getLog().log(conflicts);
+		}
+
+		return changedTriggers;
+	}
+
 	/**
 	 * <p>
 	 * Notifies this manager that the context manager has changed. This method
@@ -1688,7 +1976,9 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 	 * of pre-computed bindings, if possible. When this method completes,
 	 * <code>activeBindings</code> will be set to the current set of bindings
 	 * and <code>cachedBindings</code> will contain an instance of
-	 * <code>CachedBindingSet</code> representing these bindings.
+	 * <code>CachedBindingSet</code> representing these bindings. If there is
+	 * an existing solution for other contexts, then only the triggers affected
+	 * by the change of contexts are resolved again.
 	 * </p>
 	 * <p>
 	 * This method completes in <code>O(n+pn)</code>, where <code>n</code>
@@ -1699,8 +1989,9 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 	private final void recomputeBindings() {
 		if (bindings == null) {
 			// Not yet initialized. This is happening too early. Do nothing.
+			solvedContextTree = null;
 			setActiveBindings(Collections.EMPTY_MAP, Collections.EMPTY_MAP,
-					Collections.EMPTY_MAP, Collections.EMPTY_MAP);
+					Collections.EMPTY_MAP, Collections.EMPTY_MAP, null);
 			return;
 		}
 
@@ -1727,9 +2018,10 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 			if (DEBUG) {
 				Tracing.printTrace("BINDINGS", "Cache hit"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
+			solvedContextTree = activeContextTree;
 			setActiveBindings(existingCache.getBindingsByTrigger(), existingCache.getTriggersByCommandId(),
 					existingCache.getPrefixTable(),
-					existingCache.getConflictsByTrigger());
+					existingCache.getConflictsByTrigger(), null);
 			return;
 		}
 
@@ -1739,12 +2031,31 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		}
 
 		// Compute the active bindings.
-		final Map commandIdsByTrigger = new HashMap();
-		final Map triggersByParameterizedCommand = new HashMap();
-		final Map conflictsByTrigger = new HashMap();
-		computeBindings(activeContextTree, commandIdsByTrigger,
-				triggersByParameterizedCommand, conflictsByTrigger);
-		final Map newPrefixTable = buildPrefixTable(commandIdsByTrigger);
+		final Map commandIdsByTrigger;
+		final Map triggersByParameterizedCommand;
+		final Map conflictsByTrigger;
+		final Map newPrefixTable;
+		final Set changedTriggers;
+		if ((activeBindings != null) && (solvedContextTree != null)) {
+			// Update the solution for the previous contexts.
+			commandIdsByTrigger = new HashMap(activeBindings);
+			triggersByParameterizedCommand = new HashMap(
+					activeBindingsByParameterizedCommand);
+			conflictsByTrigger = new HashMap(currentConflicts);
+			newPrefixTable = new HashMap(prefixTable);
+			changedTriggers = computeBindingsIncrementally(activeContextTree,
+					commandIdsByTrigger, triggersByParameterizedCommand,
+					newPrefixTable, conflictsByTrigger);
+		} else {
+			commandIdsByTrigger = new HashMap();
+			triggersByParameterizedCommand = new HashMap();
+			conflictsByTrigger = new HashMap();
+			computeBindings(activeContextTree, commandIdsByTrigger,
+					triggersByParameterizedCommand, conflictsByTrigger);
+			newPrefixTable = buildPrefixTable(commandIdsByTrigger);
+			changedTriggers = null;
+		}
+		solvedContextTree = activeContextTree;
 
 		// init cache
 		existingCache.setBindingsByTrigger(commandIdsByTrigger);
@@ -1754,7 +2065,57 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 
 		setActiveBindings(commandIdsByTrigger, triggersByParameterizedCommand,
 				newPrefixTable,
-				conflictsByTrigger);
+				conflictsByTrigger, changedTriggers);
+	}
+
+	/**
+	 * <p>
+	 * Records a conflict which could not be resolved. The conflict is logged
+	 * only the first time it occurs for a trigger, so as not to flood the
+	 * logs.
+	 * </p>
+	 *
+	 * @param trigger
+	 *            The trigger of the conflicting bindings; must not be
+	 *            <code>null</code>.
+	 * @param match
+	 *            The conflicting bindings (<code>Binding</code>); must not be
+	 *            <code>null</code>.
+	 * @param conflictsByTrigger
+	 *            The map of conflicts to which the conflict is added; must not
+	 *            be <code>null</code>.
+	 * @param conflicts
+	 *            The status to which the warning is added; must not be
+	 *            <code>null</code>.
+	 */
+	private final void recordConflict(final TriggerSequence trigger,
+			final Collection match, final Map conflictsByTrigger,
+			final MultiStatus conflicts) {
+		// warn once ... so as not to flood the logs
+		conflictsByTrigger.put(trigger, match);
+		if (triggerConflicts.add(trigger)) {
+			final StringWriter sw = new StringWriter();
+			final BufferedWriter buffer = new BufferedWriter(sw);
+			try {
+				buffer.write("A conflict occurred for "); //$NON-NLS-1$
+				buffer.write(trigger.toString());
+				buffer.write(':');
+				Iterator i = match.iterator();
+				while (i.hasNext()) {
+					buffer.newLine();
+					buffer.write(i.next().toString());
+				}
+				buffer.flush();
+			} catch (IOException e) {
+				// we should not get this
+			}
+			conflicts.add(Status.warning(sw.toString()));
+		}
+		if (DEBUG) {
+			Tracing.printTrace("BINDINGS", //$NON-NLS-1$
+					"A conflict occurred for " + trigger); //$NON-NLS-1$
+			Tracing.printTrace("BINDINGS", "    " + match); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 
 	/**
@@ -1964,6 +2325,58 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		return returnValue;
 	}
 
+	/**
+	 * <p>
+	 * Removes a binding which is no longer active from a prefix table built by
+	 * <code>buildPrefixTable</code>. The maps of completions are copied before
+	 * they are modified, unless they are one of the given copies.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(m)</code>, where <code>m</code> is the
+	 * length of the trigger sequence.
+	 * </p>
+	 *
+	 * @param prefixTable
+	 *            The prefix table to modify; must not be <code>null</code>.
+	 * @param activeBindings
+	 *            The active bindings, which no longer contain the trigger; must
+	 *            not be <code>null</code>.
+	 * @param trigger
+	 *            The trigger which is no longer bound; must not be
+	 *            <code>null</code>.
+	 * @param copies
+	 *            The maps of completions which were already copied, compared
+	 *            by identity; must not be <code>null</code>.
+	 */
+	private static final void removeFromPrefixTable(final Map prefixTable,
+			final Map activeBindings, final TriggerSequence trigger,
+			final Set copies) {
+		// Keep the trigger if it is still the prefix of another binding.
+		if (prefixTable.get(trigger) == null) {
+			prefixTable.remove(trigger);
+		}
+
+		final TriggerSequence[] prefixes = trigger.getPrefixes();
+		for (final TriggerSequence prefix : prefixes) {
+			Map completions = (Map) prefixTable.get(prefix);
+			if (completions == null) {
+				continue;
+			}
+			if (!copies.contains(completions)) {
+				completions = new HashMap(completions);
+				copies.add(completions);
+			}
+			completions.remove(trigger);
+			if (!completions.isEmpty()) {
+				prefixTable.put(prefix, completions);
+			} else if (activeBindings.containsKey(prefix)) {
+				prefixTable.put(prefix, null);
+			} else {
+				prefixTable.remove(prefix);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Attempts to resolve the conflicts for the given bindings.
@@ -2136,6 +2549,36 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 		}
 	}
 
+	/**
+	 * <p>
+	 * Tests whether the scheme for the binding matches one of the active
+	 * schemes.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(n)</code>, where <code>n</code> is
+	 * the number of active schemes.
+	 * </p>
+	 *
+	 * @param binding
+	 *            The binding with which to test; must not be <code>null</code>.
+	 * @return <code>true</code> if the binding's scheme matches;
+	 *         <code>false</code> otherwise.
+	 */
+	private final boolean schemeMatches(final Binding binding) {
+		if (activeSchemeIds == null) {
+			return false;
+		}
+
+		final String schemeId = binding.getSchemeId();
+		for (String activeSchemeId : activeSchemeIds) {
+			if (Objects.equals(schemeId, activeSchemeId)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Sets the active bindings and the prefix table. This ensures that the two
 	 * values change at the same time, and that any listeners are notified
@@ -2158,19 +2601,22 @@ public final class BindingManager extends HandleObjectManager<Scheme>
 	 *            map of trigger (<code>TriggerSequence</code>) to binding (<code>Binding</code>).
 	 *            This value may be <code>null</code> if there is no existing
 	 *            solution.
+	 * @param changedTriggers
+	 *            The triggers (<code>TriggerSequence</code>) whose active
+	 *            binding changed, or <code>null</code> if the bindings may
+	 *            have changed for any trigger.
 	 */
 	private final void setActiveBindings(final Map activeBindings,
 			final Map activeBindingsByCommandId, final Map prefixTable,
-			final Map conflicts) {
+			final Map conflicts, final Set changedTriggers) {
 		this.activeBindings = activeBindings;
 		final Map previousBindingsByParameterizedCommand = this.activeBindingsByParameterizedCommand;
 		this.activeBindingsByParameterizedCommand = activeBindingsByCommandId;
 		this.prefixTable = prefixTable;
 		currentConflicts = conflicts;
 
-		fireBindingManagerChanged(new BindingManagerEvent(this, true,
-				previousBindingsByParameterizedCommand, false, null, false,
-				false, false));
+		fireBindingManagerChanged(new BindingManagerEvent(this,
+				previousBindingsByParameterizedCommand, changedTriggers));
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2017 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jface.bindings;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.eclipse.core.commands.ParameterizedCommand;
@@ -80,6 +81,13 @@ public final class BindingManagerEvent extends AbstractBitSetEvent {
 	 */
 	private final Scheme scheme;
 
+	/**
+	 * The triggers (<code>TriggerSequence</code>) whose active binding
+	 * changed. This value is <code>null</code> if the active bindings may have
+	 * changed for any trigger.
+	 */
+	private final Collection changedTriggers;
+
 	/**
 	 * Creates a new instance of this class.
 	 *
@@ -112,6 +120,41 @@ public final class BindingManagerEvent extends AbstractBitSetEvent {
 			final boolean activeSchemeChanged, final Scheme scheme,
 			final boolean schemeDefined, final boolean localeChanged,
 			final boolean platformChanged) {
+		this(manager, activeBindingsChanged,
+				previousTriggersByParameterizedCommand, activeSchemeChanged,
+				scheme, schemeDefined, localeChanged, platformChanged, null);
+	}
+
+	/**
+	 * Creates a new instance of this class for a change of the active
+	 * bindings for which the changed triggers are known.
+	 *
+	 * @param manager
+	 *            the instance of the binding manager that changed; must not be
+	 *            <code>null</code>.
+	 * @param previousTriggersByParameterizedCommand
+	 *            The map of triggers (<code>TriggerSequence</code>) by
+	 *            fully-parameterized command (<code>ParameterizedCommand</code>)
+	 *            before the change occurred. This map may be <code>null</code>
+	 *            or empty.
+	 * @param changedTriggers
+	 *            The triggers (<code>TriggerSequence</code>) whose active
+	 *            binding changed; <code>null</code> if the active bindings may
+	 *            have changed for any trigger.
+	 */
+	BindingManagerEvent(final BindingManager manager,
+			final Map previousTriggersByParameterizedCommand,
+			final Collection changedTriggers) {
+		this(manager, true, previousTriggersByParameterizedCommand, false,
+				null, false, false, false, changedTriggers);
+	}
+
+	private BindingManagerEvent(final BindingManager manager,
+			final boolean activeBindingsChanged,
+			final Map previousTriggersByParameterizedCommand,
+			final boolean activeSchemeChanged, final Scheme scheme,
+			final boolean schemeDefined, final boolean localeChanged,
+			final boolean platformChanged, final Collection changedTriggers) {
 		if (manager == null) {
 			throw new NullPointerException(
 					"A binding manager event needs a binding manager"); //$NON-NLS-1$
@@ -125,6 +168,7 @@ public final class BindingManagerEvent extends AbstractBitSetEvent {
 		this.scheme = scheme;
 
 		this.previousTriggersByParameterizedCommand = previousTriggersByParameterizedCommand;
+		this.changedTriggers = changedTriggers;
 
 		if (activeBindingsChanged) {
 			changedValues |= CHANGED_ACTIVE_BINDINGS;
@@ -153,6 +197,25 @@ public final class BindingManagerEvent extends AbstractBitSetEvent {
 		return manager;
 	}
 
+	/**
+	 * Returns the triggers whose active binding changed, if they are known.
+	 * When only some of the active contexts changed, the binding manager
+	 * resolves the bindings of the affected triggers only, and reports them
+	 * here.
+	 *
+	 * @return The triggers (<code>TriggerSequence</code>) whose active binding
+	 *         was added, removed or replaced; may be empty. This value is
+	 *         <code>null</code> if the active bindings did not change, or if
+	 *         they may have changed for any trigger.
+	 * @since 3.38
+	 */
+	public final Collection getChangedTriggers() {
+		if (changedTriggers == null) {
+			return null;
+		}
+		return Collections.unmodifiableCollection(changedTriggers);
+	}
+
 	/**
 	 * Returns the scheme that changed.
 	 *
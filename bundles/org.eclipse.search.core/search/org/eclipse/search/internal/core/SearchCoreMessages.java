@@ -42,6 +42,7 @@ public final class SearchCoreMessages extends NLS {
 	public static String TextSearchVisitor_error;
 	public static String TextSearchVisitor_unsupportedcharset;
 	public static String TextSearchVisitor_illegalcharset;
+	public static String TrigramIndex_updateJob;
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, SearchCoreMessages.class);
 	}
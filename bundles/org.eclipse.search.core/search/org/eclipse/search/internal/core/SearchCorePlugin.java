@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Red Hat Inc and others.
+ * Copyright (c) 2023, 2026 Red Hat Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,13 @@ import org.osgi.framework.BundleContext;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndex;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -30,12 +32,19 @@ public class SearchCorePlugin extends Plugin {
 	public static final String PLUGIN_ID = "org.eclipse.search.core"; //$NON-NLS-1$
 	/** Status code describing an internal error */
 	public static final int INTERNAL_ERROR = 1;
+	/**
+	 * Preference key (boolean) to enable the persistent trigram index used to
+	 * skip files that cannot match a text search. Disabled by default.
+	 */
+	public static final String PREF_TRIGRAM_INDEX = "trigramIndex"; //$NON-NLS-1$
+	private static final String TRIGRAM_INDEX_FILE = "trigram.index"; //$NON-NLS-1$
 
 	private static SearchCorePlugin fgSearchPlugin;
 
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndex fTrigramIndex;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +67,12 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndex != null) {
+				fTrigramIndex.shutdown();
+				fTrigramIndex = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +82,29 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	/**
+	 * Returns the trigram index if it is enabled by the {@link #PREF_TRIGRAM_INDEX}
+	 * preference. The index is created and started on first access, it is loaded
+	 * in the background and does not filter any file until then.
+	 *
+	 * @return the trigram index or <code>null</code> if it is disabled
+	 */
+	public synchronized TrigramIndex getTrigramIndex() {
+		boolean enabled = Platform.getPreferencesService().getBoolean(PLUGIN_ID, PREF_TRIGRAM_INDEX, false, null);
+		if (!enabled) {
+			if (fTrigramIndex != null) {
+				fTrigramIndex.shutdown();
+				fTrigramIndex = null;
+			}
+			return null;
+		}
+		if (fTrigramIndex == null) {
+			fTrigramIndex = new TrigramIndex(getStateLocation().append(TRIGRAM_INDEX_FILE).toFile());
+			fTrigramIndex.startup();
+		}
+		return fTrigramIndex;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,16 +17,31 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
 public class FileCharSequenceProvider {
 
+	/**
+	 * Preference key (boolean) to read large files through memory mapping, see
+	 * {@link #newMappedCharSequence(IFile)}. Disabled by default because on some
+	 * platforms mapped files stay locked until the mapping is garbage collected.
+	 */
+	public static final String PREF_MEMORY_MAPPED_FILES= "memoryMappedFiles"; //$NON-NLS-1$
+
 	/**
 	 * Just any number such that the most source files will fit in. And not too
 	 * big to avoid out of memory.
@@ -38,11 +53,39 @@ public class FileCharSequenceProvider {
 
 	private FileCharSequence fReused= null;
 
+	private final boolean fUseMemoryMapping;
+
+	public FileCharSequenceProvider() {
+		this(false);
+	}
+
+	/**
+	 * @param useMemoryMapping whether files too large to be read into a String
+	 *            should be accessed through memory mapping if possible
+	 */
+	public FileCharSequenceProvider(boolean useMemoryMapping) {
+		fUseMemoryMapping= useMemoryMapping;
+	}
+
+	/**
+	 * @return whether memory mapping is enabled by the
+	 *         {@link #PREF_MEMORY_MAPPED_FILES} preference
+	 */
+	public static boolean isMemoryMappingEnabled() {
+		return Platform.getPreferencesService().getBoolean(SearchCorePlugin.PLUGIN_ID, PREF_MEMORY_MAPPED_FILES, false, null);
+	}
+
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
 		String string = toShortString(file);
 		if (string != null) {
 			return string;
 		}
+		if (fUseMemoryMapping) {
+			CharSequence mapped= newMappedCharSequence(file);
+			if (mapped != null) {
+				return mapped;
+			}
+		}
 		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
 		return charSequence;
@@ -486,6 +529,181 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	/**
+	 * Creates a char sequence that decodes the characters of the file directly
+	 * from a memory mapped buffer on access, without copying them into
+	 * <code>char[]</code> buffers. This is only possible for local files encoded in
+	 * ISO-8859-1, US-ASCII or UTF-8 with pure ASCII content, where every byte is
+	 * exactly one character.
+	 *
+	 * @param file the file to map
+	 * @return the char sequence or <code>null</code> if the file cannot be mapped
+	 *         this way
+	 */
+	public static CharSequence newMappedCharSequence(IFile file) {
+		IPath location= file.getLocation();
+		if (location == null) {
+			return null;
+		}
+		try {
+			Charset charset= Charset.forName(file.getCharset());
+			boolean isLatin1= StandardCharsets.ISO_8859_1.equals(charset);
+			boolean isAscii= StandardCharsets.US_ASCII.equals(charset);
+			if (!isLatin1 && !isAscii && !StandardCharsets.UTF_8.equals(charset)) {
+				return null;
+			}
+			ByteBuffer buffer;
+			try (FileChannel channel= FileChannel.open(location.toPath(), StandardOpenOption.READ)) {
+				long size= channel.size();
+				if (size > Integer.MAX_VALUE) {
+					return null;
+				}
+				// the mapping stays valid after the channel is closed
+				buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+			if (StandardCharsets.UTF_8.equals(charset)) {
+				if (startsWith(buffer, IContentDescription.BOM_UTF_8)) {
+					buffer.position(IContentDescription.BOM_UTF_8.length);
+					buffer= buffer.slice();
+				}
+				if (!isAscii(buffer)) {
+					// multi byte characters, offsets cannot be computed without decoding
+					return null;
+				}
+			}
+			return new MappedCharSequence(buffer, 0, buffer.limit(), isAscii);
+		} catch (IOException | CoreException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a reader on a memory mapped file, see
+	 * {@link #newMappedCharSequence(IFile)}.
+	 *
+	 * @param file the file to read
+	 * @return the reader or <code>null</code> if the file cannot be mapped
+	 */
+	public static Reader newMappedReader(IFile file) {
+		CharSequence sequence= newMappedCharSequence(file);
+		return sequence != null ? new CharSequenceReader(sequence) : null;
+	}
+
+	/**
+	 * @param sequence a char sequence
+	 * @return whether the sequence reads from a memory mapped file, see
+	 *         {@link #newMappedCharSequence(IFile)}
+	 */
+	public static boolean isMapped(CharSequence sequence) {
+		return sequence instanceof MappedCharSequence;
+	}
+
+	private static boolean startsWith(ByteBuffer buffer, byte[] start) {
+		if (buffer.limit() < start.length) {
+			return false;
+		}
+		for (int i= 0; i < start.length; i++) {
+			if (buffer.get(i) != start[i])
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isAscii(ByteBuffer buffer) {
+		int limit= buffer.limit();
+		int i= 0;
+		for (; i + 8 <= limit; i+= 8) {
+			if ((buffer.getLong(i) & 0x8080808080808080L) != 0) {
+				return false;
+			}
+		}
+		for (; i < limit; i++) {
+			if (buffer.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A char sequence on a memory mapped file with one byte per character.
+	 */
+	private static final class MappedCharSequence implements CharSequence {
+		private final ByteBuffer fBuffer;
+		private final int fOffset;
+		private final int fLength;
+		private final boolean fAscii;
+
+		MappedCharSequence(ByteBuffer buffer, int offset, int length, boolean ascii) {
+			fBuffer= buffer;
+			fOffset= offset;
+			fLength= length;
+			fAscii= ascii;
+		}
+
+		@Override
+		public int length() {
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= fLength) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			byte b= fBuffer.get(fOffset + index);
+			if (fAscii && b < 0) {
+				return '\uFFFD'; // same as the US-ASCII decoder
+			}
+			return (char) (b & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > fLength || start > end) {
+				throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + fLength); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			return new MappedCharSequence(fBuffer, fOffset + start, end - start, fAscii);
+		}
+
+		@Override
+		public String toString() {
+			byte[] bytes= new byte[fLength];
+			fBuffer.get(fOffset, bytes);
+			return new String(bytes, fAscii ? StandardCharsets.US_ASCII : StandardCharsets.ISO_8859_1);
+		}
+	}
+
+	/**
+	 * A reader on a char sequence.
+	 */
+	private static final class CharSequenceReader extends Reader {
+		private final CharSequence fSequence;
+		private int fPos;
+
+		CharSequenceReader(CharSequence sequence) {
+			fSequence= sequence;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			int length= fSequence.length();
+			if (fPos >= length) {
+				return -1;
+			}
+			int n= Math.min(len, length - fPos);
+			for (int i= 0; i < n; i++) {
+				cbuf[off + i]= fSequence.charAt(fPos++);
+			}
+			return n;
+		}
+
+		@Override
+		public void close() {
+			fPos= fSequence.length();
+		}
+	}
+
 	/*
 	 * Try to get a content as String. Avoids to scanning whole InputStream to
 	 * get length
@@ -14,6 +14,8 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core.text;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -247,6 +249,221 @@ public class PatternConstructor {
 		return buffer;
 	}
 
+	/**
+	 * Extracts literal strings that are contained in every match of the given
+	 * pattern. The extraction is conservative: constructs that are not understood
+	 * (groups, alternatives, character classes, escapes denoting character classes,
+	 * etc.) simply end the current literal. An empty array is returned if no
+	 * literal is required, e.g. for top level alternatives.
+	 * <p>
+	 * The result is meant to pre-select files that can contain a match, see
+	 * {@link TrigramIndex}.
+	 * </p>
+	 *
+	 * @param pattern the compiled search pattern
+	 * @return the literals that every match contains, never <code>null</code>
+	 */
+	public static String[] getRequiredLiterals(Pattern pattern) {
+		int flags= pattern.flags();
+		String regex= pattern.pattern();
+		if ((flags & Pattern.LITERAL) != 0) {
+			return regex.isEmpty() ? new String[0] : new String[] { regex };
+		}
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return new String[0];
+		}
+		List<String> literals= new ArrayList<>();
+		StringBuilder current= new StringBuilder();
+		int length= regex.length();
+		for (int i= 0; i < length; i++) {
+			char ch= regex.charAt(i);
+			switch (ch) {
+				case '\\':
+					if (i + 1 >= length) {
+						return new String[0];
+					}
+					char ch1= regex.charAt(++i);
+					if (ch1 == 'Q') {
+						int end= regex.indexOf("\\E", i + 1); //$NON-NLS-1$
+						current.append(end < 0 ? regex.substring(i + 1) : regex.substring(i + 1, end));
+						i= end < 0 ? length : end + 1;
+					} else if (Character.isLetterOrDigit(ch1)) {
+						flushLiteral(current, literals);
+						i= skipEscapeArgument(regex, i);
+					} else {
+						current.append(ch1);
+					}
+					break;
+				case '[':
+					flushLiteral(current, literals);
+					i= skipCharacterClass(regex, i);
+					break;
+				case '(':
+					flushLiteral(current, literals);
+					if (isCommentsFlagGroup(regex, i)) {
+						return new String[0];
+					}
+					i= skipGroup(regex, i);
+					break;
+				case '|':
+					// alternatives on the top level: no literal is required
+					return new String[0];
+				case '?':
+				case '*':
+					// the preceding character is optional
+					if (current.length() > 0) {
+						current.setLength(current.length() - 1);
+					}
+					flushLiteral(current, literals);
+					break;
+				case '{':
+					int close= regex.indexOf('}', i);
+					if (close < 0) {
+						return new String[0];
+					}
+					if (regex.startsWith("0", i + 1) && current.length() > 0) { //$NON-NLS-1$
+						current.setLength(current.length() - 1);
+					}
+					flushLiteral(current, literals);
+					i= close;
+					break;
+				case '+':
+				case '.':
+				case '^':
+				case '$':
+				case ')':
+					flushLiteral(current, literals);
+					break;
+				default:
+					current.append(ch);
+					break;
+			}
+		}
+		flushLiteral(current, literals);
+		return literals.toArray(new String[literals.size()]);
+	}
+
+	private static void flushLiteral(StringBuilder current, List<String> literals) {
+		if (current.length() > 0) {
+			literals.add(current.toString());
+			current.setLength(0);
+		}
+	}
+
+	/**
+	 * @return the index of the last character of the escape sequence whose escaped
+	 *         character (a letter or digit) is at <code>i</code>
+	 */
+	private static int skipEscapeArgument(String regex, int i) {
+		char ch= regex.charAt(i);
+		int length= regex.length();
+		switch (ch) {
+			case 'x':
+				if (i + 1 < length && regex.charAt(i + 1) == '{') {
+					int close= regex.indexOf('}', i);
+					return close < 0 ? length : close;
+				}
+				return Math.min(length - 1, i + 2);
+			case 'u':
+				return Math.min(length - 1, i + 4);
+			case 'c':
+				return Math.min(length - 1, i + 1);
+			case 'p':
+			case 'P':
+			case 'N':
+				if (i + 1 < length && regex.charAt(i + 1) == '{') {
+					int close= regex.indexOf('}', i);
+					return close < 0 ? length : close;
+				}
+				return Math.min(length - 1, i + 1);
+			case 'k':
+				int close= regex.indexOf('>', i);
+				return close < 0 ? length : close;
+			default:
+				if (Character.isDigit(ch)) {
+					// octal escapes and back references
+					while (i + 1 < length && Character.isDigit(regex.charAt(i + 1))) {
+						i++;
+					}
+				}
+				return i;
+		}
+	}
+
+	/**
+	 * @return the index of the closing bracket of the character class opened at
+	 *         <code>start</code>
+	 */
+	private static int skipCharacterClass(String regex, int start) {
+		int length= regex.length();
+		int depth= 0;
+		for (int i= start; i < length; i++) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				i++;
+			} else if (ch == '[') {
+				depth++;
+				// a closing bracket directly after the opening is a literal
+				if (i + 1 < length && regex.charAt(i + 1) == '^') {
+					i++;
+				}
+				if (i + 1 < length && regex.charAt(i + 1) == ']') {
+					i++;
+				}
+			} else if (ch == ']' && --depth == 0) {
+				return i;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * @return the index of the closing parenthesis of the group opened at
+	 *         <code>start</code>
+	 */
+	private static int skipGroup(String regex, int start) {
+		int length= regex.length();
+		int depth= 0;
+		for (int i= start; i < length; i++) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				if (i + 1 < length && regex.charAt(i + 1) == 'Q') {
+					int end= regex.indexOf("\\E", i + 2); //$NON-NLS-1$
+					i= end < 0 ? length : end + 1;
+				} else {
+					i++;
+				}
+			} else if (ch == '[') {
+				i= skipCharacterClass(regex, i);
+			} else if (ch == '(') {
+				depth++;
+			} else if (ch == ')' && --depth == 0) {
+				return i;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * @return whether the group at <code>start</code> turns on the
+	 *         {@link Pattern#COMMENTS} flag, e.g. <code>(?x)</code>
+	 */
+	private static boolean isCommentsFlagGroup(String regex, int start) {
+		if (!regex.startsWith("(?", start)) { //$NON-NLS-1$
+			return false;
+		}
+		for (int i= start + 2; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			if (ch == 'x') {
+				return true;
+			}
+			if (!Character.isLetter(ch)) {
+				return false;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Interprets escaped characters in the given replace pattern.
 	 *
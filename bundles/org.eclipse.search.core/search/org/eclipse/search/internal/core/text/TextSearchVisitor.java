@@ -166,7 +166,7 @@ public class TextSearchVisitor {
 					new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
 							SearchCoreMessages.TextSearchEngine_statusMessage, null);
 			SubMonitor subMonitor = SubMonitor.convert(inner, fileBatches.size() / jobCount); // approximate
-			this.fileCharSequenceProvider= new FileCharSequenceProvider();
+			this.fileCharSequenceProvider= new FileCharSequenceProvider(fUseMemoryMapping);
 			List<IFile> sameFiles;
 			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fProgressMonitor.isCanceled()) {
 				IStatus status = processFile(sameFiles, subMonitor.split(1));
@@ -204,6 +204,10 @@ public class TextSearchVisitor {
 					occurences = locateMatches(file, charsequence, matcher, monitor);
 				} else {
 					try {
+						if (fTrigramIndex != null && !fTrigramIndex.mayContain(file, fRequiredLiterals)) {
+							// the index knows that the file cannot contain a match
+							return Status.OK_STATUS;
+						}
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
 						if (reportTextOnly && hasBinaryContentType(file)) {
 							// fail fast for binary file types without opening the file
@@ -289,6 +293,17 @@ public class TextSearchVisitor {
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
 
+	/**
+	 * Literals every match of {@link #fSearchPattern} contains, used to skip files
+	 * with the help of {@link #fTrigramIndex}.
+	 */
+	private final String[] fRequiredLiterals;
+	/**
+	 * The trigram index or <code>null</code> if disabled or not selective for the
+	 * search pattern.
+	 */
+	private final TrigramIndex fTrigramIndex;
+
 	private volatile IProgressMonitor fProgressMonitor;
 
 	private int fNumberOfScannedFiles;  // Protected by fLock
@@ -299,6 +314,7 @@ public class TextSearchVisitor {
 	private volatile boolean fFatalError; // If true, terminates the search.
 
 	private volatile boolean fIsLightweightAutoRefresh;
+	private final boolean fUseMemoryMapping;
 	private DirtyFileProvider fDirtyDiscovery;
 
 	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery) {
@@ -308,8 +324,13 @@ public class TextSearchVisitor {
 				SearchCoreMessages.TextSearchEngine_statusMessage, null);
 
 		fSearchPattern= searchPattern;
+		fRequiredLiterals= PatternConstructor.getRequiredLiterals(searchPattern);
+		SearchCorePlugin plugin= SearchCorePlugin.getDefault();
+		TrigramIndex index= plugin != null ? plugin.getTrigramIndex() : null;
+		fTrigramIndex= index != null && TrigramIndex.isSelective(fRequiredLiterals) ? index : null;
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
+		fUseMemoryMapping= FileCharSequenceProvider.isMemoryMappingEnabled();
 		fileBatches = new ConcurrentLinkedQueue<>();
 	}
 
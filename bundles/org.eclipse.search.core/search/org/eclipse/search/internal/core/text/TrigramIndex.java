@@ -0,0 +1,476 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * An optional, persistent index that records which character trigrams occur in
+ * the workspace files. It is used by text searches to skip files that cannot
+ * contain the literals required by a search pattern, see
+ * {@link PatternConstructor#getRequiredLiterals(java.util.regex.Pattern)}.
+ * <p>
+ * For every file a bloom filter of its case folded trigrams is stored together
+ * with the modification stamp of the file at indexing time. Files that are not
+ * indexed, whose stamp differs or that are not in sync with the file system are
+ * always reported as candidates, so the index never hides a match, it can only
+ * report false candidates.
+ * </p>
+ * <p>
+ * The index is kept in the state location of the search core plug-in. It is
+ * loaded and updated incrementally from resource deltas in a background job,
+ * until it is loaded it reports all files as candidates.
+ * </p>
+ */
+public class TrigramIndex implements IResourceChangeListener {
+
+	private static final int FORMAT_VERSION= 1;
+
+	/** Files larger than this are not indexed and always searched. */
+	private static final long MAX_FILE_LENGTH= 64L * 1024 * 1024;
+
+	/** Number of bloom filter bits reserved per distinct trigram. */
+	private static final int BITS_PER_TRIGRAM= 10;
+	private static final int MIN_BLOOM_LONGS= 8;
+	private static final int MAX_BLOOM_LONGS= 1 << 16;
+
+	/**
+	 * The index data of a single file.
+	 *
+	 * @param stamp the modification stamp of the file when it was indexed
+	 * @param bloom the bloom filter bits, the length is a power of 2
+	 */
+	private record Entry(long stamp, long[] bloom) {
+		boolean contains(int trigram) {
+			int mask= bloom.length * 64 - 1;
+			int h1= trigram;
+			int h2= Integer.rotateLeft(trigram * 0x85EBCA6B, 15) | 1;
+			for (int i= 0; i < 3; i++) {
+				int bit= (h1 + i * h2) & mask;
+				if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		static Entry create(long stamp, int[] trigrams) {
+			long needed= ((long) trigrams.length * BITS_PER_TRIGRAM + 63) / 64;
+			int longs= MIN_BLOOM_LONGS;
+			while (longs < needed && longs < MAX_BLOOM_LONGS) {
+				longs<<= 1;
+			}
+			long[] bloom= new long[longs];
+			int mask= longs * 64 - 1;
+			for (int trigram : trigrams) {
+				int h1= trigram;
+				int h2= Integer.rotateLeft(trigram * 0x85EBCA6B, 15) | 1;
+				for (int i= 0; i < 3; i++) {
+					int bit= (h1 + i * h2) & mask;
+					bloom[bit >>> 6]|= 1L << bit;
+				}
+			}
+			return new Entry(stamp, bloom);
+		}
+	}
+
+	private final File fIndexFile;
+	private final Map<IPath, Entry> fEntries= new ConcurrentHashMap<>();
+	private final Set<IFile> fPending= ConcurrentHashMap.newKeySet();
+	private final Job fUpdateJob;
+	private volatile boolean fDirty;
+	private volatile boolean fReconciled;
+	private volatile boolean fLoaded;
+
+	/**
+	 * Creates a new index that is persisted to the given file.
+	 *
+	 * @param indexFile the file to store the index in
+	 */
+	public TrigramIndex(File indexFile) {
+		fIndexFile= indexFile;
+		fUpdateJob= new Job(SearchCoreMessages.TrigramIndex_updateJob) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return update(monitor);
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == TrigramIndex.this;
+			}
+		};
+		fUpdateJob.setSystem(true);
+		fUpdateJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Starts listening to resource changes and schedules a background job that
+	 * loads the persisted index and brings it up to date with the workspace. The
+	 * job belongs to the family of this index.
+	 */
+	public void startup() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fUpdateJob.schedule();
+	}
+
+	/**
+	 * Stops listening to resource changes and persists the index.
+	 */
+	public void shutdown() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fUpdateJob.cancel();
+		try {
+			fUpdateJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (fLoaded) {
+			save();
+		}
+	}
+
+	/**
+	 * Tells whether the given file may contain all the given literals.
+	 *
+	 * @param file the file to test
+	 * @param literals the literals that every match must contain, as returned by
+	 *            {@link PatternConstructor#getRequiredLiterals(java.util.regex.Pattern)}
+	 * @return <code>false</code> if the file is known not to contain one of the
+	 *         literals, <code>true</code> otherwise
+	 */
+	public boolean mayContain(IFile file, String[] literals) {
+		if (literals.length == 0 || !fLoaded) {
+			return true;
+		}
+		Entry entry= fEntries.get(file.getFullPath());
+		if (entry == null || entry.stamp() != file.getModificationStamp()) {
+			return true;
+		}
+		// the content of a file changed on disk without a refresh is read by the
+		// search, but its modification stamp is unchanged
+		if (!file.isSynchronized(IResource.DEPTH_ZERO)) {
+			return true;
+		}
+		for (String literal : literals) {
+			for (int i= 0; i + 3 <= literal.length(); i++) {
+				int trigram= trigram(fold(literal.charAt(i)), fold(literal.charAt(i + 1)), fold(literal.charAt(i + 2)));
+				if (!entry.contains(trigram)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the given literals contain enough characters to be used with
+	 * {@link #mayContain(IFile, String[])}.
+	 *
+	 * @param literals the literals
+	 * @return <code>true</code> if at least one literal has a trigram
+	 */
+	public static boolean isSelective(String[] literals) {
+		for (String literal : literals) {
+			if (literal.length() >= 3) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(d -> {
+				IResource resource= d.getResource();
+				switch (d.getKind()) {
+					case IResourceDelta.REMOVED:
+						removeEntries(resource);
+						return false;
+					case IResourceDelta.ADDED:
+						if (resource.getType() == IResource.FILE) {
+							fPending.add((IFile) resource);
+						} else if (resource.getType() == IResource.PROJECT) {
+							// projects are added or opened as a whole, reconcile them lazily
+							fReconciled= false;
+							return false;
+						}
+						return true;
+					case IResourceDelta.CHANGED:
+						if (resource.getType() == IResource.FILE
+								&& (d.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+							fEntries.remove(resource.getFullPath());
+							fPending.add((IFile) resource);
+						} else if (resource.getType() == IResource.PROJECT && (d.getFlags() & IResourceDelta.OPEN) != 0) {
+							fReconciled= false;
+							return false;
+						}
+						return true;
+					default:
+						return true;
+				}
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		fUpdateJob.schedule(500);
+	}
+
+	private void removeEntries(IResource resource) {
+		IPath path= resource.getFullPath();
+		if (resource.getType() == IResource.FILE) {
+			if (fEntries.remove(path) != null) {
+				fDirty= true;
+			}
+		} else if (fEntries.keySet().removeIf(path::isPrefixOf)) {
+			fDirty= true;
+		}
+	}
+
+	private IStatus update(IProgressMonitor monitor) {
+		if (!fLoaded) {
+			load();
+			fLoaded= true;
+		}
+		if (!fReconciled) {
+			fReconciled= true;
+			reconcile(monitor);
+		}
+		while (!fPending.isEmpty() && !monitor.isCanceled()) {
+			IFile[] files= fPending.toArray(new IFile[0]);
+			for (IFile file : files) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				fPending.remove(file);
+				index(file);
+			}
+		}
+		if (fDirty) {
+			save();
+		}
+		return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+	}
+
+	/**
+	 * Compares the index against the workspace, drops entries of files that no
+	 * longer exist and queues files that are not indexed or outdated.
+	 */
+	private void reconcile(IProgressMonitor monitor) {
+		IWorkspace workspace= ResourcesPlugin.getWorkspace();
+		Set<IPath> existing= new HashSet<>();
+		try {
+			workspace.getRoot().accept(proxy -> {
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				if (proxy.getType() == IResource.FILE) {
+					IPath path= proxy.requestFullPath();
+					existing.add(path);
+					Entry entry= fEntries.get(path);
+					if (entry == null || entry.stamp() != proxy.getModificationStamp()) {
+						fPending.add((IFile) proxy.requestResource());
+					} else {
+						IFile file= (IFile) proxy.requestResource();
+						if (!file.isSynchronized(IResource.DEPTH_ZERO)) {
+							// changed on disk while the workbench was not running
+							fPending.add(file);
+						}
+					}
+				}
+				return true;
+			}, IResource.NONE);
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+			return;
+		}
+		if (!monitor.isCanceled() && fEntries.keySet().retainAll(existing)) {
+			fDirty= true;
+		}
+	}
+
+	private void index(IFile file) {
+		if (!file.isAccessible()) {
+			removeEntries(file);
+			return;
+		}
+		long stamp= file.getModificationStamp();
+		IPath location= file.getLocation();
+		if (location != null && location.toFile().length() > MAX_FILE_LENGTH) {
+			return;
+		}
+		try (InputStream stream= file.getContents(true); Reader reader= new InputStreamReader(stream, file.getCharset())) {
+			int[] trigrams= collectTrigrams(reader);
+			if (trigrams != null) {
+				fEntries.put(file.getFullPath(), Entry.create(stamp, trigrams));
+				fDirty= true;
+			}
+		} catch (CoreException | IOException e) {
+			// the file is searched without the help of the index
+			fEntries.remove(file.getFullPath());
+		}
+	}
+
+	/**
+	 * Reads all characters and returns the sorted distinct trigram keys, or
+	 * <code>null</code> if the content looks binary.
+	 */
+	private static int[] collectTrigrams(Reader reader) throws IOException {
+		char[] buffer= new char[8192];
+		int[] trigrams= new int[1024];
+		int count= 0;
+		char c1= 0, c2= 0;
+		int seen= 0;
+		int read;
+		while ((read= reader.read(buffer)) != -1) {
+			for (int i= 0; i < read; i++) {
+				char c= buffer[i];
+				if (c == '\0') {
+					return null;
+				}
+				char c3= fold(c);
+				if (++seen >= 3) {
+					if (count == trigrams.length) {
+						// compact before growing, most content repeats a lot
+						Arrays.sort(trigrams, 0, count);
+						count= unique(trigrams, count);
+						if (count > trigrams.length / 2) {
+							trigrams= Arrays.copyOf(trigrams, trigrams.length * 2);
+						}
+					}
+					trigrams[count++]= trigram(c1, c2, c3);
+				}
+				c1= c2;
+				c2= c3;
+			}
+		}
+		Arrays.sort(trigrams, 0, count);
+		return Arrays.copyOf(trigrams, unique(trigrams, count));
+	}
+
+	private static int unique(int[] sorted, int length) {
+		if (length == 0) {
+			return 0;
+		}
+		int j= 1;
+		for (int i= 1; i < length; i++) {
+			if (sorted[i] != sorted[j - 1]) {
+				sorted[j++]= sorted[i];
+			}
+		}
+		return j;
+	}
+
+	/**
+	 * Folds the case of a character such that it is equal for all characters that
+	 * match each other in a case insensitive search.
+	 */
+	static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	static int trigram(char c1, char c2, char c3) {
+		long key= ((long) c1 << 32) | ((long) c2 << 16) | c3;
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+
+	private void load() {
+		if (!fIndexFile.isFile()) {
+			return;
+		}
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fIndexFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return;
+			}
+			int size= in.readInt();
+			for (int i= 0; i < size; i++) {
+				IPath path= IPath.fromPortableString(in.readUTF());
+				long stamp= in.readLong();
+				long[] bloom= new long[in.readInt()];
+				for (int j= 0; j < bloom.length; j++) {
+					bloom[j]= in.readLong();
+				}
+				fEntries.put(path, new Entry(stamp, bloom));
+			}
+		} catch (IOException | RuntimeException e) {
+			// a corrupt index is simply rebuilt
+			fEntries.clear();
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	private synchronized void save() {
+		fDirty= false;
+		File tmp= new File(fIndexFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			Map<IPath, Entry> snapshot= Map.copyOf(fEntries);
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(snapshot.size());
+			for (Map.Entry<IPath, Entry> e : snapshot.entrySet()) {
+				out.writeUTF(e.getKey().toPortableString());
+				out.writeLong(e.getValue().stamp());
+				long[] bloom= e.getValue().bloom();
+				out.writeInt(bloom.length);
+				for (long bits : bloom) {
+					out.writeLong(bits);
+				}
+			}
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+			return;
+		}
+		if (!tmp.renameTo(fIndexFile)) {
+			fIndexFile.delete();
+			tmp.renameTo(fIndexFile);
+		}
+	}
+}
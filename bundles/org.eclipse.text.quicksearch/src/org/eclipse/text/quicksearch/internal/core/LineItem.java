@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2023 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -95,6 +95,10 @@ public class LineItem {
 		return true;
 	}
 
+	/**
+	 * @return the offset of the start of the line in the file, or -1 if the line
+	 *         starts beyond the range of <code>int</code> offsets
+	 */
 	public int getOffset() {
 		return lineOffset;
 	}
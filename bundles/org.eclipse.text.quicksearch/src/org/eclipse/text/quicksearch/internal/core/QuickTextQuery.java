@@ -20,6 +20,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.search.internal.core.text.PatternConstructor;
 
 /**
  * Represents something you can search for with a 'quick search' text searcher.
@@ -49,6 +50,7 @@ public class QuickTextQuery {
 	private boolean caseInsensitive;
 	private String orgPattern; //Original pattern case preserved even if search is case insensitive.
 	final Pattern pattern;
+	final String[] requiredLiterals;
 
 	/**
 	 * A query that matches anything.
@@ -62,6 +64,7 @@ public class QuickTextQuery {
 		this.caseInsensitive = caseInsensitive;
 		String regex = createRegEx(substring);
 		pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+		requiredLiterals = PatternConstructor.getRequiredLiterals(pattern);
 	}
 
 	private String createRegEx(String patString) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2026 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,13 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
@@ -32,12 +34,16 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.FileCharSequenceProvider;
+import org.eclipse.search.internal.core.text.TrigramIndex;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
 import org.eclipse.text.quicksearch.internal.ui.Messages;
 import org.eclipse.text.quicksearch.internal.util.LightSchedulingRule;
-import org.eclipse.text.quicksearch.internal.util.LineReader;
+import org.eclipse.text.quicksearch.internal.util.LineOffsetTable;
+import org.eclipse.text.quicksearch.internal.util.LineScanner;
 
 public class QuickTextSearcher {
 	private static int MAX_BUFFER_LENGTH = 999_999; // read max 1MB bytes => max 2MB chars.
@@ -50,12 +56,29 @@ public class QuickTextSearcher {
 	 */
 	private final Set<LineItem> matches = ConcurrentHashMap.newKeySet(2000);
 
+	/**
+	 * Line offsets of the files that were too large to be read at once and contain
+	 * matches, see {@link #readLines(IFile, int, int)}.
+	 */
+	private final Map<IFile, LineOffsetTable> lineOffsets = new ConcurrentHashMap<>();
+
 	/**
 	 * Scheduling rule used by Jobs that work on the matches collection.
 	 */
 	private ISchedulingRule matchesRule = new LightSchedulingRule("QuickSearchMatchesRule"); //$NON-NLS-1$
 
 	private final SearchInFilesWalker walker;
+
+	/**
+	 * Optional index used to skip files that cannot contain the query, <code>null</code>
+	 * if the index is disabled.
+	 */
+	private final TrigramIndex trigramIndex;
+
+	/**
+	 * Whether files too large to be read at once are read through memory mapping.
+	 */
+	private final boolean useMemoryMapping;
 	private IncrementalUpdateJob incrementalUpdate;
 
 	/**
@@ -75,8 +98,8 @@ public class QuickTextSearcher {
 	private int maxResults = DEFAULT_MAX_RESULTS;
 
 	/**
-	 * If a line of text is encountered longer than this, the searcher will stop searching
-	 * that file (this rule avoids searching machine generated text files, like minified javascript).
+	 * Lines of text longer than this are skipped by the searcher (this rule avoids searching
+	 * machine generated text, like minified javascript).
 	 */
 	private int MAX_LINE_LEN;
 
@@ -106,9 +129,24 @@ public class QuickTextSearcher {
 	}
 
 	public QuickTextSearcher(QuickTextQuery query, PriorityFunction priorities, int maxLineLen, QuickTextSearchRequestor requestor) {
+		this(query, priorities, maxLineLen, 0, requestor);
+	}
+
+	/**
+	 * Creates a searcher and starts searching.
+	 *
+	 * @param maxWorkers the maximum number of workers used to search files
+	 *                   concurrently, or a value &lt;= 0 to derive the number
+	 *                   from the available processors
+	 */
+	public QuickTextSearcher(QuickTextQuery query, PriorityFunction priorities, int maxLineLen, int maxWorkers,
+			QuickTextSearchRequestor requestor) {
 		this.MAX_LINE_LEN = maxLineLen;
 		this.requestor = requestor;
 		this.query = query;
+		SearchCorePlugin searchCore = SearchCorePlugin.getDefault();
+		this.trigramIndex = searchCore != null ? searchCore.getTrigramIndex() : null;
+		this.useMemoryMapping = searchCore != null && FileCharSequenceProvider.isMemoryMappingEnabled();
 		this.walker = createWalker(new PriorityFunction() {
 			@Override
 			public double priority(IResource r) {
@@ -121,12 +159,13 @@ public class QuickTextSearcher {
 				}
 				return basePriority;
 			}
-		});
+		}, maxWorkers);
 	}
 
-	private SearchInFilesWalker createWalker(PriorityFunction priorities) {
+	private SearchInFilesWalker createWalker(PriorityFunction priorities, int maxWorkers) {
 		final SearchInFilesWalker job = new SearchInFilesWalker();
 		job.setPriorityFun(priorities);
+		job.setMaxWorkers(maxWorkers);
 		job.setRule(matchesRule);
 		job.schedule();
 		return job;
@@ -152,47 +191,71 @@ public class QuickTextSearcher {
 		@Override
 		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			QuickTextQuery q = query;
+			if (trigramIndex != null && !trigramIndex.mayContain(f, q.requiredLiterals)) {
+				// the file cannot contain a match, consider it searched
+				return true;
+			}
+			return search(f, canceled, MAX_LINE_LEN, q.pattern, useMemoryMapping, QuickTextSearcher.this::add);
 		}
 
-		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+		private boolean search(IFile f, BooleanSupplier canceled,
+				int maxLineLength, Pattern pattern, boolean useMemoryMapping, Consumer<LineItem> add) {
 			if (canceled.getAsBoolean()) {
 				return false;
 			}
-			try (LineReader lr = new LineReader(getReader(f),
-					maxLineLength)) {
+			try {
+				String shortString = toShortString(f);
+				if (shortString == null) {
+					return searchStreamed(f, canceled, maxLineLength, pattern, useMemoryMapping, add);
+				}
+				try (LineScanner scanner = new LineScanner(new StringReader(shortString), maxLineLength, null)) {
+					String line;
+					while ((line = scanner.readLine()) != null) {
+						if (canceled.getAsBoolean()) {
+							return false;
+						}
+
+						Matcher matcher = pattern.matcher(line);
+						if (matcher.find()) {
+							LineItem lineItem = new LineItem(f, line, scanner.getLastLineNumber(), (int) scanner.getLastLineOffset());
+							add.accept(lineItem);
+						}
+					}
+				}
+			} catch (Exception e) {
+				// ignored
+			}
+			return true;
+		}
+
+		/**
+		 * Searches a file too large to be read at once. The file is scanned line by line
+		 * in constant memory, matches are reported as they are found and the line offsets
+		 * are recorded so the lines around a match can be read again cheaply.
+		 */
+		private boolean searchStreamed(IFile f, BooleanSupplier canceled,
+				int maxLineLength, Pattern pattern, boolean useMemoryMapping, Consumer<LineItem> add) throws IOException, CoreException {
+			LineOffsetTable offsets = new LineOffsetTable();
+			try (LineScanner scanner = new LineScanner(openReader(f, useMemoryMapping), maxLineLength, offsets)) {
 				String line;
-				int lineIndex = 1;
-				while ((line = lr.readLine()) != null) {
-					int offset = lr.getLastLineOffset();
+				while ((line = scanner.readLine()) != null) {
 					if (canceled.getAsBoolean()) {
 						return false;
 					}
-
 					Matcher matcher = pattern.matcher(line);
 					if (matcher.find()) {
-						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
+						long offset = scanner.getLastLineOffset();
+						// editors cannot address offsets beyond the int range, see LineItem#getOffset()
+						LineItem lineItem = new LineItem(f, line, scanner.getLastLineNumber(), offset <= Integer.MAX_VALUE ? (int) offset : -1);
+						lineOffsets.putIfAbsent(lineItem.getFile(), offsets);
 						add.accept(lineItem);
 					}
-
-					lineIndex++;
 				}
-			} catch (Exception e) {
-				// ignored
 			}
 			return true;
 		}
 
-		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
-			String shortString = toShortString(f);
-			if (shortString != null) {
-				return new StringReader(shortString);
-			} else {
-				return new InputStreamReader(f.getContents(true), f.getCharset());
-			}
-		}
-
 		@Override
 		public void resume() {
 			//Only resume if we don't already exceed the maxResult limit.
@@ -202,6 +265,45 @@ public class QuickTextSearcher {
 		}
 
 	}
+	private static Reader openReader(IFile f, boolean useMemoryMapping) throws UnsupportedEncodingException, CoreException {
+		Reader mapped = useMemoryMapping ? FileCharSequenceProvider.newMappedReader(f) : null;
+		if (mapped != null) {
+			return mapped;
+		}
+		return new InputStreamReader(f.getContents(true), f.getCharset());
+	}
+
+	/**
+	 * Returns the line offsets recorded for a file that was too large to be read at
+	 * once and that contained matches.
+	 *
+	 * @return the offsets or <code>null</code> if the file was not streamed
+	 */
+	public LineOffsetTable getLineOffsets(IFile file) {
+		return lineOffsets.get(file);
+	}
+
+	/**
+	 * Reads a range of lines of a streamed file with the help of the line offsets
+	 * recorded during the search, without reading the whole file.
+	 *
+	 * @param file the file to read from
+	 * @param firstLine the 0 based number of the first line to read
+	 * @param lineCount the number of lines to read
+	 * @return the lines or <code>null</code> if the file was not streamed or cannot be read
+	 */
+	public LineOffsetTable.Window readLines(IFile file, int firstLine, int lineCount) {
+		LineOffsetTable offsets = lineOffsets.get(file);
+		if (offsets == null) {
+			return null;
+		}
+		try (Reader reader = openReader(file, useMemoryMapping)) {
+			return offsets.readWindow(reader, firstLine, lineCount);
+		} catch (IOException | CoreException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Try to get a content as String. Avoids Streaming.
 	 */
@@ -280,6 +382,7 @@ public class QuickTextSearcher {
 			//since we are inside Job here that uses same scheduling rule as walker, we
 			//know walker is not currently executing. so walker cancel should be instantenous
 			matches.clear();
+			lineOffsets.clear();
 			requestor.clear();
 			walker.cancel();
 			if (!query.isTrivial()) {
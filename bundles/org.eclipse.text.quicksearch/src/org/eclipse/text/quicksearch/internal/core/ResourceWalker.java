@@ -13,11 +13,12 @@
 package org.eclipse.text.quicksearch.internal.core;
 
 import java.util.Collection;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
@@ -41,6 +42,11 @@ import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
  * to the resources to decide the ordering and completely ignore some resources.
  * <p>
  * The walker can also be paused and resumed.
+ * <p>
+ * The work queue is filled by a single producer (the walker job itself) while
+ * the files are searched by a bounded pool of workers. Workers always take the
+ * pending file with the highest priority first, so the ordering defined by the
+ * {@link PriorityFunction} is respected even when searching in parallel.
  *
  * @author Kris De Volder
  */
@@ -98,6 +104,12 @@ public abstract class ResourceWalker extends Job {
 
 	private PriorityFunction prioritFun = new DefaultPriorityFunction();
 
+	/**
+	 * Maximum number of workers searching files concurrently. A value &lt;= 0
+	 * means the number of workers is derived from the available processors.
+	 */
+	private volatile int maxWorkers = 0;
+
 	public boolean isDone() {
 		return filesToSearch.isEmpty();
 	}
@@ -138,11 +150,11 @@ public abstract class ResourceWalker extends Job {
 
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
-		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-		ExecutorService executorService = Executors.newFixedThreadPool(workers);
 		// copy the filesToSearch, to only remove a file after search completed
-		PriorityQueue<QItem> queue = new PriorityQueue<>();
+		BlockingQueue<QItem> queue = new PriorityBlockingQueue<>(Math.max(1, filesToSearch.size()));
 		queue.addAll(filesToSearch);
+		int workers = Math.max(1, Math.min(getWorkerCount(), queue.size()));
+		ExecutorService executorService = Executors.newFixedThreadPool(workers);
 		for (int worker = 0; worker < workers; worker++) {
 			executorService.submit(() -> {
 				QItem item;
@@ -184,6 +196,34 @@ public abstract class ResourceWalker extends Job {
 
 	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled);
 
+	/**
+	 * Sets the maximum number of workers used to search files concurrently. The
+	 * value takes effect the next time the walker is started or resumed.
+	 *
+	 * @param maxWorkers the maximum number of workers, or a value &lt;= 0 to
+	 *                   derive the number of workers from the available
+	 *                   processors
+	 */
+	public void setMaxWorkers(int maxWorkers) {
+		this.maxWorkers = maxWorkers;
+	}
+
+	/**
+	 * @return the configured maximum number of workers, a value &lt;= 0 means
+	 *         the number is derived from the available processors
+	 */
+	public int getMaxWorkers() {
+		return maxWorkers;
+	}
+
+	private int getWorkerCount() {
+		int workers = maxWorkers;
+		if (workers <= 0) {
+			workers = Runtime.getRuntime().availableProcessors() - 1;
+		}
+		return Math.max(1, workers);
+	}
+
 	/**
 	 * Assigns a priority to a given resource. This priority will affect the order in which
 	 * resources get visited. Resources to be visited are tracked in a priority queue and
@@ -34,6 +34,13 @@ public class QuickSearchPreferences {
 	public static final String IGNORED_PREFIXES = "ignored.prefixes"; //$NON-NLS-1$
 	public static final String MAX_LINE_LEN = "LineReader.MAX_LINE_LEN"; //$NON-NLS-1$
 	public static final String MAX_RESULTS = "QuickTextSearcher.MAX_RESULTS"; //$NON-NLS-1$
+	public static final String MAX_WORKERS = "QuickTextSearcher.MAX_WORKERS"; //$NON-NLS-1$
+
+	/**
+	 * Default value for {@link #MAX_WORKERS}, meaning the number of workers is
+	 * derived from the available processors.
+	 */
+	public static final int DEFAULT_MAX_WORKERS = 0;
 	private static boolean initializedDefaults;
 
 	private IPreferenceStore store;
@@ -63,6 +70,10 @@ public class QuickSearchPreferences {
 		return store.getInt(MAX_RESULTS);
 	}
 
+	public int getMaxWorkers() {
+		return store.getInt(MAX_WORKERS);
+	}
+
 	private String[] getAndParseStringList(String key) {
 		String raw = store.getString(key);
 		if (raw!=null) {
@@ -96,6 +107,7 @@ public class QuickSearchPreferences {
 			IPreferenceStore store = QuickSearchActivator.getDefault().getPreferenceStore();
 			store.setDefault(QuickSearchPreferences.MAX_LINE_LEN, LineReader.DEFAULT_MAX_LINE_LENGTH);
 			store.setDefault(QuickSearchPreferences.MAX_RESULTS, QuickTextSearcher.DEFAULT_MAX_RESULTS);
+			store.setDefault(QuickSearchPreferences.MAX_WORKERS, DEFAULT_MAX_WORKERS);
 
 			DefaultPriorityFunction dpf =  new DefaultPriorityFunction();
 			store.setDefault(QuickSearchPreferences.IGNORED_EXTENSIONS, encode(dpf.ignoredExtensions));
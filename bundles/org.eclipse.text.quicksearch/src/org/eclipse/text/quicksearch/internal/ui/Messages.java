@@ -23,6 +23,8 @@ public class Messages extends NLS {
 	public static String QuickSearchPreferencesPage_Tooltip_MaxLineLength;
 	public static String QuickSearchPreferencesPage_Tooltip_MaxResults;
 	public static String QuickSearchPreferencesPage_MaxResults;
+	public static String QuickSearchPreferencesPage_MaxWorkers;
+	public static String QuickSearchPreferencesPage_Tooltip_MaxWorkers;
 	public static String QuickSearchPreferencesPage_Ignored_Extensions;
 	public static String QuickSearchPreferencesPage_Ignored_Prefixes;
 	public static String QuickSearchPreferencesPage_Ignored_Names;
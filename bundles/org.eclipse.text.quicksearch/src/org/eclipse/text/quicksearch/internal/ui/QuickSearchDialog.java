@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,6 +57,7 @@ import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.CursorLinePainter;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.source.CompositeRuler;
@@ -125,6 +126,7 @@ import org.eclipse.text.quicksearch.internal.core.QuickTextSearchRequestor;
 import org.eclipse.text.quicksearch.internal.core.QuickTextSearcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.util.DocumentFetcher;
+import org.eclipse.text.quicksearch.internal.util.LineOffsetTable;
 import org.eclipse.ui.ActiveShellExpression;
 import org.eclipse.ui.IWorkbenchCommandConstants;
 import org.eclipse.ui.IWorkbenchPage;
@@ -168,8 +170,13 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 				EditorOpener opener = new EditorOpener();
 				IWorkbenchPage page = window.getActivePage();
 				if (page!=null) {
-					opener.openAndSelect(page, item.getFile(), range.getOffset()+item.getOffset(),
-						range.getLength(), true);
+					if (item.getOffset() < 0) {
+						// the line cannot be addressed by an editor
+						opener.openAndSelect(page, item.getFile(), 0, 0, true);
+					} else {
+						opener.openAndSelect(page, item.getFile(), range.getOffset()+item.getOffset(),
+							range.getLength(), true);
+					}
 				}
 			}
 		} catch (PartInitException e) {
@@ -375,6 +382,7 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 
 	private final int MAX_LINE_LEN;
 	private final int MAX_RESULTS;
+	private final int MAX_WORKERS;
 
 	private IHandlerActivation showViewHandler;
 
@@ -382,6 +390,12 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 
 	private SourceViewer viewer;
 	private LineNumberRulerColumn lineNumberColumn;
+
+	/**
+	 * Line number of the first line of the previewed document. Not 0 if only a
+	 * part of a large file is previewed.
+	 */
+	private int previewFirstLine = 0;
 	private FixedLineHighlighter targetLineHighlighter;
 	private final IPropertyChangeListener preferenceChangeListener = this::handlePropertyChangeEvent;
 
@@ -421,6 +435,7 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 		selectionMode = NONE;
 		MAX_LINE_LEN = QuickSearchActivator.getDefault().getPreferences().getMaxLineLen();
 		MAX_RESULTS = QuickSearchActivator.getDefault().getPreferences().getMaxResults();
+		MAX_WORKERS = QuickSearchActivator.getDefault().getPreferences().getMaxWorkers();
 		progressJob.setSystem(true);
 		EditorsUI.getPreferenceStore().addPropertyChangeListener(preferenceChangeListener);
 	}
@@ -1034,7 +1049,12 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 	}
 
 	private void createViewerDecorations() {
-		lineNumberColumn = new LineNumberRulerColumn();
+		lineNumberColumn = new LineNumberRulerColumn() {
+			@Override
+			protected String createDisplayString(int line) {
+				return Integer.toString(line + 1 + previewFirstLine);
+			}
+		};
 		lineNumberColumn.setForeground(getLineNumbersColor());
 		viewer.addVerticalRulerColumn(lineNumberColumn);
 
@@ -1095,10 +1115,31 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 				int numLines = computeLines();
 				if (numLines > 0) {
 					LineItem item = (LineItem) sel.getFirstElement();
-					IDocument document = documents.getDocument(item.getFile());
+					IDocument document = null;
+					int itemOffset = item.getOffset();
+					int firstLine = 0;
+					boolean windowed = false;
+					if (searcher != null && searcher.getLineOffsets(item.getFile()) != null && !documents.isOpen(item.getFile())) {
+						// large file: only read the lines around the match instead of the whole file
+						int from = Math.max(item.getLineNumber() - 1 - numLines - context, 0);
+						LineOffsetTable.Window window = searcher.readLines(item.getFile(), from, 2 * (numLines + context) + 1);
+						if (window != null) {
+							document = new Document(window.text());
+							firstLine = window.firstLine();
+							windowed = true;
+						}
+					}
+					if (document == null) {
+						document = documents.getDocument(item.getFile());
+					}
+					previewFirstLine = firstLine;
 					if (document!=null) {
 						try {
-							int line = item.getLineNumber()-1; //in document lines are 0 based. In search 1 based.
+							int line = item.getLineNumber()-1-firstLine; //in document lines are 0 based. In search 1 based.
+							if (windowed) {
+								// the offset of the item is relative to the whole file
+								itemOffset = document.getLineOffset(line);
+							}
 							int contextStartLine = Math.max(line-(numLines-1)/2 - context, 0);
 							int start = document.getLineOffset(contextStartLine);
 							int displayedEndLine = line + numLines/2;
@@ -1117,7 +1158,7 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 							viewer.setDocument(document);
 							viewer.setVisibleRegion(start, contextLenght);
 
-							targetLineHighlighter.setTargetLineOffset(item.getOffset() - start);
+							targetLineHighlighter.setTargetLineOffset(itemOffset - start);
 
 							// center target line in the displayed area
 							IRegion rangeEndLineInfo = document.getLineInformation(Math.min(displayedEndLine, document.getNumberOfLines() - 1));
@@ -1125,8 +1166,8 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 							int rangeEnd = rangeEndLineInfo.getOffset() + rangeEndLineInfo.getLength();
 							viewer.revealRange(rangeStart, rangeEnd - rangeStart);
 
-							var targetLineFirstMatch = getQuery().findFirst(document.get(item.getOffset(), contextLenght - (item.getOffset() - start)));
-							int targetLineFirstMatchStart = item.getOffset() + targetLineFirstMatch.getOffset();
+							var targetLineFirstMatch = getQuery().findFirst(document.get(itemOffset, contextLenght - (itemOffset - start)));
+							int targetLineFirstMatchStart = itemOffset + targetLineFirstMatch.getOffset();
 							// sets caret position
 							viewer.setSelectedRange(targetLineFirstMatchStart, 0);
 							// does horizontal scrolling if necessary to reveal 1st occurrence in target line
@@ -1408,7 +1449,7 @@ public class QuickSearchDialog extends SelectionStatusDialog {
 		if (this.searcher==null) {
 			if (!newFilter.isTrivial()) {
 				//Create the QuickTextSearcher with the inital query.
-				this.searcher = new QuickTextSearcher(newFilter, context.createPriorityFun(), MAX_LINE_LEN, new QuickTextSearchRequestor() {
+				this.searcher = new QuickTextSearcher(newFilter, context.createPriorityFun(), MAX_LINE_LEN, MAX_WORKERS, new QuickTextSearchRequestor() {
 					@Override
 					public void add(LineItem match) {
 						contentProvider.add(match);
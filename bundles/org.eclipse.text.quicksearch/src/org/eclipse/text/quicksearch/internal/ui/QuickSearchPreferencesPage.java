@@ -65,6 +65,15 @@ public class QuickSearchPreferencesPage extends FieldEditorPreferencePage implem
 		maxResultsFieldDecoration.setImage(FieldDecorationRegistry.getDefault().getFieldDecoration(FieldDecorationRegistry.DEC_INFORMATION)
 				.getImage());
 
+		IntegerFieldEditor fieldMaxWorkers = new IntegerFieldEditor(QuickSearchPreferences.MAX_WORKERS,
+				Messages.QuickSearchPreferencesPage_MaxWorkers, getFieldEditorParent());
+		fieldMaxWorkers.setValidRange(0, Integer.MAX_VALUE);
+		addField(fieldMaxWorkers);
+		ControlDecoration maxWorkersFieldDecoration = new ControlDecoration(fieldMaxWorkers.getTextControl(getFieldEditorParent()), SWT.LEFT | SWT.TOP);
+		maxWorkersFieldDecoration.setDescriptionText(Messages.QuickSearchPreferencesPage_Tooltip_MaxWorkers);
+		maxWorkersFieldDecoration.setImage(FieldDecorationRegistry.getDefault().getFieldDecoration(FieldDecorationRegistry.DEC_INFORMATION)
+				.getImage());
+
 		for (int i = 0; i < fieldLabels.length; i++) {
 			final String tooltip = toolTips[i];
 			StringFieldEditor field = new StringFieldEditor(prefsKeys[i], fieldLabels[i], StringFieldEditor.UNLIMITED,
@@ -44,7 +44,8 @@ public class QuickSearchQuickAccessComputer extends QuickTextSearchRequestor imp
 	@Override public QuickAccessElement[] computeElements(String query, IProgressMonitor monitor) {
 		List<LineItem> matches = Collections.synchronizedList(new ArrayList<>());
 		QuickTextQuery newQuery = new QuickTextQuery(query, true);
-		QuickTextSearcher searcher = new QuickTextSearcher(newQuery, priorities, QuickSearchActivator.getDefault().getPreferences().getMaxLineLen(), new QuickTextSearchRequestor() {
+		QuickTextSearcher searcher = new QuickTextSearcher(newQuery, priorities, QuickSearchActivator.getDefault().getPreferences().getMaxLineLen(),
+				QuickSearchActivator.getDefault().getPreferences().getMaxWorkers(), new QuickTextSearchRequestor() {
 			@Override public void add(LineItem match) {
 				if (matches.size() < MAX_ENTRIES) {
 					matches.add(match);
@@ -96,6 +96,14 @@ public class DocumentFetcher {
 		return lastDocument;
 	}
 
+	/**
+	 * Tells whether the content of the file is available from an editor or a file
+	 * buffer, i.e. {@link #getDocument(IFile)} does not need to read the file.
+	 */
+	public boolean isOpen(IFile file) {
+		return dirtyEditors.containsKey(file) || getOpenDocument(file) != null;
+	}
+
 	private IDocument getOpenDocument(IFile file) {
 		ITextFileBufferManager bufferManager= FileBuffers.getTextFileBufferManager();
 		ITextFileBuffer textFileBuffer= bufferManager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
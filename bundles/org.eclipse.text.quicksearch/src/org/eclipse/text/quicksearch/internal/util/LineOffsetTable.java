@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A sparse table of line start offsets, recorded while a file is streamed by a
+ * {@link LineScanner}. Only the offset of every {@link #SAMPLE_INTERVAL}th line
+ * is kept so the table stays small even for huge files. It allows reading a few
+ * lines around a match later on without reading the whole file into a document.
+ * <p>
+ * The table can be read while it is still being recorded, e.g. to preview a
+ * match found before the scan of the file ended.
+ */
+public class LineOffsetTable {
+
+	public static final int SAMPLE_INTERVAL = 256;
+
+	/**
+	 * A range of lines read from a file.
+	 *
+	 * @param firstLine the 0 based line number of the first line in the text
+	 * @param offset the offset of the first line in the file
+	 * @param text the text of the lines, including line delimiters
+	 */
+	public static record Window(int firstLine, long offset, String text) {
+	}
+
+	private long[] offsets = new long[16];
+	private int size = 0;
+
+	/**
+	 * Records the start of a line. Lines must be recorded in ascending order.
+	 *
+	 * @param line the 0 based line number
+	 * @param offset the offset of the first character of the line
+	 */
+	void addLine(int line, long offset) {
+		if (line % SAMPLE_INTERVAL == 0) {
+			synchronized (this) {
+				if (line / SAMPLE_INTERVAL == size) {
+					if (size == offsets.length) {
+						offsets = Arrays.copyOf(offsets, size * 2);
+					}
+					offsets[size++] = offset;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the given range of lines from a reader positioned at the start of
+	 * the file the table was recorded for. Only the lines from the closest
+	 * sampled line up to the end of the range are scanned.
+	 *
+	 * @param reader reader on the file content, positioned at offset 0
+	 * @param firstLine the 0 based number of the first line to read
+	 * @param lineCount the number of lines to read
+	 * @return the lines read, may contain less lines if the file is shorter
+	 * @throws IOException if reading fails
+	 */
+	public Window readWindow(Reader reader, int firstLine, int lineCount) throws IOException {
+		int sample;
+		long offset;
+		synchronized (this) {
+			sample = Math.max(0, Math.min(firstLine / SAMPLE_INTERVAL, size - 1));
+			offset = size == 0 ? 0 : offsets[sample];
+		}
+		int line = sample * SAMPLE_INTERVAL;
+		long toSkip = offset;
+		while (toSkip > 0) {
+			long skipped = reader.skip(toSkip);
+			if (skipped <= 0) {
+				return new Window(firstLine, offset, ""); //$NON-NLS-1$
+			}
+			toSkip -= skipped;
+		}
+		StringBuilder text = new StringBuilder();
+		long windowOffset = offset;
+		int c = reader.read();
+		while (c != -1 && line < firstLine + lineCount) {
+			if (line >= firstLine) {
+				text.append((char) c);
+			}
+			offset++;
+			if (c == '\r') {
+				c = reader.read();
+				if (c == '\n') {
+					if (line >= firstLine) {
+						text.append('\n');
+					}
+					offset++;
+					c = reader.read();
+				}
+				line++;
+			} else {
+				if (c == '\n') {
+					line++;
+				}
+				c = reader.read();
+			}
+			if (line == firstLine && text.length() == 0) {
+				windowOffset = offset;
+			}
+		}
+		return new Window(firstLine, windowOffset, text.toString());
+	}
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines of text from a stream of arbitrary size in constant memory.
+ * <p>
+ * Unlike {@link LineReader}, lines longer than the maximum line length do not
+ * end the scan. They are consumed without being buffered and skipped, so the
+ * scanner can be used on huge files such as database dumps that contain some
+ * very long lines. The start of the lines is recorded in a
+ * {@link LineOffsetTable}.
+ */
+public class LineScanner implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader input;
+	private final int maxLineLength;
+	private final LineOffsetTable offsets;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int bufferPos = 0;
+	private int bufferEnd = 0;
+
+	private final StringBuilder line = new StringBuilder(160);
+	private long offset = 0; // offset of the next char in the input
+	private int lineIndex = 0; // 0 based number of the next line
+	private long lastLineOffset = -1;
+	private int lastLineNumber = 0;
+
+	/**
+	 * @param reader the reader to scan, it is closed with this scanner
+	 * @param maxLineLength lines longer than this are skipped
+	 * @param offsets table to record line offsets in, may be <code>null</code>
+	 */
+	public LineScanner(Reader reader, int maxLineLength, LineOffsetTable offsets) {
+		this.input = reader;
+		this.maxLineLength = maxLineLength;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Reads the next line that is not longer than the maximum line length.
+	 *
+	 * @return the line without delimiter or <code>null</code> at the end of the
+	 *         stream
+	 * @throws IOException if reading fails
+	 */
+	public String readLine() throws IOException {
+		while (true) {
+			if (bufferPos == bufferEnd && !fill()) {
+				return null;
+			}
+			long start = offset;
+			int number = lineIndex;
+			if (offsets != null) {
+				offsets.addLine(number, start);
+			}
+			line.setLength(0);
+			boolean tooLong = false;
+			boolean eol = false;
+			while (!eol) {
+				if (bufferPos == bufferEnd && !fill()) {
+					break;
+				}
+				int i = bufferPos;
+				while (i < bufferEnd && buffer[i] != '\n' && buffer[i] != '\r') {
+					i++;
+				}
+				if (!tooLong) {
+					if (line.length() + (i - bufferPos) > maxLineLength) {
+						tooLong = true;
+						line.setLength(0);
+					} else {
+						line.append(buffer, bufferPos, i - bufferPos);
+					}
+				}
+				offset += i - bufferPos;
+				bufferPos = i;
+				if (i < bufferEnd) {
+					eol = true;
+					consumeDelimiter();
+				}
+			}
+			lineIndex++;
+			if (!tooLong) {
+				lastLineOffset = start;
+				lastLineNumber = number + 1;
+				return line.toString();
+			}
+		}
+	}
+
+	private void consumeDelimiter() throws IOException {
+		char c = buffer[bufferPos++];
+		offset++;
+		if (c == '\r' && (bufferPos < bufferEnd || fill()) && buffer[bufferPos] == '\n') {
+			bufferPos++;
+			offset++;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		int read = input.read(buffer, 0, BUFFER_SIZE);
+		if (read <= 0) {
+			bufferPos = bufferEnd = 0;
+			return false;
+		}
+		bufferPos = 0;
+		bufferEnd = read;
+		return true;
+	}
+
+	/**
+	 * @return the offset of the start of the last line returned by
+	 *         {@link #readLine()}, or -1 if no line has been read yet
+	 */
+	public long getLastLineOffset() {
+		return lastLineOffset;
+	}
+
+	/**
+	 * @return the 1 based line number of the last line returned by
+	 *         {@link #readLine()}
+	 */
+	public int getLastLineNumber() {
+		return lastLineNumber;
+	}
+
+	@Override
+	public void close() {
+		try {
+			input.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
@@ -47,6 +48,8 @@ import org.eclipse.core.runtime.SafeRunner;
  *     storing and managing the document's content,</li>
  * <li>a line tracker implementing {@link org.eclipse.jface.text.ILineTracker}
  *     to map character positions to line numbers and vice versa</li>
+ * <li>position stores implementing {@link org.eclipse.jface.text.IPositionStore}
+ *     for managing the positions of each position category</li>
  * </ul>
  * The document can dynamically change the text store when switching between
  * sequential rewrite mode and normal mode.
@@ -58,6 +61,7 @@ import org.eclipse.core.runtime.SafeRunner;
  *
  * @see org.eclipse.jface.text.ITextStore
  * @see org.eclipse.jface.text.ILineTracker
+ * @see org.eclipse.jface.text.IPositionStore
  */
 public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IRepairableDocument, IRepairableDocumentExtension {
 
@@ -91,6 +95,157 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * The default position store, keeping the positions of a category in sorted lists.
+	 *
+	 * @since 3.15
+	 */
+	private class ListPositionStore implements IPositionStore {
+		/** All positions of the category ordered by their start positions. */
+		final List<Position> fPositions= new ArrayList<>();
+		/** All positions of the category ordered by their end positions. */
+		final List<Position> fEndPositions= new ArrayList<>();
+
+		@Override
+		public void addPosition(Position position) {
+			fPositions.add(computeIndexInPositionList(fPositions, position.offset), position);
+			fEndPositions.add(computeIndexInPositionList(fEndPositions, getOffset(false, position), false), position);
+		}
+
+		@Override
+		public void removePosition(Position position) {
+			removeFromPositionsList(fPositions, position, true);
+			removeFromPositionsList(fEndPositions, position, false);
+		}
+
+		@Override
+		public boolean containsPosition(int offset, int length) {
+			int size= fPositions.size();
+			if (size == 0)
+				return false;
+
+			int index= computeIndexInPositionList(fPositions, offset);
+			if (index < size) {
+				Position p= fPositions.get(index);
+				while (p != null && p.offset == offset) {
+					if (p.length == length)
+						return true;
+					++ index;
+					p= (index < size) ? fPositions.get(index) : null;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public int computeIndex(int offset) {
+			return computeIndexInPositionList(fPositions, offset);
+		}
+
+		@Override
+		public Position[] getPositions() {
+			Position[] positions= new Position[fPositions.size()];
+			fPositions.toArray(positions);
+			return positions;
+		}
+
+		@Override
+		public Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+			if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
+				List<Position> documentPositions;
+				if (canStartBefore && canEndAfter) {
+					if (offset < getLength() / 2) {
+						documentPositions= getStartingPositions(0, offset + length);
+					} else {
+						documentPositions= getEndingPositions(offset, getLength() - offset + 1);
+					}
+				} else {
+					documentPositions= getStartingPositions(offset, length);
+				}
+
+				ArrayList<Position> list= new ArrayList<>(documentPositions.size());
+
+				Position region= new Position(offset, length);
+
+				for (Position position : documentPositions) {
+					if (isWithinRegion(region, position, canStartBefore, canEndAfter)) {
+						list.add(position);
+					}
+				}
+
+				Position[] positions= new Position[list.size()];
+				list.toArray(positions);
+				return positions;
+			} else if (canStartBefore) {
+				List<Position> list= getEndingPositions(offset, length);
+				Position[] positions= new Position[list.size()];
+				list.toArray(positions);
+				return positions;
+			} else {
+				Assert.isLegal(canEndAfter && !canStartBefore);
+
+				List<Position> list= getStartingPositions(offset, length);
+				Position[] positions= new Position[list.size()];
+				list.toArray(positions);
+				return positions;
+			}
+		}
+
+		@Override
+		public void positionsUpdated(DocumentEvent event) {
+			// the lists keep the order in which the updaters leave the positions
+		}
+
+		/*
+		 * @since 3.4
+		 */
+		private boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+			if (canStartBefore && canEndAfter) {
+				return region.overlapsWith(position.getOffset(), position.getLength());
+			} else if (canStartBefore) {
+				return region.includes(position.getOffset() + position.getLength() - 1);
+			} else if (canEndAfter) {
+				return region.includes(position.getOffset());
+			} else {
+				int start= position.getOffset();
+				return region.includes(start) && region.includes(start + position.getLength() - 1);
+			}
+		}
+
+		/**
+		 * A list of positions with an offset inside the given region. The order of the
+		 * positions is arbitrary.
+		 *
+		 * @param offset the offset of the region
+		 * @param length the length of the region
+		 * @return a list of the positions in the region
+		 * @since 3.4
+		 */
+		private List<Position> getStartingPositions(int offset, int length) {
+			int indexStart= computeIndexInPositionList(fPositions, offset, true);
+			int indexEnd= computeIndexInPositionList(fPositions, offset + length, true);
+
+			return fPositions.subList(indexStart, indexEnd);
+		}
+
+		/**
+		 * A list of positions with an end position inside the given region. The order of the
+		 * positions is arbitrary.
+		 *
+		 * @param offset the offset of the region
+		 * @param length the length of the region
+		 * @return a list of the positions in the region
+		 * @since 3.4
+		 */
+		private List<Position> getEndingPositions(int offset, int length) {
+			int indexStart= computeIndexInPositionList(fEndPositions, offset, false);
+			int indexEnd= computeIndexInPositionList(fEndPositions, offset + length, false);
+
+			return fEndPositions.subList(indexStart, indexEnd);
+		}
+	}
+
 
 	/** The document's text store */
 	private ITextStore   fStore;
@@ -102,13 +257,16 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	private final ListenerList<IDocumentListener> fPrenotifiedDocumentListeners= new ListenerList<>(ListenerList.IDENTITY);
 	/** The registered document partitioning listeners */
 	private final ListenerList<IDocumentPartitioningListener> fDocumentPartitioningListeners= new ListenerList<>(ListenerList.IDENTITY);
-	/** All positions managed by the document ordered by their start positions. */
-	private final Map<String, List<Position>> fPositions= new HashMap<>();
 	/**
-	 * All positions managed by the document ordered by their end positions.
-	 * @since 3.4
+	 * The stores of all positions managed by the document grouped by category.
+	 * @since 3.15
+	 */
+	private final Map<String, IPositionStore> fPositionStores= new HashMap<>();
+	/**
+	 * The factory of the position stores, <code>null</code> for the default store.
+	 * @since 3.15
 	 */
-	private final Map<String, List<Position>> fEndPositions= new HashMap<>();
+	private Supplier<IPositionStore> fPositionStoreFactory;
 	/** All registered document position updaters */
 	private final List<IPositionUpdater> fPositionUpdaters= new CopyOnWriteArrayList<>();
 	/**
@@ -248,7 +406,15 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @return the document's positions
 	 */
 	protected Map<String, List<Position>> getDocumentManagedPositions() {
-		return fPositions;
+		Map<String, List<Position>> positions= new HashMap<>();
+		for (Entry<String, IPositionStore> entry : fPositionStores.entrySet()) {
+			IPositionStore store= entry.getValue();
+			if (store instanceof ListPositionStore)
+				positions.put(entry.getKey(), ((ListPositionStore) store).fPositions);
+			else
+				positions.put(entry.getKey(), Arrays.asList(store.getPositions()));
+		}
+		return positions;
 	}
 
 	@Override
@@ -280,6 +446,39 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		fTracker= tracker;
 	}
 
+	/**
+	 * Sets the factory of the stores which manage the positions of each position category.
+	 * The positions of the existing categories are moved to new stores. A <code>null</code>
+	 * factory restores the default store, which keeps the positions in sorted lists.
+	 * <p>
+	 * A {@link TreePositionStore} suits documents with many positions.
+	 * </p>
+	 *
+	 * @param factory the factory of the position stores, or <code>null</code>
+	 * @since 3.15
+	 */
+	public void setPositionStoreFactory(Supplier<IPositionStore> factory) {
+		fPositionStoreFactory= factory;
+		for (Entry<String, IPositionStore> entry : fPositionStores.entrySet()) {
+			IPositionStore store= createPositionStore();
+			for (Position position : entry.getValue().getPositions())
+				store.addPosition(position);
+			entry.setValue(store);
+		}
+	}
+
+	/**
+	 * Creates the store for the positions of a new position category.
+	 *
+	 * @return a new position store
+	 * @since 3.15
+	 */
+	private IPositionStore createPositionStore() {
+		if (fPositionStoreFactory != null)
+			return fPositionStoreFactory.get();
+		return new ListPositionStore();
+	}
+
 	@Override
 	public void setDocumentPartitioner(IDocumentPartitioner partitioner) {
 		setDocumentPartitioner(DEFAULT_PARTITIONING, partitioner);
@@ -343,15 +542,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (category == null)
 			throw new BadPositionCategoryException();
 
-		List<Position> list= fPositions.get(category);
-		if (list == null)
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			throw new BadPositionCategoryException(category);
-		list.add(computeIndexInPositionList(list, position.offset), position);
-
-		List<Position> endPositions= fEndPositions.get(category);
-		if (endPositions == null)
-			throw new BadPositionCategoryException(category);
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+		store.addPosition(position);
 	}
 
 	@Override
@@ -368,10 +562,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (category == null)
 			return;
 
-		if (!containsPositionCategory(category)) {
-			fPositions.put(category, new ArrayList<>());
-			fEndPositions.put(category, new ArrayList<>());
-		}
+		if (!containsPositionCategory(category))
+			fPositionStores.put(category, createPositionStore());
 	}
 
 	@Override
@@ -385,32 +577,17 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (category == null)
 			return false;
 
-		List<Position> list= fPositions.get(category);
-		if (list == null)
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			return false;
 
-		int size= list.size();
-		if (size == 0)
-			return false;
-
-		int index= computeIndexInPositionList(list, offset);
-		if (index < size) {
-			Position p= list.get(index);
-			while (p != null && p.offset == offset) {
-				if (p.length == length)
-					return true;
-				++ index;
-				p= (index < size) ? list.get(index) : null;
-			}
-		}
-
-		return false;
+		return store.containsPosition(offset, length);
 	}
 
 	@Override
 	public boolean containsPositionCategory(String category) {
 		if (category != null)
-			return fPositions.containsKey(category);
+			return fPositionStores.containsKey(category);
 		return false;
 	}
 
@@ -512,11 +689,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (0 > offset || offset > getLength())
 			throw new BadLocationException();
 
-		List<Position> c= fPositions.get(category);
-		if (c == null)
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			throw new BadPositionCategoryException(category);
 
-		return computeIndexInPositionList(c, offset);
+		return store.computeIndex(offset);
 	}
 
 	/**
@@ -674,7 +851,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			}
 		}
 
-		if (!fPositions.isEmpty())
+		if (!fPositionStores.isEmpty())
 			updatePositions(event);
 	}
 
@@ -923,19 +1100,17 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (category == null)
 			throw new BadPositionCategoryException();
 
-		List<Position> c= fPositions.get(category);
-		if (c == null)
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			throw new BadPositionCategoryException(category);
 
-		Position[] positions= new Position[c.size()];
-		c.toArray(positions);
-		return positions;
+		return store.getPositions();
 	}
 
 	@Override
 	public String[] getPositionCategories() {
-		String[] categories= new String[fPositions.size()];
-		Iterator<String> keys= fPositions.keySet().iterator();
+		String[] categories= new String[fPositionStores.size()];
+		Iterator<String> keys= fPositionStores.keySet().iterator();
 		for (int i= 0; i < categories.length; i++)
 			categories[i]= keys.next();
 		return categories;
@@ -978,15 +1153,10 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (category == null)
 			throw new BadPositionCategoryException();
 
-		List<Position> c= fPositions.get(category);
-		if (c == null)
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			throw new BadPositionCategoryException(category);
-		removeFromPositionsList(c, position, true);
-
-		List<Position> endPositions= fEndPositions.get(category);
-		if (endPositions == null)
-			throw new BadPositionCategoryException(category);
-		removeFromPositionsList(endPositions, position, false);
+		store.removePosition(position);
 	}
 
 	/**
@@ -1001,7 +1171,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
-		int index= computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length - 1, orderedByOffset);
+		int index= computeIndexInPositionList(positions, getOffset(orderedByOffset, position), orderedByOffset);
 		if (index < size && positions.get(index) == position) {
 			positions.remove(index);
 			return;
@@ -1045,8 +1215,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if ( !containsPositionCategory(category))
 			throw new BadPositionCategoryException(category);
 
-		fPositions.remove(category);
-		fEndPositions.remove(category);
+		fPositionStores.remove(category);
 	}
 
 	@Override
@@ -1143,6 +1312,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		for(IPositionUpdater u: fPositionUpdaters) {
 			u.update(event);
 		}
+		for (IPositionStore store : fPositionStores.values()) {
+			store.positionsUpdated(event);
+		}
 	}
 
 	/**
@@ -1582,104 +1754,33 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	public Position[] getPositions(String category, int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
-		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
-			List<Position> documentPositions;
-			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
-			} else {
-				documentPositions= getStartingPositions(category, offset, length);
-			}
-
-			ArrayList<Position> list= new ArrayList<>(documentPositions.size());
-
-			Position region= new Position(offset, length);
-
-			for (Position position : documentPositions) {
-				if (isWithinRegion(region, position, canStartBefore, canEndAfter)) {
-					list.add(position);
-				}
-			}
-
-			Position[] positions= new Position[list.size()];
-			list.toArray(positions);
-			return positions;
-		} else if (canStartBefore) {
-			List<Position> list= getEndingPositions(category, offset, length);
-			Position[] positions= new Position[list.size()];
-			list.toArray(positions);
-			return positions;
-		} else {
-			Assert.isLegal(canEndAfter && !canStartBefore);
-
-			List<Position> list= getStartingPositions(category, offset, length);
-			Position[] positions= new Position[list.size()];
-			list.toArray(positions);
-			return positions;
-		}
-	}
-
-	/*
-	 * @since 3.4
-	 */
-	private boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
-		if (canStartBefore && canEndAfter) {
-			return region.overlapsWith(position.getOffset(), position.getLength());
-		} else if (canStartBefore) {
-			return region.includes(position.getOffset() + position.getLength() - 1);
-		} else if (canEndAfter) {
-			return region.includes(position.getOffset());
-		} else {
-			int start= position.getOffset();
-			return region.includes(start) && region.includes(start + position.getLength() - 1);
-		}
-	}
-
-	/**
-	 * A list of positions in the given category with an offset inside the given
-	 * region. The order of the positions is arbitrary.
-	 *
-	 * @param category the position category
-	 * @param offset the offset of the region
-	 * @param length the length of the region
-	 * @return a list of the positions in the region
-	 * @throws BadPositionCategoryException if category is undefined in this document
-	 * @since 3.4
-	 */
-	private List<Position> getStartingPositions(String category, int offset, int length) throws BadPositionCategoryException {
-		List<Position> positions= fPositions.get(category);
-		if (positions == null)
-			throw new BadPositionCategoryException();
-
-		int indexStart= computeIndexInPositionList(positions, offset, true);
-		int indexEnd= computeIndexInPositionList(positions, offset + length, true);
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
+			throw new BadPositionCategoryException(category);
 
-		return positions.subList(indexStart, indexEnd);
+		return store.getPositions(offset, length, canStartBefore, canEndAfter);
 	}
 
 	/**
-	 * A list of positions in the given category with an end position inside
-	 * the given region. The order of the positions is arbitrary.
+	 * Returns the positions of the given category which end at or after the given offset, and
+	 * thus may be changed by a document change at that offset. Only a {@link TreePositionStore}
+	 * answers this exactly. The end order of the default store is not kept up to date when the
+	 * updaters change the lengths of positions, so it returns all positions.
 	 *
 	 * @param category the position category
-	 * @param offset the offset of the region
-	 * @param length the length of the region
-	 * @return a list of the positions in the region
+	 * @param offset the offset of the document change
+	 * @return the positions that may be changed, ordered by their offsets
 	 * @throws BadPositionCategoryException if category is undefined in this document
-	 * @since 3.4
+	 * @since 3.15
 	 */
-	private List<Position> getEndingPositions(String category, int offset, int length) throws BadPositionCategoryException {
-		List<Position> positions= fEndPositions.get(category);
-		if (positions == null)
+	Position[] getAffectedPositions(String category, int offset) throws BadPositionCategoryException {
+		IPositionStore store= fPositionStores.get(category);
+		if (store == null)
 			throw new BadPositionCategoryException(category);
 
-		int indexStart= computeIndexInPositionList(positions, offset, false);
-		int indexEnd= computeIndexInPositionList(positions, offset + length, false);
-
-		return positions.subList(indexStart, indexEnd);
+		if (store instanceof TreePositionStore)
+			return store.getPositions(offset, Integer.MAX_VALUE - offset, true, false);
+		return store.getPositions();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,6 +61,11 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 	/** Caches the document */
 	protected IDocument fDocument;
 
+	/**
+	 * Whether only the positions ending at or after a change are visited. Subclasses may adapt
+	 * other positions as well, e.g. to extend them when text is appended.
+	 */
+	private final boolean fVisitAffectedPositionsOnly;
 
 	/**
 	 * Creates a new default position updater for the given category.
@@ -69,6 +74,7 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 	 */
 	public DefaultPositionUpdater(String category) {
 		fCategory= category;
+		fVisitAffectedPositionsOnly= getClass() == DefaultPositionUpdater.class;
 	}
 
 	/**
@@ -212,7 +218,11 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
+			Position[] category;
+			if (fVisitAffectedPositionsOnly && fDocument instanceof AbstractDocument)
+				category= ((AbstractDocument) fDocument).getAffectedPositions(fCategory, fOffset);
+			else
+				category= fDocument.getPositions(fCategory);
 			for (Position element : category) {
 
 				fPosition= element;
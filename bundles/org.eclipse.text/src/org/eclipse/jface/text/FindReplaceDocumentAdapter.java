@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -80,6 +80,13 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 */
 	private int fRetainCaseMode;
 
+	/**
+	 * The characters of the adapted document read directly from its text store, or
+	 * <code>null</code> if the characters are read from the document. Only set while searching.
+	 * @since 3.15
+	 */
+	private CharSequence fText;
+
 	/**
 	 * Constructs a new find replace document adapter.
 	 *
@@ -221,50 +228,82 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			}
 		}
 		
-		if (operationCode != REPLACE) {
-			try {
-				if (forwardSearch) {
-
-					boolean found= false;
-					if (operationCode == FIND_FIRST)
-						found= fFindReplaceMatcher.find(startOffset);
-					else
-						found= fFindReplaceMatcher.find();
-
-					if (operationCode == REPLACE_FIND_NEXT) {
-						fFindReplaceState= FIND_NEXT;
-					} else {
-						fFindReplaceState= operationCode;
-					}
+		if (operationCode != REPLACE)
+			return search(operationCode, startOffset, findString, forwardSearch);
 
-					if (found && !fFindReplaceMatcher.group().isEmpty())
-						return new Region(fFindReplaceMatcher.start(), fFindReplaceMatcher.group().length());
-					return null;
-				}
-				// backward search
-				boolean found= fFindReplaceMatcher.find(0);
-				int index= -1;
-				int length= -1;
-				while (found && fFindReplaceMatcher.start() + fFindReplaceMatcher.group().length() <= fFindReplaceMatchOffset + 1) {
-					index= fFindReplaceMatcher.start();
-					length= fFindReplaceMatcher.group().length();
-					found= fFindReplaceMatcher.find(index + 1);
-				}
-				fFindReplaceMatchOffset= index;
-				fFindReplaceState= operationCode;
-				if (index > -1) {
-					// must set matcher to correct position
-					fFindReplaceMatcher.find(index);
-					return new Region(index, length);
+		return null;
+	}
+
+	/**
+	 * Executes the search of a FIND_FIRST, FIND_NEXT or REPLACE_FIND_NEXT operation.
+	 * <p>
+	 * The characters are read directly from the text store of the document if possible, without
+	 * copying them. The lock of a synchronizable document is held while searching.
+	 * </p>
+	 *
+	 * @param operationCode specifies what kind of operation is executed
+	 * @param startOffset document offset at which search starts
+	 * 			this value is only used in the FIND_FIRST operation and otherwise ignored
+	 * @param findString the string to find, only used to report errors
+	 * @param forwardSearch the search direction
+	 * @return the find region or <code>null</code> if there was no match
+	 * @throws PatternSyntaxException if the pattern is too complex
+	 * @since 3.15
+	 */
+	private IRegion search(FindReplaceOperationCode operationCode, int startOffset, String findString, boolean forwardSearch) {
+		Object lock= fDocument instanceof ISynchronizable ? ((ISynchronizable) fDocument).getLockObject() : null;
+		if (lock == null)
+			return searchText(operationCode, startOffset, findString, forwardSearch);
+		synchronized (lock) {
+			return searchText(operationCode, startOffset, findString, forwardSearch);
+		}
+	}
+
+	private IRegion searchText(FindReplaceOperationCode operationCode, int startOffset, String findString, boolean forwardSearch) {
+		ITextStore store= fDocument instanceof AbstractDocument ? ((AbstractDocument) fDocument).getStore() : null;
+		fText= store != null ? new TextStoreCharSequence(store) : null;
+		try {
+			if (forwardSearch) {
+
+				boolean found= false;
+				if (operationCode == FIND_FIRST)
+					found= fFindReplaceMatcher.find(startOffset);
+				else
+					found= fFindReplaceMatcher.find();
+
+				if (operationCode == REPLACE_FIND_NEXT) {
+					fFindReplaceState= FIND_NEXT;
+				} else {
+					fFindReplaceState= operationCode;
 				}
+
+				if (found && fFindReplaceMatcher.end() > fFindReplaceMatcher.start())
+					return new Region(fFindReplaceMatcher.start(), fFindReplaceMatcher.end() - fFindReplaceMatcher.start());
 				return null;
-			} catch (StackOverflowError e) {
-				String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
-				throw new PatternSyntaxException(message, findString, -1);
 			}
+			// backward search
+			boolean found= fFindReplaceMatcher.find(0);
+			int index= -1;
+			int length= -1;
+			while (found && fFindReplaceMatcher.end() <= fFindReplaceMatchOffset + 1) {
+				index= fFindReplaceMatcher.start();
+				length= fFindReplaceMatcher.end() - index;
+				found= fFindReplaceMatcher.find(index + 1);
+			}
+			fFindReplaceMatchOffset= index;
+			fFindReplaceState= operationCode;
+			if (index > -1) {
+				// must set matcher to correct position
+				fFindReplaceMatcher.find(index);
+				return new Region(index, length);
+			}
+			return null;
+		} catch (StackOverflowError e) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, findString, -1);
+		} finally {
+			fText= null;
 		}
-
-		return null;
 	}
 
 	/**
@@ -612,15 +651,64 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace);
 	}
 
+	/**
+	 * Replaces all matches of the given string in this adapter's document in a single forward
+	 * pass. The search for the next match starts after the text which replaced the previous match.
+	 * If the document supports rewrite sessions and no session is active, the replacements are done
+	 * in a {@linkplain DocumentRewriteSessionType#SEQUENTIAL sequential} rewrite session.
+	 * <p>
+	 * This sends a <code>DocumentEvent</code> to all registered <code>IDocumentListener</code> for
+	 * every replacement.
+	 * </p>
+	 *
+	 * @param findString the string to find
+	 * @param replaceText the substitution text
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 			<code>replaceText</code> may contain its escapes and group references.
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @return the number of replacements
+	 * @throws BadLocationException if the document is changed concurrently
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @since 3.15
+	 */
+	public int replaceAll(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		DocumentRewriteSession session= null;
+		if (fDocument instanceof IDocumentExtension4) {
+			IDocumentExtension4 extension= (IDocumentExtension4) fDocument;
+			if (extension.getActiveRewriteSession() == null)
+				session= extension.startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL);
+		}
+		try {
+			int count= 0;
+			IRegion match= find(0, findString, true, caseSensitive, wholeWord, regExSearch);
+			while (match != null) {
+				IRegion replaced= replace(replaceText, regExSearch);
+				count++;
+				match= find(replaced.getOffset() + replaced.getLength(), findString, true, caseSensitive, wholeWord, regExSearch);
+			}
+			return count;
+		} finally {
+			if (session != null)
+				((IDocumentExtension4) fDocument).stopRewriteSession(session);
+		}
+	}
+
 	// ---------- CharSequence implementation ----------
 
 	@Override
 	public int length() {
+		if (fText != null)
+			return fText.length();
 		return fDocument.getLength();
 	}
 
 	@Override
 	public char charAt(int index) {
+		if (fText != null)
+			return fText.charAt(index);
 		try {
 			return fDocument.getChar(index);
 		} catch (BadLocationException e) {
@@ -630,6 +718,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 
 	@Override
 	public CharSequence subSequence(int start, int end) {
+		if (fText != null)
+			return fText.subSequence(start, end);
 		try {
 			return fDocument.get(start, end - start);
 		} catch (BadLocationException e) {
@@ -639,6 +729,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 
 	@Override
 	public String toString() {
+		if (fText != null)
+			return fText.toString();
 		return fDocument.get();
 	}
 
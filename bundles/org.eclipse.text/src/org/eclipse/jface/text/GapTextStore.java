@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,6 +57,13 @@ public class GapTextStore implements ITextStore {
 	 * @since 3.3
 	 */
 	private final float fSizeMultiplier;
+	/**
+	 * The maximum fraction of the array that may be occupied by the gap without re-allocation
+	 * (0&nbsp;&lt;=&nbsp;fMaxGapFactor&nbsp;&lt;=&nbsp;1).
+	 *
+	 * @since 3.15
+	 */
+	private final float fMaxGapFactor;
 
 	/** The store's content */
 	private char[] fContent= new char[0];
@@ -139,6 +146,7 @@ public class GapTextStore implements ITextStore {
 		fMinGapSize= minSize;
 		fMaxGapSize= maxSize;
 		fSizeMultiplier= 1 / (1 - maxGapFactor / 2);
+		fMaxGapFactor= maxGapFactor;
 	}
 
 	@Override
@@ -196,8 +204,11 @@ public class GapTextStore implements ITextStore {
 	/**
 	 * Moves the gap to <code>offset + add</code>, moving any content after
 	 * <code>offset + remove</code> behind the gap. The gap size is kept between 0 and
-	 * {@link #fThreshold}, leading to re-allocation if needed. The content between
-	 * <code>offset</code> and <code>offset + add</code> is undefined after this operation.
+	 * {@link #fThreshold}, or the maximum gap factor of the array if that is larger, leading to
+	 * re-allocation if needed. Many removals in a large text, like replacing all occurrences of a
+	 * string with a shorter one, thus re-allocate the array only once in a while instead of every
+	 * few changes. The content between <code>offset</code> and <code>offset + add</code> is
+	 * undefined after this operation.
 	 *
 	 * @param offset the offset at which a change happens
 	 * @param remove the number of character which are removed or overwritten at <code>offset</code>
@@ -206,7 +217,7 @@ public class GapTextStore implements ITextStore {
 	private void adjustGap(int offset, int remove, int add) {
 		final int oldGapSize= gapSize();
 		final int newGapSize= oldGapSize - add + remove;
-		final boolean reuseArray= 0 <= newGapSize && newGapSize <= fThreshold;
+		final boolean reuseArray= 0 <= newGapSize && (newGapSize <= fThreshold || newGapSize <= fContent.length * fMaxGapFactor);
 
 		final int newGapStart= offset + add;
 		final int newGapEnd;
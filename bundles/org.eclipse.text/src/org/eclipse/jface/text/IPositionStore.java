@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A position store manages the positions of one position category of an
+ * {@link AbstractDocument}. The store keeps the positions ordered by their offsets; positions
+ * with the same offset are ordered by the time they have been added, the latest first.
+ * <p>
+ * The positions are changed in place by the position updaters of the document. A store must
+ * tolerate such changes as long as they keep the order of the positions, and is informed about
+ * them by {@link #positionsUpdated(DocumentEvent)}. All other changes of a position require to
+ * remove the position from the store and to add it again.
+ * </p>
+ * <p>
+ * Clients may implement this interface or use the default implementation of
+ * {@link AbstractDocument} or {@link TreePositionStore}.
+ * </p>
+ *
+ * @see AbstractDocument#setPositionStoreFactory(java.util.function.Supplier)
+ * @since 3.15
+ */
+public interface IPositionStore {
+
+	/**
+	 * Adds the given position to this store.
+	 *
+	 * @param position the position to add
+	 */
+	void addPosition(Position position);
+
+	/**
+	 * Removes the given position from this store. The position is identified by identity, not
+	 * by equality. Removing a position that is not in this store has no effect.
+	 *
+	 * @param position the position to remove
+	 */
+	void removePosition(Position position);
+
+	/**
+	 * Returns whether this store contains a position with the given offset and length.
+	 *
+	 * @param offset the offset of the position
+	 * @param length the length of the position
+	 * @return <code>true</code> if this store contains such a position
+	 */
+	boolean containsPosition(int offset, int length);
+
+	/**
+	 * Returns the index at which a position with the given offset would be added, i.e. the
+	 * number of positions with a smaller offset.
+	 *
+	 * @param offset the offset
+	 * @return the index of a position with the given offset
+	 * @see IDocument#computeIndexInCategory(String, int)
+	 */
+	int computeIndex(int offset);
+
+	/**
+	 * Returns all positions of this store ordered by their offsets.
+	 *
+	 * @return all positions of this store
+	 */
+	Position[] getPositions();
+
+	/**
+	 * Returns all positions of this store that are inside the given region.
+	 *
+	 * @param offset the start position of the region, must be &gt;= 0
+	 * @param length the length of the region, must be &gt;= 0
+	 * @param canStartBefore if <code>true</code> then positions are included which start before
+	 *            the region if they end at or after the regions start
+	 * @param canEndAfter if <code>true</code> then positions are included which end after the
+	 *            region if they start at or before the regions end
+	 * @return all positions inside the region, in no particular order
+	 * @see AbstractDocument#getPositions(String, int, int, boolean, boolean)
+	 */
+	Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter);
+
+	/**
+	 * Informs this store that the position updaters of the document have adapted the positions
+	 * to the given document change.
+	 *
+	 * @param event the document event describing the change
+	 */
+	void positionsUpdated(DocumentEvent event);
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A character sequence that reads the characters of a text store directly, without copying
+ * them. For a {@link GapTextStore} every character is read from the text before or after the
+ * gap, only {@link #toString()} copies the characters.
+ * <p>
+ * A sequence of the whole text store follows the changes of the store, the length of a sub
+ * sequence is fixed.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class TextStoreCharSequence implements CharSequence {
+
+	/** The text store. */
+	private final ITextStore fStore;
+	/** The offset of the sequence in the text store. */
+	private final int fOffset;
+	/** The length of the sequence, or <code>-1</code> for the whole text store. */
+	private final int fLength;
+
+	/**
+	 * Creates a sequence of all characters of the given text store.
+	 *
+	 * @param store the text store
+	 */
+	TextStoreCharSequence(ITextStore store) {
+		this(store, 0, -1);
+	}
+
+	private TextStoreCharSequence(ITextStore store, int offset, int length) {
+		fStore= store;
+		fOffset= offset;
+		fLength= length;
+	}
+
+	@Override
+	public int length() {
+		return fLength == -1 ? fStore.getLength() : fLength;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length())
+			throw new IndexOutOfBoundsException();
+		return fStore.get(fOffset + index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end < start || end > length())
+			throw new IndexOutOfBoundsException();
+		return new TextStoreCharSequence(fStore, fOffset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return fStore.get(fOffset, length());
+	}
+}
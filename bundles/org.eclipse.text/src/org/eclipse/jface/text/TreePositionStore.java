@@ -0,0 +1,590 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * A position store based on an interval tree. Adding and removing a position is
+ * <code>O(log n)</code>, and the positions inside a region are found in
+ * <code>O(log n + k)</code> for <code>k</code> found positions, also if the positions may start
+ * before the region. After a document change, only the positions ending at or after the change
+ * are visited.
+ * <p>
+ * The store is meant for categories with many positions, like the annotations of large
+ * documents. It requires that the position updaters of the category only change positions that
+ * end at or after the offset of a document change, as {@link DefaultPositionUpdater} does.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see AbstractDocument#setPositionStoreFactory(java.util.function.Supplier)
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class TreePositionStore implements IPositionStore {
+	/*
+	 * Augmented Balanced Binary Tree
+	 *
+	 * Every node holds a chunk of up to CHUNK_SIZE positions. The in-order sequence of the
+	 * chunks is the sequence of the positions ordered by their offsets, so the tree takes the
+	 * role of the sorted list used by the default store:
+	 *   - every node knows the number of positions in its subtree
+	 *     -> the index of an offset is found in O(log n)
+	 *   - the node of a position is looked up in a map
+	 *     -> remove is O(log n) even if the position has been moved since it was added
+	 *   - a full chunk is split in two, an empty chunk is removed
+	 *
+	 * Interval tree: every node knows the largest end offset in its chunk and in its subtree
+	 *   - a subtree whose positions all end before a region is skipped as a whole
+	 *     -> the positions overlapping a region are found in O(log n + k)
+	 *   - every node also knows the smallest and largest offset in its chunk and in its subtree,
+	 *     so the queries stay exact when the updaters break the order of positions with the same
+	 *     offset, e.g. when text is replaced at an empty position
+	 *
+	 * The offsets are not stored in the nodes, they are read from the positions, which the
+	 * position updaters change in place. A differential tree as used by TreeLineTracker could
+	 * shift all positions after a change in O(log n), but the updated offsets must be visible in
+	 * the public fields of the positions, so every moved position is written anyway. Updating
+	 * the offset bounds after a change visits the same positions as the updaters. The chunks keep
+	 * these scans close to the speed of scanning a list, a tree with one position per node spends
+	 * most of the time following the node references.
+	 *
+	 * An AVL tree implementation has been chosen for simplicity.
+	 */
+
+	/** The maximal number of positions in a chunk. */
+	private static final int CHUNK_SIZE= 128;
+
+	/**
+	 * A node holds a chunk of positions ordered by their offsets. All nodes under the left
+	 * subtree hold positions with smaller or equal offsets, all nodes under the right subtree
+	 * hold positions with larger or equal offsets.
+	 */
+	private static final class Node {
+		/** The positions of this node, the first <code>count</code> elements are used. */
+		final Position[] positions= new Position[CHUNK_SIZE];
+		/** The number of positions of this node, never 0 while the node is in the tree. */
+		int count;
+		/** The parent node, <code>null</code> if this is the root node. */
+		Node parent;
+		/** The left subtree, possibly <code>null</code>. */
+		Node left;
+		/** The right subtree, possibly <code>null</code>. */
+		Node right;
+		/** The height of the subtree of this node. */
+		int height= 1;
+		/** The number of positions in the subtree of this node. */
+		int size;
+		/** The smallest offset of the positions of this node. */
+		int minOffset;
+		/** The largest offset of the positions of this node. */
+		int maxOffset;
+		/** The smallest end offset of the positions of this node. */
+		int minEnd;
+		/** The largest end offset of the positions of this node. */
+		int maxEnd;
+		/** The smallest offset of the positions in the subtree of this node. */
+		int treeMinOffset;
+		/** The largest offset of the positions in the subtree of this node. */
+		int treeMaxOffset;
+		/** The smallest end offset of the positions in the subtree of this node. */
+		int treeMinEnd;
+		/** The largest end offset of the positions in the subtree of this node. */
+		int treeMaxEnd;
+	}
+
+	/**
+	 * Collects the positions found by a query. Whole subtrees are copied chunk by chunk.
+	 */
+	private static final class Collector {
+		/** The collected positions, the first <code>size</code> elements are used. */
+		Position[] positions= new Position[16];
+		/** The number of collected positions. */
+		int size;
+
+		void add(Position position) {
+			if (size == positions.length)
+				positions= Arrays.copyOf(positions, 2 * size);
+			positions[size++]= position;
+		}
+
+		void addAll(Node node) {
+			if (size + node.size > positions.length)
+				positions= Arrays.copyOf(positions, Math.max(2 * positions.length, size + node.size));
+			size= collect(node, positions, size);
+		}
+
+		Position[] toArray() {
+			return Arrays.copyOf(positions, size);
+		}
+	}
+
+	/** The root node of the tree, <code>null</code> if the store is empty. */
+	private Node fRoot;
+	/** The nodes of the positions in this store. */
+	private final Map<Position, Node> fNodes= new IdentityHashMap<>();
+
+
+	/**
+	 * Creates a new, empty position store.
+	 */
+	public TreePositionStore() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Adding a position that is already in this store has no effect.
+	 * </p>
+	 */
+	@Override
+	public void addPosition(Position position) {
+		if (fNodes.containsKey(position))
+			return;
+
+		if (fRoot == null) {
+			Node node= new Node();
+			insert(node, 0, position);
+			update(node);
+			fRoot= node;
+			return;
+		}
+
+		// the position goes into the last chunk starting before it, behind all positions with a
+		// smaller offset
+		int offset= position.offset;
+		Node target= null;
+		Node node= fRoot;
+		while (node != null) {
+			if (node.positions[0].offset < offset) {
+				target= node;
+				node= node.right;
+			} else {
+				node= node.left;
+			}
+		}
+		if (target == null)
+			target= first(fRoot);
+		int index= 0;
+		while (index < target.count && target.positions[index].offset < offset)
+			index++;
+
+		if (target.count < CHUNK_SIZE) {
+			insert(target, index, position);
+			rebalance(target);
+			return;
+		}
+
+		// split the full chunk, the second half goes into a new successor node
+		Node next= new Node();
+		int half= CHUNK_SIZE / 2;
+		for (int i= half; i < CHUNK_SIZE; i++) {
+			next.positions[i - half]= target.positions[i];
+			target.positions[i]= null;
+			fNodes.put(next.positions[i - half], next);
+		}
+		next.count= CHUNK_SIZE - half;
+		target.count= half;
+		if (index <= half)
+			insert(target, index, position);
+		else
+			insert(next, index - half, position);
+		updateChunk(target);
+		updateChunk(next);
+
+		Node parent;
+		if (target.right == null) {
+			target.right= next;
+			parent= target;
+		} else {
+			parent= first(target.right);
+			parent.left= next;
+		}
+		next.parent= parent;
+		update(next);
+		// the target is an ancestor of the new node
+		rebalance(parent);
+	}
+
+	@Override
+	public void removePosition(Position position) {
+		Node node= fNodes.remove(position);
+		if (node == null)
+			return;
+
+		int index= 0;
+		while (node.positions[index] != position)
+			index++;
+		System.arraycopy(node.positions, index + 1, node.positions, index, node.count - index - 1);
+		node.positions[--node.count]= null;
+		if (node.count > 0) {
+			updateChunk(node);
+			rebalance(node);
+			return;
+		}
+
+		if (node.left != null && node.right != null) {
+			// move the successor's chunk into the node and remove the successor instead
+			Node successor= first(node.right);
+			System.arraycopy(successor.positions, 0, node.positions, 0, successor.count);
+			node.count= successor.count;
+			for (int i= 0; i < node.count; i++)
+				fNodes.put(node.positions[i], node);
+			updateChunk(node);
+			node= successor;
+		}
+
+		Node child= node.left != null ? node.left : node.right;
+		Node parent= node.parent;
+		replaceChild(parent, node, child);
+		rebalance(parent);
+	}
+
+	@Override
+	public boolean containsPosition(int offset, int length) {
+		Collector collector= new Collector();
+		collectStarting(fRoot, offset, offset + 1, collector);
+		for (int i= 0; i < collector.size; i++) {
+			if (collector.positions[i].length == length)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public int computeIndex(int offset) {
+		int index= 0;
+		Node node= fRoot;
+		while (node != null) {
+			if (node.positions[node.count - 1].offset < offset) {
+				index+= size(node.left) + node.count;
+				node= node.right;
+			} else if (node.positions[0].offset >= offset) {
+				node= node.left;
+			} else {
+				index+= size(node.left);
+				for (int i= 0; node.positions[i].offset < offset; i++)
+					index++;
+				break;
+			}
+		}
+		return index;
+	}
+
+	@Override
+	public Position[] getPositions() {
+		Position[] positions= new Position[size(fRoot)];
+		collect(fRoot, positions, 0);
+		return positions;
+	}
+
+	@Override
+	public Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+		Collector collector= new Collector();
+		int end= offset + length;
+		if (canStartBefore && canEndAfter) {
+			// overlapping positions end at or after the region's start
+			collectEnding(fRoot, offset, Integer.MAX_VALUE, end, collector);
+			return filter(collector, new Position(offset, length), true);
+		} else if (canStartBefore) {
+			collectEnding(fRoot, offset, end - 1, end - 1, collector);
+		} else {
+			collectStarting(fRoot, offset, end, collector);
+			if (!canEndAfter)
+				return filter(collector, new Position(offset, length), false);
+		}
+		return collector.toArray();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Updates the chunks with positions that end at or after the offset of the change.
+	 * </p>
+	 */
+	@Override
+	public void positionsUpdated(DocumentEvent event) {
+		// a position cut by a deletion ends right before the change
+		updateChanged(fRoot, event.getOffset() - 1);
+	}
+
+	/**
+	 * Returns the collected positions that overlap with or are included in the given region.
+	 *
+	 * @param collector the collected positions
+	 * @param region the region
+	 * @param overlap <code>true</code> to return the positions overlapping with the region,
+	 *            <code>false</code> to return the positions whose last character is in the region
+	 * @return the positions inside the region
+	 */
+	private static Position[] filter(Collector collector, Position region, boolean overlap) {
+		int size= 0;
+		for (int i= 0; i < collector.size; i++) {
+			Position position= collector.positions[i];
+			if (overlap ? region.overlapsWith(position.offset, position.length) : region.includes(position.offset + position.length - 1))
+				collector.positions[size++]= position;
+		}
+		collector.size= size;
+		return collector.toArray();
+	}
+
+	/**
+	 * Inserts the given position into the chunk of the given node.
+	 *
+	 * @param node the node
+	 * @param index the index of the position in the chunk
+	 * @param position the position to insert
+	 */
+	private void insert(Node node, int index, Position position) {
+		System.arraycopy(node.positions, index, node.positions, index + 1, node.count - index);
+		node.positions[index]= position;
+		node.count++;
+		fNodes.put(position, node);
+		updateChunk(node);
+	}
+
+	/**
+	 * Stores the positions of the given subtree ordered by their offsets into the given array.
+	 *
+	 * @param node the root of the subtree, possibly <code>null</code>
+	 * @param positions the array to store the positions into
+	 * @param index the index of the first position of the subtree in the array
+	 * @return the index after the last position of the subtree
+	 */
+	private static int collect(Node node, Position[] positions, int index) {
+		if (node == null)
+			return index;
+		index= collect(node.left, positions, index);
+		System.arraycopy(node.positions, 0, positions, index, node.count);
+		return collect(node.right, positions, index + node.count);
+	}
+
+	/**
+	 * Adds the positions of the given subtree with an offset inside the given range to the given
+	 * collector, ordered by their offsets.
+	 *
+	 * @param node the root of the subtree, possibly <code>null</code>
+	 * @param start the first offset of the range
+	 * @param end the offset after the range
+	 * @param collector the collector to add the positions to
+	 */
+	private static void collectStarting(Node node, int start, int end, Collector collector) {
+		if (node == null || node.treeMaxOffset < start || node.treeMinOffset >= end)
+			return;
+		collectStarting(node.left, start, end, collector);
+		if (node.maxOffset >= start && node.minOffset < end) {
+			for (int i= 0; i < node.count; i++) {
+				Position position= node.positions[i];
+				if (start <= position.offset && position.offset < end)
+					collector.add(position);
+			}
+		}
+		collectStarting(node.right, start, end, collector);
+	}
+
+	/**
+	 * Adds the positions of the given subtree with an end offset inside the given range and an
+	 * offset at or before the given limit to the given collector, ordered by their offsets.
+	 *
+	 * @param node the root of the subtree, possibly <code>null</code>
+	 * @param minEnd the smallest end offset of the positions to add
+	 * @param maxEnd the largest end offset of the positions to add
+	 * @param maxOffset the largest offset of the positions to add
+	 * @param collector the collector to add the positions to
+	 */
+	private static void collectEnding(Node node, int minEnd, int maxEnd, int maxOffset, Collector collector) {
+		if (node == null || node.treeMaxEnd < minEnd || node.treeMinOffset > maxOffset)
+			return;
+		if (node.treeMinEnd >= minEnd && node.treeMaxEnd <= maxEnd && node.treeMaxOffset <= maxOffset) {
+			// the whole subtree is inside, e.g. behind the offset of a change
+			collector.addAll(node);
+			return;
+		}
+		collectEnding(node.left, minEnd, maxEnd, maxOffset, collector);
+		if (node.maxEnd >= minEnd && node.minOffset <= maxOffset) {
+			for (int i= 0; i < node.count; i++) {
+				Position position= node.positions[i];
+				if (position.offset <= maxOffset) {
+					int end= getEndOffset(position);
+					if (minEnd <= end && end <= maxEnd)
+						collector.add(position);
+				}
+			}
+		}
+		collectEnding(node.right, minEnd, maxEnd, maxOffset, collector);
+	}
+
+	/**
+	 * Updates the nodes of the given subtree, skipping all chunks and subtrees whose positions
+	 * end before the given offset.
+	 *
+	 * @param node the root of the subtree, possibly <code>null</code>
+	 * @param minEnd the offset before which positions have not been changed
+	 */
+	private static void updateChanged(Node node, int minEnd) {
+		if (node == null || node.treeMaxEnd < minEnd)
+			return;
+		updateChanged(node.left, minEnd);
+		updateChanged(node.right, minEnd);
+		if (node.maxEnd >= minEnd)
+			updateChunk(node);
+		update(node);
+	}
+
+	/**
+	 * Returns the offset of the last character of the given position, or its offset if the
+	 * position is empty.
+	 *
+	 * @param position the position
+	 * @return the end offset of the position
+	 */
+	private static int getEndOffset(Position position) {
+		if (position.length == 0)
+			return position.offset;
+		return position.offset + position.length - 1;
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static int height(Node node) {
+		return node == null ? 0 : node.height;
+	}
+
+	/**
+	 * Recomputes the offset bounds of the chunk of the given node from its positions.
+	 *
+	 * @param node the node to update
+	 */
+	private static void updateChunk(Node node) {
+		int minOffset= Integer.MAX_VALUE;
+		int maxOffset= Integer.MIN_VALUE;
+		int minEnd= Integer.MAX_VALUE;
+		int maxEnd= Integer.MIN_VALUE;
+		for (int i= 0; i < node.count; i++) {
+			Position position= node.positions[i];
+			int end= getEndOffset(position);
+			minOffset= Math.min(minOffset, position.offset);
+			maxOffset= Math.max(maxOffset, position.offset);
+			minEnd= Math.min(minEnd, end);
+			maxEnd= Math.max(maxEnd, end);
+		}
+		node.minOffset= minOffset;
+		node.maxOffset= maxOffset;
+		node.minEnd= minEnd;
+		node.maxEnd= maxEnd;
+	}
+
+	/**
+	 * Recomputes the height, size and subtree offset bounds of the given node from its chunk and
+	 * its children.
+	 *
+	 * @param node the node to update
+	 */
+	private static void update(Node node) {
+		node.height= Math.max(height(node.left), height(node.right)) + 1;
+		node.size= size(node.left) + size(node.right) + node.count;
+		int minOffset= node.minOffset;
+		int maxOffset= node.maxOffset;
+		int minEnd= node.minEnd;
+		int maxEnd= node.maxEnd;
+		if (node.left != null) {
+			minOffset= Math.min(minOffset, node.left.treeMinOffset);
+			maxOffset= Math.max(maxOffset, node.left.treeMaxOffset);
+			minEnd= Math.min(minEnd, node.left.treeMinEnd);
+			maxEnd= Math.max(maxEnd, node.left.treeMaxEnd);
+		}
+		if (node.right != null) {
+			minOffset= Math.min(minOffset, node.right.treeMinOffset);
+			maxOffset= Math.max(maxOffset, node.right.treeMaxOffset);
+			minEnd= Math.min(minEnd, node.right.treeMinEnd);
+			maxEnd= Math.max(maxEnd, node.right.treeMaxEnd);
+		}
+		node.treeMinOffset= minOffset;
+		node.treeMaxOffset= maxOffset;
+		node.treeMinEnd= minEnd;
+		node.treeMaxEnd= maxEnd;
+	}
+
+	private static Node first(Node node) {
+		while (node.left != null)
+			node= node.left;
+		return node;
+	}
+
+	/**
+	 * Updates and balances the given node and all its ancestors.
+	 *
+	 * @param node the first node to update, possibly <code>null</code>
+	 */
+	private void rebalance(Node node) {
+		while (node != null) {
+			update(node);
+			int balance= height(node.left) - height(node.right);
+			if (balance > 1) {
+				if (height(node.left.left) < height(node.left.right))
+					rotateLeft(node.left);
+				node= rotateRight(node);
+			} else if (balance < -1) {
+				if (height(node.right.right) < height(node.right.left))
+					rotateRight(node.right);
+				node= rotateLeft(node);
+			}
+			node= node.parent;
+		}
+	}
+
+	private Node rotateLeft(Node node) {
+		Node child= node.right;
+		replaceChild(node.parent, node, child);
+		node.right= child.left;
+		if (node.right != null)
+			node.right.parent= node;
+		child.left= node;
+		node.parent= child;
+		update(node);
+		update(child);
+		return child;
+	}
+
+	private Node rotateRight(Node node) {
+		Node child= node.left;
+		replaceChild(node.parent, node, child);
+		node.left= child.right;
+		if (node.left != null)
+			node.left.parent= node;
+		child.right= node;
+		node.parent= child;
+		update(node);
+		update(child);
+		return child;
+	}
+
+	private void replaceChild(Node parent, Node child, Node replacement) {
+		if (parent == null)
+			fRoot= replacement;
+		else if (parent.left == child)
+			parent.left= replacement;
+		else
+			parent.right= replacement;
+		if (replacement != null)
+			replacement.parent= parent;
+	}
+}
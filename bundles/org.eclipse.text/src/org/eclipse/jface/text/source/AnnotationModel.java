@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,8 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -29,7 +30,6 @@ import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -122,14 +122,167 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 
 		private boolean isWithinRegion(int start, int length) {
-			if (fCanStartBefore && fCanEndAfter)
-				return fRegion.overlapsWith(start, length);
-			else if (fCanStartBefore)
-				return fRegion.includes(start + length - (length > 0 ? 1 : 0));
-			else if (fCanEndAfter)
-				return fRegion.includes(start);
-			else
-				return fRegion.includes(start) && fRegion.includes(start + length - (length > 0 ? 1 : 0));
+			return AnnotationModel.isWithinRegion(fRegion, start, length, fCanStartBefore, fCanEndAfter);
+		}
+	}
+
+	/**
+	 * Tells whether the range given by <code>start</code> and <code>length</code> lies within
+	 * the given region as specified in
+	 * {@link IAnnotationModelExtension2#getAnnotationIterator(int, int, boolean, boolean)}.
+	 *
+	 * @param region the region
+	 * @param start the start of the range
+	 * @param length the length of the range
+	 * @param canStartBefore the range can start before the region
+	 * @param canEndAfter the range can end after the region
+	 * @return <code>true</code> if the range lies within the region
+	 */
+	private static boolean isWithinRegion(Position region, int start, int length, boolean canStartBefore, boolean canEndAfter) {
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(start, length);
+		else if (canStartBefore)
+			return region.includes(start + length - (length > 0 ? 1 : 0));
+		else if (canEndAfter)
+			return region.includes(start);
+		else
+			return region.includes(start) && region.includes(start + length - (length > 0 ? 1 : 0));
+	}
+
+	/**
+	 * An immutable interval index over the positions of the annotations of a model. The
+	 * positions are sorted by offset, and for every index the maximal end offset of all
+	 * positions up to that index is kept. The positions touching a region are found with two
+	 * binary searches, so a region query costs <code>O(log n + k)</code> instead of a scan over
+	 * all positions.
+	 * <p>
+	 * The index is a snapshot: it has to be rebuilt whenever positions are added, removed or
+	 * moved, which happens lazily on the next query. After a document change only the part of
+	 * the index behind the changed offset is updated.
+	 * </p>
+	 *
+	 */
+	private static final class RegionIndex {
+
+		private static final Comparator<Position> OFFSET_ORDER= Comparator.comparingInt(Position::getOffset);
+
+		/** The positions sorted by offset. */
+		private final Position[] fSorted;
+		/** The maximal end offset of <code>fSorted[0..i]</code> at index <code>i</code>. */
+		private final int[] fMaxEnds;
+
+		/**
+		 * Creates the index for the given positions. The order of the previous index is
+		 * reused, so that an index of positions that have just been shifted by a document
+		 * change is rebuilt in almost linear time.
+		 *
+		 * @param positions the positions to index
+		 * @param previous the previous index or <code>null</code>
+		 */
+		RegionIndex(Iterator<Position> positions, RegionIndex previous) {
+			IdentityHashMap<Position, Position> current= new IdentityHashMap<>();
+			while (positions.hasNext()) {
+				Position p= positions.next();
+				if (p != null)
+					current.put(p, p);
+			}
+
+			Position[] sorted= new Position[current.size()];
+			int size= 0;
+			if (previous != null) {
+				for (Position p : previous.fSorted) {
+					if (current.remove(p) != null)
+						sorted[size++]= p;
+				}
+			}
+			for (Position p : current.keySet())
+				sorted[size++]= p;
+			Arrays.sort(sorted, OFFSET_ORDER);
+
+			fSorted= sorted;
+			fMaxEnds= new int[sorted.length];
+			int maxEnd= Integer.MIN_VALUE;
+			for (int i= 0; i < sorted.length; i++) {
+				maxEnd= Math.max(maxEnd, sorted[i].getOffset() + sorted[i].getLength());
+				fMaxEnds[i]= maxEnd;
+			}
+		}
+
+		/**
+		 * Creates the index for the positions of the previous index after they have been
+		 * updated by document changes at or behind the given offset. Positions ending before
+		 * that offset are not touched by such changes and keep their place in the index, the
+		 * positions behind them are sorted again and their end offsets recomputed.
+		 *
+		 * @param previous the index before the document changes
+		 * @param changeOffset the smallest offset of the document changes
+		 */
+		RegionIndex(RegionIndex previous, int changeOffset) {
+			int from= previous.firstMaxEndAtLeast(changeOffset);
+			fSorted= previous.fSorted.clone();
+			fMaxEnds= previous.fMaxEnds.clone();
+			Arrays.sort(fSorted, from, fSorted.length, OFFSET_ORDER);
+
+			int maxEnd= from > 0 ? fMaxEnds[from - 1] : Integer.MIN_VALUE;
+			for (int i= from; i < fSorted.length; i++) {
+				maxEnd= Math.max(maxEnd, fSorted[i].getOffset() + fSorted[i].getLength());
+				fMaxEnds[i]= maxEnd;
+			}
+		}
+
+		/**
+		 * Returns the positions within the given region, in the order of their offsets.
+		 *
+		 * @param offset region start
+		 * @param length region length
+		 * @param canStartBefore position can start before region
+		 * @param canEndAfter position can end after region
+		 * @return the positions within the region
+		 * @see IAnnotationModelExtension2#getAnnotationIterator(int, int, boolean, boolean)
+		 */
+		Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+			// a position within the region starts at or before the region end and ends at or
+			// after the region start, all others are skipped by the binary searches
+			int end= offset + length;
+			int first= firstMaxEndAtLeast(offset);
+			int last= lastOffsetAtMost(end);
+
+			Position region= new Position(offset, length);
+			List<Position> result= new ArrayList<>();
+			for (int i= first; i <= last; i++) {
+				Position p= fSorted[i];
+				int start= p.getOffset();
+				int len= p.getLength();
+				if (start + len >= offset && isWithinRegion(region, start, len, canStartBefore, canEndAfter))
+					result.add(p);
+			}
+			return result.toArray(new Position[result.size()]);
+		}
+
+		private int firstMaxEndAtLeast(int offset) {
+			int low= 0;
+			int high= fMaxEnds.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fMaxEnds[mid] < offset)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+
+		private int lastOffsetAtMost(int end) {
+			int low= 0;
+			int high= fSorted.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fSorted[mid].getOffset() <= end)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low - 1;
 		}
 	}
 
@@ -298,6 +451,26 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	private Object fModificationStamp= new Object();
+	/**
+	 * The interval index of the annotation positions used for region queries, or
+	 * <code>null</code> if it has to be rebuilt.
+	 */
+	private volatile RegionIndex fRegionIndex;
+	/**
+	 * Counts the invalidations of the region index, an index built while the positions
+	 * changed is not kept.
+	 */
+	private volatile int fRegionIndexStamp;
+	/**
+	 * The last region index, its order is reused when the index is rebuilt.
+	 */
+	private RegionIndex fLastRegionIndex;
+	/**
+	 * The smallest offset of the document changes since the last region index has been
+	 * built, or <code>-1</code> if annotations have been added, removed or moved and the index
+	 * has to be rebuilt from scratch.
+	 */
+	private int fRegionIndexChangeOffset= -1;
 
 	/**
 	 * Creates a new annotation model. The annotation is empty, i.e. does not
@@ -317,6 +490,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			@Override
 			public void documentChanged(DocumentEvent event) {
 				fDocumentChanged= true;
+				updateRegionIndex(event.getOffset());
 			}
 		};
 	}
@@ -427,6 +601,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			invalidateRegionIndex();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -723,15 +898,67 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		if (!(fDocument instanceof AbstractDocument))
 			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
 
-		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
 
-		try {
-			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
-			return new AnnotationsInterator(positions, fPositions);
-		} catch (BadPositionCategoryException e) {
-			// can happen if e.g. the document doesn't contain such a category, or when removed in a different thread
-			return Collections.<Annotation>emptyList().iterator();
+		Position[] positions= getRegionIndex().getPositions(offset, length, canStartBefore, canEndAfter);
+		return new AnnotationsInterator(positions, fPositions);
+	}
+
+	/**
+	 * Returns the interval index of the annotation positions, rebuilding it if annotations
+	 * have been added, removed or moved since it has been built.
+	 *
+	 * @return the region index
+	 */
+	private RegionIndex getRegionIndex() {
+		RegionIndex index= fRegionIndex;
+		if (index != null)
+			return index;
+
+		synchronized (getLockObject()) {
+			index= fRegionIndex;
+			if (index == null) {
+				int stamp= fRegionIndexStamp;
+				if (fRegionIndexChangeOffset >= 0)
+					index= new RegionIndex(fLastRegionIndex, fRegionIndexChangeOffset);
+				else
+					index= new RegionIndex(getAnnotationMap().valuesIterator(), fLastRegionIndex);
+				fLastRegionIndex= index;
+				if (stamp == fRegionIndexStamp) {
+					fRegionIndex= index;
+					fRegionIndexChangeOffset= -1;
+				}
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Discards the region index, it is rebuilt on the next region query.
+	 */
+	private void invalidateRegionIndex() {
+		synchronized (getLockObject()) {
+			fRegionIndex= null;
+			fRegionIndexChangeOffset= -1;
+			fRegionIndexStamp++;
+		}
+	}
+
+	/**
+	 * Marks the region index for an update after the document has been changed at the given
+	 * offset. The positions have already been shifted by the document, so the index only has
+	 * to be sorted again behind the smallest changed offset on the next region query.
+	 *
+	 * @param offset the offset of the document change
+	 */
+	private void updateRegionIndex(int offset) {
+		synchronized (getLockObject()) {
+			if (fRegionIndex != null)
+				fRegionIndexChangeOffset= offset;
+			else if (fRegionIndexChangeOffset >= 0)
+				fRegionIndexChangeOffset= Math.min(fRegionIndexChangeOffset, offset);
+			fRegionIndex= null;
+			fRegionIndexStamp++;
 		}
 	}
 
@@ -815,6 +1042,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		annotations.clear();
 		fPositions.clear();
+		invalidateRegionIndex();
 
 		if (fireModelChanged)
 			fireModelChanged();
@@ -845,6 +1073,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			annotations.remove(annotation);
 			fPositions.remove(p);
+			invalidateRegionIndex();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationRemoved(annotation, p);
 			}
@@ -886,6 +1115,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					fDocument.removePosition(p);
 					p.setOffset(position.getOffset());
 					p.setLength(position.getLength());
+					invalidateRegionIndex();
 					try {
 						fDocument.addPosition(p);
 					} catch (BadLocationException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2014, 2015 Google Inc and others.
+ * Copyright (C) 2014, 2026 Google Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,14 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.monitoring;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -49,6 +54,8 @@ import org.eclipse.ui.monitoring.UiFreezeEvent;
  */
 public class EventLoopMonitorThread extends Thread {
 	private static final int EVENT_HISTORY_SIZE = 100;
+	private static final int MAX_PROFILE_NODES = 50_000;
+	private static final String PROFILE_FILE_NAME = "ui_thread_profile.txt"; //$NON-NLS-1$
 	private static final String EXTENSION_ID = "org.eclipse.ui.monitoring.logger"; //$NON-NLS-1$
 	private static final String NEW_LINE_AND_BULLET = "\n* "; //$NON-NLS-1$
 	private static final String TRACE_EVENT_MONITOR = "/debug/event_monitor"; //$NON-NLS-1$
@@ -80,6 +87,8 @@ public class EventLoopMonitorThread extends Thread {
 		public String uiThreadFilter;
 		/** @see org.eclipse.ui.monitoring.PreferenceConstants#NONINTERESTING_THREAD_FILTER */
 		public String noninterestingThreadFilter;
+		/** @see org.eclipse.ui.monitoring.PreferenceConstants#PROFILER_SAMPLE_INTERVAL_MILLIS */
+		public int profilerSampleInterval;
 
 		/**
 		 * Checks if the values of parameters for UI responsiveness monitoring are valid.
@@ -358,6 +367,8 @@ public class EventLoopMonitorThread extends Thread {
 	private final long uiThreadId;
 	private final Object sleepMonitor;
 	private final boolean logToErrorLog;
+	private final long profilerSampleInterval;
+	private final StackProfile profile;
 	private EventHistory eventHistory;
 	private ThreadMXBean threadMXBean;
 	private boolean dumpLockedMonitors;
@@ -395,9 +406,21 @@ public class EventLoopMonitorThread extends Thread {
 		logToErrorLog = args.logToErrorLog;
 		uiThreadFilter = new FilterHandler(args.uiThreadFilter);
 		noninterestingThreadFilter = new FilterHandler(args.noninterestingThreadFilter);
+		profilerSampleInterval = Math.max(args.profilerSampleInterval, 0);
+		profile = profilerSampleInterval > 0 ? new StackProfile(MAX_PROFILE_NODES) : null;
 		sleepMonitor = new Object();
 	}
 
+	/**
+	 * Returns the profile of the UI thread collected by continuous sampling, or {@code null} if
+	 * continuous sampling is disabled. The UI thread is sampled only while it is processing
+	 * events, so the profile shows where the time spent in events goes, including events too
+	 * short to be logged as UI freezes.
+	 */
+	public StackProfile getProfile() {
+		return profile;
+	}
+
 	/**
 	 * Shuts down the monitoring thread. Must be called on the display thread.
 	 */
@@ -488,6 +511,8 @@ public class EventLoopMonitorThread extends Thread {
 
 		boolean dumpAllThreads = false;
 
+		long grabProfileSampleAt = 0;
+
 		// Register for events
 		display.asyncExec(this::registerDisplayListeners);
 
@@ -520,6 +545,9 @@ public class EventLoopMonitorThread extends Thread {
 			} else {
 				sleepFor = Math.min(pollingNyquistDelay, Math.max(1, grabStackSampleAt - currTime));
 			}
+			if (profile != null) {
+				sleepFor = Math.min(sleepFor, Math.max(1, grabProfileSampleAt - currTime));
+			}
 
 			// Allow the discarded stack samples to be garbage collected.
 			for (int i = numSamples; i < stackSamples.length && stackSamples[i] != null; i++) {
@@ -550,6 +578,17 @@ public class EventLoopMonitorThread extends Thread {
 			}
 			boolean starved = starvedAsleepCurrentCycle || starvedAwakeCurrentCycle;
 
+			if (profile != null && currTime >= grabProfileSampleAt) {
+				// Sample only while an event is processed, an idle UI thread is not interesting.
+				if (currEventStartOrResumeTime != 0) {
+					ThreadInfo uiThread = threadMXBean.getThreadInfo(uiThreadId, Integer.MAX_VALUE);
+					if (uiThread != null) {
+						profile.addSample(uiThread.getStackTrace());
+					}
+				}
+				grabProfileSampleAt = currTime + profilerSampleInterval;
+			}
+
 			/*
 			 * If after sleeping we see that a new event has been dispatched, mark that we should
 			 * update the stalled event state. Otherwise, check if we have surpassed our threshold
@@ -766,6 +805,22 @@ public class EventLoopMonitorThread extends Thread {
 		}
 	}
 
+	/**
+	 * Writes the profile of the UI thread to a file in the state location of the plug-in, where it
+	 * can be picked up by flame graph tools.
+	 */
+	private void writeProfile() {
+		try {
+			Path file = Platform.getStateLocation(Platform.getBundle(PreferenceConstants.PLUGIN_ID))
+					.append(PROFILE_FILE_NAME).toFile().toPath();
+			try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				profile.writeCollapsedStacks(writer);
+			}
+		} catch (IOException | IllegalStateException e) {
+			MonitoringPlugin.logError(e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * Writes a UI freeze event to the log.
 	 */
@@ -778,6 +833,10 @@ public class EventLoopMonitorThread extends Thread {
 			defaultLogger.log(event);
 		}
 
+		if (profile != null) {
+			writeProfile();
+		}
+
 		for (int i = 0; i < externalLoggers.size(); i++) {
 			IUiFreezeEventLogger currentLogger = externalLoggers.get(i);
 			try {
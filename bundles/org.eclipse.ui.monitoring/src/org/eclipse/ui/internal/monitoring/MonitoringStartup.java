@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2014, 2023 Google Inc and others.
+ * Copyright (C) 2014, 2026 Google Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,8 @@ public class MonitoringStartup implements EventHandler {
 		args.noninterestingThreadFilter =
 				preferences.getString(PreferenceConstants.NONINTERESTING_THREAD_FILTER);
 		args.logToErrorLog = preferences.getBoolean(PreferenceConstants.LOG_TO_ERROR_LOG);
+		args.profilerSampleInterval =
+				preferences.getInt(PreferenceConstants.PROFILER_SAMPLE_INTERVAL_MILLIS);
 
 		return args;
 	}
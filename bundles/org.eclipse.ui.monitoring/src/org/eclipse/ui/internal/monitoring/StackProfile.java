@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates stack samples into a call tree, the data behind a flame graph. Every node of the tree
+ * is a method invoked from the methods of its ancestors and counts the samples in which it was on
+ * the stack. The number of nodes is bounded, samples that would need more nodes are attributed to
+ * a {@code [truncated]} pseudo frame below the deepest frame that could be recorded.
+ * <p>
+ * The profile is exported in the collapsed stack format understood by common flame graph tools:
+ * one line per distinct stack, the frames from the outermost to the innermost separated by
+ * semicolons, followed by a space and the number of samples of that stack.
+ * <p>
+ * Instances are thread safe.
+ */
+public class StackProfile {
+	private static final String TRUNCATED_FRAME = "[truncated]"; //$NON-NLS-1$
+
+	private static class Node {
+		final String className;
+		final String methodName;
+		/** Number of samples in which this frame was the innermost recorded frame. */
+		int selfCount;
+		/** Number of samples whose stack was truncated below this frame. */
+		int truncatedCount;
+		/** The callees, usually few, so a list is smaller and as fast as a map. */
+		List<Node> children;
+
+		Node(String className, String methodName) {
+			this.className = className;
+			this.methodName = methodName;
+		}
+
+		Node getChild(StackTraceElement frame) {
+			if (children != null) {
+				for (Node child : children) {
+					if (child.methodName.equals(frame.getMethodName())
+							&& child.className.equals(frame.getClassName())) {
+						return child;
+					}
+				}
+			}
+			return null;
+		}
+
+		Node addChild(StackTraceElement frame) {
+			if (children == null) {
+				children = new ArrayList<>(2);
+			}
+			Node child = new Node(frame.getClassName(), frame.getMethodName());
+			children.add(child);
+			return child;
+		}
+	}
+
+	private final int maxNodes;
+	private Node root = new Node("", ""); //$NON-NLS-1$ //$NON-NLS-2$
+	private int nodeCount;
+	private long sampleCount;
+
+	/**
+	 * @param maxNodes the maximum number of frames kept in the call tree
+	 */
+	public StackProfile(int maxNodes) {
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Adds a stack sample to the profile.
+	 *
+	 * @param stack the stack trace with the innermost frame first, as returned by
+	 *     {@link Thread#getStackTrace()}
+	 */
+	public synchronized void addSample(StackTraceElement[] stack) {
+		sampleCount++;
+		Node node = root;
+		for (int i = stack.length; --i >= 0;) {
+			Node child = node.getChild(stack[i]);
+			if (child == null) {
+				if (nodeCount >= maxNodes) {
+					node.truncatedCount++;
+					return;
+				}
+				child = node.addChild(stack[i]);
+				nodeCount++;
+			}
+			node = child;
+		}
+		node.selfCount++;
+	}
+
+	/**
+	 * Returns the number of samples added since the profile was created or cleared.
+	 */
+	public synchronized long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * Returns the number of frames in the call tree.
+	 */
+	public synchronized int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Removes all samples from the profile.
+	 */
+	public synchronized void clear() {
+		root = new Node("", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		nodeCount = 0;
+		sampleCount = 0;
+	}
+
+	/**
+	 * Writes the profile in collapsed stack format.
+	 *
+	 * @param out the destination
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void writeCollapsedStacks(Appendable out) throws IOException {
+		if (root.truncatedCount > 0) {
+			out.append(TRUNCATED_FRAME).append(' ').append(Integer.toString(root.truncatedCount)).append('\n');
+		}
+		if (root.children != null) {
+			StringBuilder path = new StringBuilder();
+			for (Node child : root.children) {
+				write(child, path, out);
+			}
+		}
+	}
+
+	private static void write(Node node, StringBuilder path, Appendable out) throws IOException {
+		int length = path.length();
+		if (length > 0) {
+			path.append(';');
+		}
+		path.append(node.className).append('.').append(node.methodName);
+		if (node.selfCount > 0) {
+			out.append(path).append(' ').append(Integer.toString(node.selfCount)).append('\n');
+		}
+		if (node.truncatedCount > 0) {
+			out.append(path).append(';').append(TRUNCATED_FRAME).append(' ')
+					.append(Integer.toString(node.truncatedCount)).append('\n');
+		}
+		if (node.children != null) {
+			for (Node child : node.children) {
+				write(child, path, out);
+			}
+		}
+		path.setLength(length);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		try {
+			writeCollapsedStacks(buf);
+		} catch (IOException e) {
+			// StringBuilder does not throw IOException.
+		}
+		return buf.toString();
+	}
+}
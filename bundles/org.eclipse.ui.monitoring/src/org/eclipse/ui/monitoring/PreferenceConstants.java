@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2014 Google Inc and others.
+ * Copyright (C) 2014, 2026 Google Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,15 @@ public class PreferenceConstants {
 	 * message if all stack frames of the thread match the filter.
 	 */
 	public static final String NONINTERESTING_THREAD_FILTER = "noninteresting_thread_filter"; //$NON-NLS-1$
+	/**
+	 * Interval in milliseconds between stack samples of the UI thread taken continuously while it
+	 * processes events, including events shorter than the warning threshold. The samples are
+	 * aggregated into a profile that is written out in collapsed stack format with every logged
+	 * UI freeze. Zero disables continuous sampling.
+	 *
+	 * @since 1.4
+	 */
+	public static final String PROFILER_SAMPLE_INTERVAL_MILLIS = "profiler_sample_interval"; //$NON-NLS-1$
 
 	private PreferenceConstants() {}
 }
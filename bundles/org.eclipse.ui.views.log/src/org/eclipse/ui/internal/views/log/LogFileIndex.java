@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.eclipse.ui.IMemento;
+
+/**
+ * An index of the sessions and top level entries of a log file. It records
+ * the byte offset and severity of every <code>!ENTRY</code> and the offset of
+ * every <code>!SESSION</code> line, so that pages of entries can be read from
+ * logs of any size without parsing, or even reading, the rest of the file.
+ * <p>
+ * The index is built incrementally: {@link #update()} only scans what has been
+ * appended to the file since the last update. Only complete lines are indexed.
+ * </p>
+ */
+public class LogFileIndex {
+
+	private static final byte[] SESSION = LogSession.SESSION.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ENTRY = "!ENTRY".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
+	/** The length of the line start that is kept to parse entry headers */
+	private static final int MAX_HEADER_LENGTH = 512;
+
+	/** The maximal number of bytes read for a single entry or session header */
+	private static final int MAX_RANGE_LENGTH = 16 * 1024 * 1024;
+
+	private final File file;
+
+	/** The offset behind the last indexed line */
+	private long indexedLength;
+
+	private long[] entryOffsets = new long[1024];
+	private byte[] entrySeverities = new byte[1024];
+	private int[] entrySessions = new int[1024];
+	private int entryCount;
+
+	private long[] sessionOffsets = new long[16];
+	/** The number of entries before each session */
+	private int[] sessionFirstEntries = new int[16];
+	private LogSession[] sessions = new LogSession[16];
+	private int sessionCount;
+	private LogSession fakeSession;
+
+	public LogFileIndex(File file) {
+		this.file = file;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Indexes the lines appended to the file since the last update. The index
+	 * is rebuilt from scratch if the file has been truncated.
+	 *
+	 * @throws IOException if reading the file fails
+	 */
+	public synchronized void update() throws IOException {
+		long length = file.length();
+		if (length < indexedLength) {
+			reset();
+		}
+		if (length == indexedLength) {
+			return;
+		}
+
+		try (InputStream in = TailInputStream.fromOffset(file, indexedLength)) {
+			byte[] buffer = new byte[64 * 1024];
+			byte[] header = new byte[MAX_HEADER_LENGTH];
+			int headerLength = 0;
+			long lineStart = indexedLength;
+			long offset = indexedLength;
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				for (int i = 0; i < read; i++, offset++) {
+					byte c = buffer[i];
+					if (c == '\n' || c == '\r') {
+						indexLine(lineStart, header, headerLength);
+						indexedLength = offset + 1;
+						lineStart = offset + 1;
+						headerLength = 0;
+					} else if (headerLength < MAX_HEADER_LENGTH) {
+						header[headerLength++] = c;
+					}
+				}
+			}
+		}
+	}
+
+	private void reset() {
+		indexedLength = 0;
+		entryCount = 0;
+		sessionCount = 0;
+		Arrays.fill(sessions, null);
+		fakeSession = null;
+	}
+
+	private void indexLine(long offset, byte[] line, int length) {
+		int start = 0;
+		// lines are trimmed by the reader
+		while (start < length && (line[start] & 0xFF) <= ' ') {
+			start++;
+		}
+		if (startsWith(line, start, length, SESSION)) {
+			if (sessionCount == sessionOffsets.length) {
+				int newLength = sessionCount * 2;
+				sessionOffsets = Arrays.copyOf(sessionOffsets, newLength);
+				sessionFirstEntries = Arrays.copyOf(sessionFirstEntries, newLength);
+				sessions = Arrays.copyOf(sessions, newLength);
+			}
+			sessionOffsets[sessionCount] = offset;
+			sessionFirstEntries[sessionCount] = entryCount;
+			sessionCount++;
+		} else if (startsWith(line, start, length, ENTRY)) {
+			if (entryCount == entryOffsets.length) {
+				int newLength = entryCount * 2;
+				entryOffsets = Arrays.copyOf(entryOffsets, newLength);
+				entrySeverities = Arrays.copyOf(entrySeverities, newLength);
+				entrySessions = Arrays.copyOf(entrySessions, newLength);
+			}
+			entryOffsets[entryCount] = offset;
+			entrySeverities[entryCount] = (byte) parseSeverity(new String(line, start, length - start, StandardCharsets.UTF_8));
+			entrySessions[entryCount] = sessionCount - 1;
+			entryCount++;
+		}
+	}
+
+	private static boolean startsWith(byte[] line, int start, int length, byte[] prefix) {
+		if (length - start < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (line[start + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parses the severity of an entry header the same way as
+	 * {@link LogEntry#processEntry(String)}.
+	 */
+	private static int parseSeverity(String header) {
+		// !ENTRY <pluginID> <severity> <code> <date>
+		String[] tokens = header.split(LogEntry.SPACE, 4);
+		if (tokens.length > 2) {
+			try {
+				return Integer.parseInt(tokens[2]);
+			} catch (NumberFormatException e) {
+				// logged by the framework, no severity
+			}
+		}
+		return 0;
+	}
+
+	public synchronized int getEntryCount() {
+		return entryCount;
+	}
+
+	public synchronized int getSessionCount() {
+		return sessionCount;
+	}
+
+	/**
+	 * Returns the indexes of the last <code>count</code> entries before the
+	 * entry <code>end</code> whose severity is logged according to the given
+	 * memento. Unless all sessions are shown, only entries of the most recent
+	 * session are returned.
+	 *
+	 * @param end     the index behind the last entry to consider
+	 * @param count   the maximal number of entries to return
+	 * @param memento the view settings
+	 * @return the indexes of the entries, in ascending order
+	 */
+	public synchronized int[] selectEntries(int end, int count, IMemento memento) {
+		boolean allSessions = "true".equals(memento.getString(LogView.P_SHOW_ALL_SESSIONS)); //$NON-NLS-1$
+		int lastSession = sessionCount - 1;
+		int[] selected = new int[Math.max(0, Math.min(count, end))];
+		int n = selected.length;
+		for (int i = Math.min(end, entryCount) - 1; i >= 0 && n > 0; i--) {
+			if (!allSessions && entrySessions[i] != lastSession) {
+				break;
+			}
+			if (LogReader.isLogged(entrySeverities[i], memento)) {
+				selected[--n] = i;
+			}
+		}
+		return Arrays.copyOfRange(selected, n, selected.length);
+	}
+
+	public synchronized long getEntryOffset(int entry) {
+		return entryOffsets[entry];
+	}
+
+	/**
+	 * Returns the offset behind the last line of an entry, which is the start of
+	 * the next entry or session.
+	 */
+	public synchronized long getEntryEnd(int entry) {
+		long end = entry + 1 < entryCount ? entryOffsets[entry + 1] : indexedLength;
+		int nextSession = entrySessions[entry] + 1;
+		if (nextSession < sessionCount && sessionOffsets[nextSession] < end) {
+			end = sessionOffsets[nextSession];
+		}
+		return end;
+	}
+
+	public synchronized int getEntrySession(int entry) {
+		return entrySessions[entry];
+	}
+
+	/**
+	 * Returns the session with the given index, reading its header from the
+	 * file when it is requested for the first time. The same instance is
+	 * returned for every page read from the file, so that the entries are
+	 * grouped correctly.
+	 *
+	 * @param session the index of the session, may be -1 for entries logged
+	 *                before the first session header
+	 * @return the session
+	 * @throws IOException if reading the session header fails
+	 */
+	public synchronized LogSession getSession(int session) throws IOException {
+		if (session < 0) {
+			// entries logged before any session header share a fake session, like in LogReader
+			if (fakeSession == null) {
+				fakeSession = new LogSession();
+			}
+			return fakeSession;
+		}
+		if (sessions[session] == null) {
+			long start = sessionOffsets[session];
+			long end = sessionFirstEntries[session] < entryCount ? entryOffsets[sessionFirstEntries[session]]
+					: indexedLength;
+			if (session + 1 < sessionCount) {
+				end = Math.min(end, sessionOffsets[session + 1]);
+			}
+			LogSession parsed = LogReader.parseSession(read(start, end));
+			sessions[session] = parsed != null ? parsed : new LogSession();
+		}
+		return sessions[session];
+	}
+
+	/**
+	 * Reads the given range of the log file.
+	 */
+	private byte[] read(long start, long end) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+			return read(raf, start, end);
+		}
+	}
+
+	/**
+	 * Reads the given range of the log file from an open file.
+	 */
+	static byte[] read(RandomAccessFile raf, long start, long end) throws IOException {
+		byte[] bytes = new byte[(int) Math.min(end - start, MAX_RANGE_LENGTH)];
+		raf.seek(start);
+		raf.readFully(bytes);
+		return bytes;
+	}
+}
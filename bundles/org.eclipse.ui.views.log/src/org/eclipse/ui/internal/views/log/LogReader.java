@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,10 +24,10 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IMemento;
 
-class LogReader {
+public class LogReader {
 	private static final int SESSION_STATE = 10;
 	public static final long MAX_FILE_LENGTH = 1024 * 1024;
-	private static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
+	static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
 	private static final int ENTRY_STATE = 20;
 	private static final int SUBENTRY_STATE = 30;
 	private static final int MESSAGE_STATE = 40;
@@ -44,18 +44,91 @@ class LogReader {
 				&& memento.getInteger(LogView.P_LOG_LIMIT).intValue() == 0)
 			return null;
 
+		LogSession currentSession = null;
+		long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
+				: ONE_MEGA_BYTE_IN_BYTES;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new TailInputStream(file, maxTailSizeInBytes), StandardCharsets.UTF_8))) {
+			currentSession = parse(reader, null, entries, memento);
+		} catch (IOException e) { // do nothing
+		} finally {
+			if (file.length() > maxLogTailSizeInMegaByte && entries.isEmpty()) {
+				LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
+						Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
+				entry.setSession(currentSession == null ? new LogSession() : currentSession);
+				entries.add(entry);
+			}
+		}
+
+		return currentSession;
+	}
+
+	/**
+	 * Reads the given entries of an indexed log file.
+	 *
+	 * @param index    the index of the log file
+	 * @param selected the indexes of the entries to read, in ascending order
+	 * @param entries  the list to add the entries to
+	 * @param memento  the view settings
+	 * @return the most recent session of the log file, or <code>null</code> if
+	 *         it has none
+	 */
+	public static LogSession parseLogFile(LogFileIndex index, int[] selected, List<LogEntry> entries,
+			IMemento memento) {
+		LogSession currentSession = null;
+		try (RandomAccessFile raf = new RandomAccessFile(index.getFile(), "r")) { //$NON-NLS-1$
+			if (index.getSessionCount() > 0) {
+				currentSession = index.getSession(index.getSessionCount() - 1);
+			}
+			// entries of one session are read in one go, they have the same session
+			int i = 0;
+			while (i < selected.length) {
+				int session = index.getEntrySession(selected[i]);
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				for (; i < selected.length && index.getEntrySession(selected[i]) == session; i++) {
+					bytes.write(LogFileIndex.read(raf, index.getEntryOffset(selected[i]), index.getEntryEnd(selected[i])));
+				}
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+						new ByteArrayInputStream(bytes.toByteArray()), StandardCharsets.UTF_8))) {
+					parse(reader, index.getSession(session), entries, memento);
+				}
+			}
+		} catch (IOException e) { // do nothing
+		}
+		return currentSession;
+	}
+
+	/**
+	 * Parses a session header read from a log file.
+	 *
+	 * @return the session or <code>null</code> if there is no session header
+	 */
+	static LogSession parseSession(byte[] header) throws IOException {
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(header), StandardCharsets.UTF_8))) {
+			return parse(reader, null, new ArrayList<>(), null);
+		}
+	}
+
+	/**
+	 * Parses the log lines read from the given reader.
+	 *
+	 * @param session the session of the entries before the first session
+	 *                header, or <code>null</code>
+	 * @param memento the view settings, or <code>null</code> if only sessions
+	 *                are parsed
+	 * @return the most recent session
+	 */
+	private static LogSession parse(BufferedReader reader, LogSession session, List<LogEntry> entries,
+			IMemento memento) throws IOException {
 		ArrayList<LogEntry> parents = new ArrayList<>();
 		LogEntry current = null;
-		LogSession session = null;
 		int writerState = UNKNOWN_STATE;
 		StringWriter swriter = null;
 		PrintWriter writer = null;
 		int state = UNKNOWN_STATE;
-		LogSession currentSession = null;
-		long maxTailSizeInBytes = maxLogTailSizeInMegaByte > 0 ? maxLogTailSizeInMegaByte * ONE_MEGA_BYTE_IN_BYTES
-				: ONE_MEGA_BYTE_IN_BYTES;
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(new TailInputStream(file, maxTailSizeInBytes), StandardCharsets.UTF_8))) {
+		LogSession currentSession = session;
+		try {
 			for (;;) {
 				String line0 = reader.readLine();
 				if (line0 == null)
@@ -106,7 +179,8 @@ class LogReader {
 					writerState = SESSION_STATE;
 					currentSession = updateCurrentSession(currentSession, session);
 					// if current session is most recent and not showing all sessions
-					if (currentSession.equals(session) && !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
+					if (currentSession.equals(session) && memento != null
+							&& !memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true")) //$NON-NLS-1$
 						entries.clear();
 					break;
 				case ENTRY_STATE:
@@ -119,7 +193,8 @@ class LogReader {
 						entry.processEntry(line);
 						setNewParent(parents, entry, 0);
 						current = entry;
-						addEntry(current, entries, memento);
+						if (memento != null)
+							addEntry(current, entries, memento);
 					} catch (IllegalArgumentException pe) {
 						//do nothing, just toss the entry
 					}
@@ -158,14 +233,7 @@ class LogReader {
 				writerState = UNKNOWN_STATE;
 				current.setStack(swriter.toString());
 			}
-		} catch (IOException e) { // do nothing
 		} finally {
-			if (file.length() > maxLogTailSizeInMegaByte && entries.isEmpty()) {
-				LogEntry entry = new LogEntry(new Status(IStatus.WARNING, Activator.PLUGIN_ID, NLS.bind(
-						Messages.LogReader_warn_noEntryWithinMaxLogTailSize, Long.valueOf(maxLogTailSizeInMegaByte))));
-				entry.setSession(currentSession == null ? new LogSession() : currentSession);
-				entries.add(entry);
-			}
 			if (writer != null) {
 				setData(current, session, writerState, swriter);
 				writer.close();
@@ -238,7 +306,14 @@ class LogReader {
 	 * @return is entry logged or filtered
 	 */
 	public static boolean isLogged(LogEntry entry, IMemento memento) {
-		int severity = entry.getSeverity();
+		return isLogged(entry.getSeverity(), memento);
+	}
+
+	/**
+	 * Returns whether entries of the given severity are logged (true) or filtered (false).
+	 * @return is the severity logged or filtered
+	 */
+	static boolean isLogged(int severity, IMemento memento) {
 		switch (severity) {
 			case IStatus.INFO :
 				return memento.getString(LogView.P_LOG_INFO).equals("true"); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,9 @@ public class LogView extends ViewPart implements LogListener {
 	/** default values **/
 	private static final int DEFAULT_LOG_MAX_TAIL_SIZE = 1; // 1 Mega Byte
 
+	/** The number of entries read at once from log files larger than the max tail size */
+	private static final int PAGE_SIZE = 1000;
+
 	private int MESSAGE_ORDER;
 	private int PLUGIN_ORDER;
 	private int DATE_ORDER;
@@ -126,6 +129,11 @@ public class LogView extends ViewPart implements LogListener {
 	private File fInputFile;
 	private String fDirectory;
 
+	/** The index of the input file if it is larger than the max tail size */
+	private volatile LogFileIndex fLogFileIndex;
+	/** The index of the oldest entry read from the indexed input file */
+	private volatile int fOldestEntry;
+
 	private Comparator<?> fComparator;
 
 	// hover text
@@ -154,6 +162,7 @@ public class LogView extends ViewPart implements LogListener {
 	private Action fOpenLogAction;
 	private Action fExportLogAction;
 	private Action fExportLogEntryAction;
+	private Action fShowOlderEntriesAction;
 	private Throttler mutualRefresh;
 	private Throttler mutualActivate;
 
@@ -306,6 +315,8 @@ public class LogView extends ViewPart implements LogListener {
 		fReadLogAction = createReadLogAction();
 		toolBarManager.add(fReadLogAction);
 
+		fShowOlderEntriesAction = createShowOlderEntriesAction();
+
 		toolBarManager.add(new Separator());
 
 		IMenuManager mgr = bars.getMenuManager();
@@ -313,6 +324,7 @@ public class LogView extends ViewPart implements LogListener {
 		mgr.add(createGroupByAction());
 		mgr.add(new Separator());
 		mgr.add(createFilterAction());
+		mgr.add(fShowOlderEntriesAction);
 		mgr.add(new Separator());
 
 		fActivateViewAction = createActivateViewAction(Messages.LogView_activate, P_ACTIVATE);
@@ -337,6 +349,7 @@ public class LogView extends ViewPart implements LogListener {
 			manager.add(fDeleteLogAction);
 			manager.add(fOpenLogAction);
 			manager.add(fReadLogAction);
+			manager.add(fShowOlderEntriesAction);
 			manager.add(new Separator());
 			manager.add(fExportLogAction);
 			manager.add(createImportLogAction());
@@ -517,6 +530,18 @@ public class LogView extends ViewPart implements LogListener {
 		return action;
 	}
 
+	private Action createShowOlderEntriesAction() {
+		Action action = new Action(Messages.LogView_showOlderEntries) {
+			@Override
+			public void run() {
+				readOlderLogEntries();
+			}
+		};
+		action.setToolTipText(Messages.LogView_showOlderEntries_tooltip);
+		action.setEnabled(false);
+		return action;
+	}
+
 	/**
 	 * Creates the Show Text Filter view menu action
 	 * @return the new action for the Show Text Filter
@@ -894,8 +919,17 @@ public class LogView extends ViewPart implements LogListener {
 	private CompletableFuture<List<LogEntry>> fetchLogEntries() {
 		return CompletableFuture.supplyAsync(() -> {
 			List<LogEntry> result = new ArrayList<>();
-			LogSession lastLogSession = LogReader.parseLogFile(this.fInputFile, getLogMaxTailSize(), result,
-					this.fMemento);
+			LogSession lastLogSession;
+			LogFileIndex index = getLogFileIndex();
+			if (index != null) {
+				int[] selected = index.selectEntries(index.getEntryCount(), getPageSize(), fMemento);
+				fOldestEntry = selected.length > 0 ? selected[0] : 0;
+				lastLogSession = LogReader.parseLogFile(index, selected, result, fMemento);
+			} else {
+				fOldestEntry = 0;
+				lastLogSession = LogReader.parseLogFile(this.fInputFile, getLogMaxTailSize(), result,
+						this.fMemento);
+			}
 			if (lastLogSession != null
 					&& (lastLogSession.getDate() == null || isEclipseStartTime(lastLogSession.getDate()))) {
 				currentSession = lastLogSession;
@@ -906,6 +940,67 @@ public class LogView extends ViewPart implements LogListener {
 		});
 	}
 
+	/**
+	 * Returns the up to date index of the input file, or <code>null</code> if
+	 * the file is small enough to be read at once.
+	 */
+	private LogFileIndex getLogFileIndex() {
+		File file = fInputFile;
+		if (!file.exists() || file.length() <= getLogMaxTailSize() * LogReader.ONE_MEGA_BYTE_IN_BYTES
+				|| (fMemento.getString(P_USE_LIMIT).equals("true") //$NON-NLS-1$
+						&& fMemento.getInteger(P_LOG_LIMIT).intValue() == 0)) {
+			fLogFileIndex = null;
+			return null;
+		}
+		LogFileIndex index = fLogFileIndex;
+		if (index == null || !index.getFile().equals(file)) {
+			index = new LogFileIndex(file);
+		}
+		try {
+			// only scans what has been appended since the last read
+			index.update();
+		} catch (IOException e) {
+			fLogFileIndex = null;
+			return null;
+		}
+		fLogFileIndex = index;
+		return index;
+	}
+
+	private int getPageSize() {
+		if (fMemento.getString(P_USE_LIMIT).equals("true")) { //$NON-NLS-1$
+			return fMemento.getInteger(P_LOG_LIMIT).intValue();
+		}
+		return PAGE_SIZE;
+	}
+
+	/**
+	 * Adds the page of entries preceding the oldest shown entry of an indexed
+	 * log file.
+	 */
+	private void readOlderLogEntries() {
+		LogFileIndex index = fLogFileIndex;
+		int end = fOldestEntry;
+		if (index == null || end <= 0) {
+			return;
+		}
+		setContentDescription(Messages.LogView_readLog_loading);
+		CompletableFuture.supplyAsync(() -> {
+			List<LogEntry> result = new ArrayList<>();
+			int[] selected = index.selectEntries(end, getPageSize(), fMemento);
+			fOldestEntry = selected.length > 0 ? selected[0] : 0;
+			LogReader.parseLogFile(index, selected, result, fMemento);
+			return result;
+		}).thenAccept(entries -> {
+			synchronized (elements) {
+				// older entries are not subject to the entries limit
+				group(entries);
+			}
+			setContentDescription(getTitleSummary());
+			asyncRefresh();
+		});
+	}
+
 	private void updateLogViewer(List<LogEntry> entries) {
 		OptionalInt maxSeverity = entries.stream().mapToInt(LogEntry::getSeverity).max();
 		synchronized (elements) {
@@ -1216,6 +1311,7 @@ public class LogView extends ViewPart implements LogListener {
 				fOpenLogAction.setEnabled(exists);
 				fExportLogAction.setEnabled(exists);
 				fExportLogEntryAction.setEnabled(!viewer.getSelection().isEmpty());
+				fShowOlderEntriesAction.setEnabled(fLogFileIndex != null && fOldestEntry > 0);
 			}
 			if (!isDisposed()) {
 				// fFilteredTree.getViewer().refresh(); // why again?
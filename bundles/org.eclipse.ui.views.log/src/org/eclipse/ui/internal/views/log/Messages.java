@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,6 +41,8 @@ public class Messages extends NLS {
 	public static String LogView_readLog_loading;
 	public static String LogView_readLog_reload;
 	public static String LogView_readLog_restore;
+	public static String LogView_showOlderEntries;
+	public static String LogView_showOlderEntries_tooltip;
 	public static String LogView_readLog_restore_tooltip;
 	public static String LogView_show_filter_text;
 	public static String LogView_show_filter_initialText;
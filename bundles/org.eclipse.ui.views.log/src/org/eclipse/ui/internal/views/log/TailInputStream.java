@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2014 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,33 @@ public class TailInputStream extends InputStream {
 		skipHead(file);
 	}
 
+	private TailInputStream(RandomAccessFile raf) {
+		super();
+		fTail = Long.MAX_VALUE;
+		fRaf = raf;
+	}
+
+	/**
+	 * Creates a stream reading the given file from the given offset on, e.g. to
+	 * read what has been appended to the file since it was read last.
+	 *
+	 * @param file   the file to read
+	 * @param offset the offset of the first byte to read, it is expected to be
+	 *               at the start of a line
+	 * @return the stream
+	 * @throws IOException if the file cannot be opened
+	 */
+	public static TailInputStream fromOffset(File file, long offset) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+		try {
+			raf.seek(offset);
+		} catch (IOException e) {
+			raf.close();
+			throw e;
+		}
+		return new TailInputStream(raf);
+	}
+
 	private void skipHead(File file) throws IOException {
 		if (file.length() > fTail) {
 			fRaf.seek(file.length() - fTail);
@@ -47,7 +74,7 @@ public class TailInputStream extends InputStream {
 		if (len < 0) {
 			return len;
 		}
-		return b[0];
+		return b[0] & 0xFF;
 	}
 
 	@Override
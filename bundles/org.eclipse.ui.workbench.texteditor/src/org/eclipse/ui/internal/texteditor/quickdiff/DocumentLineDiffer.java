@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,12 @@ package org.eclipse.ui.internal.texteditor.quickdiff;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.core.runtime.Assert;
@@ -52,13 +54,10 @@ import org.eclipse.jface.text.source.ILineDiffInfo;
 import org.eclipse.jface.text.source.ILineDiffer;
 import org.eclipse.jface.text.source.ILineDifferExtension;
 import org.eclipse.jface.text.source.ILineDifferExtension2;
-import org.eclipse.jface.text.source.ILineRange;
-import org.eclipse.jface.text.source.LineRange;
 
 import org.eclipse.ui.internal.texteditor.NLSUtility;
 import org.eclipse.ui.internal.texteditor.TextEditorPlugin;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
-import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.IHashFunction;
 import org.eclipse.ui.progress.IProgressConstants;
@@ -66,9 +65,7 @@ import org.eclipse.ui.progress.IProgressConstants;
 import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
 import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
-import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.compare.rangedifferencer.RangeDifference;
-import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 
 /**
  * Standard implementation of <code>ILineDiffer</code> as an incremental diff engine. A
@@ -140,6 +137,12 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	/** The delay after which the initialization job is triggered. */
 	private static final int INITIALIZE_DELAY= 500;
 
+	/**
+	 * The maximal number of lines of either document that are re-diffed synchronously after a
+	 * change, larger windows are re-diffed by a {@link WindowJob} in the background.
+	 */
+	private static final int MAX_INCREMENTAL_LINES= 50;
+
 	/** Suspended state */
 	private static final int SUSPENDED= 0;
 	/** Initializing state */
@@ -181,6 +184,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private Job fInitializationJob;
 	/** Stores <code>DocumentEvents</code> while an initialization is going on. */
 	private List<DocumentEvent> fStoredEvents= new ArrayList<>();
+	/**
+	 * The jobs re-diffing the windows of large changes, by the change differences standing in for
+	 * the windows in <code>fDifferences</code> until the jobs are done.
+	 */
+	private final Map<QuickDiffRangeDifference, WindowJob> fWindowJobs= new IdentityHashMap<>();
 	/**
 	 * The differences between <code>fLeftDocument</code> and <code>fRightDocument</code>.
 	 * This is the model we work on.
@@ -488,6 +496,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	protected synchronized void initialize() {
 		// make new incoming changes go into the queue of stored events, plus signal we can't restore.
 		fState= INITIALIZING;
+		cancelWindowJobs();
 
 		if (fRightDocument == null)
 			return;
@@ -524,7 +533,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			public IStatus run(IProgressMonitor monitor) {
 
 				// 1:	wait for any previous job that was canceled to avoid job flooding
-				// It will return relatively quickly as RangeDifferencer supports canceling
+				// It will return relatively quickly as LineRangeDiffer supports canceling
 				if (oldJob != null)
 					try {
 						oldJob.join();
@@ -642,12 +651,16 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				IHashFunction hash= new DJBHashFunction();
 				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				List<QuickDiffRangeDifference> diffs;
+				try {
+					diffs= LineRangeDiffer.findRanges(fRangeDiffFactory, leftEquivalent, 0, leftEquivalent.getCount(),
+							rightEquivalent, 0, rightEquivalent.getCount(), monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -655,6 +668,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 						return Status.CANCEL_STATUS;
 
 					// set the new differences so we can operate on them
+					cancelWindowJobs();
 					fDifferences= diffs;
 				}
 
@@ -725,6 +739,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 					fInitializationJob= null;
 					fStoredEvents.clear();
 					fLastDifference= null;
+					cancelWindowJobs();
 					fDifferences.clear();
 				}
 			}
@@ -935,15 +950,8 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 		String insertion= event.getText();
 		int added= insertion == null ? 1 : modified.computeNumberOfLines(insertion) + 1;
-		// size: the size of the document change in lines
-
-		// put an upper bound to the delay we can afford
-		if (added > 50 || fNLines > 50) {
-			initialize();
-			return;
-		}
-
-		int size= Math.max(fNLines, added) + 1;
+		// size: the size of the document change in lines, the context of large changes is bounded
+		int size= Math.min(Math.max(fNLines, added), MAX_INCREMENTAL_LINES) + 1;
 		int lineDelta= added - fNLines;
 		int lastLine= fFirstLine + fNLines - 1;
 
@@ -1001,8 +1009,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		if (leftToRight)
 			leftLine += lineDelta;
 		int leftEndLine= leftLine - shiftAfter;
-		ILineRange leftRange= new LineRange(leftStartLine, leftEndLine - leftStartLine);
-		IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
 
 		// right (actual) document
 		int rightStartLine= consistentBefore.rightStart() + shiftBefore;
@@ -1010,30 +1016,28 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		if (!leftToRight)
 			rightLine += lineDelta;
 		int rightEndLine= rightLine - shiftAfter;
-		ILineRange rightRange= new LineRange(rightStartLine, rightEndLine - rightStartLine);
-		IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
-
-		// put an upper bound to the delay we can afford
-		if (leftLine - shiftAfter - leftStartLine > 50 || rightLine - shiftAfter - rightStartLine > 50) {
-			initialize();
-			return;
-		}
 
 		// debug
 //			System.out.println("compare window: "+size+"\n\n<" + left.get(leftRegion.getOffset(), leftRegion.getLength()) +  //$NON-NLS-1$//$NON-NLS-2$
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
-		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
-		if (diffs.isEmpty()) {
-			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
-		}
-
-
-		// shift the partial diffs to the absolute document positions
-		for (QuickDiffRangeDifference d : diffs) {
-			d.shiftLeft(leftStartLine);
-			d.shiftRight(rightStartLine);
+		// put an upper bound to the delay we can afford: large windows are marked as changed and
+		// re-diffed in the background, unless we already are in the background re-injecting events
+		List<QuickDiffRangeDifference> diffs;
+		WindowJob windowJob= null;
+		if (isInitialized() && (leftEndLine - leftStartLine > MAX_INCREMENTAL_LINES || rightEndLine - rightStartLine > MAX_INCREMENTAL_LINES)) {
+			QuickDiffRangeDifference window= new QuickDiffRangeDifference(RangeDifference.CHANGE, rightStartLine, rightEndLine - rightStartLine,
+					leftStartLine, leftEndLine - leftStartLine);
+			windowJob= new WindowJob(window, copyLines(left, leftStartLine, leftEndLine), copyLines(right, rightStartLine, rightEndLine));
+			diffs= new ArrayList<>();
+			diffs.add(window);
+		} else {
+			// compare
+			diffs= LineRangeDiffer.findRanges(fRangeDiffFactory, leftEquivalent, leftStartLine, leftEndLine,
+					rightEquivalent, rightStartLine, rightEndLine, null);
+			if (diffs.isEmpty()) {
+				diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, rightStartLine, 0, leftStartLine, 0));
+			}
 		}
 
 		// undo optimization shifting
@@ -1049,8 +1053,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		if (shiftAfter > 0) {
 			if (last.kind() == RangeDifference.NOCHANGE)
 				last.extendEnd(shiftAfter);
-			else
-				diffs.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, last.rightEnd(), shiftAfter, last.leftEnd(), shiftAfter));
+			else {
+				// the remaining diffs are shifted to the end of the last one
+				last= new QuickDiffRangeDifference(RangeDifference.NOCHANGE, last.rightEnd(), shiftAfter, last.leftEnd(), shiftAfter);
+				diffs.add(last);
+			}
 		}
 
 		// replace changed diff range
@@ -1075,9 +1082,10 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 			// replace until consistentAfter
 			while (current != consistentAfter) {
+				cancelWindowJob(current);
 				if (newIt.hasNext()) {
 					QuickDiffRangeDifference o= newIt.next();
-					if (!current.equals(o)) {
+					if (!current.equals(o) || windowJob != null && o == windowJob.fWindow) {
 						fRemoved.add(current);
 						fAdded.add(o);
 						changed= true;
@@ -1094,9 +1102,10 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 			// replace consistentAfter
 			Assert.isTrue(current == consistentAfter);
+			cancelWindowJob(current);
 			if (newIt.hasNext()) {
 				QuickDiffRangeDifference o= newIt.next();
-				if (!current.equals(o)) {
+				if (!current.equals(o) || windowJob != null && o == windowJob.fWindow) {
 					fRemoved.add(current);
 					fAdded.add(o);
 					changed= true;
@@ -1140,19 +1149,146 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		}
 
 		fLastDifference= null;
+
+		if (windowJob != null) {
+			fWindowJobs.put(windowJob.fWindow, windowJob);
+			windowJob.schedule();
+		}
+	}
+
+	/**
+	 * Copies lines of a document for diffing them in the background.
+	 *
+	 * @param document the document to copy the lines of
+	 * @param startLine the first line to copy
+	 * @param endLine the line after the last line to copy
+	 * @return a document with the lines, followed by an empty line if the lines do not end the
+	 *         document
+	 * @throws BadLocationException if <code>document</code> is modified concurrently
+	 */
+	private static IDocument copyLines(IDocument document, int startLine, int endLine) throws BadLocationException {
+		if (startLine == endLine)
+			return new Document();
+		int offset= document.getLineOffset(startLine);
+		int endOffset= endLine < document.getNumberOfLines() ? document.getLineOffset(endLine) : document.getLength();
+		return new Document(document.get(offset, endOffset - offset));
+	}
+
+	/**
+	 * Cancels the window job of a difference which is replaced or re-diffed.
+	 *
+	 * @param difference the difference
+	 */
+	private void cancelWindowJob(QuickDiffRangeDifference difference) {
+		if (fWindowJobs.isEmpty())
+			return;
+		WindowJob job= fWindowJobs.remove(difference);
+		if (job != null)
+			job.cancel();
 	}
 
 	/**
-	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
-	 * This is unsafe in general, but OK if used carefully.
-	 * Workaround for <a href="https://bugs.eclipse.org/483319">bug 483319</a>.
+	 * Cancels all window jobs, called whenever the differences are reset.
+	 */
+	private void cancelWindowJobs() {
+		for (WindowJob job : fWindowJobs.values())
+			job.cancel();
+		fWindowJobs.clear();
+	}
+
+	/**
+	 * Replaces the difference standing in for a window by the differences computed for the window.
+	 * Unchanged ranges at the bounds of the window are merged with the unchanged ranges around it.
 	 *
-	 * @param ranges the ranges, <em>must</em> be of type {@link QuickDiffRangeDifference}
-	 * @return the ranges as a modifiable list
+	 * @param window the difference standing in for the window
+	 * @param diffs the differences of the window, relative to its start
+	 * @return the annotation model event describing the replacement
+	 */
+	private AnnotationModelEvent replaceWindow(QuickDiffRangeDifference window, List<QuickDiffRangeDifference> diffs) {
+		List<QuickDiffRangeDifference> removed= new ArrayList<>();
+		synchronized (fDifferences) {
+			int index= 0;
+			while (fDifferences.get(index) != window)
+				index++;
+
+			for (QuickDiffRangeDifference d : diffs) {
+				d.shiftLeft(window.leftStart());
+				d.shiftRight(window.rightStart());
+			}
+
+			int from= index;
+			int to= index + 1;
+			QuickDiffRangeDifference first= diffs.get(0);
+			if (from > 0 && first.kind() == RangeDifference.NOCHANGE && fDifferences.get(from - 1).kind() == RangeDifference.NOCHANGE)
+				first.extendStart(-fDifferences.get(--from).leftLength());
+			QuickDiffRangeDifference last= diffs.get(diffs.size() - 1);
+			if (to < fDifferences.size() && last.kind() == RangeDifference.NOCHANGE && fDifferences.get(to).kind() == RangeDifference.NOCHANGE)
+				last.extendEnd(fDifferences.get(to++).leftLength());
+
+			List<QuickDiffRangeDifference> replaced= fDifferences.subList(from, to);
+			removed.addAll(replaced);
+			replaced.clear();
+			replaced.addAll(diffs);
+		}
+		fLastDifference= null;
+
+		AnnotationModelEvent event= new AnnotationModelEvent(this, false);
+		for (QuickDiffRangeDifference rd : diffs) {
+			event.annotationAdded(rd.getDiffRegion(fDifferences, fLeftDocument));
+		}
+		for (QuickDiffRangeDifference rd : removed) {
+			event.annotationRemoved(rd.getDiffRegion(fDifferences, fLeftDocument));
+		}
+		return event;
+	}
+
+	/**
+	 * Re-diffs the window of a large change in the background, on copies of the lines of the
+	 * window, and replaces the change difference standing in for the window by the result.
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static ArrayList<QuickDiffRangeDifference> asQuickDiffRangeDifference(RangeDifference[] ranges) {
-		return new ArrayList(Arrays.asList(ranges));
+	private final class WindowJob extends Job {
+
+		/** The change difference standing in for the window */
+		final QuickDiffRangeDifference fWindow;
+		/** The copy of the lines of the window in the left document */
+		private final IDocument fLeftLines;
+		/** The copy of the lines of the window in the right document */
+		private final IDocument fRightLines;
+
+		WindowJob(QuickDiffRangeDifference window, IDocument leftLines, IDocument rightLines) {
+			super(QuickDiffMessages.quickdiff_initialize);
+			fWindow= window;
+			fLeftLines= leftLines;
+			fRightLines= rightLines;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+			setProperty(IProgressConstants.NO_IMMEDIATE_ERROR_PROMPT_PROPERTY, Boolean.TRUE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IHashFunction hash= new DJBHashFunction();
+			DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(fLeftLines, hash);
+			DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(fRightLines, hash);
+			List<QuickDiffRangeDifference> diffs;
+			try {
+				diffs= LineRangeDiffer.findRanges(fRangeDiffFactory, leftEquivalent, 0, fWindow.leftLength(),
+						rightEquivalent, 0, fWindow.rightLength(), monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+
+			AnnotationModelEvent event;
+			synchronized (DocumentLineDiffer.this) {
+				// the window was re-diffed or replaced in the meantime
+				if (fWindowJobs.get(fWindow) != this || monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				fWindowJobs.remove(fWindow);
+				event= replaceWindow(fWindow, diffs);
+			}
+			fireModelChanged(event);
+			return Status.OK_STATUS;
+		}
 	}
 
 	/**
@@ -1457,6 +1593,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			fRightDocument= null;
 			fRightEquivalent= null;
 
+			cancelWindowJobs();
 			fDifferences.clear();
 		}
 
@@ -1563,6 +1700,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 			fLastDifference= null;
 			fStoredEvents.clear();
+			cancelWindowJobs();
 			fDifferences.clear();
 
 			fState= SUSPENDED;
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Computes the line differences between ranges of two documents using the line hashes of their
+ * {@link DocumentEquivalenceClass}es.
+ * <p>
+ * The lines common to the start and the end of both ranges are matched by comparing their hashes,
+ * so an edit in an otherwise unchanged range is found without running the
+ * {@link RangeDifferencer}. Large ranges are split into chunks at the lines which occur exactly
+ * once in both ranges and in the same order, and the chunks are compared one after the other,
+ * reporting progress and checking for cancellation in between.
+ * </p>
+ * <p>
+ * The differences are given in document lines and cover both ranges completely, adjacent
+ * differences of the same kind are merged.
+ * </p>
+ */
+public final class LineRangeDiffer {
+
+	/**
+	 * The number of lines of both ranges up to which the ranges are compared in one piece.
+	 */
+	private static final int CHUNK_SIZE= 2000;
+
+	private final AbstractRangeDifferenceFactory fFactory;
+
+	private final DocumentEquivalenceClass fLeft;
+
+	private final DocumentEquivalenceClass fRight;
+
+	private final List<QuickDiffRangeDifference> fDifferences= new ArrayList<>();
+
+	private LineRangeDiffer(AbstractRangeDifferenceFactory factory, DocumentEquivalenceClass left, DocumentEquivalenceClass right) {
+		fFactory= factory;
+		fLeft= left;
+		fRight= right;
+	}
+
+	/**
+	 * Computes the differences between a range of the left (reference) document and a range of the
+	 * right (actual) document.
+	 *
+	 * @param factory the factory used to create the differences of the {@link RangeDifferencer}
+	 * @param left the equivalence class of the left document
+	 * @param leftStart the first line of the left range
+	 * @param leftEnd the line after the left range
+	 * @param right the equivalence class of the right document
+	 * @param rightStart the first line of the right range
+	 * @param rightEnd the line after the right range
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @return the differences, empty if both ranges are empty
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static List<QuickDiffRangeDifference> findRanges(AbstractRangeDifferenceFactory factory, DocumentEquivalenceClass left, int leftStart, int leftEnd,
+			DocumentEquivalenceClass right, int rightStart, int rightEnd, IProgressMonitor monitor) {
+		LineRangeDiffer differ= new LineRangeDiffer(factory, left, right);
+		SubMonitor progress= SubMonitor.convert(monitor, leftEnd - leftStart + rightEnd - rightStart);
+		differ.diff(leftStart, leftEnd, rightStart, rightEnd, true, progress);
+		return differ.fDifferences;
+	}
+
+	private void diff(int leftStart, int leftEnd, int rightStart, int rightEnd, boolean split, SubMonitor progress) {
+		if (progress.isCanceled())
+			throw new OperationCanceledException();
+
+		// match the common lines at the start and the end
+		int prefix= 0;
+		int max= Math.min(leftEnd - leftStart, rightEnd - rightStart);
+		while (prefix < max && fLeft.getHash(leftStart + prefix).equals(fRight.getHash(rightStart + prefix)))
+			prefix++;
+		int suffix= 0;
+		while (suffix < max - prefix && fLeft.getHash(leftEnd - 1 - suffix).equals(fRight.getHash(rightEnd - 1 - suffix)))
+			suffix++;
+
+		add(RangeDifference.NOCHANGE, rightStart, prefix, leftStart, prefix);
+		progress.worked(2 * prefix);
+		leftStart+= prefix;
+		rightStart+= prefix;
+		leftEnd-= suffix;
+		rightEnd-= suffix;
+
+		int leftLength= leftEnd - leftStart;
+		int rightLength= rightEnd - rightStart;
+		if (leftLength == 0 || rightLength == 0) {
+			add(RangeDifference.CHANGE, rightStart, rightLength, leftStart, leftLength);
+			progress.worked(leftLength + rightLength);
+		} else if (!split || leftLength + rightLength <= CHUNK_SIZE || !diffChunks(leftStart, leftEnd, rightStart, rightEnd, progress)) {
+			// the range differencer stops early when canceled, without throwing
+			RangeDifference[] ranges= RangeDifferencer.findRanges(fFactory, progress.split(leftLength + rightLength),
+					new DocEquivalenceComparator(fLeft, new LineRange(leftStart, leftLength)),
+					new DocEquivalenceComparator(fRight, new LineRange(rightStart, rightLength)));
+			if (progress.isCanceled())
+				throw new OperationCanceledException();
+			for (RangeDifference range : ranges)
+				add(range.kind(), rightStart + range.rightStart(), range.rightLength(), leftStart + range.leftStart(), range.leftLength());
+		}
+
+		add(RangeDifference.NOCHANGE, rightEnd, suffix, leftEnd, suffix);
+		progress.worked(2 * suffix);
+	}
+
+	/**
+	 * Splits the ranges at the longest sequence of lines that occur exactly once in both ranges
+	 * and compares the chunks between them.
+	 *
+	 * @return <code>false</code> if there are no such lines
+	 */
+	private boolean diffChunks(int leftStart, int leftEnd, int rightStart, int rightEnd, SubMonitor progress) {
+		// the number of occurrences of every hash in the left and the right range, and its left line
+		Map<Hash, int[]> occurrences= new HashMap<>();
+		for (int line= leftStart; line < leftEnd; line++) {
+			int[] occurrence= occurrences.computeIfAbsent(fLeft.getHash(line), h -> new int[3]);
+			occurrence[0]++;
+			occurrence[1]= line;
+		}
+		for (int line= rightStart; line < rightEnd; line++) {
+			int[] occurrence= occurrences.get(fRight.getHash(line));
+			if (occurrence != null)
+				occurrence[2]++;
+		}
+
+		// the unique lines, ordered by their right line
+		int count= 0;
+		int[] leftLines= new int[Math.min(leftEnd - leftStart, rightEnd - rightStart)];
+		int[] rightLines= new int[leftLines.length];
+		for (int line= rightStart; line < rightEnd && count < leftLines.length; line++) {
+			int[] occurrence= occurrences.get(fRight.getHash(line));
+			if (occurrence != null && occurrence[0] == 1 && occurrence[2] == 1) {
+				leftLines[count]= occurrence[1];
+				rightLines[count]= line;
+				count++;
+			}
+		}
+		if (count == 0)
+			return false;
+
+		// the longest increasing sequence of their left lines
+		int[] tails= new int[count]; // index of the smallest tail of the sequences of every length
+		int[] previous= new int[count];
+		int length= 0;
+		for (int i= 0; i < count; i++) {
+			int low= 0;
+			int high= length;
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (leftLines[tails[middle]] < leftLines[i])
+					low= middle + 1;
+				else
+					high= middle;
+			}
+			previous[i]= low > 0 ? tails[low - 1] : -1;
+			tails[low]= i;
+			if (low == length)
+				length++;
+		}
+		int[] anchors= new int[length];
+		for (int i= length, anchor= tails[length - 1]; i > 0; anchor= previous[anchor])
+			anchors[--i]= anchor;
+
+		int left= leftStart;
+		int right= rightStart;
+		for (int anchor : anchors) {
+			diff(left, leftLines[anchor], right, rightLines[anchor], false, progress);
+			add(RangeDifference.NOCHANGE, rightLines[anchor], 1, leftLines[anchor], 1);
+			progress.worked(2);
+			left= leftLines[anchor] + 1;
+			right= rightLines[anchor] + 1;
+		}
+		diff(left, leftEnd, right, rightEnd, false, progress);
+		return true;
+	}
+
+	/**
+	 * Appends a difference, merging it into the last difference if that is of the same kind.
+	 */
+	private void add(int kind, int rightStart, int rightLength, int leftStart, int leftLength) {
+		if (rightLength == 0 && leftLength == 0)
+			return;
+		if (!fDifferences.isEmpty()) {
+			QuickDiffRangeDifference last= fDifferences.get(fDifferences.size() - 1);
+			if (last.kind() == kind) {
+				fDifferences.set(fDifferences.size() - 1, new QuickDiffRangeDifference(kind, last.rightStart(),
+						last.rightLength() + rightLength, last.leftStart(), last.leftLength() + leftLength));
+				return;
+			}
+		}
+		fDifferences.add(new QuickDiffRangeDifference(kind, rightStart, rightLength, leftStart, leftLength));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -82,6 +82,10 @@ public interface IPreferenceConstants {
 	// Identifier for enabled decorators
 	String ENABLED_DECORATORS = "ENABLED_DECORATORS"; //$NON-NLS-1$
 
+	// Boolean: true = decorate elements whose lightweight decorators are all
+	// thread safe in parallel jobs
+	String PARALLEL_DECORATION = "PARALLEL_DECORATION"; //$NON-NLS-1$
+
 	// Boolean: true = keep cycle part dialog open when keys released
 	String STICKY_CYCLE = "STICKY_CYCLE"; //$NON-NLS-1$
 
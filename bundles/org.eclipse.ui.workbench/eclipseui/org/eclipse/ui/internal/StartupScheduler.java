@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.commands.internal.util.Tracing;
+import org.eclipse.e4.ui.internal.workbench.StartupTracer;
+import org.eclipse.ui.internal.StartupThreading.StartupRunnable;
+import org.eclipse.ui.internal.misc.Policy;
+
+/**
+ * Runs the phases of the workbench startup in the order given by their
+ * dependencies. Background phases run concurrently on a small pool of threads
+ * as soon as the phases they depend on are done. Display phases run on the
+ * display thread, one after the other, once the phases they depend on are
+ * done.
+ * <p>
+ * Background phases must not touch SWT or the workbench model, they are meant
+ * to do work like reading the extension registry ahead of the display phases
+ * which need it. A failing background phase is logged, the phases depending on
+ * it run nevertheless.
+ * </p>
+ * <p>
+ * The start and end of every phase are recorded, they are traced when
+ * {@link Policy#DEBUG_STARTUP} is on. Every phase is also a span of the
+ * {@link StartupTracer}.
+ * </p>
+ */
+public final class StartupScheduler {
+
+	/**
+	 * A phase of the startup.
+	 */
+	public static final class Phase {
+
+		private final String name;
+
+		private final boolean background;
+
+		private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+		private long startTime;
+
+		private long endTime;
+
+		private Phase(String name, boolean background) {
+			this.name = name;
+			this.background = background;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isBackground() {
+			return background;
+		}
+
+		/**
+		 * @return the {@link System#nanoTime()} the phase started at, only valid
+		 *         when the phase is done
+		 */
+		public long getStartTime() {
+			return startTime;
+		}
+
+		/**
+		 * @return the {@link System#nanoTime()} the phase ended at, only valid when
+		 *         the phase is done
+		 */
+		public long getEndTime() {
+			return endTime;
+		}
+	}
+
+	private static final int MAX_THREADS = 4;
+
+	private final List<Phase> phases = new ArrayList<>();
+
+	private ExecutorService executor;
+
+	/**
+	 * Schedules a phase to run on a background thread once the given phases are
+	 * done.
+	 *
+	 * @param name         the name of the phase
+	 * @param runnable     the work of the phase
+	 * @param dependencies the phases which have to be done before
+	 * @return the phase
+	 */
+	public synchronized Phase runInBackground(String name, Runnable runnable, Phase... dependencies) {
+		Phase phase = new Phase(name, true);
+		phases.add(phase);
+		if (executor == null) {
+			executor = createExecutor();
+		}
+		CompletableFuture.allOf(getDone(dependencies)).thenRunAsync(() -> {
+			phase.startTime = System.nanoTime();
+			try (StartupTracer.Span span = StartupTracer.span(name)) {
+				runnable.run();
+			} catch (RuntimeException | LinkageError e) {
+				WorkbenchPlugin.log("Startup phase failed: " + name, e); //$NON-NLS-1$
+			} finally {
+				phase.endTime = System.nanoTime();
+				phase.done.complete(null);
+			}
+		}, executor);
+		return phase;
+	}
+
+	/**
+	 * Runs a phase on the display thread once the given phases are done. Waits
+	 * until the phase is done.
+	 *
+	 * @param name         the name of the phase
+	 * @param runnable     the work of the phase
+	 * @param dependencies the phases which have to be done before
+	 * @return the phase
+	 * @throws RuntimeException if the phase failed
+	 */
+	public Phase runOnDisplay(String name, StartupRunnable runnable, Phase... dependencies) {
+		Phase phase = new Phase(name, false);
+		synchronized (this) {
+			phases.add(phase);
+		}
+		CompletableFuture.allOf(getDone(dependencies)).join();
+		phase.startTime = System.nanoTime();
+		try (StartupTracer.Span span = StartupTracer.span(name)) {
+			StartupThreading.runWithoutExceptions(runnable);
+		} finally {
+			phase.endTime = System.nanoTime();
+			phase.done.complete(null);
+		}
+		return phase;
+	}
+
+	/**
+	 * Waits until all phases are done, releases the background threads and traces
+	 * the timings of the phases.
+	 *
+	 * @return the phases in the order they were scheduled
+	 */
+	public List<Phase> join() {
+		List<Phase> scheduled;
+		synchronized (this) {
+			scheduled = new ArrayList<>(phases);
+		}
+		CompletableFuture.allOf(getDone(scheduled.toArray(new Phase[scheduled.size()]))).join();
+		synchronized (this) {
+			if (executor != null) {
+				executor.shutdown();
+				executor = null;
+			}
+		}
+		if (Policy.DEBUG_STARTUP) {
+			for (Phase phase : scheduled) {
+				Tracing.printTrace("STARTUP", phase.name + ": " //$NON-NLS-1$ //$NON-NLS-2$
+						+ (phase.endTime - phase.startTime) / 1000000 + "ms" //$NON-NLS-1$
+						+ (phase.background ? " (background)" : "")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return scheduled;
+	}
+
+	private static CompletableFuture<?>[] getDone(Phase[] dependencies) {
+		CompletableFuture<?>[] done = new CompletableFuture<?>[dependencies.length];
+		for (int i = 0; i < dependencies.length; i++) {
+			done[i] = dependencies[i].done;
+		}
+		return done;
+	}
+
+	private static ExecutorService createExecutor() {
+		int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "Workbench Startup " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		// the threads end even if a failing display phase prevents the join
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -90,6 +90,7 @@ import org.eclipse.e4.core.di.InjectionException;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.StartupTracer;
 import org.eclipse.e4.ui.internal.workbench.renderers.swt.IUpdateService;
 import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
 import org.eclipse.e4.ui.internal.workbench.swt.IEventLoopAdvisor;
@@ -201,6 +202,7 @@ import org.eclipse.ui.contexts.IContextService;
 import org.eclipse.ui.contexts.IWorkbenchContextSupport;
 import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.help.IWorkbenchHelpSystem;
+import org.eclipse.ui.internal.StartupScheduler.Phase;
 import org.eclipse.ui.internal.StartupThreading.StartupRunnable;
 import org.eclipse.ui.internal.WorkbenchWindow.WWinPartServiceSaveHandler;
 import org.eclipse.ui.internal.actions.CommandAction;
@@ -2306,6 +2308,18 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 	 */
 	private void initializeDefaultServices() {
 
+		// read the extension registry in the background while the services are created
+		StartupScheduler scheduler = new StartupScheduler();
+		Phase commandExtensions = prefetchExtensions(scheduler, IWorkbenchRegistryConstants.EXTENSION_COMMANDS,
+				IWorkbenchRegistryConstants.EXTENSION_ACTION_DEFINITIONS);
+		Phase bindingExtensions = prefetchExtensions(scheduler, IWorkbenchRegistryConstants.EXTENSION_BINDINGS,
+				IWorkbenchRegistryConstants.EXTENSION_ACCELERATOR_CONFIGURATIONS);
+		Phase commandImageExtensions = prefetchExtensions(scheduler,
+				IWorkbenchRegistryConstants.EXTENSION_COMMAND_IMAGES);
+		Phase menuExtensions = prefetchExtensions(scheduler, IWorkbenchRegistryConstants.EXTENSION_MENUS);
+		Phase serviceExtensions = prefetchExtensions(scheduler, PlatformUI.PLUGIN_ID + ".services"); //$NON-NLS-1$
+		Phase handlerExtensions = prefetchExtensions(scheduler, IWorkbenchRegistryConstants.EXTENSION_HANDLERS);
+
 		final IContributionService contributionService = new ContributionService(getAdvisor());
 		serviceLocator.registerService(IContributionService.class, contributionService);
 
@@ -2337,14 +2351,14 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		});
 
 		final CommandService[] commandService = new CommandService[1];
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
+		scheduler.runOnDisplay("Read commands", new StartupRunnable() { //$NON-NLS-1$
 
 			@Override
 			public void runWithException() {
 				commandService[0] = initializeCommandService(e4Context);
 
 			}
-		});
+		}, commandExtensions);
 
 		StartupThreading.runWithoutExceptions(new StartupRunnable() {
 
@@ -2380,7 +2394,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 
 		final IBindingService[] bindingService = new BindingService[1];
 
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
+		scheduler.runOnDisplay("Read bindings", new StartupRunnable() { //$NON-NLS-1$
 
 			@Override
 			public void runWithException() {
@@ -2388,14 +2402,20 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 				bindingManager = e4Context.get(BindingManager.class);
 				bindingService[0] = ContextInjectionFactory.make(BindingService.class, e4Context);
 			}
-		});
+		}, bindingExtensions);
 
 		// bindingService[0].readRegistryAndPreferences(commandService[0]);
 		serviceLocator.registerService(IBindingService.class, bindingService[0]);
 
 		final CommandImageManager commandImageManager = new CommandImageManager();
 		final CommandImageService commandImageService = new CommandImageService(commandImageManager, commandService[0]);
-		commandImageService.readRegistry();
+		scheduler.runOnDisplay("Read command images", new StartupRunnable() { //$NON-NLS-1$
+
+			@Override
+			public void runWithException() {
+				commandImageService.readRegistry();
+			}
+		}, commandImageExtensions);
 		serviceLocator.registerService(ICommandImageService.class, commandImageService);
 
 		final WorkbenchMenuService menuService = new WorkbenchMenuService(serviceLocator, e4Context);
@@ -2404,13 +2424,13 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		// the service must be registered before it is initialized - its
 		// initialization uses the service locator to address a dependency on
 		// the menu service
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
+		scheduler.runOnDisplay("Read menus", new StartupRunnable() { //$NON-NLS-1$
 
 			@Override
 			public void runWithException() {
 				menuService.readRegistry();
 			}
-		});
+		}, menuExtensions);
 
 		/*
 		 * Phase 2 of the initialization of commands. The source providers that the
@@ -2420,7 +2440,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		 */
 		final SourceProviderService sourceProviderService = new SourceProviderService(serviceLocator);
 		serviceLocator.registerService(ISourceProviderService.class, sourceProviderService);
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
+		scheduler.runOnDisplay("Read source providers", new StartupRunnable() { //$NON-NLS-1$
 
 			@Override
 			public void runWithException() {
@@ -2434,7 +2454,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 					}
 				}
 			}
-		});
+		}, serviceExtensions);
 
 		StartupThreading.runWithoutExceptions(new StartupRunnable() {
 
@@ -2458,7 +2478,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 		 * to access commands through legacy APIs should work.
 		 */
 		final IHandlerService[] handlerService = new IHandlerService[1];
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
+		scheduler.runOnDisplay("Read handlers", new StartupRunnable() { //$NON-NLS-1$
 
 			@Override
 			public void runWithException() {
@@ -2466,7 +2486,7 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 				e4Context.set(IHandlerService.class, handlerService[0]);
 				handlerService[0].readRegistry();
 			}
-		});
+		}, handlerExtensions);
 		workbenchContextSupport = new WorkbenchContextSupport(this, contextManager);
 		initializeCommandResolver();
 
@@ -2481,6 +2501,35 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 				getDisplay().addFilter(SWT.MouseDown, backForwardListener);
 			}
 		});
+		scheduler.join();
+	}
+
+	/**
+	 * Schedules a background phase which loads the configuration elements of the
+	 * given extension points, so that the display phases reading them do not have
+	 * to wait for the extension registry.
+	 *
+	 * @return the phase
+	 */
+	private static Phase prefetchExtensions(StartupScheduler scheduler, String... extensionPoints) {
+		return scheduler.runInBackground("Prefetch " + String.join(", ", extensionPoints), () -> { //$NON-NLS-1$ //$NON-NLS-2$
+			IExtensionRegistry registry = Platform.getExtensionRegistry();
+			for (String extensionPoint : extensionPoints) {
+				for (IConfigurationElement element : registry.getConfigurationElementsFor(extensionPoint)) {
+					loadConfigurationElement(element);
+				}
+			}
+		});
+	}
+
+	private static void loadConfigurationElement(IConfigurationElement element) {
+		// translates the attributes, loading the resource bundles of the contributors
+		for (String name : element.getAttributeNames()) {
+			element.getAttribute(name);
+		}
+		for (IConfigurationElement child : element.getChildren()) {
+			loadConfigurationElement(child);
+		}
 	}
 
 	private Listener createBackForwardListener() {
@@ -2874,7 +2923,9 @@ public final class Workbench extends EventManager implements IWorkbench, org.ecl
 			final boolean[] initOK = new boolean[1];
 
 			// initialize workbench and restore or open one window
-			initOK[0] = init();
+			try (StartupTracer.Span span = StartupTracer.span("Workbench.init")) { //$NON-NLS-1$
+				initOK[0] = init();
+			}
 
 			if (initOK[0] && runEventLoop) {
 				// Same registration as in E4Workbench
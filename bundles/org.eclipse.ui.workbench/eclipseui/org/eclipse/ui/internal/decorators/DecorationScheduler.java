@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,16 +16,21 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -43,7 +48,9 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.IPreferenceConstants;
 import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -108,6 +115,18 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * asynchronously by the <code>decorationJob</code> and enqueued for UI-update,
  * and finally, the <code>updateJob</code> fires events which cause the viewers
  * to update the UI using the now available decoration results.
+ *
+ * <p>
+ * If the {@link IPreferenceConstants#PARALLEL_DECORATION} preference is set,
+ * the <code>decorationJob</code> only looks up the decorators of the elements
+ * and hands the elements whose decorators are all
+ * {@link LightweightDecoratorDefinition#isThreadSafe() thread safe} to worker
+ * jobs sharing a queue; elements with other decorators are still decorated by
+ * the <code>decorationJob</code> itself. Every element is decorated by a single
+ * thread with its own <code>DecorationBuilder</code> for each context. The
+ * workers schedule the <code>updateJob</code> whenever they have decorated a
+ * batch of elements, so that labels are updated while the rest is calculated.
+ * </p>
  */
 public class DecorationScheduler {
 
@@ -133,6 +152,12 @@ public class DecorationScheduler {
 
 	private final Job decorationJob;
 
+	/**
+	 * Number of references removed from <code>awaitingDecoration</code> whose
+	 * decoration has not been calculated yet.
+	 */
+	private final AtomicInteger decorating = new AtomicInteger();
+
 	// Notifies about updateJob or clearJob finishing
 	private final class JobChangeListener extends JobChangeAdapter {
 
@@ -169,6 +194,18 @@ public class DecorationScheduler {
 	/** Amount of time to delay the update notification when max reached. */
 	private static final int UPDATE_DELAY = 100;
 
+	/** Maximum number of worker jobs for parallel decoration. */
+	private static final int MAX_DECORATION_WORKERS = 4;
+
+	/** Number of queued elements for which another worker job is started. */
+	private static final int ELEMENTS_PER_WORKER = 50;
+
+	/**
+	 * Number of elements decorated by a worker job before it schedules the update
+	 * job.
+	 */
+	private static final int UPDATE_BATCH_SIZE = 200;
+
 	/**
 	 * Flag which is used to indicate that the update job is running in the UI
 	 * thread
@@ -331,7 +368,8 @@ public class DecorationScheduler {
 	}
 
 	/**
-	 * Get the next resource to be decorated.
+	 * Get the next resource to be decorated. The reference has to be passed to
+	 * {@link #decorate(DecorationReference, LightweightDecoratorDefinition[])}.
 	 *
 	 * @return IResource
 	 */
@@ -343,9 +381,193 @@ public class DecorationScheduler {
 		Entry<Object, DecorationReference> entry = iterator.next();
 		iterator.remove();
 		DecorationReference reference = entry.getValue();
+		decorating.incrementAndGet();
 		return reference;
 	}
 
+	/**
+	 * Get the next resource to be decorated after checking for cancellation. The
+	 * monitor is checked before the reference is removed, so that a canceled job
+	 * does not drop it.
+	 *
+	 * @param monitor the monitor to consume one unit of work from
+	 * @return the reference or <code>null</code> if there is none
+	 */
+	private DecorationReference removeNextReference(SubMonitor monitor) {
+		monitor.split(1);
+		return removeNextReference();
+	}
+
+	/**
+	 * Calculate the decorations of the reference for all of its contexts and cache
+	 * the results.
+	 *
+	 * @param reference  the reference removed from <code>awaitingDecoration</code>
+	 * @param decorators the decorators to apply, or <code>null</code> to look them
+	 *                   up
+	 * @return <code>true</code> if a result has been cached
+	 */
+	private boolean decorate(DecorationReference reference, LightweightDecoratorDefinition[] decorators) {
+		try {
+			boolean queued = false;
+			Object element = reference.getElement();
+			boolean force = reference.shouldForceUpdate();
+			Collection<IDecorationContext> contexts = reference.getContexts();
+			for (IDecorationContext context : contexts) {
+				queued |= queue(element, force, context, decorators);
+			}
+			return queued;
+		} finally {
+			decorating.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Ensure that a result is cached for the given element and context
+	 *
+	 * @param element    the elements
+	 * @param force      whether an update should be forced
+	 * @param context    the decoration context
+	 * @param decorators the decorators to apply, or <code>null</code> to look them
+	 *                   up
+	 */
+	private boolean queue(Object element, boolean force, IDecorationContext context,
+			LightweightDecoratorDefinition[] decorators) {
+		DecorationBuilder cacheResult = new DecorationBuilder(context);
+		// Calculate the decoration
+		if (decorators == null) {
+			decoratorManager.getLightweightManager().getDecorations(element, cacheResult);
+		} else {
+			decoratorManager.getLightweightManager().getDecorations(element, cacheResult, decorators);
+		}
+
+		// If we should update regardless then put a result
+		// anyways
+		if (cacheResult.hasValue() || force) {
+
+			// Synchronize on the result lock as we want to
+			// be sure that we do not try and decorate during
+			// label update servicing.
+			// Note: resultCache and pendingUpdate modifications
+			// must be done atomically.
+
+			// Add the decoration even if it's empty in
+			// order to indicate that the decoration is
+			// ready
+
+			internalPutResult(element, context, cacheResult.createResult());
+
+			// Add an update for only the original element
+			// to
+			// prevent multiple updates and clear the cache.
+			synchronized (pendingUpdate) {
+				pendingUpdate.add(element);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Return whether elements are decorated by parallel worker jobs.
+	 */
+	private static boolean isParallelDecorationEnabled() {
+		WorkbenchPlugin plugin = WorkbenchPlugin.getDefault();
+		return plugin != null && plugin.getPreferenceStore().getBoolean(IPreferenceConstants.PARALLEL_DECORATION);
+	}
+
+	/**
+	 * Decorate the elements in <code>awaitingDecoration</code>, handing those with
+	 * thread safe decorators to worker jobs.
+	 *
+	 * @return <code>true</code> if any element has been decorated
+	 */
+	private boolean decorateInParallel(SubMonitor subMonitor) {
+		Queue<Runnable> work = new ConcurrentLinkedQueue<>();
+		List<Job> workers = new ArrayList<>();
+		int maxWorkers = Math.min(MAX_DECORATION_WORKERS, Runtime.getRuntime().availableProcessors() - 1);
+		int parallelCount = 0;
+		boolean queued = false;
+		try {
+			DecorationReference reference;
+			while ((reference = removeNextReference(subMonitor)) != null) {
+				queued = true;
+				// The lookup caches of the decorator manager are not thread safe
+				LightweightDecoratorDefinition[] decorators = decoratorManager.getLightweightManager()
+						.getDecoratorsFor(reference.getElement());
+				if (isThreadSafe(decorators)) {
+					DecorationReference parallelReference = reference;
+					work.add(() -> decorate(parallelReference, decorators));
+					if (++parallelCount > workers.size() * ELEMENTS_PER_WORKER && workers.size() < maxWorkers) {
+						Job worker = createDecorationWorker(work);
+						workers.add(worker);
+						worker.schedule();
+					}
+				} else {
+					decorate(reference, decorators);
+				}
+				subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
+			}
+		} finally {
+			// Help the workers, then wait for the elements they are decorating.
+			// The elements handed to the workers are decorated even if the job
+			// is canceled, so that none of them is lost.
+			Runnable next;
+			while ((next = work.poll()) != null) {
+				next.run();
+			}
+			for (Job worker : workers) {
+				worker.cancel();
+			}
+			for (Job worker : workers) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		return queued;
+	}
+
+	private static boolean isThreadSafe(LightweightDecoratorDefinition[] decorators) {
+		for (LightweightDecoratorDefinition decorator : decorators) {
+			if (!decorator.isThreadSafe()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create a job decorating the elements in the given queue until it is empty.
+	 */
+	private Job createDecorationWorker(Queue<Runnable> work) {
+		Job worker = new Job(WorkbenchMessages.DecorationScheduler_CalculationJobName) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				int decorated = 0;
+				Runnable next;
+				while (!monitor.isCanceled() && (next = work.poll()) != null) {
+					next.run();
+					if (++decorated % UPDATE_BATCH_SIZE == 0) {
+						scheduleUpdateJob();
+					}
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return DecoratorManager.FAMILY_DECORATE == family;
+			}
+		};
+		worker.setSystem(true);
+		worker.setPriority(Job.DECORATE);
+		return worker;
+	}
+
 	/**
 	 * Create the Thread used for running decoration.
 	 */
@@ -377,19 +599,17 @@ public class DecorationScheduler {
 				DecorationReference reference;
 
 				boolean queued = false;
-				// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
-				while ((reference = removeNextReference()) != null) {
-					subMonitor.split(1);
-					queued = true;
-					Object element = reference.getElement();
-					boolean force = reference.shouldForceUpdate();
-					Collection<IDecorationContext> contexts = reference.getContexts();
-					for (IDecorationContext context : contexts) {
-						queued |= queue(element, force, context);
+				if (isParallelDecorationEnabled()) {
+					queued = decorateInParallel(subMonitor);
+				} else {
+					// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
+					while ((reference = removeNextReference(subMonitor)) != null) {
+						queued = true;
+						decorate(reference, null);
+						subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
+						// Only notify listeners when we have exhausted the
+						// queue of decoration requests.
 					}
-					subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
-					// Only notify listeners when we have exhausted the
-					// queue of decoration requests.
 				}
 				if (queued) {
 					scheduleUpdateJob();
@@ -397,45 +617,6 @@ public class DecorationScheduler {
 				return Status.OK_STATUS;
 			}
 
-			/**
-			 * Ensure that a result is cached for the given element and context
-			 *
-			 * @param element the elements
-			 * @param force   whether an update should be forced
-			 * @param context the decoration context
-			 */
-			private boolean queue(Object element, boolean force, IDecorationContext context) {
-				DecorationBuilder cacheResult = new DecorationBuilder(context);
-				// Calculate the decoration
-				decoratorManager.getLightweightManager().getDecorations(element, cacheResult);
-
-				// If we should update regardless then put a result
-				// anyways
-				if (cacheResult.hasValue() || force) {
-
-					// Synchronize on the result lock as we want to
-					// be sure that we do not try and decorate during
-					// label update servicing.
-					// Note: resultCache and pendingUpdate modifications
-					// must be done atomically.
-
-					// Add the decoration even if it's empty in
-					// order to indicate that the decoration is
-					// ready
-
-					internalPutResult(element, context, cacheResult.createResult());
-
-					// Add an update for only the original element
-					// to
-					// prevent multiple updates and clear the cache.
-					synchronized (pendingUpdate) {
-						pendingUpdate.add(element);
-					}
-					return true;
-				}
-				return false;
-			}
-
 			@Override
 			public boolean belongsTo(Object family) {
 				return DecoratorManager.FAMILY_DECORATE == family;
@@ -587,7 +768,7 @@ public class DecorationScheduler {
 				// Other decoration requests may have occurred due to
 				// updates or we may have timed out updating listeners.
 				// Only clear the results if there are none pending.
-				if (awaitingDecoration.isEmpty()) {
+				if (awaitingDecoration.isEmpty() && decorating.get() == 0) {
 					resultCache.clear();
 				}
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,8 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 
 	private static final String ATT_QUADRANT = "quadrant"; //$NON-NLS-1$
 
+	private static final String ATT_THREAD_SAFE = "threadSafe"; //$NON-NLS-1$
+
 	// Constants for quadrants
 	private static final String TOP_LEFT_STRING = "TOP_LEFT"; //$NON-NLS-1$
 
@@ -103,7 +105,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	 *
 	 * @return Returns a ILabelDecorator
 	 */
-	protected ILightweightLabelDecorator internalGetDecorator() throws CoreException {
+	protected synchronized ILightweightLabelDecorator internalGetDecorator() throws CoreException {
 		if (labelProviderCreationFailed) {
 			return null;
 		}
@@ -162,6 +164,17 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 		return definingElement.getAttribute(DecoratorDefinition.ATT_CLASS) == null;
 	}
 
+	/**
+	 * Return whether or not the decorator may be called concurrently from several
+	 * threads. Declarative decorators are always thread safe, other decorators
+	 * have to declare it.
+	 *
+	 * @return boolean <code>true</code> if the decorator is thread safe
+	 */
+	boolean isThreadSafe() {
+		return isDeclarative() || Boolean.parseBoolean(definingElement.getAttribute(ATT_THREAD_SAFE));
+	}
+
 	/**
 	 * Return the icon location.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -346,6 +346,26 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
+	/**
+	 * Fill the decoration with the results of the given decorators. Unlike
+	 * {@link #getDecorations(Object, DecorationBuilder)} this method may be called
+	 * concurrently, provided that the decorators are
+	 * {@link LightweightDecoratorDefinition#isThreadSafe() thread safe}.
+	 *
+	 * @param element    The source element
+	 * @param decoration The DecorationResult we are working on.
+	 * @param decorators The decorators to apply, as returned by
+	 *                   {@link #getDecoratorsFor(Object)}
+	 */
+	void getDecorations(Object element, DecorationBuilder decoration, LightweightDecoratorDefinition[] decorators) {
+		LightweightRunnable threadRunnable = new LightweightRunnable();
+		for (LightweightDecoratorDefinition decorator : decorators) {
+			decoration.setCurrentDefinition(decorator);
+			threadRunnable.setValues(element, decoration, decorator);
+			SafeRunner.run(threadRunnable);
+		}
+	}
+
 	/**
 	 * Decorate the element receiver in a SafeRunnable.
 	 *
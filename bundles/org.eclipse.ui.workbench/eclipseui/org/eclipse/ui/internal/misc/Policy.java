@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -159,6 +159,11 @@ public class Policy {
 	 */
 	public static boolean DEBUG_WORKING_SETS = DEFAULT;
 
+	/**
+	 * Whether or not the timings of the workbench startup phases will be traced.
+	 */
+	public static boolean DEBUG_STARTUP = DEFAULT;
+
 	static {
 		if (getDebugOption("/debug")) { //$NON-NLS-1$
 			DEBUG_SWT_GRAPHICS = getDebugOption("/trace/graphics"); //$NON-NLS-1$
@@ -191,6 +196,7 @@ public class Policy {
 			EXPERIMENTAL_MENU = getDebugOption("/experimental/menus"); //$NON-NLS-1$
 			DEBUG_MPE = getDebugOption("/trace/multipageeditor"); //$NON-NLS-1$
 			DEBUG_WORKING_SETS = getDebugOption("/debug/workingSets"); //$NON-NLS-1$
+			DEBUG_STARTUP = getDebugOption("/trace/startup"); //$NON-NLS-1$
 
 			if (DEBUG_SWT_DEBUG_GLOBAL)
 				Device.DEBUG = true;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 	boolean postingChanges = true;
 	boolean hasRun = false;
 	static LogThrottle logThrottle = new LogThrottle(THROTTLE_MAX, THROTTLE_VALUE);
+	private static int evaluationCount;
 
 	public EvaluationReference(IEclipseContext context, Expression expression, IPropertyChangeListener listener,
 			String property) {
@@ -69,6 +70,7 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 
 	@Override
 	public boolean evaluate(IEvaluationContext context) {
+		evaluationCount++;
 		if (expression == null) {
 			cache = true;
 		} else {
@@ -129,6 +131,13 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 		return property;
 	}
 
+	/**
+	 * @return the number of evaluations of all references so far
+	 */
+	static int getEvaluationCount() {
+		return evaluationCount;
+	}
+
 	public void setPostingChanges(boolean b) {
 		postingChanges = b;
 	}
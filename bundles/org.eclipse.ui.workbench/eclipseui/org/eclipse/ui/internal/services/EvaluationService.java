@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,11 +18,15 @@ package org.eclipse.ui.internal.services;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionInfo;
 import org.eclipse.core.expressions.IEvaluationContext;
@@ -62,6 +66,18 @@ public final class EvaluationService implements IEvaluationService {
 	private ListenerList<IPropertyChangeListener> serviceListeners = new ListenerList<>(ListenerList.IDENTITY);
 	ArrayList<ISourceProvider> sourceProviders = new ArrayList<>();
 	LinkedList<EvaluationReference> refs = new LinkedList<>();
+
+	/**
+	 * The references in {@link #refs} with an expression, by the names of the
+	 * variables and properties their expression accesses.
+	 */
+	private Map<String, List<EvaluationReference>> refsByName = new HashMap<>();
+
+	/**
+	 * The number of changes and of the evaluations they caused, by variable or
+	 * property name.
+	 */
+	private Map<String, int[]> evaluationCounts = new HashMap<>();
 	private ISourceProviderListener contextUpdater;
 
 	private HashSet<String> ratVariables = new HashSet<>();
@@ -142,11 +158,45 @@ public final class EvaluationService implements IEvaluationService {
 		if (name == null || variableFilter.contains(name)) {
 			return;
 		}
+		int evaluations = EvaluationReference.getEvaluationCount();
 		if (value == null) {
 			legacyContext.removeVariable(name);
 		} else {
 			legacyContext.addVariable(name, value);
 		}
+		countEvaluations(name, EvaluationReference.getEvaluationCount() - evaluations);
+	}
+
+	private void countEvaluations(String name, int evaluations) {
+		int[] counts = evaluationCounts.computeIfAbsent(name, n -> new int[2]);
+		counts[0]++;
+		counts[1] += evaluations;
+	}
+
+	/**
+	 * Returns the number of times the given source variable changed, or the
+	 * given property was requested to be evaluated.
+	 *
+	 * @param name the name of the variable or property
+	 * @return the number of changes
+	 * @see #getEvaluationCount(String)
+	 */
+	public int getSourceChangeCount(String name) {
+		int[] counts = evaluationCounts.get(name);
+		return counts == null ? 0 : counts[0];
+	}
+
+	/**
+	 * Returns the number of expression evaluations caused by changes of the
+	 * given source variable or by evaluation requests for the given property.
+	 *
+	 * @param name the name of the variable or property
+	 * @return the number of evaluations
+	 * @see #getSourceChangeCount(String)
+	 */
+	public int getEvaluationCount(String name) {
+		int[] counts = evaluationCounts.get(name);
+		return counts == null ? 0 : counts[1];
 	}
 
 	@Override
@@ -192,6 +242,7 @@ public final class EvaluationService implements IEvaluationService {
 			invalidate(ref, false);
 		}
 		refs.clear();
+		refsByName.clear();
 		serviceListeners.clear();
 	}
 
@@ -221,6 +272,9 @@ public final class EvaluationService implements IEvaluationService {
 		if (eref.getExpression() != null) {
 			ExpressionInfo info = new ExpressionInfo();
 			eref.getExpression().collectExpressionInfo(info);
+			for (String name : getAccessedNames(info)) {
+				refsByName.computeIfAbsent(name, n -> new ArrayList<>()).add(eref);
+			}
 			for (String varName : info.getAccessedVariableNames()) {
 				if (ratVariables.add(varName)) {
 					changed = true;
@@ -239,8 +293,16 @@ public final class EvaluationService implements IEvaluationService {
 	}
 
 	private void invalidate(IEvaluationReference ref, boolean remove) {
-		if (remove) {
-			refs.remove(ref);
+		if (remove && refs.remove(ref) && ref.getExpression() != null) {
+			for (String name : getAccessedNames(ref.getExpression().computeExpressionInfo())) {
+				List<EvaluationReference> dependents = refsByName.get(name);
+				if (dependents != null) {
+					dependents.remove(ref);
+					if (dependents.isEmpty()) {
+						refsByName.remove(name);
+					}
+				}
+			}
 		}
 		EvaluationReference eref = (EvaluationReference) ref;
 		eref.participating = false;
@@ -261,41 +323,36 @@ public final class EvaluationService implements IEvaluationService {
 
 	@Override
 	public void requestEvaluation(String propertyName) {
+		int evaluations = EvaluationReference.getEvaluationCount();
+
 		// Trigger evaluation of properties via context
 		String pokeVar = propertyName + ".evaluationServiceLink"; //$NON-NLS-1$
 		context.remove(pokeVar);
 		context.set(pokeVar, "link"); //$NON-NLS-1$
 
 		startSourceChange();
-		for (EvaluationReference ref : refs) {
-			Expression expr = ref.getExpression();
-			if (expr != null) {
-				boolean evaluated = false;
-				ExpressionInfo info = expr.computeExpressionInfo();
-				String[] names = info.getAccessedPropertyNames();
-				for (String name : names) {
-					if (propertyName.equals(name)) {
-						evaluated = true;
-						ref.evaluate();
-						break;
-					}
-				}
-				if (!evaluated) {
-					names = info.getAccessedVariableNames();
-					for (String name : names) {
-						if (propertyName.equals(name)) {
-							evaluated = true;
-							ref.evaluate();
-							break;
-						}
-					}
-				}
+		List<EvaluationReference> dependents = refsByName.get(propertyName);
+		if (dependents != null) {
+			for (EvaluationReference ref : dependents.toArray(new EvaluationReference[dependents.size()])) {
+				ref.evaluate();
 			}
 		}
 		endSourceChange();
+		countEvaluations(propertyName, EvaluationReference.getEvaluationCount() - evaluations);
 		eventBroker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
 	}
 
+	/**
+	 * Returns the names of the properties and variables accessed by an
+	 * expression, which are the keys of {@link #refsByName}.
+	 */
+	private static Set<String> getAccessedNames(ExpressionInfo info) {
+		Set<String> names = new LinkedHashSet<>();
+		names.addAll(Arrays.asList(info.getAccessedPropertyNames()));
+		names.addAll(Arrays.asList(info.getAccessedVariableNames()));
+		return names;
+	}
+
 	private void startSourceChange() {
 		notifying++;
 		if (notifying == 1) {
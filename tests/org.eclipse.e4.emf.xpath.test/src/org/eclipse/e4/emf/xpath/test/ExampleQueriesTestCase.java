@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2025 BestSolution.at and others.
+ * Copyright (c) 2010, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.e4.emf.xpath.XPathContextFactory;
 import org.eclipse.e4.emf.xpath.XPathNotFoundException;
 import org.eclipse.e4.emf.xpath.test.model.xpathtest.ExtendedNode;
 import org.eclipse.e4.emf.xpath.test.model.xpathtest.Menu;
+import org.eclipse.e4.emf.xpath.test.model.xpathtest.MenuItem;
 import org.eclipse.e4.emf.xpath.test.model.xpathtest.Node;
 import org.eclipse.e4.emf.xpath.test.model.xpathtest.Root;
 import org.eclipse.e4.emf.xpath.test.model.xpathtest.XpathtestPackage;
@@ -126,6 +127,19 @@ public class ExampleQueriesTestCase {
 		assertEquals(1, list.size());
 	}
 
+	@Test
+	public void testPredicates() {
+		List<Node> nodes = xpathContext.stream("//*[@id='element1.2' or @id='element2.3']", Node.class).toList();
+		assertEquals(List.of("element1.2", "element2.3"), nodes.stream().map(Node::getId).toList());
+
+		nodes = xpathContext.stream("/nodes[@id!='element1' and (@id='element2' or @id='menu.1')]/children[2]", Node.class)
+				.toList();
+		assertEquals(List.of("element2.2"), nodes.stream().map(Node::getId).toList());
+
+		List<MenuItem> items = xpathContext.stream("//children[ecore:eClassName(.)='MenuItem']", MenuItem.class).toList();
+		assertEquals(List.of("item.1", "item.2"), items.stream().map(MenuItem::getId).toList());
+	}
+
 	@Test
 	public void testRelative() {
 		EObject context = resource.getContents().get(0);
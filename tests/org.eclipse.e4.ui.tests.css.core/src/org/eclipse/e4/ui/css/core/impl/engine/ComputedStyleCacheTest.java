@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ComputedStyleCacheTest {
+
+	private CSSSWTEngineImpl engine;
+	private DocumentCSSImpl docCss;
+	private ComputedStyleCache cache;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		engine = new CSSSWTEngineImpl(Display.getDefault());
+		docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(ParserTestUtil.parseCss("""
+				Shell > Composite > Button { color: blue; }
+				Button.primary { color: green; }
+				Button[flat='true'] { font-weight: bold; }
+				"""));
+		cache = new ComputedStyleCache(docCss, new ViewCSSImpl(docCss));
+	}
+
+	@Test
+	void testElementsWithSameSignatureShareStyle() {
+		TestElement shell = new TestElement("Shell", engine);
+		TestElement composite = new TestElement("Composite", shell, engine);
+		TestElement button1 = new TestElement("Button", composite, engine);
+		TestElement button2 = new TestElement("Button", composite, engine);
+
+		assertEquals("color: blue;", cache.getComputedStyle(button1, null).getCssText());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		assertEquals("color: blue;", cache.getComputedStyle(button2, null).getCssText());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// no style is cached as well
+		assertNull(cache.getComputedStyle(composite, null));
+		assertNull(cache.getComputedStyle(new TestElement("Composite", shell, engine), null));
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	void testSignatureContainsClassesAndAttributes() {
+		TestElement shell = new TestElement("Shell", engine);
+		TestElement composite = new TestElement("Composite", shell, engine);
+		TestElement button = new TestElement("Button", composite, engine);
+		TestElement primary = new TestElement("Button", composite, engine);
+		primary.setClass("primary");
+		TestElement flat = new TestElement("Button", composite, engine);
+		flat.setAttribute("flat", "true");
+
+		assertEquals("color: blue;", cache.getComputedStyle(button, null).getCssText());
+		assertEquals("color: green;", cache.getComputedStyle(primary, null).getCssText());
+		assertEquals("color: blue;\nfont-weight: bold;", cache.getComputedStyle(flat, null).getCssText());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+	}
+
+	@Test
+	void testCacheIsClearedWhenStyleSheetsChange() throws Exception {
+		TestElement label = new TestElement("Label", engine);
+		assertNull(cache.getComputedStyle(label, null));
+
+		docCss.addStyleSheet(ParserTestUtil.parseCss("Label { color: red; }"));
+		assertEquals("color: red;", cache.getComputedStyle(label, null).getCssText());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	void testSiblingSelectorsDisableCache() throws Exception {
+		docCss.addStyleSheet(ParserTestUtil.parseCss("Label + Button { color: red; }"));
+		TestElement shell = new TestElement("Shell", engine);
+		cache.getComputedStyle(new TestElement("Button", shell, engine), null);
+		cache.getComputedStyle(new TestElement("Button", shell, engine), null);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+}
@@ -16,6 +16,7 @@
 package org.eclipse.e4.ui.tests.css.core;
 
 import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngineTest;
+import org.eclipse.e4.ui.css.core.impl.engine.ComputedStyleCacheTest;
 import org.eclipse.e4.ui.tests.css.core.dom.CSSPropertyHandlerProviderTest;
 import org.eclipse.e4.ui.tests.css.core.parser.CascadeTest;
 import org.eclipse.e4.ui.tests.css.core.parser.FontFaceRulesTest;
@@ -43,6 +44,7 @@ import org.junit.platform.suite.api.Suite;
 	ImportTest.class,
 	InheritTest.class,
 	AbstractCSSEngineTest.class,
+	ComputedStyleCacheTest.class,
 	CSSPropertyHandlerProviderTest.class
 })
 @Suite
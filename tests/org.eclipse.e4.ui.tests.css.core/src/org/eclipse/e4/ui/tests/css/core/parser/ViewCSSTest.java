@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
@@ -36,10 +37,13 @@ import org.eclipse.e4.ui.tests.css.core.util.TestElement;
 import org.eclipse.swt.widgets.Display;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
 import org.w3c.dom.css.CSSRule;
 import org.w3c.dom.css.CSSStyleDeclaration;
 import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.DocumentCSS;
 import org.w3c.dom.css.ViewCSS;
+import org.w3c.dom.stylesheets.StyleSheetList;
 
 public class ViewCSSTest {
 
@@ -169,6 +173,66 @@ public class ViewCSSTest {
 		assertTrue(cssRules2.size() > cssRules.size());
 	}
 
+	@Test
+	void testIndexedRuleMatchingOnLargeTree() throws Exception {
+		// A workbench sized style sheet and widget tree: many rules keyed by
+		// type, class and id, plus some universal and combinator rules
+		StringBuilder css = new StringBuilder();
+		String[] types = { "Shell", "Composite", "CTabFolder", "ToolBar", "Button", "Label", "Tree", "Text" };
+		for (int i = 0; i < 200; i++) {
+			String type = types[i % types.length];
+			css.append(type).append(".style").append(i % 50).append(" { color: #").append(String.format("%06x", i))
+					.append("; }\n");
+			css.append("#id").append(i).append(" { background-color: #").append(String.format("%06x", i))
+					.append("; }\n");
+			css.append(".style").append(i % 50).append(":selected { font-weight: bold; }\n");
+		}
+		css.append("* { font-style: normal; }\n");
+		css.append("Shell > * > Button { color: blue; }\n");
+		css.append("CTabFolder Composite.style3, Tree { color: red; }\n");
+		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css.toString());
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(styleSheet);
+		ViewCSS indexedViewCSS = new ViewCSSImpl(docCss);
+		// a plain DocumentCSS disables rule caching and thus the index
+		DocumentCSS plainDocCss = new DocumentCSS() {
+			@Override
+			public StyleSheetList getStyleSheets() {
+				return docCss.getStyleSheets();
+			}
+
+			@Override
+			public CSSStyleDeclaration getOverrideStyle(Element elt, String pseudoElt) {
+				return null;
+			}
+		};
+		ViewCSS scanningViewCSS = new ViewCSSImpl(plainDocCss);
+
+		List<TestElement> elements = new ArrayList<>();
+		TestElement shell = new TestElement("Shell", engine);
+		elements.add(shell);
+		for (int i = 0; elements.size() < 5000; i++) {
+			TestElement parent = elements.get(i / 4);
+			TestElement child = new TestElement(types[i % types.length], parent, engine);
+			if (i % 3 == 0) {
+				child.setClass("style" + (i % 60) + " other");
+			}
+			if (i % 7 == 0) {
+				child.setId("id" + (i % 250));
+			}
+			elements.add(child);
+		}
+
+		for (TestElement element : elements) {
+			for (String pseudo : new String[] { null, "selected" }) {
+				CSSStyleDeclaration indexed = indexedViewCSS.getComputedStyle(element, pseudo);
+				CSSStyleDeclaration scanned = scanningViewCSS.getComputedStyle(element, pseudo);
+				assertNotNull(indexed);
+				assertEquals(scanned.getCssText(), indexed.getCssText());
+			}
+		}
+	}
+
 	private static ViewCSS createViewCss(String css) throws IOException {
 		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css);
 		DocumentCSSImpl docCss = new DocumentCSSImpl();
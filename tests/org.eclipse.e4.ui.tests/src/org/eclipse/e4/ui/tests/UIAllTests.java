@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import org.eclipse.e4.ui.tests.workbench.PartOnTopManagerTest;
 import org.eclipse.e4.ui.tests.workbench.PartRenderingEngineTests;
 import org.eclipse.e4.ui.tests.workbench.SWTPartRendererTest;
 import org.eclipse.e4.ui.tests.workbench.SashRendererTest;
+import org.eclipse.e4.ui.tests.workbench.StartupTracerTest;
 import org.eclipse.e4.ui.tests.workbench.TopoSortTests;
 import org.eclipse.e4.ui.workbench.renderers.swt.MenuManagerRendererTest;
 import org.eclipse.e4.ui.workbench.renderers.swt.StackRendererTest;
@@ -104,7 +105,8 @@ import org.junit.runners.Suite;
 		AreaRendererTest.class,
 		SWTPartRendererTest.class,
 		ModelServiceImplTest.class,
-		CompositePartClosingTest.class
+		CompositePartClosingTest.class,
+		StartupTracerTest.class
 })
 public class UIAllTests {
 }
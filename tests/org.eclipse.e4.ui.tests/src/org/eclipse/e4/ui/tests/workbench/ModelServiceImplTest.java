@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2022 KGU-Consulting GmbH and others.
+ * Copyright (c) 2019, 2026 KGU-Consulting GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 
 package org.eclipse.e4.ui.tests.workbench;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -21,16 +22,23 @@ import static org.mockito.Mockito.never;
 
 import jakarta.inject.Inject;
 import java.util.List;
+import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.internal.workbench.PartStackUtil;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
 import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.advanced.MArea;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
 import org.eclipse.e4.ui.model.application.ui.basic.MPart;
 import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
 import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.e4.ui.workbench.modeling.ElementMatcher;
+import org.eclipse.emf.common.notify.Notifier;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -45,6 +53,9 @@ public class ModelServiceImplTest {
 	@Inject
 	private EModelService modelService;
 
+	@Inject
+	private IEclipseContext context;
+
 	private MPart editor;
 
 	@Before
@@ -86,6 +97,72 @@ public class ModelServiceImplTest {
 		return app;
 	}
 
+	@Test
+	public void testFindElementsWithElementIndex() {
+		MApplication app = modelService.createModelElement(MApplication.class);
+		MTrimmedWindow window = modelService.createModelElement(MTrimmedWindow.class);
+		app.getChildren().add(window);
+		window.getSharedElements().add(editor);
+		MPerspectiveStack perspectiveStack = modelService.createModelElement(MPerspectiveStack.class);
+		window.getChildren().add(perspectiveStack);
+		for (int i = 0; i < 3; i++) {
+			MPerspective perspective = modelService.createModelElement(MPerspective.class);
+			perspectiveStack.getChildren().add(perspective);
+			MPartStack partStack = modelService.createModelElement(MPartStack.class);
+			perspective.getChildren().add(partStack);
+			for (int j = 0; j < 20; j++) {
+				MPart part = modelService.createModelElement(MPart.class);
+				part.setElementId("part" + j);
+				partStack.getChildren().add(part);
+			}
+			MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+			placeholder.setElementId(DUMMY_EDITOR_ID);
+			placeholder.setRef(editor);
+			partStack.getChildren().add(placeholder);
+		}
+		((Notifier) app).eAdapters().add(new UIEventPublisher(context));
+
+		assertFindElements(app, DUMMY_EDITOR_ID, MUIElement.class, null, 4);
+		assertFindElements(app, "part3", MPart.class, null, 3);
+		assertFindElements(app, null, MPlaceholder.class, null, 3);
+		assertFindElements(app, null, null, List.of("Editor"), 1);
+		assertFindElements(app, "unknown", null, null, 0);
+
+		editor.setElementId("renamedEditor");
+		assertFindElements(app, DUMMY_EDITOR_ID, MUIElement.class, null, 3);
+		assertFindElements(app, "renamedEditor", null, null, 1);
+
+		MPart part = (MPart) modelService.find("part3", app);
+		part.getTags().add("Editor");
+		assertFindElements(app, null, null, List.of("Editor"), 2);
+		part.getTags().remove("Editor");
+		assertFindElements(app, null, null, List.of("Editor"), 1);
+
+		MPerspective perspective = perspectiveStack.getChildren().get(0);
+		perspectiveStack.getChildren().remove(perspective);
+		assertFindElements(app, "part3", MPart.class, null, 2);
+		assertFindElements(app, DUMMY_EDITOR_ID, MUIElement.class, null, 2);
+		perspectiveStack.getChildren().add(perspective);
+		assertFindElements(app, "part3", MPart.class, null, 3);
+
+		MPlaceholder placeholder = modelService.findElements(app, DUMMY_EDITOR_ID, MPlaceholder.class).get(0);
+		placeholder.setRef(null);
+		assertFindElements(app, "renamedEditor", null, null, 1);
+		assertFindElements(perspective, "renamedEditor", null, null, 1);
+	}
+
+	/**
+	 * Asserts that the elements found with the index of the model are the ones
+	 * found by walking the whole model, in the same order.
+	 */
+	private <T> void assertFindElements(MUIElement searchRoot, String id, Class<T> clazz, List<String> tags,
+			int expectedCount) {
+		List<T> walked = modelService.findElements(searchRoot, clazz, EModelService.ANYWHERE,
+				new ElementMatcher(id, clazz, tags));
+		assertEquals(expectedCount, walked.size());
+		assertEquals(walked, modelService.findElements(searchRoot, id, clazz, tags));
+	}
+
 	@Test
 	public void testRemovePerspectiveModelWhenPerspectiveHasNoParent() {
 		// given
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.workbench;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.eclipse.core.internal.registry.ExtensionRegistry;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.RegistryFactory;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.ModelAssembler;
+import org.eclipse.e4.ui.internal.workbench.StartupTracer;
+import org.eclipse.e4.ui.internal.workbench.StartupTracer.Span;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.e4.ui.workbench.swt.DisplayUISynchronize;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StartupTracerTest {
+
+	@Rule
+	public WorkbenchContextRule contextRule = new WorkbenchContextRule();
+
+	@Inject
+	private IEclipseContext context;
+
+	@Inject
+	private MApplication application;
+
+	@Inject
+	private EModelService modelService;
+
+	@After
+	public void tearDown() {
+		StartupTracer.finish();
+	}
+
+	@Test
+	public void testDisabled() {
+		StartupTracer.finish();
+		try (Span span = StartupTracer.span("disabled")) {
+			assertNotNull(span);
+		}
+		assertFalse(StartupTracer.getSpans().stream().anyMatch(span -> "disabled".equals(span.getName())));
+	}
+
+	@Test
+	public void testStartupSpans() throws IOException {
+		StartupTracer.start();
+
+		ModelAssembler assembler = context.get(ModelAssembler.class);
+		assembler.init(application, context, new DisplayUISynchronize(Display.getDefault()));
+		ContextInjectionFactory.invoke(assembler, PostConstruct.class, context);
+		IExtensionPoint extensionPoint = RegistryFactory.getRegistry()
+				.getExtensionPoint("org.eclipse.e4.workbench.model");
+		ExtensionRegistry registry = (ExtensionRegistry) RegistryFactory.createRegistry(null, null, null);
+		registry.addExtensionPoint(extensionPoint.getUniqueIdentifier(), extensionPoint.getContributor(), false,
+				extensionPoint.getLabel(), extensionPoint.getSchemaReference(), null);
+		assembler.setExtensionRegistry(registry);
+		assembler.processModel(true);
+
+		MWindow window = modelService.createModelElement(MWindow.class);
+		window.setElementId("startupTracerWindow");
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("startupTracerPart");
+		window.getChildren().add(part);
+		application.getChildren().add(window);
+		contextRule.createAndRunWorkbench(window);
+
+		// the rendering engine stops tracing once the UI is up
+		assertFalse(StartupTracer.isEnabled());
+		List<Span> spans = StartupTracer.getSpans();
+		findSpan(spans, "ModelAssembler.processModel", null);
+		findSpan(spans, "E4Workbench", null);
+		findSpan(spans, "PartRenderingEngine.initializeStyling", null);
+		Span windowSpan = findSpan(spans, "PartRenderingEngine.createGui", "startupTracerWindow");
+		Span partSpan = findSpan(spans, "PartRenderingEngine.createGui", "startupTracerPart");
+		assertTrue("part not rendered within the window", isNested(partSpan, windowSpan));
+		assertTrue(windowSpan.getStartTime() <= partSpan.getStartTime());
+		assertTrue(partSpan.getEndTime() <= windowSpan.getEndTime());
+
+		StringWriter trace = new StringWriter();
+		StartupTracer.writeChromeTrace(trace);
+		String json = trace.toString();
+		assertTrue(json.startsWith("{\"traceEvents\":["));
+		assertTrue(json.contains("{\"name\":\"E4Workbench\",\"cat\":\"startup\",\"ph\":\"X\",\"ts\":"));
+		assertTrue(json.contains("\"args\":{\"detail\":\"startupTracerPart\"}"));
+	}
+
+	private static Span findSpan(List<Span> spans, String name, String detail) {
+		for (Span span : spans) {
+			if (name.equals(span.getName()) && (detail == null || detail.equals(span.getDetail()))) {
+				return span;
+			}
+		}
+		fail("No span recorded for " + name + (detail != null ? " " + detail : ""));
+		return null;
+	}
+
+	private static boolean isNested(Span span, Span ancestor) {
+		for (Span parent = span.getParent(); parent != null; parent = parent.getParent()) {
+			if (parent == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 Brad Reynolds and others.
+ * Copyright (c) 2006, 2026 Brad Reynolds and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,21 @@
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.ListDiffVisitor;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
 import org.junit.Test;
@@ -35,4 +48,178 @@ public class RealmTest {
 
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	@Test
+	public void testRunBatchedMergesValueChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<ValueChangeEvent<? extends String>> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(event -> changeCount[0]++);
+
+		realm.runBatched(() -> {
+			value.setValue("b");
+			value.setValue("c");
+			assertTrue("events should be delayed", events.isEmpty());
+		});
+
+		assertEquals(1, events.size());
+		assertEquals("a", events.get(0).diff.getOldValue());
+		assertEquals("c", events.get(0).diff.getNewValue());
+		assertEquals(1, changeCount[0]);
+	}
+
+	@Test
+	public void testRunBatchedMergesListChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableList<String> list = new WritableList<>(realm, new ArrayList<>(List.of("a", "b")), String.class);
+		List<String> copy = new ArrayList<>(list);
+		int[] eventCount = new int[1];
+		list.addListChangeListener(event -> {
+			eventCount[0]++;
+			event.diff.accept(new ListDiffVisitor<String>() {
+				@Override
+				public void handleAdd(int index, String element) {
+					copy.add(index, element);
+				}
+
+				@Override
+				public void handleRemove(int index, String element) {
+					assertEquals(element, copy.remove(index));
+				}
+			});
+		});
+
+		realm.runBatched(() -> {
+			list.add("c");
+			list.remove("a");
+			list.add(0, "d");
+			list.set(1, "e");
+		});
+
+		assertEquals(1, eventCount[0]);
+		assertEquals(list, copy);
+	}
+
+	@Test
+	public void testRunBatchedMergesSetChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableSet<String> set = new WritableSet<>(realm, Set.of("a", "b"), String.class);
+		List<Object> additions = new ArrayList<>();
+		List<Object> removals = new ArrayList<>();
+		set.addSetChangeListener(event -> {
+			additions.addAll(event.diff.getAdditions());
+			removals.addAll(event.diff.getRemovals());
+		});
+
+		realm.runBatched(() -> {
+			set.add("c");
+			set.remove("a");
+			set.remove("c");
+			set.add("a");
+			set.add("d");
+			set.remove("b");
+		});
+
+		assertEquals(List.of("d"), additions);
+		assertEquals(List.of("b"), removals);
+	}
+
+	@Test
+	public void testRunBatchedMergesMapChanges() {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, Integer> map = new WritableMap<>(realm);
+		map.put("a", 1);
+		map.put("b", 2);
+		Map<String, Integer> copy = new HashMap<>(map);
+		int[] eventCount = new int[1];
+		map.addMapChangeListener(event -> {
+			eventCount[0]++;
+			event.diff.applyTo(copy);
+		});
+
+		realm.runBatched(() -> {
+			map.put("a", 3);
+			map.remove("b");
+			map.put("c", 4);
+			map.remove("c");
+			map.put("b", 5);
+			map.put("d", 6);
+		});
+
+		assertEquals(1, eventCount[0]);
+		assertEquals(map, copy);
+	}
+
+	@Test
+	public void testNestedRunBatched() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<ValueChangeEvent<? extends String>> events = new ArrayList<>();
+		value.addValueChangeListener(events::add);
+
+		realm.runBatched(() -> {
+			realm.runBatched(() -> value.setValue("b"));
+			assertTrue("events should be delayed until the outer batch completes", events.isEmpty());
+			value.setValue("c");
+		});
+
+		assertEquals(1, events.size());
+		assertEquals("c", events.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testRunBatchedMergesEventsFiredByListeners() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<Integer> source = new WritableValue<>(realm, 0, Integer.class);
+		WritableValue<Integer> target = new WritableValue<>(realm, 0, Integer.class);
+		source.addValueChangeListener(event -> target.setValue(event.diff.getNewValue() * 2));
+		List<Integer> targetValues = new ArrayList<>();
+		target.addValueChangeListener(event -> targetValues.add(event.diff.getNewValue()));
+
+		realm.runBatched(() -> {
+			for (int i = 1; i <= 100; i++) {
+				source.setValue(i);
+			}
+		});
+
+		assertEquals(List.of(200), targetValues);
+	}
+
+	@Test
+	public void testRunBatchedDropsChangesThatCancelOut() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		WritableSet<String> set = new WritableSet<>(realm, Set.of("a"), String.class);
+		WritableList<String> list = new WritableList<>(realm, new ArrayList<>(List.of("a")), String.class);
+		WritableMap<String, Integer> map = new WritableMap<>(realm);
+		map.put("a", 1);
+		List<Object> events = new ArrayList<>();
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(events::add);
+		set.addSetChangeListener(events::add);
+		set.addChangeListener(events::add);
+		list.addListChangeListener(events::add);
+		list.addChangeListener(events::add);
+		map.addMapChangeListener(events::add);
+		map.addChangeListener(events::add);
+
+		realm.runBatched(() -> {
+			value.setValue("b");
+			value.setValue("a");
+			set.add("b");
+			set.remove("b");
+			list.add(0, "b");
+			list.add("c");
+			list.remove("c");
+			list.remove(0);
+			map.put("a", 2);
+			map.put("b", 3);
+			map.remove("b");
+			map.put("a", 1);
+		});
+
+		assertEquals(List.of(), events);
+	}
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding.observable;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.internal.databinding.observable.ListDiffAnalyzer;
+import org.junit.Test;
+
+/**
+ * Checks that the {@link ListDiffAnalyzer} computes the same differences as
+ * the algorithm used by {@link Diffs} for small lists.
+ */
+public class ListDiffAnalyzerTest {
+
+	@Test
+	public void testSameDifferencesAsListDifferenceAnalyzer() {
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			int values = 1 + random.nextInt(20);
+			List<String> oldList = randomList(random, random.nextInt(30), values);
+			List<String> newList = randomList(random, random.nextInt(30), values);
+			checkListDiff(oldList, newList);
+		}
+	}
+
+	@Test
+	public void testEditedList() {
+		Random random = new Random(4711);
+		for (int i = 0; i < 200; i++) {
+			List<String> oldList = randomList(random, 500, 400);
+			List<String> newList = new ArrayList<>(oldList);
+			for (int j = random.nextInt(20); j >= 0; j--) {
+				int index = random.nextInt(newList.size());
+				switch (random.nextInt(3)) {
+				case 0:
+					newList.add(index, "n" + j); //$NON-NLS-1$
+					break;
+				case 1:
+					newList.remove(index);
+					break;
+				default:
+					newList.add(random.nextInt(newList.size()), newList.remove(index));
+				}
+			}
+			checkListDiff(oldList, newList);
+		}
+	}
+
+	@Test
+	public void testShuffledList() {
+		List<String> oldList = randomList(new Random(1), 300, 300);
+		List<String> newList = new ArrayList<>(oldList);
+		Collections.shuffle(newList, new Random(2));
+		checkListDiff(oldList, newList);
+		checkListDiff(newList, oldList);
+	}
+
+	@Test
+	public void testLargeList() {
+		List<Integer> oldList = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			oldList.add(i);
+		}
+		List<Integer> newList = new ArrayList<>(oldList);
+		Collections.reverse(newList.subList(10000, 40000));
+		newList.subList(100, 5000).clear();
+		newList.add(20000, -1);
+
+		List<ListDiffEntry<Integer>> diff = new ArrayList<>();
+		ListDiffAnalyzer.createListDiffs(oldList, newList, diff);
+		assertEquals(newList, apply(oldList, diff));
+	}
+
+	private static List<String> randomList(Random random, int size, int values) {
+		List<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int value = random.nextInt(values + 1);
+			list.add(value == values ? null : Integer.toString(value));
+		}
+		return list;
+	}
+
+	private static void checkListDiff(List<String> oldList, List<String> newList) {
+		List<ListDiffEntry<String>> expected = new ArrayList<>();
+		createListDiffs(new ArrayList<>(oldList), newList, expected);
+		List<ListDiffEntry<String>> actual = new ArrayList<>();
+		ListDiffAnalyzer.createListDiffs(oldList, newList, actual);
+
+		assertEquals(toString(expected), toString(actual));
+		assertEquals(newList, apply(oldList, actual));
+	}
+
+	private static <E> List<E> apply(List<E> oldList, List<ListDiffEntry<E>> diff) {
+		List<E> list = new ArrayList<>(oldList);
+		for (ListDiffEntry<E> entry : diff) {
+			if (entry.isAddition()) {
+				list.add(entry.getPosition(), entry.getElement());
+			} else {
+				assertEquals(entry.getElement(), list.remove(entry.getPosition()));
+			}
+		}
+		return list;
+	}
+
+	private static String toString(List<? extends ListDiffEntry<?>> diff) {
+		StringBuilder result = new StringBuilder();
+		for (ListDiffEntry<?> entry : diff) {
+			result.append(entry.isAddition() ? '+' : '-').append(entry.getPosition()).append(' ')
+					.append(entry.getElement()).append('\n');
+		}
+		return result.toString();
+	}
+
+	/**
+	 * The algorithm adapted from EMF's ListDifferenceAnalyzer, as used by
+	 * {@link Diffs#computeListDiff(List, List)} for small lists.
+	 */
+	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
+			List<ListDiffEntry<E>> listDiffs) {
+		int index = 0;
+		for (E newValue : newList) {
+			if (oldList.size() <= index) {
+				listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+			} else {
+				boolean done;
+				do {
+					done = true;
+					E oldValue = oldList.get(index);
+					if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) {
+						int oldIndexOfNewValue = listIndexOf(oldList, newValue, index);
+						if (oldIndexOfNewValue != -1) {
+							int newIndexOfOldValue = listIndexOf(newList, oldValue, index);
+							if (newIndexOfOldValue == -1) {
+								listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+								oldList.remove(index);
+								done = false;
+							} else if (newIndexOfOldValue > oldIndexOfNewValue) {
+								if (oldList.size() <= newIndexOfOldValue) {
+									newIndexOfOldValue = oldList.size() - 1;
+								}
+								listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+								oldList.remove(index);
+								listDiffs.add(Diffs.createListDiffEntry(newIndexOfOldValue, true, oldValue));
+								oldList.add(newIndexOfOldValue, oldValue);
+								done = false;
+							} else {
+								listDiffs.add(Diffs.createListDiffEntry(oldIndexOfNewValue, false, newValue));
+								oldList.remove(oldIndexOfNewValue);
+								listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+								oldList.add(index, newValue);
+							}
+						} else {
+							oldList.add(index, newValue);
+							listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+						}
+					}
+				} while (!done);
+			}
+			++index;
+		}
+		for (int i = oldList.size(); i > index;) {
+			listDiffs.add(Diffs.createListDiffEntry(--i, false, oldList.get(i)));
+		}
+	}
+
+	private static int listIndexOf(List<?> list, Object object, int index) {
+		int size = list.size();
+		for (int i = index; i < size; i++) {
+			Object candidate = list.get(i);
+			if (candidate == null ? object == null : candidate.equals(object)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
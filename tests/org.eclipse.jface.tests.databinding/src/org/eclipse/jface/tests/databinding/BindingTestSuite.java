@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -115,6 +115,7 @@ import org.eclipse.core.tests.internal.databinding.conversion.StringToNumberPars
 import org.eclipse.core.tests.internal.databinding.conversion.StringToShortConverterTest;
 import org.eclipse.core.tests.internal.databinding.observable.ConstantObservableValueTest;
 import org.eclipse.core.tests.internal.databinding.observable.DelayedObservableValueTest;
+import org.eclipse.core.tests.internal.databinding.observable.ListDiffAnalyzerTest;
 import org.eclipse.core.tests.internal.databinding.observable.MapEntryObservableValueTest;
 import org.eclipse.core.tests.internal.databinding.observable.UnmodifiableObservableListTest;
 import org.eclipse.core.tests.internal.databinding.observable.UnmodifiableObservableSetTest;
@@ -147,6 +148,8 @@ import org.eclipse.jface.tests.databinding.scenarios.BindingScenariosTestSuite;
 import org.eclipse.jface.tests.databinding.swt.WidgetObservableThreadTest;
 import org.eclipse.jface.tests.databinding.swt.WidgetPropertiesTest;
 import org.eclipse.jface.tests.databinding.viewers.ObservableListContentProviderTest;
+import org.eclipse.jface.tests.databinding.viewers.ObservableListLazyContentProviderTest;
+import org.eclipse.jface.tests.databinding.viewers.ObservableListLazyTreeContentProviderTest;
 import org.eclipse.jface.tests.databinding.viewers.ObservableListTreeContentProviderTest;
 import org.eclipse.jface.tests.databinding.viewers.ObservableMapLabelProviderTest;
 import org.eclipse.jface.tests.databinding.viewers.ObservableSetContentProviderTest;
@@ -218,7 +221,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		EditMaskParserTest.class, GroupObservableValueTest.class, IdentityConverterTest.class, IdentityMapTest.class,
 		IdentitySetTest.class, IntegerToStringConverterTest.class, LabelObservableValueTest.class,
 		ListBindingTest.class,
-		ListDiffTest.class, ListDiffVisitorTest.class, ListSimpleValueObservableListTest.class,
+		ListDiffAnalyzerTest.class, ListDiffTest.class, ListDiffVisitorTest.class, ListSimpleValueObservableListTest.class,
 		MapEntryObservableValueTest.class, MapSimpleValueObservableMapTest.class, MultiListTest.class,
 		MultiValidatorTest.class, NumberToBigDecimalTest.class, NumberToBigIntegerConverterTest.class,
 		NumberToByteConverterTest.class, NumberToByteValidatorTest.class, NumberToDoubleConverterTest.class,
@@ -228,6 +231,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		NumberToStringConverterTest.class, NumberToUnboundedNumberValidatorTest.class,
 		ObjectToPrimitiveValidatorTest.class, ObservableCollectionContentProviderTest.class,
 		ObservableCollectionTreeContentProviderTest.class, ObservableListContentProviderTest.class,
+		ObservableListLazyContentProviderTest.class, ObservableListLazyTreeContentProviderTest.class,
 		ObservableListTest.class, ObservableListTreeContentProviderTest.class, ObservableMapLabelProviderTest.class,
 		ObservableMapTest.class, ObservableSetContentProviderTest.class, ObservableSetTreeContentProviderTest.class,
 		ObservablesManagerTest.class, ObservablesTest.class, ObservableTrackerTest.class,
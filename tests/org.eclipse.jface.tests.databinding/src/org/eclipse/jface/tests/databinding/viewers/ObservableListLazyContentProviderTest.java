@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.databinding.viewers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.jface.databinding.viewers.ObservableListLazyContentProvider;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObservableListLazyContentProviderTest extends AbstractDefaultRealmTestCase {
+	private Shell shell;
+	private TableViewer viewer;
+	private WritableList<String> input;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell();
+		viewer = new TableViewer(shell, SWT.VIRTUAL);
+		viewer.setContentProvider(new ObservableListLazyContentProvider<String>());
+		viewer.setLabelProvider(new LabelProvider());
+
+		input = new WritableList<>(new ArrayList<>(Arrays.asList("a", "b", "c")), String.class);
+		viewer.setInput(input);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		shell.dispose();
+		viewer = null;
+		input = null;
+		super.tearDown();
+	}
+
+	@Test
+	public void testItemCountAfterSetInput() {
+		assertEquals(3, viewer.getTable().getItemCount());
+		assertItems("a", "b", "c");
+	}
+
+	@Test
+	public void testAdd() {
+		input.add(1, "x");
+		assertItems("a", "x", "b", "c");
+		input.add("y");
+		assertItems("a", "x", "b", "c", "y");
+	}
+
+	@Test
+	public void testRemove() {
+		input.remove(0);
+		assertItems("b", "c");
+		input.clear();
+		assertItems();
+	}
+
+	@Test
+	public void testReplaceAndMove() {
+		assertItems("a", "b", "c");
+		input.set(1, "x");
+		assertItems("a", "x", "c");
+		input.move(0, 2);
+		assertItems("x", "c", "a");
+	}
+
+	@Test
+	public void testLargeChange() {
+		List<String> elements = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			elements.add(Integer.toString(i));
+		}
+		input.addAll(1, elements);
+		Table table = viewer.getTable();
+		assertEquals(1003, table.getItemCount());
+		assertEquals("a", table.getItem(0).getText());
+		assertEquals("0", table.getItem(1).getText());
+		assertEquals("999", table.getItem(1000).getText());
+		assertEquals("c", table.getItem(1002).getText());
+	}
+
+	@Test
+	public void testInputChanged() {
+		viewer.setInput(new WritableList<>(new ArrayList<>(Arrays.asList("x")), String.class));
+		assertItems("x");
+		input.add("d");
+		assertItems("x");
+	}
+
+	private void assertItems(String... elements) {
+		Table table = viewer.getTable();
+		assertEquals(elements.length, table.getItemCount());
+		for (int i = 0; i < elements.length; i++) {
+			// getText() asks the content provider for the element of the virtual item
+			assertEquals(elements[i], table.getItem(i).getText());
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.databinding.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.jface.databinding.viewers.ObservableListLazyTreeContentProvider;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObservableListLazyTreeContentProviderTest extends AbstractDefaultRealmTestCase {
+	private static final String ROOT = "root";
+
+	private Shell shell;
+	private RecordingTreeViewer viewer;
+	private Tree tree;
+	private ObservableListLazyTreeContentProvider<String> contentProvider;
+
+	/** The children of the elements of the tree */
+	private Map<String, List<String>> model;
+
+	/** The last list of children created by the content provider, by parent */
+	private Map<Object, IObservableList<String>> lists;
+
+	/** All lists of children created by the content provider */
+	private List<IObservableList<String>> createdLists;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		model = new HashMap<>();
+		model.put(ROOT, List.of("a", "b", "c"));
+		model.put("a", List.of("a1", "a2"));
+		model.put("a1", List.of("a11"));
+		lists = new HashMap<>();
+		createdLists = new ArrayList<>();
+
+		shell = new Shell();
+		viewer = new RecordingTreeViewer(shell);
+		tree = viewer.getTree();
+		contentProvider = new ObservableListLazyTreeContentProvider<>(parent -> {
+			IObservableList<String> list = new WritableList<>(new ArrayList<>(model.getOrDefault(parent, List.of())),
+					String.class);
+			lists.put(parent, list);
+			createdLists.add(list);
+			return list;
+		}, null);
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new LabelProvider());
+		viewer.setInput(ROOT);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		shell.dispose();
+		viewer = null;
+		tree = null;
+		contentProvider = null;
+		super.tearDown();
+	}
+
+	@Test
+	public void testChildCounts() {
+		assertEquals(3, tree.getItemCount());
+		TreeItem a = tree.getItem(0);
+		// getText() asks the content provider for the element of the virtual item
+		assertEquals("a", a.getText());
+		assertEquals(2, a.getItemCount());
+		TreeItem b = tree.getItem(1);
+		assertEquals("b", b.getText());
+		assertEquals(0, b.getItemCount());
+	}
+
+	@Test
+	public void testUpdateChildCount() {
+		assertEquals("a", tree.getItem(0).getText());
+		viewer.calls.clear();
+
+		contentProvider.updateChildCount("a", 2);
+		assertEquals(List.of(), viewer.calls);
+		contentProvider.updateChildCount("a", 0);
+		assertEquals(List.of("a:2"), viewer.calls);
+
+		// the list of children is created when the tree asks for the child count
+		assertFalse(lists.containsKey("a1"));
+		viewer.calls.clear();
+		contentProvider.updateChildCount("a1", 0);
+		assertTrue(lists.containsKey("a1"));
+		assertEquals(List.of("a1:1"), viewer.calls);
+	}
+
+	@Test
+	public void testChildListChanges() {
+		TreeItem a = tree.getItem(0);
+		assertEquals("a", a.getText());
+
+		lists.get("a").add("a3");
+		assertEquals(3, a.getItemCount());
+		assertEquals("a3", a.getItem(2).getText());
+
+		lists.get("a").remove(0);
+		assertEquals(2, a.getItemCount());
+		assertEquals("a2", a.getItem(0).getText());
+		assertEquals("a3", a.getItem(1).getText());
+	}
+
+	@Test
+	public void testGetParent() {
+		TreeItem a = tree.getItem(0);
+		assertEquals("a", a.getText());
+		assertEquals("a1", a.getItem(0).getText());
+
+		assertEquals(ROOT, contentProvider.getParent("a"));
+		assertEquals("a", contentProvider.getParent("a1"));
+	}
+
+	@Test
+	public void testRemovalDisposesChildLists() {
+		TreeItem a = tree.getItem(0);
+		assertEquals("a", a.getText());
+		assertEquals("a1", a.getItem(0).getText());
+		assertEquals("b", tree.getItem(1).getText());
+		IObservableList<String> aList = lists.get("a");
+		IObservableList<String> a1List = lists.get("a1");
+
+		// a moved element keeps its children
+		lists.get(ROOT).move(0, 2);
+		assertFalse(aList.isDisposed());
+		assertEquals("a", tree.getItem(2).getText());
+
+		lists.get(ROOT).remove("a");
+		assertTrue(aList.isDisposed());
+		assertTrue("the lists of descendants should be disposed", a1List.isDisposed());
+		assertFalse(lists.get("b").isDisposed());
+		assertNull(contentProvider.getParent("a1"));
+		assertEquals(2, tree.getItemCount());
+		assertEquals("b", tree.getItem(0).getText());
+		assertEquals("c", tree.getItem(1).getText());
+	}
+
+	@Test
+	public void testInputChangeAndDisposeDisposeChildLists() {
+		assertEquals("a", tree.getItem(0).getText());
+		List<IObservableList<String>> oldLists = new ArrayList<>(createdLists);
+
+		viewer.setInput("other");
+		for (IObservableList<String> list : oldLists) {
+			assertTrue(list.isDisposed());
+		}
+		assertEquals(0, tree.getItemCount());
+
+		shell.dispose();
+		for (IObservableList<String> list : createdLists) {
+			assertTrue(list.isDisposed());
+		}
+	}
+
+	@Test
+	public void testLargeChangeRefreshes() {
+		TreeItem a = tree.getItem(0);
+		assertEquals("a", a.getText());
+
+		viewer.calls.clear();
+		lists.get(ROOT).add("d");
+		assertFalse(viewer.calls.contains("refresh " + ROOT));
+		lists.get(ROOT).remove("d");
+
+		List<String> elements = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			elements.add(Integer.toString(i));
+		}
+		viewer.calls.clear();
+		lists.get(ROOT).addAll(1, elements);
+		assertTrue(viewer.calls.contains("refresh " + ROOT));
+		assertEquals(303, tree.getItemCount());
+		assertEquals("a", tree.getItem(0).getText());
+		assertEquals("0", tree.getItem(1).getText());
+		assertEquals("299", tree.getItem(300).getText());
+		assertEquals("c", tree.getItem(302).getText());
+
+		a = tree.getItem(0);
+		viewer.calls.clear();
+		lists.get("a").addAll(elements);
+		assertTrue(viewer.calls.contains("a:302"));
+		assertTrue(viewer.calls.contains("refresh a"));
+		assertEquals(302, a.getItemCount());
+		assertEquals("a2", a.getItem(1).getText());
+		assertEquals("299", a.getItem(301).getText());
+	}
+
+	private static class RecordingTreeViewer extends TreeViewer {
+		final List<String> calls = new ArrayList<>();
+
+		RecordingTreeViewer(Composite parent) {
+			super(parent, SWT.VIRTUAL);
+		}
+
+		@Override
+		public void setChildCount(Object elementOrTreePath, int count) {
+			calls.add(elementOrTreePath + ":" + count);
+			super.setChildCount(elementOrTreePath, count);
+		}
+
+		@Override
+		public void refresh(Object element) {
+			calls.add("refresh " + element);
+			super.refresh(element);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import org.eclipse.jface.text.tests.contentassist.ContextInformationPresenterTes
 import org.eclipse.jface.text.tests.contentassist.ContextInformationTest;
 import org.eclipse.jface.text.tests.contentassist.FilteringAsyncContentAssistTests;
 import org.eclipse.jface.text.tests.contentassist.IncrementalAsyncContentAssistTests;
+import org.eclipse.jface.text.tests.contentassist.PartiallySortedListTest;
 import org.eclipse.jface.text.tests.reconciler.AbstractReconcilerTest;
 import org.eclipse.jface.text.tests.reconciler.FastAbstractReconcilerTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerTest;
@@ -50,6 +51,7 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		HTML2TextReaderTest.class,
 		TextHoverPopupTest.class,
 		TextPresentationTest.class,
+		PresentationReconcilerTest.class,
 		DefaultUndoManagerTest.class,
 		TextViewerTest.class,
 		TextViewerUndoManagerTest.class,
@@ -60,6 +62,7 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		IncrementalAsyncContentAssistTests.class,
 		ContextInformationTest.class,
 		ContextInformationPresenterTest.class,
+		PartiallySortedListTest.class,
 
 		AbstractReconcilerTest.class,
 		FastAbstractReconcilerTest.class,
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class PresentationReconcilerTest {
+
+	private Shell fShell;
+
+	private SourceViewer fViewer;
+
+	private final List<IRegion> fRepairedRegions= new ArrayList<>();
+
+	private Color fColor;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setSize(500, 200);
+		fShell.setLayout(new FillLayout());
+		fViewer= new SourceViewer(fShell, null, SWT.NONE);
+		fColor= fShell.getDisplay().getSystemColor(SWT.COLOR_RED);
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	private PresentationReconciler createReconciler() {
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setRepairer(new IPresentationRepairer() {
+			@Override
+			public void setDocument(IDocument document) {
+				// nothing to do
+			}
+
+			@Override
+			public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+				fRepairedRegions.add(damage);
+				presentation.addStyleRange(new StyleRange(damage.getOffset(), damage.getLength(), fColor, null));
+			}
+		}, IDocumentExtension3.DEFAULT_CONTENT_TYPE);
+		return reconciler;
+	}
+
+	private static String createContent(int lines) {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < lines; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		return content.toString();
+	}
+
+	@Test
+	public void testRepairWholeDocument() {
+		createReconciler().install(fViewer);
+		IDocument document= new Document(createContent(50000));
+		fViewer.setDocument(document);
+
+		StyledText textWidget= fViewer.getTextWidget();
+		assertEquals(document.getLength(), fRepairedRegions.get(0).getLength());
+		assertNotNull(textWidget.getStyleRangeAtOffset(textWidget.getCharCount() - 2));
+	}
+
+	@Test
+	public void testLazyRepair() {
+		PresentationReconciler reconciler= createReconciler();
+		reconciler.setLazyRepair(true);
+		reconciler.install(fViewer);
+		fViewer.setDocument(new Document(createContent(50000)));
+
+		StyledText textWidget= fViewer.getTextWidget();
+		int length= textWidget.getCharCount();
+		int lastOffset= length - 2;
+		assertNotNull("visible lines not repaired", textWidget.getStyleRangeAtOffset(0));
+		assertNull("invisible lines repaired", textWidget.getStyleRangeAtOffset(lastOffset));
+		assertTrue(fRepairedRegions.get(0).getLength() < length / 2);
+
+		assertTrue("document not repaired when idle", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return textWidget.getStyleRangeAtOffset(lastOffset) != null;
+			}
+		}.waitForCondition(textWidget.getDisplay(), 5000));
+		int repairedLength= 0;
+		for (IRegion region : fRepairedRegions) {
+			repairedLength+= region.getLength();
+		}
+		assertTrue(repairedLength >= length);
+	}
+
+	@Test
+	public void testLazyRepairOnScroll() {
+		PresentationReconciler reconciler= createReconciler();
+		reconciler.setLazyRepair(true);
+		reconciler.install(fViewer);
+		IDocument document= new Document(createContent(50000));
+		fViewer.setDocument(document);
+
+		fViewer.setTopIndex(30000);
+		StyledText textWidget= fViewer.getTextWidget();
+		assertNotNull("lines scrolled into view not repaired", textWidget.getStyleRangeAtOffset(textWidget.getOffsetAtLine(30000)));
+	}
+
+	@Test
+	public void testLazyRepairResumesWhenRedrawIsEnabled() {
+		PresentationReconciler reconciler= createReconciler();
+		reconciler.setLazyRepair(true);
+		reconciler.install(fViewer);
+		fViewer.setDocument(new Document(createContent(50000)));
+
+		StyledText textWidget= fViewer.getTextWidget();
+		int lastOffset= textWidget.getCharCount() - 2;
+		fViewer.setRedraw(false);
+		DisplayHelper.sleep(textWidget.getDisplay(), 200);
+		assertNull("document repaired while redraw is off", textWidget.getStyleRangeAtOffset(lastOffset));
+
+		fViewer.setRedraw(true);
+		assertTrue("document not repaired after redraw is enabled", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return textWidget.getStyleRangeAtOffset(lastOffset) != null;
+			}
+		}.waitForCondition(textWidget.getDisplay(), 5000));
+	}
+}
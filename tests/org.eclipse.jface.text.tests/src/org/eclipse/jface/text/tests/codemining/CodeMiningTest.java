@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,10 +51,12 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.DocumentFooterCodeMining;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
@@ -224,6 +226,67 @@ public class CodeMiningTest {
 		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
 	}
 
+	@Test
+	public void testCodeMiningProviderExtensionVisibleLines() throws BadLocationException {
+		Assume.assumeFalse("See bug 541415. For whatever reason, this shortcut doesn't work on Mac", Util.isMac());
+		RegionCodeMiningProvider provider= new RegionCodeMiningProvider();
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { provider });
+		fViewer.getDocument().set(TextViewerTest.generate5000Lines());
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getTextWidget().getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+		int middleOffset= fViewer.getDocument().getLineOffset(2500);
+		synchronized (provider.regions) {
+			Assert.assertFalse(provider.regions.isEmpty());
+			for (IRegion region : provider.regions) {
+				Assert.assertTrue("Code minings requested for lines which are not visible", region.getOffset() + region.getLength() < middleOffset);
+			}
+		}
+		TextViewerTest.ctrlEnd(fViewer);
+		final int lastLine= fViewer.getDocument().getNumberOfLines() - 1;
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getTextWidget().getLineVerticalIndent(lastLine) > 0;
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+	}
+
+	@Test
+	public void testCodeMiningProviderExtensionChangedLines() throws BadLocationException {
+		RegionCodeMiningProvider provider= new RegionCodeMiningProvider();
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { provider });
+		IDocument document= fViewer.getDocument();
+		document.set(TextViewerTest.generate5000Lines());
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getTextWidget().getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+		// let the minings of all lines near the visible lines be rendered
+		DisplayHelper.sleep(fViewer.getControl().getDisplay(), 1000);
+		provider.regions.clear();
+
+		document.replace(document.getLineOffset(5), 0, "changed ");
+		Assert.assertTrue("Code minings not requested for the changed line", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !provider.regions.isEmpty();
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+		DisplayHelper.sleep(fViewer.getControl().getDisplay(), 500);
+		IRegion changedLine= new Region(document.getLineOffset(5), document.getLineLength(5));
+		synchronized (provider.regions) {
+			for (IRegion region : provider.regions) {
+				Assert.assertEquals("Code minings requested for unchanged lines", changedLine, region);
+			}
+		}
+	}
+
 	@Test
 	public void testCodeMiningEmptyLine() {
 		fViewer.getDocument().set("\n");
@@ -573,4 +636,39 @@ public class CodeMiningTest {
 		image.dispose();
 		return false;
 	}
+
+	/**
+	 * A provider of one line header code mining per line, which records the regions it is asked
+	 * for.
+	 */
+	private static class RegionCodeMiningProvider extends AbstractCodeMiningProvider implements ICodeMiningProviderExtension {
+
+		final List<IRegion> regions= Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+			return provideCodeMinings(viewer, new Region(0, viewer.getDocument().getLength()), monitor);
+		}
+
+		@Override
+		public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+			regions.add(region);
+			IDocument document= viewer.getDocument();
+			List<ICodeMining> minings= new ArrayList<>();
+			try {
+				// the region ends with the delimiter of its last line
+				int lastLine= document.getLineOfOffset(region.getOffset() + Math.max(0, region.getLength() - 1));
+				for (int line= document.getLineOfOffset(region.getOffset()); line <= lastLine; line++) {
+					LineHeaderCodeMining mining= new LineHeaderCodeMining(line, document, this) {
+						// Nothing in particular
+					};
+					mining.setLabel("mining " + line);
+					minings.add(mining);
+				}
+			} catch (BadLocationException e) {
+				e.printStackTrace();
+			}
+			return CompletableFuture.completedFuture(minings);
+		}
+	}
 }
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.internal.text.PartiallySortedList;
+
+public class PartiallySortedListTest {
+
+	/** The number of comparisons made by {@link #fComparator} */
+	private int fComparisons;
+
+	/** Compares the first character only, so that elements with the same first character are equal */
+	private final Comparator<String> fComparator= (a, b) -> {
+		fComparisons++;
+		return Character.compare(a.charAt(0), b.charAt(0));
+	};
+
+	@Test
+	public void testStableOrder() {
+		List<String> elements= createElements(500, 8);
+		List<String> expected= new ArrayList<>(elements);
+		expected.sort(fComparator);
+
+		for (int sorted : new int[] { 0, 1, 10, 249, 250, 500, 1000 }) {
+			PartiallySortedList<String> list= new PartiallySortedList<>(elements, fComparator, sorted);
+			assertEquals(expected.size(), list.size());
+			for (int i= 0; i < list.size(); i++)
+				assertEquals("sorted: " + sorted + ", index: " + i, expected.get(i), list.get(i));
+		}
+	}
+
+	@Test
+	public void testStableOrderWithRandomAccess() {
+		List<String> elements= createElements(300, 5);
+		List<String> expected= new ArrayList<>(elements);
+		expected.sort(fComparator);
+
+		PartiallySortedList<String> list= new PartiallySortedList<>(elements, fComparator, 10);
+		Random random= new Random(42);
+		for (int i= 0; i < 100; i++) {
+			int index= random.nextInt(list.size());
+			assertEquals(expected.get(index), list.get(index));
+		}
+		assertEquals(expected, new ArrayList<>(list));
+	}
+
+	@Test
+	public void testFirstElementsAreSortedRightAway() {
+		List<String> elements= createElements(1000, 26);
+		List<String> expected= new ArrayList<>(elements);
+		expected.sort(fComparator);
+
+		PartiallySortedList<String> list= new PartiallySortedList<>(elements, fComparator, 20);
+		fComparisons= 0;
+		for (int i= 0; i < 20; i++)
+			assertEquals(expected.get(i), list.get(i));
+		assertEquals("the first elements should not be sorted again", 0, fComparisons);
+
+		// reading further sorts more elements
+		assertEquals(expected.get(20), list.get(20));
+		assertEquals(expected.get(999), list.get(999));
+	}
+
+	@Test
+	public void testUnsortedElements() {
+		List<String> elements= createElements(100, 4);
+		PartiallySortedList<String> list= new PartiallySortedList<>(elements, fComparator, 10);
+
+		fComparisons= 0;
+		List<String> unsorted= list.unsortedElements();
+		assertEquals(elements.size(), unsorted.size());
+		List<String> actual= new ArrayList<>(unsorted);
+		List<String> expected= new ArrayList<>(elements);
+		actual.sort(null);
+		expected.sort(null);
+		assertEquals(expected, actual);
+		assertEquals("the elements should not be sorted", 0, fComparisons);
+
+		assertThrows(UnsupportedOperationException.class, () -> unsorted.set(0, "x"));
+		assertThrows(UnsupportedOperationException.class, () -> list.add("x"));
+	}
+
+	@Test
+	public void testEmpty() {
+		PartiallySortedList<String> list= new PartiallySortedList<>(List.of(), fComparator, 10);
+		assertEquals(0, list.size());
+		assertEquals(List.of(), list.unsortedElements());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+	}
+
+	/**
+	 * Creates elements whose first character is one of the first <code>keys</code> letters,
+	 * followed by their index.
+	 */
+	private static List<String> createElements(int count, int keys) {
+		Random random= new Random(count);
+		List<String> elements= new ArrayList<>();
+		for (int i= 0; i < count; i++)
+			elements.add((char) ('a' + random.nextInt(keys)) + Integer.toString(i));
+		return elements;
+	}
+}
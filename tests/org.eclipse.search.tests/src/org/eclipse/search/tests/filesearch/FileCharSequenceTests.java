@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,12 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.After;
@@ -75,14 +79,80 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testMappedFileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 20000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.ISO_8859_1.name(), true, true);
+	}
+
+	@Test
+	public void testMappedFileCharSequenceAscii() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 40000; i++) {
+			buf.append("abcdefghijklmnopqrstuvwxyz 0123456789\n"); //$NON-NLS-1$
+		}
+		testForEncoding(buf, StandardCharsets.UTF_8.name(), true, true);
+	}
+
+	@Test
+	public void testMappedFileCharSequenceFallback() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 20000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		// non ASCII UTF-8 content cannot be mapped and is read through a reader
+		testForEncoding(buf, StandardCharsets.UTF_8.name(), true, false);
+	}
+
+	@Test
+	public void testSmallFileIsNotMapped() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", TEST_CONTENT, StandardCharsets.ISO_8859_1.name());
+		CharSequence cs= new FileCharSequenceProvider(true).newCharSequence(file1);
+		assertTrue(cs instanceof String);
+		assertFalse(FileCharSequenceProvider.isMapped(cs));
+	}
+
+	@Test
+	public void testMappedReader() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 40000; i++) {
+			buf.append("abcdefghijklmnopqrstuvwxyz 0123456789\n"); //$NON-NLS-1$
+		}
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), StandardCharsets.US_ASCII.name());
+		StringBuilder read= new StringBuilder();
+		try (Reader reader= FileCharSequenceProvider.newMappedReader(file1)) {
+			assertNotNull(reader);
+			char[] chars= new char[4096];
+			int n;
+			while ((n= reader.read(chars)) != -1) {
+				read.append(chars, 0, n);
+			}
+		}
+		Assert.assertEquals(buf.toString(), read.toString());
+
+		IFile file2= ResourceHelper.createFile(folder, "file2", buf.toString(), StandardCharsets.UTF_16.name());
+		assertNull(FileCharSequenceProvider.newMappedReader(file2));
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
+		testForEncoding(buf, encoding, false, false);
+	}
+
+	private void testForEncoding(CharSequence buf, String encoding, boolean useMemoryMapping, boolean expectMapped) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
 
-		FileCharSequenceProvider provider= new FileCharSequenceProvider();
+		FileCharSequenceProvider provider= new FileCharSequenceProvider(useMemoryMapping);
 		CharSequence cs= null;
 		try {
 			cs= provider.newCharSequence(file1);
+			Assert.assertEquals(encoding + " - mapped", expectMapped, FileCharSequenceProvider.isMapped(cs));
+			Assert.assertEquals(encoding + " - mapped sub sequence", expectMapped, FileCharSequenceProvider.isMapped(cs.subSequence(10, 20)));
 
 			assertEquals(encoding, cs, buf);
 
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+
+public class PatternConstructorTest {
+
+	private static void assertLiterals(Pattern pattern, String... expected) {
+		assertArrayEquals(pattern.pattern(), expected, PatternConstructor.getRequiredLiterals(pattern));
+	}
+
+	@Test
+	public void testStringMatcherLiterals() {
+		assertLiterals(PatternConstructor.createPattern("foo*bar", false, false), "foo", "bar");
+		assertLiterals(PatternConstructor.createPattern("a?cdef", false, false), "a", "cdef");
+		assertLiterals(PatternConstructor.createPattern("*.java", false, false), ".java");
+	}
+
+	@Test
+	public void testQuotedLiterals() {
+		assertLiterals(Pattern.compile(Pattern.quote("a\\Eb")), "a\\Eb");
+		assertLiterals(Pattern.compile("\\Qhello\\E?"), "hell");
+		assertLiterals(Pattern.compile("hello", Pattern.LITERAL), "hello");
+	}
+
+	@Test
+	public void testRegexLiterals() {
+		assertLiterals(Pattern.compile("ab?cd"), "a", "cd");
+		assertLiterals(Pattern.compile("x\\d+yz"), "x", "yz");
+		assertLiterals(Pattern.compile("\\x41bcd"), "bcd");
+		assertLiterals(Pattern.compile("abc{0,2}de"), "ab", "de");
+		assertLiterals(Pattern.compile("(abc)?def"), "def");
+		assertLiterals(Pattern.compile("[abc]]def"), "]def");
+		assertLiterals(Pattern.compile("\\.java$"), ".java");
+	}
+
+	@Test
+	public void testNoRequiredLiterals() {
+		assertLiterals(Pattern.compile("foo|bar"));
+		assertLiterals(Pattern.compile("(?x)a b"));
+		assertLiterals(Pattern.compile("a b", Pattern.COMMENTS));
+		assertLiterals(Pattern.compile(".*"));
+	}
+}
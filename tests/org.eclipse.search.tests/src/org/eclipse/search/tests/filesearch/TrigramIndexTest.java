@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.tests.ResourceHelper;
+
+public class TrigramIndexTest {
+
+	private IProject fProject;
+	private File fIndexFile;
+	private TrigramIndex fIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("trigram-project");
+		fIndexFile= File.createTempFile("trigrams", ".index");
+		fIndexFile.delete();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fIndex != null) {
+			fIndex.shutdown();
+		}
+		ResourceHelper.deleteProject("trigram-project");
+		fIndexFile.delete();
+	}
+
+	@Test
+	public void testMembership() throws Exception {
+		IFile file= createFile("hello.txt", "Hello World");
+		startIndex();
+
+		assertTrue(fIndex.mayContain(file, new String[] { "World" }));
+		assertTrue(fIndex.mayContain(file, new String[] { "hello", "WORLD" }));
+		assertTrue(fIndex.mayContain(file, new String[] { "lo W" }));
+		assertFalse(fIndex.mayContain(file, new String[] { "xyzzy" }));
+		assertFalse(fIndex.mayContain(file, new String[] { "hello", "xyzzy" }));
+		// nothing is known about literals without a trigram
+		assertTrue(fIndex.mayContain(file, new String[] { "zz" }));
+		assertTrue(fIndex.mayContain(file, new String[0]));
+	}
+
+	@Test
+	public void testNoFilteringBeforeLoaded() throws Exception {
+		IFile file= createFile("hello.txt", "Hello World");
+		fIndex= new TrigramIndex(fIndexFile);
+		assertTrue(fIndex.mayContain(file, new String[] { "xyzzy" }));
+		// an index that was never loaded does not overwrite the persisted one
+		fIndex.shutdown();
+		fIndex= null;
+		assertFalse(fIndexFile.exists());
+	}
+
+	@Test
+	public void testDeltaUpdates() throws Exception {
+		IFile file= createFile("hello.txt", "Hello World");
+		startIndex();
+		assertFalse(fIndex.mayContain(file, new String[] { "other" }));
+
+		file.setContents(new ByteArrayInputStream("some other text".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		// a changed file is not filtered until it is indexed again
+		assertTrue(fIndex.mayContain(file, new String[] { "World" }));
+		joinIndex();
+		assertTrue(fIndex.mayContain(file, new String[] { "other" }));
+		assertFalse(fIndex.mayContain(file, new String[] { "World" }));
+
+		IFile added= createFile("added.txt", "added content");
+		joinIndex();
+		assertFalse(fIndex.mayContain(added, new String[] { "World" }));
+	}
+
+	@Test
+	public void testFileChangedOnDisk() throws Exception {
+		IFile file= createFile("hello.txt", "Hello World");
+		startIndex();
+		assertFalse(fIndex.mayContain(file, new String[] { "changed" }));
+
+		File onDisk= file.getLocation().toFile();
+		Files.writeString(onDisk.toPath(), "changed on disk", StandardCharsets.UTF_8);
+		onDisk.setLastModified(onDisk.lastModified() + 10_000);
+		// the workspace is not refreshed, but the search reads the new content
+		assertFalse(file.isSynchronized(IResource.DEPTH_ZERO));
+		assertTrue(fIndex.mayContain(file, new String[] { "changed" }));
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		IFile file= createFile("hello.txt", "Hello World");
+		startIndex();
+		fIndex.shutdown();
+		fIndex= null;
+		assertTrue(fIndexFile.isFile());
+
+		startIndex();
+		assertTrue(fIndex.mayContain(file, new String[] { "World" }));
+		assertFalse(fIndex.mayContain(file, new String[] { "xyzzy" }));
+	}
+
+	@Test
+	public void testReconcileWithChangesWhileShutDown() throws Exception {
+		IFile changed= createFile("changed.txt", "Hello World");
+		startIndex();
+		fIndex.shutdown();
+		fIndex= null;
+
+		changed.setContents(new ByteArrayInputStream("some other text".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		IFile added= createFile("added.txt", "added content");
+
+		startIndex();
+		assertTrue(fIndex.mayContain(changed, new String[] { "other" }));
+		assertFalse(fIndex.mayContain(changed, new String[] { "World" }));
+		assertFalse(fIndex.mayContain(added, new String[] { "World" }));
+	}
+
+	private IFile createFile(String name, String contents) throws CoreException {
+		IFile file= fProject.getFile(name);
+		file.create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+		file.setCharset(StandardCharsets.UTF_8.name(), null);
+		return file;
+	}
+
+	private void startIndex() throws InterruptedException {
+		fIndex= new TrigramIndex(fIndexFile);
+		fIndex.startup();
+		joinIndex();
+	}
+
+	private void joinIndex() throws InterruptedException {
+		Job.getJobManager().join(fIndex, null);
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+
+import org.eclipse.text.quicksearch.internal.util.LineOffsetTable;
+import org.eclipse.text.quicksearch.internal.util.LineScanner;
+import org.junit.Test;
+
+public class LineScannerTest {
+
+	@Test
+	public void testLineDelimiters() throws Exception {
+		try (LineScanner scanner = new LineScanner(new StringReader("a\r\nbb\rccc\n\ndddd"), 100, null)) {
+			assertLine(scanner, "a", 1, 0);
+			assertLine(scanner, "bb", 2, 3);
+			assertLine(scanner, "ccc", 3, 6);
+			assertLine(scanner, "", 4, 10);
+			assertLine(scanner, "dddd", 5, 11);
+			assertNull(scanner.readLine());
+		}
+	}
+
+	@Test
+	public void testLongLinesAreSkipped() throws Exception {
+		String longLine = "x".repeat(50_000);
+		String text = "first\n" + longLine + "\nthird\n";
+		try (LineScanner scanner = new LineScanner(new StringReader(text), 1000, null)) {
+			assertLine(scanner, "first", 1, 0);
+			assertLine(scanner, "third", 3, longLine.length() + 7);
+			assertNull(scanner.readLine());
+		}
+	}
+
+	@Test
+	public void testReadWindow() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		LineOffsetTable offsets = new LineOffsetTable();
+		try (LineScanner scanner = new LineScanner(new StringReader(text.toString()), 1000, offsets)) {
+			while (scanner.readLine() != null) {
+				// record all offsets
+			}
+		}
+		LineOffsetTable.Window window = offsets.readWindow(new StringReader(text.toString()), 4321, 2);
+		assertEquals(4321, window.firstLine());
+		assertEquals(text.indexOf("line 4321\n"), window.offset());
+		assertEquals("line 4321\nline 4322\n", window.text());
+
+		window = offsets.readWindow(new StringReader(text.toString()), 4999, 10);
+		assertTrue(window.text().equals("line 4999\n"));
+	}
+
+	@Test
+	public void testReadWindowWhileRecording() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		LineOffsetTable offsets = new LineOffsetTable();
+		try (LineScanner scanner = new LineScanner(new StringReader(text.toString()), 1000, offsets)) {
+			for (int i = 0; i < 3000; i++) {
+				scanner.readLine();
+			}
+			// lines beyond the last recorded sample are read from that sample
+			LineOffsetTable.Window window = offsets.readWindow(new StringReader(text.toString()), 4000, 1);
+			assertEquals(text.indexOf("line 4000\n"), window.offset());
+			assertEquals("line 4000\n", window.text());
+		}
+	}
+
+	private static void assertLine(LineScanner scanner, String expected, int lineNumber, int offset) throws Exception {
+		assertEquals(expected, scanner.readLine());
+		assertEquals(lineNumber, scanner.getLastLineNumber());
+		assertEquals(offset, scanner.getLastLineOffset());
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.text.quicksearch.internal.core.LineItem;
+import org.eclipse.text.quicksearch.internal.core.QuickTextQuery;
+import org.eclipse.text.quicksearch.internal.core.QuickTextSearchRequestor;
+import org.eclipse.text.quicksearch.internal.core.QuickTextSearcher;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QuickTextSearcherTest {
+
+	private static final int FILE_COUNT = 30;
+
+	private IProject project;
+
+	private final Set<String> matches = new HashSet<>();
+
+	private QuickTextSearcher searcher;
+
+	@Before
+	public void setUp() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+		for (int i = 0; i < FILE_COUNT; i++) {
+			String contents = "foo " + i + "\n" + (i % 3 == 0 ? "foobar " + i + "\n" : "") + "bar " + i + "\n";
+			project.getFile("file" + i + ".txt").create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+		}
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		if (searcher != null) {
+			searcher.cancel();
+		}
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testIncrementalUpdateWithParallelWorkers() {
+		startSearch("foo", 4);
+
+		Set<String> expected = new HashSet<>();
+		for (int i = 0; i < FILE_COUNT; i++) {
+			expected.add("file" + i + ".txt:foo " + i);
+			if (i % 3 == 0) {
+				expected.add("file" + i + ".txt:foobar " + i);
+			}
+		}
+		assertMatches(expected);
+
+		// a refined query updates the matches found so far
+		searcher.setQuery(new QuickTextQuery("foob", false), false);
+		expected.removeIf(match -> !match.contains("foob"));
+		assertMatches(expected);
+
+		// an unrelated query restarts the search
+		searcher.setQuery(new QuickTextQuery("bar", false), false);
+		expected.clear();
+		for (int i = 0; i < FILE_COUNT; i++) {
+			expected.add("file" + i + ".txt:bar " + i);
+			if (i % 3 == 0) {
+				expected.add("file" + i + ".txt:foobar " + i);
+			}
+		}
+		assertMatches(expected);
+	}
+
+	@Test
+	public void testLongLinesAreSkipped() throws CoreException {
+		String contents = "needle 1\n" + "needle ".repeat(1000) + "\nneedle 3\n";
+		project.getFile("long.txt").create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+		startSearch("needle", 1);
+
+		// the search goes on after a line longer than the max line length
+		assertMatches(Set.of("long.txt:needle 1", "long.txt:needle 3"));
+	}
+
+	private void startSearch(String query, int maxWorkers) {
+		searcher = new QuickTextSearcher(new QuickTextQuery(query, false), new PriorityFunction() {
+			@Override
+			public double priority(IResource r) {
+				if (!project.equals(r.getProject())) {
+					return PRIORITY_IGNORE;
+				}
+				// ignore the .project file
+				return r.getType() != IResource.FILE || r.getName().endsWith(".txt") ? PRIORITY_DEFAULT : PRIORITY_IGNORE;
+			}
+		}, 1000, maxWorkers, new QuickTextSearchRequestor() {
+			@Override
+			public void add(LineItem match) {
+				synchronized (matches) {
+					matches.add(match.getFile().getName() + ":" + match.getText());
+				}
+			}
+
+			@Override
+			public void revoke(LineItem match) {
+				synchronized (matches) {
+					matches.remove(match.getFile().getName() + ":" + match.getText());
+				}
+			}
+
+			@Override
+			public void clear() {
+				synchronized (matches) {
+					matches.clear();
+				}
+			}
+		});
+		searcher.setMaxResults(1000);
+	}
+
+	private void assertMatches(Set<String> expected) {
+		BooleanSupplier found = () -> {
+			synchronized (matches) {
+				return searcher.isDone() && matches.equals(expected);
+			}
+		};
+		long end = System.currentTimeMillis() + 10_000;
+		while (!found.getAsBoolean() && System.currentTimeMillis() < end) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		synchronized (matches) {
+			assertEquals(expected, matches);
+		}
+		assertTrue(searcher.isDone());
+	}
+}
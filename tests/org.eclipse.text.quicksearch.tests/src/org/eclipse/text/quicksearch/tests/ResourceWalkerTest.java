@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.text.quicksearch.internal.core.ResourceWalker;
+import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceWalkerTest {
+
+	private static final int FILE_COUNT = 20;
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName() + System.currentTimeMillis());
+		project.create(null);
+		project.open(null);
+		for (int i = 0; i < FILE_COUNT; i++) {
+			project.getFile(fileName(i)).create(new ByteArrayInputStream(("file " + i).getBytes(StandardCharsets.UTF_8)), true, null);
+		}
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testSingleWorkerFollowsPriorities() {
+		List<String> searched = new ArrayList<>();
+		RecordingWalker walker = new RecordingWalker(1) {
+			@Override
+			protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+				searched.add(f.getName());
+				return true;
+			}
+		};
+		walker.run(new NullProgressMonitor());
+
+		List<String> expected = new ArrayList<>();
+		for (int i = FILE_COUNT - 1; i >= 0; i--) {
+			expected.add(fileName(i));
+		}
+		assertEquals(expected, searched);
+		assertTrue(walker.isDone());
+	}
+
+	@Test
+	public void testParallelWorkersTakeHighestPrioritiesFirst() {
+		int workers = 4;
+		CountDownLatch allWorkersBusy = new CountDownLatch(workers);
+		List<String> searched = new ArrayList<>();
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		RecordingWalker walker = new RecordingWalker(workers) {
+			@Override
+			protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					synchronized (searched) {
+						searched.add(f.getName());
+					}
+					// every worker blocks on its first file, so the first files
+					// searched are the first ones taken from the queue
+					allWorkersBusy.countDown();
+					allWorkersBusy.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					active.decrementAndGet();
+				}
+				return true;
+			}
+		};
+		walker.run(new NullProgressMonitor());
+
+		assertEquals("workers did not search concurrently", 0, allWorkersBusy.getCount());
+		assertTrue("too many workers: " + maxActive.get(), maxActive.get() <= workers);
+		assertEquals(FILE_COUNT, searched.size());
+		assertEquals(FILE_COUNT, new HashSet<>(searched).size());
+		HashSet<String> expectedFirst = new HashSet<>();
+		for (int i = FILE_COUNT - workers; i < FILE_COUNT; i++) {
+			expectedFirst.add(fileName(i));
+		}
+		assertEquals(expectedFirst, new HashSet<>(searched.subList(0, workers)));
+		assertTrue(walker.isDone());
+	}
+
+	private static String fileName(int i) {
+		return String.format("file%02d.txt", Integer.valueOf(i));
+	}
+
+	private abstract class RecordingWalker extends ResourceWalker {
+
+		RecordingWalker(int maxWorkers) {
+			setMaxWorkers(maxWorkers);
+			setPriorityFun(new PriorityFunction() {
+				@Override
+				public double priority(IResource r) {
+					if (!project.equals(r.getProject())) {
+						return PRIORITY_IGNORE;
+					}
+					if (r.getType() == IResource.FILE) {
+						// ignore the .project file
+						return r.getName().startsWith("file") ? Integer.parseInt(r.getName().substring(4, 6)) : PRIORITY_IGNORE;
+					}
+					return PRIORITY_DEFAULT;
+				}
+			});
+			// collect the files again with the priorities of the test
+			init();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -165,4 +165,20 @@ public class AdaptiveGapTextTest extends AbstractGapTextTest {
 		assertGap(2, 5);
 		assertContents("yyzzxxxxx");
 	}
+
+	@Test
+	public void testRemoveWithinMaxGapFactor() {
+		fText.set("xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx");
+		assertGap(40, 50);
+
+		// the gap may grow beyond twice the allocated size up to half of the array
+		for (int i= 0; i < 15; i++)
+			fText.replace(i, 2, "y");
+		assertGap(15, 40);
+		assertContents("yyyyyyyyyyyyyyyxxxxxxxxxx");
+
+		fText.replace(15, 2, "y");
+		assertGap(16, 24);
+		assertContents("yyyyyyyyyyyyyyyyxxxxxxxx");
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
@@ -276,4 +277,60 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testRegionQueriesAfterChanges() throws Exception {
+		Random random= new Random(42);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 500; i++)
+			text.append("line ").append(i).append('\n');
+		fDocument.set(text.toString());
+
+		// a model without document answers region queries with a scan over all annotations,
+		// it shares the positions updated by the connected model
+		AnnotationModel reference= new AnnotationModel();
+		ArrayList<Annotation> annotations= new ArrayList<>();
+		for (int i= 0; i < 1000; i++) {
+			Annotation annotation= new Annotation(false);
+			annotations.add(annotation);
+			int offset= random.nextInt(fDocument.getLength());
+			Position position= new Position(offset, Math.min(random.nextInt(5) == 0 ? 0 : random.nextInt(100), fDocument.getLength() - offset));
+			fAnnotationModel.addAnnotation(annotation, position);
+			reference.addAnnotation(annotation, position);
+		}
+
+		for (int round= 0; round < 200; round++) {
+			Annotation annotation= annotations.get(random.nextInt(annotations.size()));
+			switch (random.nextInt(4)) {
+				case 0:
+					int offset= random.nextInt(fDocument.getLength());
+					fDocument.replace(offset, Math.min(random.nextInt(20), fDocument.getLength() - offset), "x".repeat(random.nextInt(20)));
+					break;
+				case 1:
+					if (fAnnotationModel.getPosition(annotation) != null)
+						fAnnotationModel.modifyAnnotationPosition(annotation, new Position(random.nextInt(fDocument.getLength()), 0));
+					break;
+				case 2:
+					fAnnotationModel.removeAnnotation(annotation);
+					reference.removeAnnotation(annotation);
+					break;
+				default:
+					break;
+			}
+
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(5) == 0 ? 0 : random.nextInt(300);
+			for (int flags= 0; flags < 4; flags++) {
+				boolean canStartBefore= (flags & 1) != 0;
+				boolean canEndAfter= (flags & 2) != 0;
+				HashSet<Annotation> actual= new HashSet<>();
+				fAnnotationModel.getAnnotationIterator(offset, length, canStartBefore, canEndAfter).forEachRemaining(actual::add);
+				HashSet<Annotation> expected= new HashSet<>();
+				reference.getAnnotationIterator(offset, length, canStartBefore, canEndAfter).forEachRemaining(expected::add);
+				// only the connected model removes the annotations of deleted positions
+				expected.removeIf(a -> fAnnotationModel.getPosition(a) == null);
+				assertEquals(expected.toArray(new Annotation[expected.size()]), actual.toArray(new Annotation[actual.size()]), fAnnotationModel, fAnnotationModel, fAnnotationModel);
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		FindReplaceDocumentAdapterTest.class,
 		PositionUpdatingCornerCasesTest.class,
 		ExclusivePositionUpdaterTest.class,
+		TreePositionStoreTest.class,
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
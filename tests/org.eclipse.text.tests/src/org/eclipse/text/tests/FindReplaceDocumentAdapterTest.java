@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,7 +34,9 @@ import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -295,6 +297,42 @@ public class FindReplaceDocumentAdapterTest {
 		assertEquals("f0", fDocument.get());
 	}
 
+	@Test
+	public void testReplaceAll() throws Exception {
+		FindReplaceDocumentAdapter findReplaceDocumentAdapter= new FindReplaceDocumentAdapter(fDocument);
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+				assertNotNull(fDocument.getActiveRewriteSession());
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				// nothing to do
+			}
+		});
+
+		assertEquals(2, findReplaceDocumentAdapter.replaceAll("public void (method\\d)", "void $1x", true, false, true));
+		assertEquals(1, findReplaceDocumentAdapter.replaceAll("comment", "comment comment", true, true, false));
+		assertEquals(0, findReplaceDocumentAdapter.replaceAll("method3", "method4", true, false, false));
+		assertNull(fDocument.getActiveRewriteSession());
+
+		String text= "package TestPackage;\n" +
+				"/*\n" +
+				"* comment comment\n" +
+				"*/\n" +
+				"	public class Class {\n" +
+				"		// comment1\n" +
+				"		void method1x() {\n" +
+				"		}\n" +
+				"		// comment2\n" +
+				"		void method2x() {\n" +
+				"		}\n" +
+				"	}\n" +
+				"// Gel\u00F6st";
+		assertEquals(text, fDocument.get());
+	}
+
 	@Test
 	public void testRegexReplace_invalidRegex() throws Exception {
 		FindReplaceDocumentAdapter findReplaceDocumentAdapter = new FindReplaceDocumentAdapter(fDocument);
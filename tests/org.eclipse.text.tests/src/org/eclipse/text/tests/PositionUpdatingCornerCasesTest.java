@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Set;
+
 import org.junit.After;
 import org.junit.Test;
 
@@ -93,4 +95,22 @@ public class PositionUpdatingCornerCasesTest {
 		checkPositions(positions);
 
 	}
+
+	@Test
+	public void testZeroLengthPositionEndingOrder() throws Exception {
+		fDocument= new Document("x-x-x-x-x-x-x-x-x-x-x");
+		Position ending= new Position(3, 1);
+		Position empty= new Position(3, 0);
+		fDocument.addPosition(ending);
+		fDocument.addPosition(new Position(2, 1));
+		fDocument.addPosition(empty);
+
+		// positions ending in the region, an empty position ends at its offset
+		Position[] positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 3, 1, true, false);
+		assertEquals(Set.of(ending, empty), Set.of(positions));
+
+		fDocument.removePosition(empty);
+		positions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 3, 1, true, false);
+		assertEquals(Set.of(ending), Set.of(positions));
+	}
 }
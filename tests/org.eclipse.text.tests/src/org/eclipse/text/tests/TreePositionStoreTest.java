@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.TreePositionStore;
+
+public class TreePositionStoreTest {
+
+	private static final String CATEGORY= "test";
+
+	@Test
+	public void testOrderAndIndex() throws Exception {
+		Document document= createDocument("x-x-x-x-x-x-x-x-x-x-x", new DefaultPositionUpdater(CATEGORY));
+		Position first= new Position(5, 3);
+		Position second= new Position(5, 0);
+		Position third= new Position(0, 1);
+		document.addPosition(CATEGORY, first);
+		document.addPosition(CATEGORY, second);
+		document.addPosition(CATEGORY, third);
+
+		Position[] positions= document.getPositions(CATEGORY);
+		assertEquals(3, positions.length);
+		assertSame(third, positions[0]);
+		assertSame(second, positions[1]);
+		assertSame(first, positions[2]);
+		assertEquals(1, document.computeIndexInCategory(CATEGORY, 5));
+		assertEquals(3, document.computeIndexInCategory(CATEGORY, 6));
+		assertTrue(document.containsPosition(CATEGORY, 5, 3));
+		assertFalse(document.containsPosition(CATEGORY, 5, 2));
+
+		document.removePosition(CATEGORY, second);
+		assertFalse(document.containsPosition(CATEGORY, 5, 0));
+		assertEquals(2, document.getPositions(CATEGORY).length);
+	}
+
+	@Test
+	public void testPositionsStartingBeforeRegion() throws Exception {
+		Document document= createDocument("0123456789012345678901234567890123456789", new DefaultPositionUpdater(CATEGORY));
+		Position longPosition= new Position(0, 30);
+		document.addPosition(CATEGORY, longPosition);
+		for (int i= 0; i < 10; i++)
+			document.addPosition(CATEGORY, new Position(i, 1));
+
+		Position[] positions= document.getPositions(CATEGORY, 20, 5, true, true);
+		assertEquals(1, positions.length);
+		assertSame(longPosition, positions[0]);
+
+		positions= document.getPositions(CATEGORY, 20, 10, true, false);
+		assertEquals(1, positions.length);
+		assertSame(longPosition, positions[0]);
+
+		assertEquals(0, document.getPositions(CATEGORY, 20, 5, false, true).length);
+	}
+
+	@Test
+	public void testSetPositionStoreFactoryKeepsPositions() throws Exception {
+		Document document= new Document("x-x-x-x-x-x-x-x-x-x-x");
+		Position position= new Position(4, 2);
+		document.addPosition(position);
+
+		document.setPositionStoreFactory(TreePositionStore::new);
+		assertSame(position, document.getPositions(IDocument.DEFAULT_CATEGORY)[0]);
+
+		document.replace(0, 2, "");
+		assertEquals(new Position(2, 2), position);
+
+		document.setPositionStoreFactory(null);
+		assertSame(position, document.getPositions(IDocument.DEFAULT_CATEGORY)[0]);
+	}
+
+	@Test
+	public void testAddAndRemoveManyPositions() throws Exception {
+		Random random= new Random(4321);
+		Document expected= new Document(new String(new char[5000]));
+		Document actual= new Document(expected.get());
+		actual.setPositionStoreFactory(TreePositionStore::new);
+		List<Position> positions= new ArrayList<>();
+		for (int i= 0; i < 2000; i++) {
+			Position position= new Position(random.nextInt(4990), random.nextInt(10));
+			expected.addPosition(position);
+			actual.addPosition(position);
+			positions.add(position);
+		}
+		assertEquals(toString(expected.getPositions(IDocument.DEFAULT_CATEGORY)), toString(actual.getPositions(IDocument.DEFAULT_CATEGORY)));
+
+		while (!positions.isEmpty()) {
+			Position position= positions.remove(random.nextInt(positions.size()));
+			expected.removePosition(position);
+			actual.removePosition(position);
+			assertEquals(toString(expected.getPositions(IDocument.DEFAULT_CATEGORY)), toString(actual.getPositions(IDocument.DEFAULT_CATEGORY)));
+		}
+	}
+
+	/**
+	 * Applies the same random changes to a document using the default position store and to a
+	 * document using the tree store, and compares the positions. The positions in a region are
+	 * compared to the positions found by visiting all positions.
+	 */
+	@Test
+	public void testRandomChanges() throws Exception {
+		Random random= new Random(1234);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			text.append((char) ('a' + random.nextInt(26)));
+
+		// a subclass visits all positions, the tree document only the affected ones
+		Document expected= createDocument(text.toString(), new DefaultPositionUpdater(CATEGORY) {});
+		expected.setPositionStoreFactory(null);
+		Document actual= createDocument(text.toString(), new DefaultPositionUpdater(CATEGORY));
+		List<Position> expectedPositions= new ArrayList<>();
+		List<Position> actualPositions= new ArrayList<>();
+
+		for (int step= 0; step < 2000; step++) {
+			int length= expected.getLength();
+			int operation= random.nextInt(10);
+			if (operation < 3) {
+				int offset= random.nextInt(length + 1);
+				int positionLength= random.nextInt(Math.min(50, length - offset) + 1);
+				Position position= new Position(offset, positionLength);
+				expected.addPosition(CATEGORY, position);
+				expectedPositions.add(position);
+				position= new Position(offset, positionLength);
+				actual.addPosition(CATEGORY, position);
+				actualPositions.add(position);
+			} else if (operation < 4 && !expectedPositions.isEmpty()) {
+				int index= random.nextInt(expectedPositions.size());
+				expected.removePosition(CATEGORY, expectedPositions.remove(index));
+				actual.removePosition(CATEGORY, actualPositions.remove(index));
+			} else {
+				// replacing text at a zero-length position may break the order of the positions
+				int offset= random.nextInt(length + 1);
+				int replaced= operation < 7 ? random.nextInt(Math.min(20, length - offset) + 1) : 0;
+				String inserted= replaced == 0 ? "abcdefghij".substring(random.nextInt(10)) : "";
+				expected.replace(offset, replaced, inserted);
+				actual.replace(offset, replaced, inserted);
+			}
+
+			assertEquals(toString(expected.getPositions(CATEGORY)), toString(actual.getPositions(CATEGORY)));
+			length= expected.getLength();
+			int offset= random.nextInt(length + 1);
+			int regionLength= 1 + random.nextInt(100);
+			for (int flags= 0; flags < 4; flags++) {
+				boolean canStartBefore= (flags & 1) != 0;
+				boolean canEndAfter= (flags & 2) != 0;
+				assertEquals(toSortedString(getPositions(actual, offset, regionLength, canStartBefore, canEndAfter)),
+						toSortedString(actual.getPositions(CATEGORY, offset, regionLength, canStartBefore, canEndAfter)));
+			}
+			assertEquals(expected.computeIndexInCategory(CATEGORY, offset), actual.computeIndexInCategory(CATEGORY, offset));
+		}
+	}
+
+	private static Position[] getPositions(Document document, int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
+		Position region= new Position(offset, length);
+		List<Position> positions= new ArrayList<>();
+		for (Position position : document.getPositions(CATEGORY)) {
+			int end= position.length == 0 ? position.offset : position.offset + position.length - 1;
+			boolean inside;
+			if (canStartBefore && canEndAfter)
+				inside= region.overlapsWith(position.offset, position.length);
+			else if (canStartBefore)
+				inside= region.includes(end);
+			else if (canEndAfter)
+				inside= region.includes(position.offset);
+			else
+				inside= region.includes(position.offset) && region.includes(position.offset + position.length - 1);
+			if (inside)
+				positions.add(position);
+		}
+		return positions.toArray(new Position[positions.size()]);
+	}
+
+	private static Document createDocument(String text, DefaultPositionUpdater updater) {
+		Document document= new Document(text);
+		document.setPositionStoreFactory(TreePositionStore::new);
+		document.addPositionCategory(CATEGORY);
+		document.addPositionUpdater(updater);
+		return document;
+	}
+
+	private static String toString(Position[] positions) {
+		StringBuilder buffer= new StringBuilder();
+		for (Position position : positions)
+			buffer.append('[').append(position.offset).append(',').append(position.length).append(']');
+		return buffer.toString();
+	}
+
+	private static String toSortedString(Position[] positions) {
+		Position[] sorted= positions.clone();
+		Arrays.sort(sorted, (p1, p2) -> p1.offset != p2.offset ? Integer.compare(p1.offset, p2.offset) : Integer.compare(p1.length, p2.length));
+		return toString(sorted);
+	}
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link StackProfile} class.
+ */
+public class StackProfileTests {
+
+	/**
+	 * Creates a stack with the innermost frame first from frames given outermost first.
+	 */
+	private static StackTraceElement[] stack(String... methods) {
+		StackTraceElement[] stack = new StackTraceElement[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			int dot = methods[i].lastIndexOf('.');
+			stack[methods.length - 1 - i] = new StackTraceElement(methods[i].substring(0, dot),
+					methods[i].substring(dot + 1), null, -1);
+		}
+		return stack;
+	}
+
+	@Test
+	public void testCollapsedStacks() throws Exception {
+		StackProfile profile = new StackProfile(100);
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Editor.paint"));
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Editor.paint"));
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch"));
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Outline.refresh"));
+
+		assertEquals(4, profile.getSampleCount());
+		assertEquals(4, profile.getNodeCount());
+		assertEquals("a.Main.main;a.Display.readAndDispatch 1\n"
+				+ "a.Main.main;a.Display.readAndDispatch;a.Editor.paint 2\n"
+				+ "a.Main.main;a.Display.readAndDispatch;a.Outline.refresh 1\n", profile.toString());
+
+		profile.clear();
+		assertEquals(0, profile.getSampleCount());
+		assertEquals("", profile.toString());
+	}
+
+	@Test
+	public void testNodeCountIsBounded() throws Exception {
+		StackProfile profile = new StackProfile(3);
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Editor.paint"));
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Outline.refresh"));
+		profile.addSample(stack("a.Main.main", "a.Display.readAndDispatch", "a.Editor.paint"));
+		profile.addSample(stack("b.Worker.run"));
+
+		assertEquals(4, profile.getSampleCount());
+		assertEquals(3, profile.getNodeCount());
+		assertEquals("[truncated] 1\n"
+				+ "a.Main.main;a.Display.readAndDispatch;[truncated] 1\n"
+				+ "a.Main.main;a.Display.readAndDispatch;a.Editor.paint 2\n", profile.toString());
+	}
+}
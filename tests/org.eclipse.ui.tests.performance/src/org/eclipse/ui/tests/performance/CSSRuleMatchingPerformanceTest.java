@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CTabFolder;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.ToolBar;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.Widget;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.DocumentCSS;
+import org.w3c.dom.css.ViewCSS;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * Measures computing the styles of a workbench sized widget tree against a
+ * large style sheet, once with the indexed rule lookup and once with the
+ * linear scan over all rules.
+ */
+public class CSSRuleMatchingPerformanceTest extends BasicPerformanceTest {
+
+	private static final int WIDGETS = 5000;
+
+	private static final String[] PSEUDOS = { null, "selected" };
+
+	private CSSSWTEngineImpl engine;
+
+	private Shell shell;
+
+	private List<Element> elements;
+
+	private DocumentCSSImpl documentCSS;
+
+	public CSSRuleMatchingPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Display display = Display.getCurrent();
+		engine = new CSSSWTEngineImpl(display);
+		documentCSS = new DocumentCSSImpl();
+		documentCSS.addStyleSheet(engine.parseStyleSheet(new StringReader(createStyleSheet())));
+
+		shell = new Shell(display);
+		elements = new ArrayList<>();
+		List<Composite> composites = new ArrayList<>();
+		composites.add(shell);
+		addElement(shell, 0);
+		for (int i = 1; elements.size() < WIDGETS; i++) {
+			Composite parent = composites.get((i - 1) / 4 % composites.size());
+			Widget widget = switch (i % 8) {
+			case 0 -> new Composite(parent, SWT.NONE);
+			case 1 -> new CTabFolder(parent, SWT.NONE);
+			case 2 -> new Button(parent, SWT.PUSH);
+			case 3 -> new Label(parent, SWT.NONE);
+			case 4 -> new ToolBar(parent, SWT.NONE);
+			case 5 -> new Tree(parent, SWT.NONE);
+			case 6 -> new Text(parent, SWT.NONE);
+			default -> new Composite(parent, SWT.NONE);
+			};
+			if (widget instanceof Composite composite && !(widget instanceof ToolBar) && !(widget instanceof Tree)) {
+				composites.add(composite);
+			}
+			addElement(widget, i);
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		shell.dispose();
+		engine.dispose();
+		super.doTearDown();
+	}
+
+	public void testIndexedRuleMatching() throws Throwable {
+		measureComputedStyles(new ViewCSSImpl(documentCSS));
+	}
+
+	public void testLinearRuleMatching() throws Throwable {
+		// a plain DocumentCSS disables rule caching and thus the rule index
+		DocumentCSS plainDocumentCSS = new DocumentCSS() {
+			@Override
+			public StyleSheetList getStyleSheets() {
+				return documentCSS.getStyleSheets();
+			}
+
+			@Override
+			public CSSStyleDeclaration getOverrideStyle(Element elt, String pseudoElt) {
+				return null;
+			}
+		};
+		measureComputedStyles(new ViewCSSImpl(plainDocumentCSS));
+	}
+
+	private void measureComputedStyles(ViewCSS viewCSS) throws Throwable {
+		exercise(() -> {
+			startMeasuring();
+			for (Element element : elements) {
+				for (String pseudo : PSEUDOS) {
+					viewCSS.getComputedStyle(element, pseudo);
+				}
+			}
+			stopMeasuring();
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void addElement(Widget widget, int i) {
+		if (i % 3 == 0) {
+			WidgetElement.setCSSClass(widget, "style" + (i % 60) + " other");
+		}
+		if (i % 7 == 0) {
+			WidgetElement.setID(widget, "id" + (i % 250));
+		}
+		elements.add(engine.getElement(widget));
+	}
+
+	private static String createStyleSheet() {
+		// many rules keyed by type, class and id, plus some universal and
+		// combinator rules, like the style sheets of the workbench themes
+		StringBuilder css = new StringBuilder();
+		String[] types = { "Shell", "Composite", "CTabFolder", "ToolBar", "Button", "Label", "Tree", "Text" };
+		for (int i = 0; i < 200; i++) {
+			String type = types[i % types.length];
+			String color = String.format("%06x", i);
+			css.append(type).append(".style").append(i % 50).append(" { color: #").append(color).append("; }\n");
+			css.append("#id").append(i).append(" { background-color: #").append(color).append("; }\n");
+			css.append(".style").append(i % 50).append(":selected { font-weight: bold; }\n");
+		}
+		css.append("* { font-style: normal; }\n");
+		css.append("Shell > * > Button { color: blue; }\n");
+		css.append("CTabFolder Composite.style3, Tree { color: red; }\n");
+		return css.toString();
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IPositionStore;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.TreePositionStore;
+
+/**
+ * Measures the position stores of a document with many positions, like the annotations and
+ * occurrence marks of a large file: once with the default store, which keeps the positions in
+ * sorted lists, and once with the {@link TreePositionStore}.
+ */
+public class PositionStorePerformanceTest extends BasicPerformanceTest {
+
+	private static final int LINES= 20000;
+
+	private static final int POSITIONS= 100000;
+
+	private static final int KEYSTROKES= 200;
+
+	/** The length of the visible region queried after each keystroke. */
+	private static final int VISIBLE= 4000;
+
+	public PositionStorePerformanceTest(String testName) {
+		super(testName);
+	}
+
+	public void testTypingWithListStore() throws Throwable {
+		measureTyping(null);
+	}
+
+	public void testTypingWithTreeStore() throws Throwable {
+		measureTyping(TreePositionStore::new);
+	}
+
+	public void testAddRemoveWithListStore() throws Throwable {
+		measureAddRemove(null);
+	}
+
+	public void testAddRemoveWithTreeStore() throws Throwable {
+		measureAddRemove(TreePositionStore::new);
+	}
+
+	/**
+	 * Types into a document with many positions and queries the positions of the visible region
+	 * after each keystroke, as the annotation painter does.
+	 */
+	private void measureTyping(Supplier<IPositionStore> factory) throws Throwable {
+		exercise(() -> {
+			try {
+				Document document= createDocument(factory);
+				addPositions(document, new Random(42));
+				Random random= new Random(7);
+
+				startMeasuring();
+				for (int i= 0; i < KEYSTROKES; i++) {
+					int offset= random.nextInt(document.getLength());
+					document.replace(offset, 0, "x");
+					int visible= Math.max(0, offset - VISIBLE / 2);
+					document.getPositions(IDocument.DEFAULT_CATEGORY, visible, Math.min(VISIBLE, document.getLength() - visible), true, true);
+				}
+				stopMeasuring();
+			} catch (BadLocationException | BadPositionCategoryException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Adds many positions in random order and removes them again.
+	 */
+	private void measureAddRemove(Supplier<IPositionStore> factory) throws Throwable {
+		exercise(() -> {
+			try {
+				Document document= createDocument(factory);
+
+				startMeasuring();
+				Position[] positions= addPositions(document, new Random(42));
+				for (Position position : positions) {
+					document.removePosition(position);
+				}
+				stopMeasuring();
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static Document createDocument(Supplier<IPositionStore> factory) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			text.append("\tfield").append(i).append("= value").append(i).append(";\n");
+		}
+		Document document= new Document(text.toString());
+		document.setPositionStoreFactory(factory);
+		return document;
+	}
+
+	private static Position[] addPositions(Document document, Random random) throws BadLocationException {
+		Position[] positions= new Position[POSITIONS];
+		int length= document.getLength();
+		for (int i= 0; i < POSITIONS; i++) {
+			int offset= random.nextInt(length);
+			positions[i]= new Position(offset, random.nextInt(Math.min(40, length - offset) + 1));
+			document.addPosition(positions[i]);
+		}
+		return positions;
+	}
+}
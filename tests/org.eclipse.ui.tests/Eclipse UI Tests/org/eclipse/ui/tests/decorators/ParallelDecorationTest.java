@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.jface.viewers.ILabelDecorator;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.ui.internal.IPreferenceConstants;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecoratorDefinition;
+import org.eclipse.ui.internal.decorators.DecoratorManager;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests the decoration of elements by parallel worker jobs.
+ */
+@RunWith(JUnit4.class)
+public class ParallelDecorationTest extends UITestCase {
+
+	private static final String THREAD_SAFE_DECORATOR = "org.eclipse.ui.tests.decorators.threadSafeDecorator";
+
+	private static final String SERIAL_DECORATOR = "org.eclipse.ui.tests.decorators.serialDecorator";
+
+	/** Decorated by a decorator declared thread safe. */
+	public static class ThreadSafeElement {
+	}
+
+	/** Decorated by a decorator that does not opt in to parallel decoration. */
+	public static class SerialElement {
+	}
+
+	private final Set<Object> updated = Collections.synchronizedSet(new HashSet<>());
+
+	/** The number of decorated elements when a thread safe element was updated first. */
+	private int firstUpdate = -1;
+
+	private final ILabelProviderListener listener = event -> {
+		Object[] elements = event.getElements();
+		if (elements == null) {
+			return;
+		}
+		for (Object element : elements) {
+			if (element instanceof ThreadSafeElement && firstUpdate < 0) {
+				firstUpdate = ParallelTestDecorator.decorated.get();
+			}
+			updated.add(element);
+		}
+	};
+
+	private ILabelDecorator labelDecorator;
+
+	public ParallelDecorationTest() {
+		super(ParallelDecorationTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		ParallelTestDecorator.reset();
+		setPreference(WorkbenchPlugin.getDefault().getPreferenceStore(), IPreferenceConstants.PARALLEL_DECORATION,
+				true);
+		setDecoratorsEnabled(true);
+		labelDecorator = getDecoratorManager().getLabelDecorator();
+		labelDecorator.addListener(listener);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		labelDecorator.removeListener(listener);
+		labelDecorator.dispose();
+		setDecoratorsEnabled(false);
+		ParallelTestDecorator.reset();
+		super.doTearDown();
+	}
+
+	private DecoratorManager getDecoratorManager() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager();
+	}
+
+	private void setDecoratorsEnabled(boolean enabled) {
+		getDecoratorManager().clearCaches();
+		for (DecoratorDefinition definition : getDecoratorManager().getAllDecoratorDefinitions()) {
+			if (THREAD_SAFE_DECORATOR.equals(definition.getId()) || SERIAL_DECORATOR.equals(definition.getId())) {
+				definition.setEnabled(enabled);
+			}
+		}
+		getDecoratorManager().updateForEnablementChange();
+	}
+
+	@Test
+	public void testWorkerHandOff() {
+		assumeTrue("no worker jobs on a single processor", Runtime.getRuntime().availableProcessors() > 1);
+		ParallelTestDecorator.handOff = new CountDownLatch(2);
+
+		decorate(createElements(100, 0));
+
+		assertEquals("no worker decorated next to the decoration job", 0, ParallelTestDecorator.handOff.getCount());
+		assertTrue(ParallelTestDecorator.threads.get(ThreadSafeElement.class).size() > 1);
+	}
+
+	@Test
+	public void testThreadSafeOptOut() {
+		ParallelTestDecorator.delay = 1;
+
+		decorate(createElements(100, 100));
+
+		// elements with a decorator that is not thread safe are decorated by the decoration job
+		assertEquals(1, ParallelTestDecorator.threads.get(SerialElement.class).size());
+		assertEquals(1, ParallelTestDecorator.maxActive.get(SerialElement.class).get());
+	}
+
+	@Test
+	public void testUpdatesAreBatched() {
+		assumeTrue("no worker jobs on a single processor", Runtime.getRuntime().availableProcessors() > 1);
+		ParallelTestDecorator.delay = 2;
+
+		List<Object> elements = createElements(2000, 0);
+		decorate(elements);
+
+		// workers schedule label updates before all elements are decorated
+		assertTrue("first update after " + firstUpdate + " elements",
+				firstUpdate < ParallelTestDecorator.decorated.get());
+	}
+
+	private static List<Object> createElements(int threadSafeCount, int serialCount) {
+		List<Object> elements = new ArrayList<>();
+		for (int i = 0; i < Math.max(threadSafeCount, serialCount); i++) {
+			if (i < threadSafeCount) {
+				elements.add(new ThreadSafeElement());
+			}
+			if (i < serialCount) {
+				elements.add(new SerialElement());
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * Queues the elements for decoration and waits until their labels have been
+	 * updated. A serial element queued first keeps the decoration job from handing
+	 * off elements until all of them are queued.
+	 */
+	private void decorate(List<Object> elements) {
+		List<Object> all = new ArrayList<>();
+		all.add(new SerialElement());
+		all.addAll(elements);
+		ParallelTestDecorator.queued = new CountDownLatch(1);
+		for (Object element : all) {
+			labelDecorator.decorateText("element", element);
+		}
+		ParallelTestDecorator.queued.countDown();
+
+		assertTrue("labels not updated", processEventsUntil(() -> updated.containsAll(all), 30000));
+		assertEquals(all.size(), ParallelTestDecorator.decorated.get());
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jface.viewers.IDecoration;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ILightweightLabelDecorator;
+
+/**
+ * A lightweight decorator recording the threads it decorates the elements of
+ * {@link ParallelDecorationTest} on. It is contributed once as thread safe
+ * decorator and once without opting in to parallel decoration.
+ */
+public class ParallelTestDecorator implements ILightweightLabelDecorator {
+
+	public static final String SUFFIX = " decorated";
+
+	/** The threads that decorated the elements of each element class. */
+	static final Map<Class<?>, Set<Thread>> threads = new ConcurrentHashMap<>();
+
+	/** The maximal number of threads decorating elements of a class at once. */
+	static final Map<Class<?>, AtomicInteger> maxActive = new ConcurrentHashMap<>();
+
+	private static final Map<Class<?>, AtomicInteger> active = new ConcurrentHashMap<>();
+
+	static final AtomicInteger decorated = new AtomicInteger();
+
+	/**
+	 * Opened once all elements are queued, serial elements are decorated by the
+	 * decoration job itself and keep it from handing off elements until then.
+	 */
+	static volatile CountDownLatch queued;
+
+	/** Counted down by every thread safe element, which waits until it is open. */
+	static volatile CountDownLatch handOff;
+
+	/** Time it takes to decorate an element in milliseconds. */
+	static volatile long delay;
+
+	static void reset() {
+		threads.clear();
+		maxActive.clear();
+		active.clear();
+		decorated.set(0);
+		queued = null;
+		handOff = null;
+		delay = 0;
+	}
+
+	@Override
+	public void decorate(Object element, IDecoration decoration) {
+		Class<?> type = element.getClass();
+		threads.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+		AtomicInteger activeCount = active.computeIfAbsent(type, t -> new AtomicInteger());
+		maxActive.computeIfAbsent(type, t -> new AtomicInteger()).accumulateAndGet(activeCount.incrementAndGet(),
+				Math::max);
+		try {
+			if (element instanceof ParallelDecorationTest.SerialElement) {
+				CountDownLatch latch = queued;
+				if (latch != null) {
+					latch.await(10, TimeUnit.SECONDS);
+				}
+			} else {
+				CountDownLatch latch = handOff;
+				if (latch != null) {
+					latch.countDown();
+					latch.await(10, TimeUnit.SECONDS);
+				}
+			}
+			if (delay > 0) {
+				Thread.sleep(delay);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			activeCount.decrementAndGet();
+		}
+		decoration.addSuffix(SUFFIX);
+		decorated.incrementAndGet();
+	}
+
+	@Override
+	public void addListener(ILabelProviderListener listener) {
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public boolean isLabelProperty(Object element, String property) {
+		return false;
+	}
+
+	@Override
+	public void removeListener(ILabelProviderListener listener) {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@
 package org.eclipse.ui.tests.internal;
 
 import org.eclipse.ui.tests.largefile.LargeFileLimitsPreferenceHandlerTest;
+import org.eclipse.ui.tests.log.LogFileIndexTest;
+import org.eclipse.ui.tests.log.TailInputStreamTest;
 import org.eclipse.ui.tests.markers.Bug75909Test;
 import org.eclipse.ui.tests.markers.DeclarativeFilterActivityTest;
 import org.eclipse.ui.tests.markers.DeclarativeFilterDeclarationTest;
@@ -69,6 +71,9 @@ import org.junit.runners.Suite;
 	LargeFileLimitsPreferenceHandlerTest.class,
 	WorkbookEditorsHandlerTest.class,
 	ScopeAreaTest.class,
+	LogFileIndexTest.class,
+	TailInputStreamTest.class,
+	StartupSchedulerTest.class,
 		MarkerTypeTests.class
 })
 public class InternalTestSuite {}
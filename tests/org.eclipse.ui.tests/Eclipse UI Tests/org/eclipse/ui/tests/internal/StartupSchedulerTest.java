@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.internal.StartupScheduler;
+import org.eclipse.ui.internal.StartupScheduler.Phase;
+import org.eclipse.ui.internal.StartupThreading.StartupRunnable;
+import org.junit.Test;
+
+public class StartupSchedulerTest {
+
+	@Test
+	public void testDependencyOrder() {
+		StartupScheduler scheduler = new StartupScheduler();
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+		Phase first = scheduler.runInBackground("first", () -> {
+			try {
+				// give the dependent phase the chance to run too early
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			order.add("first");
+		});
+		Phase dependent = scheduler.runInBackground("dependent", () -> order.add("dependent"), first);
+		Phase independent = scheduler.runInBackground("independent", () -> order.add("independent"));
+		Phase display = scheduler.runOnDisplay("display", new StartupRunnable() {
+			@Override
+			public void runWithException() {
+				assertNotNull("display phase not run on the display thread", Display.getCurrent());
+				order.add("display");
+			}
+		}, dependent);
+
+		List<Phase> phases = scheduler.join();
+		assertEquals(List.of(first, dependent, independent, display), phases);
+		assertEquals(4, order.size());
+		assertTrue(order.indexOf("first") < order.indexOf("dependent"));
+		assertTrue(order.indexOf("dependent") < order.indexOf("display"));
+		assertTrue(first.isBackground());
+		assertFalse(display.isBackground());
+		assertEquals("display", display.getName());
+		assertTrue(first.getEndTime() <= dependent.getStartTime());
+		assertTrue(dependent.getEndTime() <= display.getStartTime());
+	}
+
+	@Test
+	public void testFailurePropagation() {
+		StartupScheduler scheduler = new StartupScheduler();
+		AtomicBoolean dependentRun = new AtomicBoolean();
+		AtomicBoolean displayRun = new AtomicBoolean();
+
+		// a failing background phase is logged, the phases depending on it run
+		Phase failing = scheduler.runInBackground("failing", () -> {
+			throw new IllegalStateException("Expected failure of a startup phase");
+		});
+		Phase dependent = scheduler.runInBackground("dependent", () -> dependentRun.set(true), failing);
+		scheduler.runOnDisplay("display", new StartupRunnable() {
+			@Override
+			public void runWithException() {
+				displayRun.set(true);
+			}
+		}, dependent);
+		assertTrue(dependentRun.get());
+		assertTrue(displayRun.get());
+
+		// a failing display phase is thrown to the caller
+		assertThrows(IllegalStateException.class, () -> scheduler.runOnDisplay("failing display", new StartupRunnable() {
+			@Override
+			public void runWithException() {
+				throw new IllegalStateException("Expected failure of a startup phase");
+			}
+		}));
+		assertEquals(4, scheduler.join().size());
+	}
+
+	@Test
+	public void testExecutorShutdown() throws InterruptedException {
+		StartupScheduler scheduler = new StartupScheduler();
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		scheduler.runInBackground("background", () -> thread.set(Thread.currentThread()));
+		scheduler.join();
+
+		Thread backgroundThread = thread.get();
+		assertTrue(backgroundThread.getName().startsWith("Workbench Startup "));
+		assertTrue(backgroundThread.isDaemon());
+		// the idle threads would only time out after a second without the shutdown
+		backgroundThread.join(500);
+		assertFalse("background thread not released", backgroundThread.isAlive());
+
+		// the scheduler can be used again after the join
+		AtomicBoolean run = new AtomicBoolean();
+		scheduler.runInBackground("again", () -> run.set(true));
+		scheduler.join();
+		assertTrue(run.get());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -904,6 +905,104 @@ public final class BindingManagerTest {
 				TestBinding.TRIGGER_SEQUENCE, activeBindings[0]);
 	}
 
+	/**
+	 * Tests that switching the active contexts after the bindings were
+	 * computed only reports the triggers whose binding changed, and that the
+	 * bindings, the partial matches and the conflicts are the same as the ones
+	 * computed from scratch.
+	 *
+	 * @throws NotDefinedException
+	 *             If the scheme we try to activate is not defined.
+	 * @throws ParseException
+	 *             If the hard-coded strings aren't constructed properly.
+	 */
+	@Test
+	public void testContextChangeUpdatesBindings() throws NotDefinedException,
+			ParseException {
+		// GENERAL SET-UP
+		contextManager.getContext("parent").define("name", "description", null);
+		contextManager.getContext("child").define("name", "description",
+				"parent");
+		contextManager.getContext("other").define("name", "description", null);
+		final Scheme scheme = bindingManager.getScheme("na");
+		scheme.define("name", "description", null);
+		bindingManager.setActiveScheme(scheme);
+
+		final KeySequence overridden = KeySequence.getInstance("CTRL+F");
+		final KeySequence prefixed = KeySequence.getInstance("CTRL+G CTRL+G");
+		final KeySequence conflict = KeySequence.getInstance("CTRL+H");
+		final KeySequence unchanged = KeySequence.getInstance("CTRL+I");
+		final Binding parentBinding = new KeyBinding(overridden,
+				new ParameterizedCommand(commandManager.getCommand("parent"),
+						null), "na", "parent", null, null, null, Binding.SYSTEM);
+		final Binding childBinding = new KeyBinding(overridden,
+				new ParameterizedCommand(commandManager.getCommand("child"),
+						null), "na", "child", null, null, null, Binding.SYSTEM);
+		final Binding prefixedBinding = new KeyBinding(prefixed,
+				new ParameterizedCommand(commandManager.getCommand("prefixed"),
+						null), "na", "child", null, null, null, Binding.SYSTEM);
+		final Binding conflictBinding1 = new KeyBinding(conflict,
+				new ParameterizedCommand(commandManager.getCommand("conflict1"),
+						null), "na", "parent", null, null, null, Binding.SYSTEM);
+		final Binding conflictBinding2 = new KeyBinding(conflict,
+				new ParameterizedCommand(commandManager.getCommand("conflict2"),
+						null), "na", "other", null, null, null, Binding.SYSTEM);
+		final Binding unchangedBinding = new KeyBinding(unchanged,
+				new ParameterizedCommand(commandManager.getCommand("unchanged"),
+						null), "na", "parent", null, null, null, Binding.SYSTEM);
+		bindingManager.setBindings(new Binding[] { parentBinding, childBinding,
+				prefixedBinding, conflictBinding1, conflictBinding2,
+				unchangedBinding });
+
+		final Set<String> activeContextIds = new HashSet<>();
+		activeContextIds.add("parent");
+		contextManager.setActiveContextIds(activeContextIds);
+		assertSame(parentBinding, bindingManager.getPerfectMatch(overridden));
+		assertFalse(bindingManager.isPartialMatch(prefixed.getPrefixes()[1]));
+
+		final Collection<?>[] changedTriggers = new Collection<?>[1];
+		bindingManager.addBindingManagerListener(event -> {
+			if (event.isActiveBindingsChanged()) {
+				changedTriggers[0] = event.getChangedTriggers();
+			}
+		});
+
+		// ACTIVATE THE CHILD AND THE OTHER CONTEXT
+		activeContextIds.add("child");
+		activeContextIds.add("other");
+		contextManager.setActiveContextIds(activeContextIds);
+		assertSame(childBinding, bindingManager.getPerfectMatch(overridden));
+		assertSame(prefixedBinding, bindingManager.getPerfectMatch(prefixed));
+		assertTrue(bindingManager.isPartialMatch(prefixed.getPrefixes()[1]));
+		assertNull(bindingManager.getPerfectMatch(conflict));
+		assertNotNull(bindingManager.getConflictsFor(conflict));
+		assertSame(unchangedBinding, bindingManager.getPerfectMatch(unchanged));
+		assertNotNull(changedTriggers[0]);
+		assertEquals(new HashSet<>(Arrays.asList(overridden, prefixed, conflict)),
+				new HashSet<>(changedTriggers[0]));
+
+		final BindingManager expected = new BindingManager(contextManager,
+				commandManager);
+		final Scheme expectedScheme = expected.getScheme("na");
+		expectedScheme.define("name", "description", null);
+		expected.setActiveScheme(expectedScheme);
+		expected.setBindings(bindingManager.getBindings());
+		assertEquals(expected.getPartialMatches(KeySequence.getInstance()),
+				bindingManager.getPartialMatches(KeySequence.getInstance()));
+		assertEquals(expected.getCurrentConflicts().keySet(),
+				bindingManager.getCurrentConflicts().keySet());
+
+		// DEACTIVATE THEM AGAIN
+		activeContextIds.remove("child");
+		activeContextIds.remove("other");
+		contextManager.setActiveContextIds(activeContextIds);
+		assertSame(parentBinding, bindingManager.getPerfectMatch(overridden));
+		assertNull(bindingManager.getPerfectMatch(prefixed));
+		assertFalse(bindingManager.isPartialMatch(prefixed.getPrefixes()[1]));
+		assertSame(conflictBinding1, bindingManager.getPerfectMatch(conflict));
+		assertNull(bindingManager.getConflictsFor(conflict));
+	}
+
 	/**
 	 * Tests whether the method works with a null argument. Tests that it works
 	 * in a simple case.
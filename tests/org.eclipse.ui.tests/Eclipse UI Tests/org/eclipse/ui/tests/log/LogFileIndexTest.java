@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.log;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.internal.views.log.LogEntry;
+import org.eclipse.ui.internal.views.log.LogFileIndex;
+import org.eclipse.ui.internal.views.log.LogReader;
+import org.eclipse.ui.internal.views.log.LogSession;
+import org.eclipse.ui.internal.views.log.LogView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogFileIndexTest {
+
+	private File file;
+	private XMLMemento memento;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("logfileindex", ".log");
+		memento = XMLMemento.createWriteRoot("LOGVIEW");
+		memento.putString(LogView.P_LOG_OK, "true");
+		memento.putString(LogView.P_LOG_INFO, "true");
+		memento.putString(LogView.P_LOG_WARNING, "true");
+		memento.putString(LogView.P_LOG_ERROR, "true");
+		memento.putString(LogView.P_USE_LIMIT, "false");
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "true");
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testIndexesSessionsAndEntries() throws IOException {
+		String log = session(1) + entry(4, "first") + entry(2, "second") + session(2) + entry(1, "third")
+				+ entry(4, "fourth");
+		write(log, false);
+
+		LogFileIndex index = new LogFileIndex(file);
+		index.update();
+
+		assertEquals(2, index.getSessionCount());
+		assertEquals(4, index.getEntryCount());
+		long offset = -1;
+		for (int i = 0; i < 4; i++) {
+			offset = log.indexOf("!ENTRY", (int) offset + 1);
+			assertEquals(offset, index.getEntryOffset(i));
+		}
+		assertEquals(0, index.getEntrySession(0));
+		assertEquals(0, index.getEntrySession(1));
+		assertEquals(1, index.getEntrySession(2));
+		assertEquals(1, index.getEntrySession(3));
+		// an entry ends where the next session starts
+		assertEquals(log.indexOf("!SESSION", log.indexOf("second")), index.getEntryEnd(1));
+		assertEquals(log.length(), index.getEntryEnd(3));
+	}
+
+	@Test
+	public void testUpdateIndexesAppendedLines() throws IOException {
+		write(session(1) + entry(4, "first"), false);
+		LogFileIndex index = new LogFileIndex(file);
+		index.update();
+		assertEquals(1, index.getEntryCount());
+
+		// a line is indexed once it is complete
+		long offset = file.length() + 1;
+		write("\n!ENTRY org.eclipse.ui 2 0 2026-01-01 10:00:01.000", true);
+		index.update();
+		assertEquals(1, index.getEntryCount());
+		write("\n!MESSAGE second\n", true);
+		index.update();
+		assertEquals(2, index.getEntryCount());
+		assertEquals(offset, index.getEntryOffset(1));
+
+		write(session(2) + entry(1, "third"), true);
+		index.update();
+		assertEquals(2, index.getSessionCount());
+		assertEquals(3, index.getEntryCount());
+		assertEquals(1, index.getEntrySession(2));
+
+		// a truncated file is indexed again
+		write(session(3), false);
+		index.update();
+		assertEquals(1, index.getSessionCount());
+		assertEquals(0, index.getEntryCount());
+	}
+
+	@Test
+	public void testSelectEntries() throws IOException {
+		write(session(1) + entry(4, "first") + entry(2, "second") + session(2) + entry(1, "third")
+				+ entry(4, "fourth") + entry(2, "fifth"), false);
+		LogFileIndex index = new LogFileIndex(file);
+		index.update();
+
+		assertArrayEquals(new int[] { 3, 4 }, index.selectEntries(5, 2, memento));
+		assertArrayEquals(new int[] { 1, 2 }, index.selectEntries(3, 2, memento));
+		assertArrayEquals(new int[] { 0 }, index.selectEntries(1, 2, memento));
+
+		memento.putString(LogView.P_LOG_WARNING, "false");
+		assertArrayEquals(new int[] { 0, 2, 3 }, index.selectEntries(5, 10, memento));
+
+		// only the most recent session
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, "false");
+		assertArrayEquals(new int[] { 2, 3 }, index.selectEntries(5, 10, memento));
+	}
+
+	@Test
+	public void testReadPages() throws IOException {
+		write(session(1) + entry(4, "first") + entry(2, "second") + session(2) + entry(1, "third äöü")
+				+ entry(4, "fourth"), false);
+		LogFileIndex index = new LogFileIndex(file);
+		index.update();
+
+		List<LogEntry> entries = new ArrayList<>();
+		LogSession current = LogReader.parseLogFile(index, index.selectEntries(4, 1, memento), entries, memento);
+		assertSame(index.getSession(1), current);
+		assertNotNull(current.getDate());
+		assertEquals(List.of("fourth"), getMessages(entries));
+
+		// an older page spans both sessions
+		List<LogEntry> older = new ArrayList<>();
+		LogReader.parseLogFile(index, index.selectEntries(3, 2, memento), older, memento);
+		assertEquals(List.of("second", "third äöü"), getMessages(older));
+		assertSame(index.getSession(0), older.get(0).getSession());
+		// entries of different pages are grouped under the same session
+		assertSame(entries.get(0).getSession(), older.get(1).getSession());
+		assertEquals(2, older.get(0).getSeverity());
+	}
+
+	private static List<String> getMessages(List<LogEntry> entries) {
+		List<String> messages = new ArrayList<>();
+		for (LogEntry entry : entries) {
+			messages.add(entry.getMessage());
+		}
+		return messages;
+	}
+
+	private static String session(int day) {
+		return "!SESSION 2026-01-0" + day + " 10:00:00.000 -----------------------------------------------\n"
+				+ "eclipse.buildId=unittest\n";
+	}
+
+	private static String entry(int severity, String message) {
+		return "\n!ENTRY org.eclipse.ui " + severity + " 0 2026-01-01 10:00:01.000\n!MESSAGE " + message + "\n";
+	}
+
+	private void write(String text, boolean append) throws IOException {
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), append
+				? new StandardOpenOption[] { StandardOpenOption.APPEND }
+				: new StandardOpenOption[] { StandardOpenOption.TRUNCATE_EXISTING });
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.ui.internal.views.log.TailInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TailInputStreamTest {
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("tailinputstream", ".log");
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testReadBytesAbove0x7F() throws IOException {
+		byte[] bytes = new byte[256];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		Files.write(file.toPath(), bytes);
+
+		try (InputStream in = new TailInputStream(file, bytes.length)) {
+			for (int i = 0; i < bytes.length; i++) {
+				assertEquals(i, in.read());
+			}
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	public void testTailStartsAtLineStart() throws IOException {
+		// the partial first line contains a 0xFF byte, which is not the end of the stream
+		byte[] head = "first line ".getBytes(StandardCharsets.US_ASCII);
+		byte[] tail = "\nsecond line\n".getBytes(StandardCharsets.US_ASCII);
+		byte[] bytes = new byte[head.length + 2 + tail.length];
+		System.arraycopy(head, 0, bytes, 0, head.length);
+		bytes[head.length] = (byte) 0xFF;
+		bytes[head.length + 1] = (byte) 0x80;
+		System.arraycopy(tail, 0, bytes, head.length + 2, tail.length);
+		Files.write(file.toPath(), bytes);
+
+		try (InputStream in = new TailInputStream(file, tail.length + 4)) {
+			assertEquals("second line\n", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	public void testFromOffset() throws IOException {
+		String text = "first line\nsecond line äöü\n";
+		Files.writeString(file.toPath(), text, StandardCharsets.UTF_8);
+
+		try (InputStream in = TailInputStream.fromOffset(file, text.indexOf("second"))) {
+			assertEquals("second line äöü\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		try (InputStream in = TailInputStream.fromOffset(file, text.getBytes(StandardCharsets.UTF_8).length)) {
+			assertEquals(-1, in.read());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,7 @@ import org.eclipse.ui.handlers.IHandlerActivation;
 import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.internal.WorkbenchWindow;
 import org.eclipse.ui.internal.handlers.HandlerPersistence;
+import org.eclipse.ui.internal.services.EvaluationService;
 import org.eclipse.ui.services.IEvaluationReference;
 import org.eclipse.ui.services.IEvaluationService;
 import org.eclipse.ui.services.ISourceProviderService;
@@ -542,6 +543,62 @@ public class EvaluationServiceTest extends UITestCase {
 		assertEquals(2, listener.count);
 	}
 
+	@Test
+	public void testRequestEvaluationOfDependentsOnly() throws Exception {
+		IEvaluationService service = PlatformUI.getWorkbench().getService(IEvaluationService.class);
+		assertTrue(service instanceof EvaluationService);
+		EvaluationService evaluationService = (EvaluationService) service;
+		String property = "org.eclipse.ui.tests.dependent.property";
+		int[] evaluations = new int[2];
+		Expression dependent = new Expression() {
+			@Override
+			public EvaluationResult evaluate(IEvaluationContext context) {
+				evaluations[0]++;
+				return EvaluationResult.TRUE;
+			}
+
+			@Override
+			public void collectExpressionInfo(ExpressionInfo info) {
+				info.addAccessedPropertyName(property);
+			}
+		};
+		Expression other = new Expression() {
+			@Override
+			public EvaluationResult evaluate(IEvaluationContext context) {
+				evaluations[1]++;
+				return EvaluationResult.TRUE;
+			}
+
+			@Override
+			public void collectExpressionInfo(ExpressionInfo info) {
+				info.addVariableNameAccess("org.eclipse.ui.tests.other.variable");
+			}
+		};
+		IEvaluationReference dependentRef = service.addEvaluationListener(dependent, new MyEval(),
+				IEvaluationService.RESULT);
+		IEvaluationReference otherRef = service.addEvaluationListener(other, new MyEval(), IEvaluationService.RESULT);
+		try {
+			int dependentCount = evaluations[0];
+			int otherCount = evaluations[1];
+			int changeCount = evaluationService.getSourceChangeCount(property);
+			int evaluationCount = evaluationService.getEvaluationCount(property);
+
+			service.requestEvaluation(property);
+			assertEquals(dependentCount + 1, evaluations[0]);
+			assertEquals(otherCount, evaluations[1]);
+			assertEquals(changeCount + 1, evaluationService.getSourceChangeCount(property));
+			assertEquals(evaluationCount + 1, evaluationService.getEvaluationCount(property));
+
+			service.removeEvaluationListener(dependentRef);
+			dependentCount = evaluations[0];
+			service.requestEvaluation(property);
+			assertEquals(dependentCount, evaluations[0]);
+			assertEquals(evaluationCount + 1, evaluationService.getEvaluationCount(property));
+		} finally {
+			service.removeEvaluationListener(otherRef);
+		}
+	}
+
 	@Test
 	public void testPlatformProperty() throws Exception {
 		IEvaluationService evaluationService = PlatformUI
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2018 Etienne Reichenbach and others.
+* Copyright (c) 2018, 2026 Etienne Reichenbach and others.
 *
 * This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,25 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.function.BooleanSupplier;
+
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.ILineDiffInfo;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
 
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
+
 /**
  * Tests for the {@link DocumentLineDiffer}.
  */
@@ -169,4 +178,89 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that a paste of more lines than are re-diffed synchronously is re-diffed in the
+	 * background in a window around it, without re-initializing the differ.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void largePasteIsRediffedInTheBackground() throws Exception {
+		// given
+		String text= lines("line", 2000);
+		fDocument.set(text);
+		fLineDiffer.setReferenceProvider(new ReferenceProvider(new Document(text)));
+		fLineDiffer.connect(fDocument);
+		waitUntil(fLineDiffer::isSynchronized);
+
+		// when
+		fDocument.replace(fDocument.getLineOffset(1000), 0, lines("pasted", 500));
+
+		// then
+		assertTrue(fLineDiffer.isSynchronized());
+		waitUntil(() -> fLineDiffer.getLineInfo(990).getChangeType() == ILineDiffInfo.UNCHANGED);
+		assertTrue(fLineDiffer.isSynchronized());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(999).getChangeType());
+		for (int line= 1000; line < 1500; line++)
+			assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(line).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(1500).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(2499).getChangeType());
+	}
+
+	private static String lines(String prefix, int count) {
+		StringBuilder lines= new StringBuilder();
+		for (int i= 0; i < count; i++)
+			lines.append(prefix).append(' ').append(i).append('\n');
+		return lines.toString();
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long timeout= System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			assertTrue("timed out", System.currentTimeMillis() < timeout);
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * A reference provider of a fixed document.
+	 */
+	private static final class ReferenceProvider implements IQuickDiffReferenceProvider {
+
+		private final IDocument fReference;
+
+		private String fId;
+
+		ReferenceProvider(IDocument reference) {
+			fReference= reference;
+		}
+
+		@Override
+		public IDocument getReference(IProgressMonitor monitor) {
+			return fReference;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getId() {
+			return fId;
+		}
+
+		@Override
+		public void setActiveEditor(ITextEditor editor) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void setId(String id) {
+			fId= id;
+		}
+	}
 }
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.LineRangeDiffer;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Tests for the {@link LineRangeDiffer}, comparing its differences with the ones of the
+ * {@link RangeDifferencer}.
+ */
+public class LineRangeDifferTest {
+
+	private static final AbstractRangeDifferenceFactory FACTORY= new AbstractRangeDifferenceFactory() {
+		@Override
+		protected RangeDifference createRangeDifference() {
+			return new QuickDiffRangeDifference();
+		}
+	};
+
+	@Test
+	public void testUnchanged() {
+		List<String> lines= lines(0, 10);
+		assertSameDifferences(lines, lines);
+		assertEquals(List.of("= L0+10 R0+10"), findRanges(lines, lines));
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(List.of(), findRanges(List.of(), List.of()));
+		assertSameDifferences(List.of(), lines(0, 3));
+		assertSameDifferences(lines(0, 3), List.of());
+	}
+
+	@Test
+	public void testChangeBetweenCommonPrefixAndSuffix() {
+		List<String> left= lines(0, 10);
+		List<String> right= new ArrayList<>(left);
+		right.set(4, "changed");
+		assertSameDifferences(left, right);
+		assertEquals(List.of("= L0+4 R0+4", "! L4+1 R4+1", "= L5+5 R5+5"), findRanges(left, right));
+
+		right= new ArrayList<>(left);
+		right.add(0, "inserted");
+		right.add("appended");
+		assertSameDifferences(left, right);
+
+		right= new ArrayList<>(left);
+		right.subList(3, 6).clear();
+		assertSameDifferences(left, right);
+		assertEquals(List.of("= L0+3 R0+3", "! L3+3 R3+0", "= L6+4 R3+4"), findRanges(left, right));
+	}
+
+	@Test
+	public void testSeveralChanges() {
+		List<String> left= lines(0, 20);
+		List<String> right= new ArrayList<>(left);
+		right.set(2, "changed");
+		right.add(8, "inserted");
+		right.remove(15);
+		assertSameDifferences(left, right);
+	}
+
+	@Test
+	public void testLineRanges() {
+		List<String> left= lines(0, 20);
+		List<String> right= new ArrayList<>(left);
+		right.add(0, "before");
+		right.set(8, "changed");
+		right.add(10, "inserted");
+		IDocument leftDocument= new Document(String.join("\n", left));
+		IDocument rightDocument= new Document(String.join("\n", right));
+
+		// the differences are given in document lines
+		List<String> expected= rangeDifferencerRanges(leftDocument, 5, 15, rightDocument, 6, 17);
+		assertEquals(expected, findRanges(leftDocument, 5, 15, rightDocument, 6, 17));
+		assertEquals("= L5+2 R6+2", expected.get(0));
+	}
+
+	@Test
+	public void testLargeRangesAreSplitAtUniqueLines() {
+		List<String> left= lines(0, 3000);
+		List<String> right= new ArrayList<>(left);
+		right.set(100, "changed");
+		right.addAll(1500, List.of("inserted 1", "inserted 2", "inserted 3"));
+		right.subList(2500, 2502).clear();
+		right.set(2900, "changed");
+		assertSameDifferences(left, right);
+	}
+
+	@Test
+	public void testLargeRangesWithRepeatedLines() {
+		List<String> left= new ArrayList<>();
+		for (int i= 0; i < 3000; i++)
+			left.add(i % 2 == 0 ? "}" : "line " + i);
+		List<String> right= new ArrayList<>(left);
+		// move a block, so that not all unique lines occur in the same order
+		List<String> block= new ArrayList<>(right.subList(101, 111));
+		right.subList(101, 111).clear();
+		right.addAll(2000, block);
+		right.set(501, "changed");
+		right.add(1001, "}");
+
+		assertValid(findRanges(left, right), left, right);
+	}
+
+	@Test
+	public void testCanceled() {
+		List<String> left= lines(0, 3000);
+		List<String> right= new ArrayList<>(left);
+		right.set(100, "changed");
+		DocumentEquivalenceClass leftEquivalent= equivalenceClass(new Document(String.join("\n", left)));
+		DocumentEquivalenceClass rightEquivalent= equivalenceClass(new Document(String.join("\n", right)));
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		assertThrows(OperationCanceledException.class, () -> LineRangeDiffer.findRanges(FACTORY, leftEquivalent, 0, leftEquivalent.getCount(),
+				rightEquivalent, 0, rightEquivalent.getCount(), monitor));
+	}
+
+	private static List<String> lines(int from, int to) {
+		List<String> lines= new ArrayList<>();
+		for (int i= from; i < to; i++)
+			lines.add("line " + i);
+		return lines;
+	}
+
+	private static void assertSameDifferences(List<String> left, List<String> right) {
+		List<String> differences= findRanges(left, right);
+		IDocument leftDocument= new Document(String.join("\n", left));
+		IDocument rightDocument= new Document(String.join("\n", right));
+		assertEquals(rangeDifferencerRanges(leftDocument, 0, leftDocument.getNumberOfLines(), rightDocument, 0, rightDocument.getNumberOfLines()),
+				differences);
+		assertValid(differences, left, right);
+	}
+
+	/**
+	 * Asserts that the differences cover both documents, that adjacent differences are of
+	 * different kinds and that the unchanged lines are equal.
+	 */
+	private static void assertValid(List<String> differences, List<String> left, List<String> right) {
+		// the document of no lines has one empty line
+		List<String> leftLines= left.isEmpty() ? List.of("") : left;
+		List<String> rightLines= right.isEmpty() ? List.of("") : right;
+		int leftLine= 0;
+		int rightLine= 0;
+		String previousKind= null;
+		for (String difference : differences) {
+			String[] parts= difference.split("[ +LR]+");
+			String kind= parts[0];
+			assertNotEquals("adjacent differences of the same kind: " + differences, previousKind, kind);
+			assertEquals(leftLine, Integer.parseInt(parts[1]));
+			assertEquals(rightLine, Integer.parseInt(parts[3]));
+			int leftLength= Integer.parseInt(parts[2]);
+			int rightLength= Integer.parseInt(parts[4]);
+			if ("=".equals(kind)) {
+				assertEquals(leftLength, rightLength);
+				assertEquals(leftLines.subList(leftLine, leftLine + leftLength), rightLines.subList(rightLine, rightLine + rightLength));
+			} else {
+				assertTrue(leftLength > 0 || rightLength > 0);
+			}
+			leftLine+= leftLength;
+			rightLine+= rightLength;
+			previousKind= kind;
+		}
+		assertEquals(leftLines.size(), leftLine);
+		assertEquals(rightLines.size(), rightLine);
+	}
+
+	private static List<String> findRanges(List<String> left, List<String> right) {
+		IDocument leftDocument= new Document(String.join("\n", left));
+		IDocument rightDocument= new Document(String.join("\n", right));
+		if (left.isEmpty() && right.isEmpty())
+			return findRanges(leftDocument, 0, 0, rightDocument, 0, 0);
+		return findRanges(leftDocument, 0, leftDocument.getNumberOfLines(), rightDocument, 0, rightDocument.getNumberOfLines());
+	}
+
+	private static List<String> findRanges(IDocument left, int leftStart, int leftEnd, IDocument right, int rightStart, int rightEnd) {
+		List<String> differences= new ArrayList<>();
+		for (QuickDiffRangeDifference difference : LineRangeDiffer.findRanges(FACTORY, equivalenceClass(left), leftStart, leftEnd,
+				equivalenceClass(right), rightStart, rightEnd, null))
+			differences.add(toString(difference, 0, 0));
+		return differences;
+	}
+
+	private static List<String> rangeDifferencerRanges(IDocument left, int leftStart, int leftEnd, IDocument right, int rightStart, int rightEnd) {
+		List<String> differences= new ArrayList<>();
+		for (RangeDifference difference : RangeDifferencer.findRanges(FACTORY, null,
+				new DocEquivalenceComparator(equivalenceClass(left), new LineRange(leftStart, leftEnd - leftStart)),
+				new DocEquivalenceComparator(equivalenceClass(right), new LineRange(rightStart, rightEnd - rightStart))))
+			differences.add(toString(difference, leftStart, rightStart));
+		return differences;
+	}
+
+	private static DocumentEquivalenceClass equivalenceClass(IDocument document) {
+		return new DocumentEquivalenceClass(document, new DJBHashFunction());
+	}
+
+	private static String toString(RangeDifference difference, int leftShift, int rightShift) {
+		return (difference.kind() == RangeDifference.NOCHANGE ? "=" : "!") + " L" + (leftShift + difference.leftStart()) + "+" + difference.leftLength()
+				+ " R" + (rightShift + difference.rightStart()) + "+" + difference.rightLength();
+	}
+}